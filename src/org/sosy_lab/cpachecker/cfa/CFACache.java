@@ -0,0 +1,271 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cfa;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.io.Path;
+import org.sosy_lab.common.io.Paths;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.Timer;
+import org.sosy_lab.cpachecker.core.CPAchecker;
+import org.sosy_lab.cpachecker.util.OutputFiles;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Ordering;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Persistent store for created CFAs, such that repeated analyses
+ * of the same program (e.g., with different configurations)
+ * do not need to parse the program and post-process the CFA again.
+ *
+ * A CFA is keyed by a hash of the source files, the version of CPAchecker,
+ * and all options that influence the creation of the CFA,
+ * thus a stored CFA is not used anymore if the program or the relevant options change.
+ * The live variables are not stored (cf. {@link ImmutableCFA}).
+ *
+ * Each CFA is stored in its own file in the cache directory, named after its key.
+ * The files are written atomically, so analyses that run concurrently
+ * and share the cache directory never read partially written files.
+ */
+@Options(prefix="cfa.cache")
+class CFACache {
+
+  @Option(secure=true, description="directory in which created CFAs are stored persistently "
+      + "(one file per CFA), such that they can be reused by later analyses of the same program "
+      + "with configurations that lead to the same CFA. "
+      + "Like other output files, a relative path is resolved against the output directory, "
+      + "so use an absolute path for sharing the cache between analyses with different output directories. "
+      + "The directory needs to be cleaned manually after changes to the CFA creation of CPAchecker.")
+  @FileOption(FileOption.Type.OUTPUT_FILE)
+  private @Nullable Path directory = null;
+
+  private static final String FILE_SUFFIX = ".cfa.gz";
+
+  /**
+   * Options that influence the CFA but do not have one of the prefixes in
+   * {@link #RELEVANT_OPTION_PREFIXES}.
+   */
+  private static final ImmutableSet<String> RELEVANT_OPTIONS = ImmutableSet.of(
+      "language",
+      "analysis.entryFunction",
+      "analysis.machineModel",
+      "analysis.interprocedural",
+      "analysis.functionPointerCalls",
+      "analysis.functionPointerEdgesForUnknownPointer",
+      "analysis.functionPointerTargets",
+      "analysis.summaryEdges",
+      "analysis.useGlobalVars");
+
+  private static final ImmutableList<String> RELEVANT_OPTION_PREFIXES = ImmutableList.of(
+      "cfa.", "parser.");
+
+  private static final String OWN_OPTION_PREFIX = "cfa.cache.";
+
+  /**
+   * Options with one of the prefixes in {@link #RELEVANT_OPTION_PREFIXES}
+   * that do not influence the resulting CFA,
+   * e.g., because they only control what is written to output files.
+   */
+  private static final ImmutableSet<String> IRRELEVANT_OPTIONS = ImmutableSet.of(
+      "parser.threads",
+      "cfa.threads",
+      "cfa.export",
+      "cfa.exportPerFunction",
+      "cfa.file",
+      "cfa.variableClassification.domainTypeStatisticsFile",
+      "cfa.variableClassification.logfile",
+      "cfa.variableClassification.printStatsOnStartup",
+      "cfa.variableClassification.typeMapFile");
+
+  /**
+   * Prefixes of options that do not influence the resulting CFA
+   * (in addition to {@link #IRRELEVANT_OPTIONS}).
+   */
+  private static final ImmutableList<String> IRRELEVANT_OPTION_PREFIXES = ImmutableList.of(
+      OWN_OPTION_PREFIX, "cfa.callgraph.");
+
+  private final LogManager logger;
+
+  private final String relevantOptions;
+
+  private boolean disabled = false;
+
+  final Timer serializationTimer = new Timer();
+
+  CFACache(Configuration pConfig, LogManager pLogger) throws InvalidConfigurationException {
+    pConfig.inject(this);
+    logger = pLogger;
+    relevantOptions = getRelevantOptions(pConfig);
+  }
+
+  boolean isEnabled() {
+    return directory != null && !disabled;
+  }
+
+  /**
+   * Disable the cache because the current configuration does not support it.
+   */
+  void disable(String pReason) {
+    if (isEnabled()) {
+      logger.log(Level.WARNING, "CFA cache cannot be used", pReason + ", disabling it.");
+    }
+    disabled = true;
+  }
+
+  private static String getRelevantOptions(Configuration pConfig) {
+    StringBuilder result = new StringBuilder();
+    for (String line : Ordering.natural().sortedCopy(
+        Splitter.on('\n').omitEmptyStrings().trimResults().split(pConfig.asPropertiesString()))) {
+
+      String option = Splitter.on('=').trimResults().split(line).iterator().next();
+      if (IRRELEVANT_OPTIONS.contains(option) || startsWithOneOf(option, IRRELEVANT_OPTION_PREFIXES)) {
+        continue;
+      }
+      if (RELEVANT_OPTIONS.contains(option) || startsWithOneOf(option, RELEVANT_OPTION_PREFIXES)) {
+        result.append(line).append('\n');
+      }
+    }
+    return result.toString();
+  }
+
+  private static boolean startsWithOneOf(String pOption, Iterable<String> pPrefixes) {
+    for (String prefix : pPrefixes) {
+      if (pOption.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Compute the key for the CFA of the given program.
+   * @return The key, or null if the source files cannot be read.
+   */
+  @Nullable String getKey(List<String> pSourceFiles) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putString(CPAchecker.getCPAcheckerVersion(), StandardCharsets.UTF_8)
+        .putChar('|')
+        .putString(relevantOptions, StandardCharsets.UTF_8);
+
+    for (String sourceFile : pSourceFiles) {
+      hasher.putChar('|').putString(sourceFile, StandardCharsets.UTF_8).putChar('|');
+      try {
+        hasher.putBytes(Paths.get(sourceFile).asByteSource().read());
+      } catch (IOException e) {
+        // the parser will report this properly
+        logger.logUserException(Level.FINE, e, "Could not read source file for computing key of CFA cache");
+        return null;
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private Path getFile(String pKey) {
+    return Paths.get(directory.getPath(), pKey + FILE_SUFFIX);
+  }
+
+  /**
+   * Get a stored CFA.
+   * @return The CFA, or null if there is no stored CFA for the key.
+   */
+  @Nullable ImmutableCFA get(String pKey) {
+    if (!isEnabled()) {
+      return null;
+    }
+
+    Path file = getFile(pKey);
+    if (!file.exists()) {
+      return null;
+    }
+
+    serializationTimer.start();
+    try (InputStream fis = file.asByteSource().openStream();
+         ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(fis))) {
+      return (ImmutableCFA) in.readObject();
+
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      logger.logUserException(Level.WARNING, e, "Could not read stored CFA from " + file + ", ignoring it");
+      return null;
+    } finally {
+      serializationTimer.stop();
+    }
+  }
+
+  /**
+   * Store a CFA in its file.
+   */
+  void put(String pKey, ImmutableCFA pCfa) {
+    if (!isEnabled()) {
+      return;
+    }
+
+    serializationTimer.start();
+    try {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+        out.writeObject(pCfa);
+      } catch (IOException e) {
+        logger.logUserException(Level.WARNING, e, "CFA cannot be serialized, disabling CFA cache");
+        disabled = true;
+        return;
+      }
+
+      Path file = getFile(pKey);
+      try {
+        OutputFiles.writeAtomically(file, new OutputFiles.ContentWriter() {
+            @Override
+            public void writeTo(OutputStream pOut) throws IOException {
+              bytes.writeTo(pOut);
+            }
+          });
+      } catch (IOException e) {
+        logger.logUserException(Level.WARNING, e, "Could not write CFA to " + file);
+      }
+    } finally {
+      serializationTimer.stop();
+    }
+  }
+}
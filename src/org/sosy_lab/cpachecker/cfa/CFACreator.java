@@ -35,12 +35,19 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.Pair;
 import org.sosy_lab.common.concurrency.Threads;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -95,12 +102,17 @@ import org.sosy_lab.cpachecker.exceptions.UnrecognizedCCodeException;
 import org.sosy_lab.cpachecker.util.CFAUtils;
 import org.sosy_lab.cpachecker.util.LiveVariables;
 import org.sosy_lab.cpachecker.util.LoopStructure;
+import org.sosy_lab.cpachecker.util.OutputFiles;
 import org.sosy_lab.cpachecker.util.VariableClassification;
 import org.sosy_lab.cpachecker.util.VariableClassificationBuilder;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 /**
  * Class that encapsulates the whole CFA creation process.
@@ -170,7 +182,7 @@ public class CFACreator {
   private Path exportFunctionCallsFile = Paths.get("functionCalls.dot");
 
   @Option(secure=true, name="cfa.file",
-      description="export CFA as .dot file")
+      description="export CFA as .dot file (compressed if the file name ends with .gz)")
   @FileOption(FileOption.Type.OUTPUT_FILE)
   private Path exportCfaFile = Paths.get("cfa.dot");
 
@@ -218,12 +230,22 @@ public class CFACreator {
       description="This option enables the computation of a classification of CFA nodes.")
 private boolean classifyNodes = false;
 
+  @Option(secure=true, name="cfa.threads",
+      description="number of threads for running the function-local post-processings "
+          + "of the CFA and the variable classification concurrently for several functions "
+          + "(with more than one thread, the nodes are renumbered afterwards, "
+          + "such that the resulting CFA does not depend on the number of threads).")
+  @IntegerOption(min=1)
+  private int threads = 1;
+
   @Option(secure=true, description="C or Java?")
   private Language language = Language.C;
 
   private final LogManager logger;
   private final Parser parser;
+  private final int parserThreads;
   private final CFAReduction cfaReduction;
+  private final CFACache cfaCache;
   private final ShutdownNotifier shutdownNotifier;
 
   private static class CFACreatorStatistics implements Statistics {
@@ -232,11 +254,14 @@ private boolean classifyNodes = false;
     private final Timer totalTime = new Timer();
     private Timer parsingTime;
     private Timer conversionTime;
+    private Map<String, Timer> parsingTimePerFile = ImmutableMap.of();
     private final Timer checkTime = new Timer();
     private final Timer processingTime = new Timer();
     private final Timer pruningTime = new Timer();
     private final Timer variableClassificationTime = new Timer();
     private final Timer exportTime = new Timer();
+    private Timer cacheTime;
+    private boolean loadedFromCache = false;
 
     @Override
     public String getName() {
@@ -247,7 +272,16 @@ private boolean classifyNodes = false;
     public void printStatistics(PrintStream out, Result pResult, ReachedSet pReached) {
       out.println("  Time for loading parser:    " + parserInstantiationTime);
       out.println("  Time for CFA construction:  " + totalTime);
+      if (cacheTime.getNumberOfIntervals() > 0) {
+        out.println("    Time for CFA cache:       " + cacheTime
+            + (loadedFromCache ? " (CFA loaded from cache)" : ""));
+      }
       out.println("    Time for parsing file(s): " + parsingTime);
+      if (parsingTimePerFile.size() > 1) {
+        for (Map.Entry<String, Timer> file : parsingTimePerFile.entrySet()) {
+          out.println("      " + file.getKey() + ": " + file.getValue());
+        }
+      }
       out.println("    Time for AST to CFA:      " + conversionTime);
       out.println("    Time for CFA sanity check:" + checkTime);
       out.println("    Time for post-processing: " + processingTime);
@@ -280,19 +314,22 @@ private boolean classifyNodes = false;
     switch (language) {
     case JAVA:
       parser = EclipseParsers.getJavaParser(logger, config);
+      parserThreads = 1;
       break;
     case C:
-      CParser outerParser = CParser.Factory.getParser(config, logger, CParser.Factory.getOptions(config), machineModel);
+      CParser.ParserOptions parserOptions = CParser.Factory.getOptions(config);
+      CParser outerParser = CParser.Factory.getParser(config, logger, parserOptions, machineModel);
 
       outerParser = new CParserWithLocationMapper(config, logger, outerParser,
           readLineDirectives || usePreprocessor);
 
       if (usePreprocessor) {
         CPreprocessor preprocessor = new CPreprocessor(config, logger);
-        outerParser = new CParserWithPreprocessor(outerParser, preprocessor);
+        outerParser = new CParserWithPreprocessor(outerParser, preprocessor, parserOptions.getThreads());
       }
 
       parser = outerParser;
+      parserThreads = parserOptions.getThreads();
 
       break;
     default:
@@ -308,6 +345,21 @@ private boolean classifyNodes = false;
       cfaReduction = null;
     }
 
+    cfaCache = new CFACache(config, logger);
+    stats.cacheTime = cfaCache.serializationTimer;
+    if (language != Language.C) {
+      cfaCache.disable("for languages other than C");
+    } else if (usePreprocessor) {
+      // included files would not be part of the key
+      cfaCache.disable("together with the preprocessor");
+    } else if (removeIrrelevantForSpecification) {
+      // the CFA would depend on the specification
+      cfaCache.disable("together with option cfa.removeIrrelevantForSpecification");
+    } else if (findLiveVariables) {
+      // live variables are not serializable
+      cfaCache.disable("together with option cfa.findLiveVariables");
+    }
+
     stats.parserInstantiationTime.stop();
   }
 
@@ -354,6 +406,20 @@ private boolean classifyNodes = false;
 
     stats.totalTime.start();
     try {
+      String cacheKey = null;
+      if (cfaCache.isEnabled()) {
+        cacheKey = cfaCache.getKey(sourceFiles);
+        if (cacheKey != null) {
+          ImmutableCFA cachedCFA = cfaCache.get(cacheKey);
+          if (cachedCFA != null) {
+            logger.log(Level.FINE, "Loaded CFA for", cachedCFA.getNumberOfFunctions(), "functions from cache.");
+            stats.loadedFromCache = true;
+            exportCFAIfRequested(cachedCFA);
+            return cachedCFA;
+          }
+        }
+      }
+
       // FIRST, parse file(s) and create CFAs for each function
       logger.log(Level.FINE, "Starting parsing of file(s)");
 
@@ -374,14 +440,19 @@ private boolean classifyNodes = false;
         throw new AssertionError();
       }
 
-      return createCFA(c, mainFunction);
+      ImmutableCFA cfa = createCFA(c, mainFunction);
+
+      if (cacheKey != null) {
+        cfaCache.put(cacheKey, cfa);
+      }
+      return cfa;
 
     } finally {
       stats.totalTime.stop();
     }
   }
 
-  private CFA createCFA(ParseResult pParseResult, FunctionEntryNode pMainFunction) throws InvalidConfigurationException, InterruptedException, ParserException {
+  private ImmutableCFA createCFA(ParseResult pParseResult, FunctionEntryNode pMainFunction) throws InvalidConfigurationException, InterruptedException, ParserException {
 
     FunctionEntryNode mainFunction = pMainFunction;
 
@@ -402,6 +473,13 @@ private boolean classifyNodes = false;
 
     cfa = postProcessingOnMutableCFAs(cfa, pParseResult.getGlobalDeclarations());
 
+    // Nodes that were created concurrently (by the parser or the post-processings)
+    // got their numbers in the order of the thread scheduling,
+    // so we renumber them such that the CFA is the same for any number of threads.
+    if (threads > 1 || parserThreads > 1) {
+      cfa.renumberNodes();
+    }
+
     // Check CFA again after post-processings
     stats.checkTime.start();
     for (String functionName : cfa.getAllFunctionNames()) {
@@ -462,7 +540,7 @@ private boolean classifyNodes = false;
     if (language == Language.C) {
       try {
         stats.variableClassificationTime.start();
-        varClassification = Optional.of(new VariableClassificationBuilder(config, logger).build(cfa));
+        varClassification = Optional.of(new VariableClassificationBuilder(config, logger, threads).build(cfa));
       } catch (UnrecognizedCCodeException e) {
         throw new CParserException(e);
       } finally {
@@ -490,10 +568,7 @@ private boolean classifyNodes = false;
     assert CFACheck.check(mainFunction, null, cfaReduction != null);
     stats.checkTime.stop();
 
-    if (((exportCfaFile != null) && (exportCfa || exportCfaPerFunction))
-        || ((exportFunctionCallsFile != null) && exportFunctionCalls)) {
-      exportCFAAsync(immutableCFA);
-    }
+    exportCFAIfRequested(immutableCFA);
 
     logger.log(Level.FINE, "DONE, CFA for", immutableCFA.getNumberOfFunctions(), "functions created.");
 
@@ -552,6 +627,7 @@ private boolean classifyNodes = false;
       }
 
       parseResult = ((CParser)parser).parseFile(programFragments, sourceOriginMapping);
+      stats.parsingTimePerFile = ((CParser)parser).getParseTimePerFile();
     }
 
     if (parseResult.isEmpty()) {
@@ -576,30 +652,59 @@ private boolean classifyNodes = false;
   private MutableCFA postProcessingOnMutableCFAs(MutableCFA cfa, final List<Pair<ADeclaration, String>> globalDeclarations)
           throws InvalidConfigurationException, CParserException {
 
+    // The following post-processings are local to each function,
+    // so they are run for all functions in parallel (if requested).
+    // Each of them is finished for all functions before the next one starts.
+
     // remove all edges which don't have any effect on the program
     if (simplifyCfa) {
-      CFASimplifier.simplifyCFA(cfa);
+      forAllFunctions(cfa, new FunctionPostProcessing() {
+        @Override
+        public void process(MutableCFA pCfa, FunctionEntryNode pFunction) {
+          CFASimplifier.simplifyFunction(pFunction, pCfa);
+        }
+      });
     }
 
     if (moveDeclarationsToFunctionStart) {
-      CFADeclarationMover declarationMover = new CFADeclarationMover(logger);
-      declarationMover.moveDeclarationsToFunctionStart(cfa);
+      final CFADeclarationMover declarationMover = new CFADeclarationMover(logger);
+      forAllFunctions(cfa, new FunctionPostProcessing() {
+        @Override
+        public void process(MutableCFA pCfa, FunctionEntryNode pFunction) {
+          declarationMover.moveDeclarationsToFunctionStart(pFunction, pCfa);
+        }
+      });
     }
 
     if (checkNullPointers) {
-      NullPointerChecks nullPointerCheck = new NullPointerChecks(logger, config);
-      nullPointerCheck.addNullPointerChecks(cfa);
+      final NullPointerChecks nullPointerCheck = new NullPointerChecks(logger, config);
+      forAllFunctions(cfa, new FunctionPostProcessing() {
+        @Override
+        public void process(MutableCFA pCfa, FunctionEntryNode pFunction) throws CParserException {
+          nullPointerCheck.addNullPointerChecks(pCfa, pFunction.getFunctionName());
+        }
+      });
     }
 
     if (expandFunctionPointerArrayAssignments) {
-      ExpandFunctionPointerArrayAssignments transformer = new ExpandFunctionPointerArrayAssignments(logger, config);
-      transformer.replaceFunctionPointerArrayAssignments(cfa);
+      final ExpandFunctionPointerArrayAssignments transformer = new ExpandFunctionPointerArrayAssignments(logger, config);
+      forAllFunctions(cfa, new FunctionPostProcessing() {
+        @Override
+        public void process(MutableCFA pCfa, FunctionEntryNode pFunction) throws CParserException {
+          transformer.replaceFunctionPointerArrayAssignments(pCfa, pFunction.getFunctionName());
+        }
+      });
     }
 
     // add function pointer edges
     if (language == Language.C && fptrCallEdges) {
-      CFunctionPointerResolver fptrResolver = new CFunctionPointerResolver(cfa, globalDeclarations, config, logger);
-      fptrResolver.resolveFunctionPointers();
+      final CFunctionPointerResolver fptrResolver = new CFunctionPointerResolver(cfa, globalDeclarations, config, logger);
+      forAllFunctions(cfa, new FunctionPostProcessing() {
+        @Override
+        public void process(MutableCFA pCfa, FunctionEntryNode pFunction) {
+          fptrResolver.resolveFunctionPointers(pCfa, pFunction);
+        }
+      });
     }
 
     // Transform dummy loops into edges to termination nodes
@@ -652,12 +757,85 @@ private boolean classifyNodes = false;
     }
 
     if (useMultiEdges) {
-      MultiEdgeCreator.createMultiEdges(cfa);
+      forAllFunctions(cfa, new FunctionPostProcessing() {
+        @Override
+        public void process(MutableCFA pCfa, FunctionEntryNode pFunction) {
+          MultiEdgeCreator.createMultiEdges(pCfa, pFunction);
+        }
+      });
     }
 
     return cfa;
   }
 
+  /**
+   * A post-processing that handles the CFA of a single function
+   * and touches no other function.
+   * It must add and remove nodes only via the given CFA,
+   * which may be a copy that owns only the nodes of the given function
+   * (cf. {@link MutableCFA#copyForFunction(String)}).
+   */
+  private static interface FunctionPostProcessing {
+    void process(MutableCFA cfa, FunctionEntryNode function) throws CParserException;
+  }
+
+  /**
+   * Apply a post-processing to the CFAs of all functions,
+   * using {@link #threads} threads.
+   * This is only possible as long as the CFAs of the functions
+   * are not yet connected with each other.
+   * With several threads, each function is processed on its own copy
+   * of the CFA, and the nodes of all functions are copied back afterwards
+   * (which ensures that no thread reads the node sets of the other functions).
+   */
+  private void forAllFunctions(final MutableCFA cfa, final FunctionPostProcessing processing)
+      throws CParserException {
+    // copy because the post-processing modifies the CFA
+    List<FunctionEntryNode> functions = ImmutableList.copyOf(cfa.getAllFunctionHeads());
+
+    if (threads <= 1 || functions.size() <= 1) {
+      for (FunctionEntryNode function : functions) {
+        processing.process(cfa, function);
+      }
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, functions.size()),
+        Threads.threadFactoryBuilder().setDaemon(true).build());
+    try {
+      List<MutableCFA> functionCfas = new ArrayList<>(functions.size());
+      List<Future<?>> futures = new ArrayList<>(functions.size());
+      for (final FunctionEntryNode function : functions) {
+        final MutableCFA functionCfa = cfa.copyForFunction(function.getFunctionName());
+        functionCfas.add(functionCfa);
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws CParserException {
+            processing.process(functionCfa, function);
+            return null;
+          }
+        }));
+      }
+
+      // post-processing is not interruptible, so we do not need to handle interrupts
+      for (Future<?> future : futures) {
+        Uninterruptibles.getUninterruptibly(future);
+      }
+
+      for (int i = 0; i < functions.size(); i++) {
+        cfa.takeFunctionNodesFrom(functionCfas.get(i), functions.get(i).getFunctionName());
+      }
+
+    } catch (ExecutionException e) {
+      Throwable t = e.getCause();
+      Throwables.propagateIfPossible(t, CParserException.class);
+      throw new UnexpectedCheckedException("post-processing of CFA", t);
+
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   private FunctionEntryNode getJavaMainMethod(List<String> sourceFiles, Map<String, FunctionEntryNode> cfas)
       throws InvalidConfigurationException {
 
@@ -891,6 +1069,13 @@ v.addInitializer(initializer);
     }
   }
 
+  private void exportCFAIfRequested(final CFA cfa) {
+    if (((exportCfaFile != null) && (exportCfa || exportCfaPerFunction))
+        || ((exportFunctionCallsFile != null) && exportFunctionCalls)) {
+      exportCFAAsync(cfa);
+    }
+  }
+
   private void exportCFAAsync(final CFA cfa) {
     // execute asynchronously, this may take several seconds for large programs on slow disks
     Threads.newThread(new Runnable() {
@@ -908,7 +1093,7 @@ v.addInitializer(initializer);
 
     // write CFA to file
     if (exportCfa && exportCfaFile != null) {
-      try (Writer w = Files.openOutputFile(exportCfaFile)) {
+      try (Writer w = OutputFiles.openOutputFile(exportCfaFile)) {
         DOTBuilder.generateDOT(w, cfa);
       } catch (IOException e) {
         logger.logUserException(Level.WARNING, e,
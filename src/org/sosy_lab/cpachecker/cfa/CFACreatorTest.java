@@ -0,0 +1,259 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cfa;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.io.Files;
+import org.sosy_lab.common.io.Path;
+import org.sosy_lab.common.io.Paths;
+import org.sosy_lab.common.log.TestLogManager;
+import org.sosy_lab.common.time.Timer;
+import org.sosy_lab.cpachecker.cfa.CParser.FileContentToParse;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
+import org.sosy_lab.cpachecker.cfa.types.MachineModel;
+import org.sosy_lab.cpachecker.core.ShutdownNotifier;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.VariableClassification;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+import com.google.common.collect.ImmutableMap;
+
+public class CFACreatorTest {
+
+  private static final String PROGRAM =
+        "struct s { int *p; };"
+      + "int g;"
+      + "int inc(int a) { return a + 1; }"
+      + "int dec(int a) { return a - 1; }"
+      + "int deref(struct s *x) { int r; r = *(x->p); return r; }"
+      + "int main() {"
+      + "  int (*fp)(int);"
+      + "  int (*fps[2])(int) = { inc, dec };"
+      + "  struct s v;"
+      + "  int i = 0;"
+      + "  v.p = &g;"
+      + "  if (g) { fp = inc; } else { fp = dec; }"
+      + "  while (i < 10) {"
+      + "    int b = i == 5;"
+      + "    i = fp(i);"
+      + "    i = fps[0](i);"
+      + "    if (b) { g = deref(&v); }"
+      + "  }"
+      + "  return i;"
+      + "}";
+
+  private static final ImmutableMap<String, String> MULTI_FILE_PROGRAM = ImmutableMap.of(
+      "main.c",
+        "int inc(int a);"
+      + "int dec(int a);"
+      + "static int s = 2;"
+      + "int main() {"
+      + "  int i = inc(s);"
+      + "  if (i > 2) { i = dec(i); }"
+      + "  return i;"
+      + "}",
+      "inc.c",
+        "static int s = 1;"
+      + "int inc(int a) { return a + s; }",
+      "dec.c",
+        "int dec(int a) {"
+      + "  while (a > 0) { a--; }"
+      + "  return a;"
+      + "}");
+
+  @Rule
+  public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static CFA createCFA(int threads) throws Exception {
+    Configuration config = TestDataTools.configurationForTest()
+        .setOption("cfa.threads", Integer.toString(threads))
+        .setOption("cfa.simplifyCfa", "true")
+        .setOption("cfa.moveDeclarationsToFunctionStart", "true")
+        .setOption("cfa.checkNullPointers", "true")
+        .setOption("cfa.expandFunctionPointerArrayAssignments", "true")
+        .setOption("cfa.useMultiEdges", "true")
+        .build();
+    return TestDataTools.makeCFA(PROGRAM, config);
+  }
+
+  /**
+   * The CFA created with several threads has to be the same
+   * as the one created with a single thread.
+   * With several threads, the nodes are renumbered,
+   * so their numbers are compared only between CFAs created with different numbers
+   * of threads greater than one.
+   * Node numbers are unique in the whole JVM, so the numbers of the CFA created later
+   * are shifted by the number of nodes created before,
+   * and we compare them relative to the smallest number of each CFA.
+   */
+  @Test
+  public void testThreadsDoNotChangeCFA() throws Exception {
+    CFA sequential = createCFA(1);
+    CFA parallel = createCFA(4);
+    CFA otherParallel = createCFA(2);
+
+    assertThat(parallel.getAllFunctionNames()).isEqualTo(sequential.getAllFunctionNames());
+    assertThat(parallel.getAllNodes()).hasSize(sequential.getAllNodes().size());
+    for (String function : sequential.getAllFunctionNames()) {
+      assertThat(describe(parallel.getFunctionHead(function)))
+          .isEqualTo(describe(sequential.getFunctionHead(function)));
+    }
+    assertThat(getRelativeNodeNumbers(parallel)).isEqualTo(getRelativeNodeNumbers(otherParallel));
+
+    VariableClassification expected = sequential.getVarClassification().get();
+    VariableClassification actual = parallel.getVarClassification().get();
+    assertThat(actual.getRelevantVariables()).isEqualTo(expected.getRelevantVariables());
+    assertThat(actual.getAddressedVariables()).isEqualTo(expected.getAddressedVariables());
+    assertThat(actual.getIntBoolVars()).isEqualTo(expected.getIntBoolVars());
+    assertThat(actual.getIntEqualVars()).isEqualTo(expected.getIntEqualVars());
+    assertThat(actual.getIntAddVars()).isEqualTo(expected.getIntAddVars());
+  }
+
+  /** Get the absolute path of a file of {@link #MULTI_FILE_PROGRAM}. */
+  private String getPath(String pFile) {
+    return Paths.get(tempFolder.getRoot().getPath(), pFile).getPath();
+  }
+
+  private CFA createMultiFileCFA(int threads) throws Exception {
+    List<String> files = new ArrayList<>(MULTI_FILE_PROGRAM.size());
+    for (Map.Entry<String, String> file : MULTI_FILE_PROGRAM.entrySet()) {
+      Path path = Paths.get(getPath(file.getKey()));
+      if (!path.exists()) {
+        Files.writeFile(path, file.getValue());
+      }
+      files.add(path.getPath());
+    }
+
+    Configuration config = TestDataTools.configurationForTest()
+        .setOption("parser.threads", Integer.toString(threads))
+        .build();
+    CFACreator creator = new CFACreator(config, TestLogManager.getInstance(), ShutdownNotifier.create());
+    return creator.parseFileAndCreateCFA(files);
+  }
+
+  /**
+   * The CFA of a program with several files has to be the same,
+   * regardless of whether the files are parsed by one or by several threads
+   * (cf. {@link #testThreadsDoNotChangeCFA()} for the node numbers).
+   */
+  @Test
+  public void testParserThreadsDoNotChangeCFA() throws Exception {
+    CFA sequential = createMultiFileCFA(1);
+    CFA parallel = createMultiFileCFA(3);
+    CFA otherParallel = createMultiFileCFA(2);
+
+    assertThat(sequential.getAllFunctionNames()).containsExactly("main", "inc", "dec");
+    assertThat(parallel.getAllFunctionNames()).isEqualTo(sequential.getAllFunctionNames());
+    for (String function : sequential.getAllFunctionNames()) {
+      assertThat(describe(parallel.getFunctionHead(function)))
+          .isEqualTo(describe(sequential.getFunctionHead(function)));
+    }
+    assertThat(getRelativeNodeNumbers(parallel)).isEqualTo(getRelativeNodeNumbers(otherParallel));
+  }
+
+  /**
+   * The parse time of each file has to be reported,
+   * also if the files are parsed by several threads.
+   */
+  @Test
+  public void testParseTimePerFile() throws Exception {
+    for (int threads : new int[] {1, 3}) {
+      Configuration config = TestDataTools.configurationForTest()
+          .setOption("parser.threads", Integer.toString(threads))
+          .build();
+      CParser parser = CParser.Factory.getParser(config, TestLogManager.getInstance(),
+          CParser.Factory.getOptions(config), MachineModel.LINUX32);
+
+      List<FileContentToParse> files = new ArrayList<>(MULTI_FILE_PROGRAM.size());
+      Set<String> fileNames = new HashSet<>();
+      for (Map.Entry<String, String> file : MULTI_FILE_PROGRAM.entrySet()) {
+        files.add(new FileContentToParse(getPath(file.getKey()), file.getValue()));
+        fileNames.add(getPath(file.getKey()));
+      }
+      parser.parseString(files, new CSourceOriginMapping());
+
+      Map<String, Timer> parseTimePerFile = parser.getParseTimePerFile();
+      assertThat(parseTimePerFile.keySet()).isEqualTo(fileNames);
+      for (Timer timer : parseTimePerFile.values()) {
+        assertThat(timer.getNumberOfIntervals()).isEqualTo(1);
+      }
+    }
+  }
+
+  /**
+   * Get the numbers of all nodes (in the order of the functions and the nodes in the CFA),
+   * relative to the smallest node number.
+   */
+  private static List<String> getRelativeNodeNumbers(CFA pCfa) {
+    int smallestNumber = Integer.MAX_VALUE;
+    for (CFANode node : pCfa.getAllNodes()) {
+      smallestNumber = Math.min(smallestNumber, node.getNodeNumber());
+    }
+    List<String> result = new ArrayList<>(pCfa.getAllNodes().size());
+    for (CFANode node : pCfa.getAllNodes()) {
+      result.add(node.getFunctionName() + ":" + (node.getNodeNumber() - smallestNumber));
+    }
+    return result;
+  }
+
+  /**
+   * Describe the CFA of a function independently of the node numbers
+   * by numbering the nodes in the order of a breadth-first search.
+   */
+  private static List<String> describe(FunctionEntryNode pFunction) {
+    Map<CFANode, Integer> ids = new HashMap<>();
+    Queue<CFANode> waitlist = new ArrayDeque<>();
+    List<String> result = new ArrayList<>();
+    ids.put(pFunction, 0);
+    waitlist.add(pFunction);
+    while (!waitlist.isEmpty()) {
+      CFANode node = waitlist.poll();
+      for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+        CFANode successor = edge.getSuccessor();
+        if (!ids.containsKey(successor)) {
+          ids.put(successor, ids.size());
+          waitlist.add(successor);
+        }
+        result.add(ids.get(node) + " -{" + edge.getDescription() + "}-> " + ids.get(successor));
+      }
+    }
+    return result;
+  }
+}
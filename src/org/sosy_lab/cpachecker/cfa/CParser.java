@@ -25,12 +25,15 @@ package org.sosy_lab.cpachecker.cfa;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ast.c.CAstNode;
 import org.sosy_lab.cpachecker.cfa.parser.Scope;
 import org.sosy_lab.cpachecker.cfa.parser.eclipse.EclipseParsers;
@@ -98,6 +101,16 @@ public interface CParser extends Parser {
    */
   ParseResult parseString(List<FileContentToParse> code, CSourceOriginMapping sourceOriginMapping) throws CParserException, InvalidConfigurationException;
 
+  /**
+   * Return the time needed for parsing each file
+   * during the last call to {@link #parseFile(List, CSourceOriginMapping)}
+   * or {@link #parseString(List, CSourceOriginMapping)}.
+   * If the files were parsed concurrently,
+   * the sum of these times may be larger than the time of {@link #getParseTime()}.
+   * Optional method: may return an empty map.
+   */
+  Map<String, Timer> getParseTimePerFile();
+
   /**
    * Method for parsing a string that contains exactly one function with exactly
    * one statement. Only the AST for the statement is returned, the function
@@ -151,7 +164,21 @@ public interface CParser extends Parser {
     @Option(secure=true, description="C dialect for parser")
     private Dialect dialect = Dialect.GNUC;
 
+    @Option(secure=true, description="number of threads for preprocessing and parsing "
+        + "the files of programs that consist of several files "
+        + "(the conversion to the CFA is still done sequentially)")
+    @IntegerOption(min=1)
+    private int threads = 1;
+
     private ParserOptions() { }
+
+    public Dialect getDialect() {
+      return dialect;
+    }
+
+    public int getThreads() {
+      return threads;
+    }
   }
 
   /**
@@ -172,7 +199,7 @@ public interface CParser extends Parser {
     }
 
     public static CParser getParser(Configuration config, LogManager logger, ParserOptions options, MachineModel machine) {
-      return EclipseParsers.getCParser(config, logger, options.dialect, machine);
+      return EclipseParsers.getCParser(config, logger, options, machine);
     }
   }
 }
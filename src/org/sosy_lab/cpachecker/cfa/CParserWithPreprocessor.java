@@ -26,7 +26,15 @@ package org.sosy_lab.cpachecker.cfa;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
+import org.sosy_lab.common.concurrency.Threads;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ast.c.CAstNode;
@@ -34,6 +42,8 @@ import org.sosy_lab.cpachecker.cfa.parser.Scope;
 import org.sosy_lab.cpachecker.exceptions.CParserException;
 import org.sosy_lab.cpachecker.exceptions.ParserException;
 
+import com.google.common.base.Throwables;
+
 /**
  * Encapsulates a {@link CParser} instance and processes all files first
  * with a {@link CPreprocessor}.
@@ -42,10 +52,15 @@ class CParserWithPreprocessor implements CParser {
 
   private final CParser realParser;
   private final CPreprocessor preprocessor;
+  private final int threads;
 
-  public CParserWithPreprocessor(CParser pRealParser, CPreprocessor pPreprocessor) {
+  /**
+   * @param pThreads The number of files that are preprocessed concurrently.
+   */
+  public CParserWithPreprocessor(CParser pRealParser, CPreprocessor pPreprocessor, int pThreads) {
     realParser = pRealParser;
     preprocessor = pPreprocessor;
+    threads = pThreads;
   }
 
   @Override
@@ -73,21 +88,58 @@ class CParserWithPreprocessor implements CParser {
     return realParser.getCFAConstructionTime();
   }
 
+  @Override
+  public Map<String, Timer> getParseTimePerFile() {
+    return realParser.getParseTimePerFile();
+  }
+
   @Override
   public ParseResult parseFile(List<FileToParse> pFilenames, CSourceOriginMapping sourceOriginMapping) throws CParserException, IOException,
       InvalidConfigurationException, InterruptedException {
 
     List<FileContentToParse> programs = new ArrayList<>(pFilenames.size());
-    for (FileToParse p : pFilenames) {
-      String programCode = preprocessor.preprocess(p.getFileName());
-      if (programCode.isEmpty()) {
-        throw new CParserException("Preprocessor returned empty program");
+    if (threads <= 1 || pFilenames.size() <= 1) {
+      for (FileToParse p : pFilenames) {
+        programs.add(preprocess(p));
+      }
+
+    } else {
+      // the preprocessor is an external process,
+      // so we can run several instances of it concurrently
+      ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, pFilenames.size()),
+          Threads.threadFactoryBuilder().setDaemon(true).build());
+      try {
+        List<Future<FileContentToParse>> futures = new ArrayList<>(pFilenames.size());
+        for (final FileToParse p : pFilenames) {
+          futures.add(executor.submit(new Callable<FileContentToParse>() {
+            @Override
+            public FileContentToParse call() throws CParserException, InterruptedException {
+              return preprocess(p);
+            }
+          }));
+        }
+        for (Future<FileContentToParse> future : futures) {
+          programs.add(future.get());
+        }
+      } catch (ExecutionException e) {
+        Throwable t = e.getCause();
+        Throwables.propagateIfPossible(t, CParserException.class, InterruptedException.class);
+        throw new UnexpectedCheckedException("preprocessing", t);
+      } finally {
+        executor.shutdownNow();
       }
-      programs.add(new FileContentToParse(p.getFileName(), programCode));
     }
     return realParser.parseString(programs, sourceOriginMapping);
   }
 
+  private FileContentToParse preprocess(FileToParse pFile) throws CParserException, InterruptedException {
+    String programCode = preprocessor.preprocess(pFile.getFileName());
+    if (programCode.isEmpty()) {
+      throw new CParserException("Preprocessor returned empty program");
+    }
+    return new FileContentToParse(pFile.getFileName(), programCode);
+  }
+
   @Override
   public ParseResult parseString(List<FileContentToParse> pCode, CSourceOriginMapping sourceOriginMapping)
       throws CParserException, InvalidConfigurationException {
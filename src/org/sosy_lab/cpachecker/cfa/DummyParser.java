@@ -25,6 +25,7 @@ package org.sosy_lab.cpachecker.cfa;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.time.Timer;
@@ -70,6 +71,11 @@ public class DummyParser implements CParser {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public Map<String, Timer> getParseTimePerFile() {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   public ParseResult parseFile(List<FileToParse> pFilenames, CSourceOriginMapping pSourceOriginMapping)
       throws CParserException, IOException, InvalidConfigurationException, InterruptedException {
@@ -25,16 +25,29 @@ package org.sosy_lab.cpachecker.cfa;
 
 import static com.google.common.base.Preconditions.*;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
+import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
+import org.sosy_lab.cpachecker.cfa.model.MultiEdge;
 import org.sosy_lab.cpachecker.cfa.types.MachineModel;
 import org.sosy_lab.cpachecker.util.LiveVariables;
 import org.sosy_lab.cpachecker.util.LoopStructure;
 import org.sosy_lab.cpachecker.util.VariableClassification;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
@@ -44,8 +57,13 @@ import com.google.common.collect.SetMultimap;
 /**
  * This class represents a CFA after it has been fully created (parsing, linking
  * of functions, etc.).
+ *
+ * Instances can be serialized (cf. {@link SerializationProxy}),
+ * but the live variables are not included.
  */
-class ImmutableCFA implements CFA {
+class ImmutableCFA implements CFA, Serializable {
+
+  private static final long serialVersionUID = -5412406485418766542L;
 
   private final MachineModel machineModel;
   private final ImmutableSortedMap<String, FunctionEntryNode> functions;
@@ -166,4 +184,146 @@ class ImmutableCFA implements CFA {
     return language;
   }
 
+  private Object writeReplace() {
+    return new SerializationProxy(this);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException {
+    throw new InvalidObjectException("Proxy required");
+  }
+
+  /**
+   * Serialized form of an {@link ImmutableCFA}.
+   *
+   * The nodes do not serialize their edges themselves,
+   * because otherwise Java serialization would recurse along the paths
+   * of the CFA and overflow the stack for larger programs.
+   * Instead, all nodes are written first, afterwards the edges of all nodes,
+   * and the nodes are reconnected with their edges when reading.
+   */
+  private static class SerializationProxy implements Serializable {
+
+    private static final long serialVersionUID = 4604823924468155353L;
+
+    private transient ImmutableCFA cfa;
+
+    private SerializationProxy(ImmutableCFA pCfa) {
+      cfa = pCfa;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+      // the inner edges of multi edges may reference nodes
+      // that are not part of the CFA anymore
+      Set<CFANode> additionalNodes = new LinkedHashSet<>();
+      for (CFANode node : cfa.allNodes) {
+        for (int i = 0; i < node.getNumLeavingEdges(); i++) {
+          CFAEdge edge = node.getLeavingEdge(i);
+          if (edge instanceof MultiEdge) {
+            for (CFAEdge innerEdge : ((MultiEdge)edge).getEdges()) {
+              additionalNodes.add(innerEdge.getPredecessor());
+              additionalNodes.add(innerEdge.getSuccessor());
+            }
+          }
+        }
+      }
+      additionalNodes.removeAll(cfa.allNodes);
+
+      out.writeObject(cfa.machineModel);
+      out.writeObject(cfa.language);
+
+      out.writeInt(cfa.allNodes.size());
+      for (CFANode node : cfa.allNodes) {
+        out.writeObject(node);
+      }
+      out.writeInt(additionalNodes.size());
+      for (CFANode node : additionalNodes) {
+        out.writeObject(node);
+      }
+
+      for (CFANode node : cfa.allNodes) {
+        writeEdges(node, out);
+      }
+      for (CFANode node : additionalNodes) {
+        writeEdges(node, out);
+      }
+
+      out.writeObject(cfa.functions);
+      out.writeObject(cfa.mainFunction);
+      out.writeObject(cfa.loopStructure);
+      out.writeObject(cfa.varClassification);
+    }
+
+    private static void writeEdges(CFANode node, ObjectOutputStream out) throws IOException {
+      out.writeInt(node.getNumLeavingEdges());
+      for (int i = 0; i < node.getNumLeavingEdges(); i++) {
+        out.writeObject(node.getLeavingEdge(i));
+      }
+      out.writeInt(node.getNumEnteringEdges());
+      for (int i = 0; i < node.getNumEnteringEdges(); i++) {
+        out.writeObject(node.getEnteringEdge(i));
+      }
+      out.writeObject(node.getLeavingSummaryEdge());
+      out.writeObject(node.getEnteringSummaryEdge());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      MachineModel machineModel = (MachineModel) in.readObject();
+      Language language = (Language) in.readObject();
+
+      int nodeCount = in.readInt();
+      List<CFANode> nodes = new ArrayList<>(nodeCount);
+      for (int i = 0; i < nodeCount; i++) {
+        nodes.add((CFANode) in.readObject());
+      }
+      int additionalNodeCount = in.readInt();
+      List<CFANode> additionalNodes = new ArrayList<>(additionalNodeCount);
+      for (int i = 0; i < additionalNodeCount; i++) {
+        additionalNodes.add((CFANode) in.readObject());
+      }
+
+      for (CFANode node : nodes) {
+        readEdges(node, in);
+      }
+      for (CFANode node : additionalNodes) {
+        readEdges(node, in);
+      }
+
+      Map<String, FunctionEntryNode> functions = (Map<String, FunctionEntryNode>) in.readObject();
+      FunctionEntryNode mainFunction = (FunctionEntryNode) in.readObject();
+      Optional<LoopStructure> loopStructure = (Optional<LoopStructure>) in.readObject();
+      Optional<VariableClassification> varClassification = (Optional<VariableClassification>) in.readObject();
+
+      SetMultimap<String, CFANode> allNodes = HashMultimap.create();
+      for (CFANode node : nodes) {
+        allNodes.put(node.getFunctionName(), node);
+      }
+
+      cfa = new ImmutableCFA(machineModel, functions, allNodes, mainFunction,
+          loopStructure, varClassification, Optional.<LiveVariables>absent(), language);
+    }
+
+    private static void readEdges(CFANode node, ObjectInputStream in) throws IOException, ClassNotFoundException {
+      int leavingEdgeCount = in.readInt();
+      for (int i = 0; i < leavingEdgeCount; i++) {
+        node.addLeavingEdge((CFAEdge) in.readObject());
+      }
+      int enteringEdgeCount = in.readInt();
+      for (int i = 0; i < enteringEdgeCount; i++) {
+        node.addEnteringEdge((CFAEdge) in.readObject());
+      }
+      FunctionSummaryEdge leavingSummaryEdge = (FunctionSummaryEdge) in.readObject();
+      if (leavingSummaryEdge != null) {
+        node.addLeavingSummaryEdge(leavingSummaryEdge);
+      }
+      FunctionSummaryEdge enteringSummaryEdge = (FunctionSummaryEdge) in.readObject();
+      if (enteringSummaryEdge != null) {
+        node.addEnteringSummaryEdge(enteringSummaryEdge);
+      }
+    }
+
+    private Object readResolve() {
+      return cfa;
+    }
+  }
 }
@@ -0,0 +1,99 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cfa;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class ImmutableCFATest {
+
+  private static final String PROGRAM =
+        "int f(int p) { return p + 1; }"
+      + "int main() {"
+      + "  int x = 0;"
+      + "  while (x < 10) {"
+      + "    x = f(x);"
+      + "  }"
+      + "  return x;"
+      + "}";
+
+  @Test
+  public void testSerialization() throws Exception {
+    CFA cfa = TestDataTools.makeCFA(PROGRAM);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(cfa);
+    }
+    CFA copy;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (CFA) in.readObject();
+    }
+
+    assertThat(copy.getAllFunctionNames()).isEqualTo(cfa.getAllFunctionNames());
+    assertThat(copy.getMainFunction().getNodeNumber()).isEqualTo(cfa.getMainFunction().getNodeNumber());
+    assertThat(copy.getLoopStructure().isPresent()).isTrue();
+    assertThat(copy.getLoopStructure().get().getCount()).isEqualTo(1);
+    assertThat(copy.getVarClassification().isPresent()).isTrue();
+
+    assertThat(copy.getAllNodes()).hasSize(cfa.getAllNodes().size());
+    Iterator<CFANode> copiedNodes = copy.getAllNodes().iterator();
+    for (CFANode node : cfa.getAllNodes()) {
+      CFANode copiedNode = copiedNodes.next();
+      assertThat(copiedNode).isNotSameAs(node);
+      assertThat(copiedNode.getNodeNumber()).isEqualTo(node.getNodeNumber());
+      assertThat(copiedNode.getReversePostorderId()).isEqualTo(node.getReversePostorderId());
+
+      assertThat(describe(CFAUtils.allLeavingEdges(copiedNode)))
+          .isEqualTo(describe(CFAUtils.allLeavingEdges(node)));
+      assertThat(describe(CFAUtils.allEnteringEdges(copiedNode)))
+          .isEqualTo(describe(CFAUtils.allEnteringEdges(node)));
+    }
+
+    // new nodes do not re-use the numbers of the copied nodes
+    assertThat(new CFANode("main").getNodeNumber()).isGreaterThan(copy.getAllNodes().last().getNodeNumber());
+  }
+
+  private static String describe(Iterable<CFAEdge> edges) {
+    StringBuilder result = new StringBuilder();
+    for (CFAEdge edge : edges) {
+      result.append(edge.getPredecessor().getNodeNumber())
+            .append(" -{").append(edge.getDescription()).append("}-> ")
+            .append(edge.getSuccessor().getNodeNumber())
+            .append('\n');
+    }
+    return result.toString();
+  }
+}
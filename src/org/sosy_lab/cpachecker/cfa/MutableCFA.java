@@ -23,7 +23,9 @@
  */
 package org.sosy_lab.cpachecker.cfa;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -40,8 +42,10 @@ import org.sosy_lab.cpachecker.util.LoopStructure;
 import org.sosy_lab.cpachecker.util.VariableClassification;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.SortedSetMultimap;
+import com.google.common.collect.TreeMultimap;
 
 public class MutableCFA implements CFA {
 
@@ -50,6 +54,13 @@ public class MutableCFA implements CFA {
   private final SortedSetMultimap<String, CFANode> allNodes;
   private final FunctionEntryNode mainFunction;
   private final Language language;
+
+  /**
+   * Whether this instance is a copy for a single function
+   * as created by {@link #copyForFunction(String)}.
+   */
+  private final boolean functionCopy;
+
   private Optional<LoopStructure> loopStructure = Optional.absent();
   private Optional<LiveVariables> liveVariables = Optional.absent();
 
@@ -65,11 +76,75 @@ public class MutableCFA implements CFA {
     allNodes = pAllNodes;
     mainFunction = pMainFunction;
     language = pLanguage;
+    functionCopy = false;
 
     assert functions.keySet().equals(allNodes.keySet());
     assert functions.get(mainFunction.getFunctionName()) == mainFunction;
   }
 
+  private MutableCFA(MutableCFA pOriginal, String pFunction) {
+    machineModel = pOriginal.machineModel;
+    functions = Collections.unmodifiableSortedMap(pOriginal.functions);
+    allNodes = TreeMultimap.create();
+    allNodes.putAll(pFunction, pOriginal.allNodes.get(pFunction));
+    mainFunction = pOriginal.mainFunction;
+    language = pOriginal.language;
+    functionCopy = true;
+  }
+
+  /**
+   * Create a CFA that owns a copy of the set of nodes of a single function,
+   * and shares everything else with this CFA.
+   * The copy knows all functions, but only the nodes of the given function.
+   * This allows post-processings of several functions to add and remove nodes
+   * in parallel, with one copy per function.
+   * The set of functions of this CFA must not be changed while the copy is in use,
+   * and the changes of the nodes are visible in this CFA only after
+   * {@link #takeFunctionNodesFrom(MutableCFA, String)} was called.
+   */
+  MutableCFA copyForFunction(String pFunction) {
+    checkArgument(functions.containsKey(pFunction));
+    checkState(!functionCopy);
+    return new MutableCFA(this, pFunction);
+  }
+
+  /**
+   * Replace the nodes of a function with the nodes that a copy created by
+   * {@link #copyForFunction(String)} has for this function.
+   * If the function has no nodes anymore, it is removed.
+   */
+  void takeFunctionNodesFrom(MutableCFA pCopy, String pFunction) {
+    checkArgument(pCopy.functionCopy && pCopy.functions.containsKey(pFunction));
+    checkState(!functionCopy);
+    assert pCopy.allNodes.keySet().size() <= 1;
+
+    SortedSet<CFANode> functionNodes = pCopy.allNodes.get(pFunction);
+    if (functionNodes.isEmpty()) {
+      allNodes.removeAll(pFunction);
+      functions.remove(pFunction);
+    } else {
+      allNodes.replaceValues(pFunction, functionNodes);
+    }
+  }
+
+  /**
+   * Give all nodes new numbers, function by function in the order of the function names,
+   * and within each function in the order of their current numbers.
+   * Afterwards, the numbers of the nodes do not depend on the order
+   * in which the functions were parsed and post-processed,
+   * e.g., by several threads that draw the numbers of their nodes from the same counter.
+   * The relative order of the nodes of each function is not changed,
+   * so this is possible as long as no sorted collection contains nodes of several functions.
+   */
+  public void renumberNodes() {
+    checkState(!functionCopy);
+    for (String function : functions.keySet()) {
+      for (CFANode node : ImmutableList.copyOf(allNodes.get(function))) {
+        node.assignFreshNodeNumber();
+      }
+    }
+  }
+
   public void addNode(CFANode pNode) {
     assert functions.containsKey(pNode.getFunctionName());
     allNodes.put(pNode.getFunctionName(), pNode);
@@ -85,7 +160,9 @@ public class MutableCFA implements CFA {
     assert functionNodes.contains(pNode);
     functionNodes.remove(pNode);
 
-    if (functionNodes.isEmpty()) {
+    // a copy for a single function cannot change the set of functions,
+    // this is done by takeFunctionNodesFrom()
+    if (functionNodes.isEmpty() && !functionCopy) {
       functions.remove(pNode.getFunctionName());
     }
   }
@@ -32,6 +32,8 @@ import org.sosy_lab.cpachecker.cfa.types.Type;
 
 public abstract class AFloatLiteralExpression extends ALiteralExpression {
 
+  private static final long serialVersionUID = 4209319605334528732L;
+
   private final BigDecimal value;
 
   public AFloatLiteralExpression(FileLocation pFileLocation, Type pType, BigDecimal pValue) {
@@ -33,6 +33,8 @@ import com.google.common.collect.ImmutableList;
 
 public abstract class AFunctionDeclaration extends AbstractDeclaration {
 
+  private static final long serialVersionUID = -8081528533217718590L;
+
   private final List<AParameterDeclaration> parameters;
 
   public AFunctionDeclaration(FileLocation pFileLocation, IAFunctionType pType, String pName,
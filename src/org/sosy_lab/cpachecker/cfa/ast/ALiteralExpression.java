@@ -28,6 +28,8 @@ import org.sosy_lab.cpachecker.cfa.types.Type;
 
 public abstract class ALiteralExpression extends AbstractExpression {
 
+  private static final long serialVersionUID = 4498585248122220333L;
+
   public ALiteralExpression(FileLocation pFileLocation, Type pType) {
     super(pFileLocation, pType);
   }
@@ -31,6 +31,8 @@ import org.sosy_lab.cpachecker.cfa.types.Type;
 
 public abstract class AVariableDeclaration extends AbstractDeclaration {
 
+  private static final long serialVersionUID = -5606341361283626755L;
+
   private final String qualifiedName;
   private AInitializer initializer;
 
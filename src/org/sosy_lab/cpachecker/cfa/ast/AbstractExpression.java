@@ -38,6 +38,8 @@ import org.sosy_lab.cpachecker.cfa.types.Type;
 */
 public abstract class AbstractExpression extends AbstractRightHandSide implements AExpression {
 
+  private static final long serialVersionUID = -7402363729344457651L;
+
   public AbstractExpression(FileLocation pFileLocation, Type pType) {
     super(pFileLocation, pType);
   }
@@ -31,6 +31,8 @@ import org.sosy_lab.cpachecker.cfa.ast.AExpression;
 
 public class CArrayRangeDesignator extends CDesignator {
 
+  private static final long serialVersionUID = -3413262659545141679L;
+
   private final AExpression rangeFloor;
   private final AExpression rangeCeiling;
 
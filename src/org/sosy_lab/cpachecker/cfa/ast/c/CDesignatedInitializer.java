@@ -37,6 +37,7 @@ import com.google.common.collect.ImmutableList;
 
 public class CDesignatedInitializer extends AbstractInitializer implements CInitializer {
 
+  private static final long serialVersionUID = 9188036055725363985L;
 
   private final List<CDesignator> designators;
   private final CInitializer right;
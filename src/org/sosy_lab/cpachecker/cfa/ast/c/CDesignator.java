@@ -29,6 +29,8 @@ import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
 
 public abstract class CDesignator extends AbstractAstNode implements CAstNode {
 
+  private static final long serialVersionUID = 6945784463728723701L;
+
   public CDesignator(FileLocation pFileLoc) {
     super(pFileLoc);
   }
@@ -33,6 +33,8 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
 
 public final class CFieldReference extends AbstractExpression implements CLeftHandSide {
 
+  private static final long serialVersionUID = -5992431996210339266L;
+
   private final String         name;
   private final CExpression owner;
   private final boolean        isPointerDereference;
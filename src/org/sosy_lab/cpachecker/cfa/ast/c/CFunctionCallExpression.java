@@ -31,8 +31,7 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
 
 public class CFunctionCallExpression extends AFunctionCallExpression implements CRightHandSide {
 
-
-
+  private static final long serialVersionUID = -3665731137987585414L;
 
   public CFunctionCallExpression(final FileLocation pFileLocation,
                                     final CType pType,
@@ -39,6 +39,8 @@ import org.sosy_lab.cpachecker.cfa.types.c.CFunctionType;
  */
 public final class CFunctionDeclaration extends AFunctionDeclaration implements CDeclaration {
 
+  private static final long serialVersionUID = -8402434751313776430L;
+
   public CFunctionDeclaration(FileLocation pFileLocation,
       CFunctionType pType, String pName,
       List<CParameterDeclaration> parameters) {
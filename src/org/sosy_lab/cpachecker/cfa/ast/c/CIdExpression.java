@@ -31,6 +31,7 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
 
 public final class CIdExpression extends AIdExpression implements CLeftHandSide {
 
+  private static final long serialVersionUID = -2130231036740336653L;
 
   public CIdExpression(final FileLocation pFileLocation,
                           final CType pType, final String pName,
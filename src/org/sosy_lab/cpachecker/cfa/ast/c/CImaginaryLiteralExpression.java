@@ -31,6 +31,8 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
 
 public final class CImaginaryLiteralExpression extends ALiteralExpression implements CLiteralExpression {
 
+  private static final long serialVersionUID = 5226073307185295999L;
+
   private final CLiteralExpression value;
 
   public CImaginaryLiteralExpression(FileLocation pFileLocation,
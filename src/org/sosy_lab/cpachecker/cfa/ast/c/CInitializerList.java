@@ -37,6 +37,8 @@ import com.google.common.collect.ImmutableList;
 
 public class CInitializerList extends AbstractInitializer implements CInitializer, CAstNode {
 
+  private static final long serialVersionUID = -2118185860789880910L;
+
   private final List<CInitializer> initializerList;
 
   public CInitializerList(final FileLocation pFileLocation,
@@ -29,6 +29,7 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
 
 public class CPointerExpression extends APointerExpression implements CLeftHandSide {
 
+  private static final long serialVersionUID = -5924080094539797227L;
 
   public CPointerExpression(final FileLocation pFileLocation,
                             final CType pType, final CExpression pOperand) {
@@ -29,6 +29,8 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
 
 public final class CStringLiteralExpression extends AStringLiteralExpression implements CLiteralExpression {
 
+  private static final long serialVersionUID = 8000088713944152415L;
+
   public CStringLiteralExpression(FileLocation pFileLocation,
                                      CType pType,
                                      String pValue) {
@@ -36,6 +36,8 @@ import org.sosy_lab.cpachecker.cfa.types.c.CType;
  */
 public abstract class CTypeDeclaration extends AbstractDeclaration implements CDeclaration {
 
+  private static final long serialVersionUID = 6296798210085544782L;
+
   private final String qualifiedName;
 
   public CTypeDeclaration(FileLocation pFileLocation, boolean pIsGlobal,
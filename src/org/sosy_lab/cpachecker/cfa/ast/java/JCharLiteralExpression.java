@@ -32,6 +32,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JCharLiteralExpression extends ACharLiteralExpression implements JLiteralExpression {
 
+  private static final long serialVersionUID = -2470181925036795531L;
+
   public JCharLiteralExpression(FileLocation pFileLocation, JType pType, char pCharacter) {
     super(pFileLocation, pType, pCharacter);
   }
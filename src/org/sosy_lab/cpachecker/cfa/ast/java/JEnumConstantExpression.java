@@ -36,6 +36,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JClassType;
  */
 public class JEnumConstantExpression extends AbstractExpression implements JExpression {
 
+  private static final long serialVersionUID = 5726552155024266000L;
+
   // TODO Change the representation of the constantName from String to JIdExpression
 
   private final String constantName;
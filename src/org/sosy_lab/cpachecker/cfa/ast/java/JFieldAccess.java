@@ -38,6 +38,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JFieldAccess extends JIdExpression {
 
+  private static final long serialVersionUID = 166858304990546925L;
+
   //TODO Investigate if this should be refactored.
 
   private final JIdExpression qualifier;
@@ -35,6 +35,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JFloatLiteralExpression extends AFloatLiteralExpression implements JLiteralExpression {
 
+  private static final long serialVersionUID = 243709356529325967L;
+
   public JFloatLiteralExpression(FileLocation pFileLocation, BigDecimal pValue) {
     super(pFileLocation, JSimpleType.getFloat(), pValue);
   }
@@ -32,6 +32,8 @@ import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
  */
 public class JInitializerExpression extends AInitializerExpression implements JInitializer {
 
+  private static final long serialVersionUID = -7130579273364483081L;
+
   public JInitializerExpression(FileLocation pFileLocation, JExpression pExpression) {
     super(pFileLocation, pExpression);
   }
@@ -32,6 +32,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JNullType;
  */
 public class JNullLiteralExpression extends ALiteralExpression implements JLiteralExpression {
 
+  private static final long serialVersionUID = 429832868803234071L;
+
   public JNullLiteralExpression(FileLocation pFileLocation) {
     super(pFileLocation, new JNullType());
   }
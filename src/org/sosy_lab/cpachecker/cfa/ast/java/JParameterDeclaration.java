@@ -35,6 +35,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JParameterDeclaration extends AParameterDeclaration implements JSimpleDeclaration {
 
+  private static final long serialVersionUID = 2597044595055563882L;
+
   private final String qualifiedName;
   private final boolean isFinal;
 
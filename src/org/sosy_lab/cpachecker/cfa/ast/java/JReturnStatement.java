@@ -37,6 +37,8 @@ import com.google.common.base.Optional;
  */
 public class JReturnStatement extends AbstractReturnStatement implements JAstNode {
 
+  private static final long serialVersionUID = -1587073105647241636L;
+
   public JReturnStatement(FileLocation pFileLocation, Optional<JExpression> pExpression) {
     // TODO We absolutely need a correct assignment here that assigns pExpression to a special variable with the return type of the function.
     super(pFileLocation, pExpression, Optional.<JAssignment>absent());
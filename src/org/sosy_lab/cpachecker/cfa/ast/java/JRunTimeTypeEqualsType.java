@@ -39,6 +39,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JRunTimeTypeEqualsType extends AbstractExpression implements JExpression {
 
+  private static final long serialVersionUID = -7540979921892641205L;
+
   private final JRunTimeTypeExpression runTimeTypeExpression;
   private final JClassOrInterfaceType typeDef;
 
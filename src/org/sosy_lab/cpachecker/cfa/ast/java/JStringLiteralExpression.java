@@ -32,6 +32,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JStringLiteralExpression extends AStringLiteralExpression implements JLiteralExpression {
 
+  private static final long serialVersionUID = 9030805263675732565L;
+
   public JStringLiteralExpression(FileLocation pFileLocation, JType pType, String pValue) {
     super(pFileLocation, pType, pValue);
   }
@@ -40,6 +40,8 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JUnaryExpression extends AUnaryExpression implements JExpression {
 
+  private static final long serialVersionUID = 2743845396347869223L;
+
   public JUnaryExpression(FileLocation pFileLocation, JType pType, JExpression pOperand, UnaryOperator pOperator) {
     super(pFileLocation, pType, pOperand, pOperator);
 
@@ -35,6 +35,7 @@ import org.sosy_lab.cpachecker.cfa.types.java.JType;
  */
 public class JVariableDeclaration extends AVariableDeclaration implements JDeclaration {
 
+  private static final long serialVersionUID = -5405375349270886930L;
 
   private static final boolean IS_LOCAL = false;
   private final boolean isFinal;
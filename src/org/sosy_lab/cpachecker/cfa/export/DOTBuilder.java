@@ -24,8 +24,7 @@
 package org.sosy_lab.cpachecker.cfa.export;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
@@ -34,14 +33,15 @@ import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cfa.model.FunctionEntryNode;
 import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
 import org.sosy_lab.cpachecker.util.CFATraversal;
-import org.sosy_lab.cpachecker.util.CFATraversal.TraversalProcess;
+import org.sosy_lab.cpachecker.util.CFAUtils;
 
 import com.google.common.base.Function;
-import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
-import com.google.common.collect.ArrayListMultimap;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Multimaps;
 
 /**
  * Class for generating a DOT file from a CFA.
@@ -50,9 +50,6 @@ public final class DOTBuilder {
 
   private DOTBuilder() { /* utility class */ }
 
-  private static final String MAIN_GRAPH = "____Main____Diagram__";
-  private static final Joiner JOINER_ON_NEWLINE = Joiner.on('\n');
-
   // After this many characters the node shape changes to box.
   private static final int NODE_SHAPE_CHANGE_CHAR_LIMIT = 10;
 
@@ -71,13 +68,20 @@ public final class DOTBuilder {
 
   public static void generateDOT(Appendable sb, CFA cfa,
       Function<CFANode, String> formatNodeLabel) throws IOException{
-    DotGenerator dotGenerator = new DotGenerator(cfa, formatNodeLabel);
-    CFATraversal.dfs().traverseOnce(cfa.getMainFunction(), dotGenerator);
+    // Only the set of reachable nodes is collected in advance,
+    // the nodes and edges are written directly (grouped by function),
+    // such that the whole output is never kept in memory.
+    Set<CFANode> reachableNodes = CFATraversal.dfs().collectNodesReachableFrom(cfa.getMainFunction());
+    ImmutableListMultimap<String, CFANode> nodesPerFunction = Multimaps.index(
+        Iterables.filter(cfa.getAllNodes(), Predicates.in(reachableNodes)), CFAUtils.GET_FUNCTION);
+    Optional<ImmutableSet<CFANode>> loopHeads = cfa.getAllLoopHeads();
 
     sb.append("digraph " + "CFA" + " {\n");
 
-    JOINER_ON_NEWLINE.appendTo(sb, dotGenerator.nodes);
-    sb.append('\n');
+    for (CFANode node : nodesPerFunction.values()) {
+      sb.append(formatNode(node, loopHeads, formatNodeLabel));
+      sb.append('\n');
+    }
 
     // define the graphic representation for all subsequent nodes
     sb.append("node [shape=\"circle\"]\n");
@@ -89,69 +93,50 @@ public final class DOTBuilder {
           .replace("[", "").replace("]", "_array")
           .replace(".", "_") + " {\n");
       sb.append("label=\"" + fnode.getFunctionName() + "()\"\n");
-      JOINER_ON_NEWLINE.appendTo(sb, dotGenerator.edges.get(fnode.getFunctionName()));
+      for (CFANode node : nodesPerFunction.get(fnode.getFunctionName())) {
+        for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+          if (!isInterproceduralEdge(edge)) {
+            sb.append(formatEdge(edge));
+            sb.append('\n');
+          }
+        }
+      }
       sb.append("}\n");
     }
 
-    JOINER_ON_NEWLINE.appendTo(sb, dotGenerator.edges.get(MAIN_GRAPH));
-    sb.append("}");
-  }
-
-  private static class DotGenerator implements CFATraversal.CFAVisitor {
-
-    private final List<String> nodes = new ArrayList<>();
-
-    // edges for each function
-    private final ListMultimap<String, String> edges = ArrayListMultimap.create();
-
-    private final Optional<ImmutableSet<CFANode>> loopHeads;
-    private final Function<CFANode, String> formatNodeLabel;
-
-
-    public DotGenerator(CFA cfa, Function<CFANode, String> pFormatNodeLabel) {
-      loopHeads = cfa.getAllLoopHeads();
-      formatNodeLabel = pFormatNodeLabel;
-    }
-
-    @Override
-    public TraversalProcess visitEdge(CFAEdge edge) {
-      CFANode predecessor = edge.getPredecessor();
-      List<String> graph;
-      if ((edge.getEdgeType() == CFAEdgeType.FunctionCallEdge) || edge.getEdgeType() == CFAEdgeType.FunctionReturnEdge) {
-        graph = edges.get(MAIN_GRAPH);
-      } else {
-        graph = edges.get(predecessor.getFunctionName());
+    for (CFANode node : nodesPerFunction.values()) {
+      for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+        if (isInterproceduralEdge(edge)) {
+          sb.append(formatEdge(edge));
+          sb.append('\n');
+        }
       }
-      graph.add(formatEdge(edge));
-
-      return CFATraversal.TraversalProcess.CONTINUE;
     }
+    sb.append("}");
+  }
 
-    @Override
-    public TraversalProcess visitNode(CFANode node) {
-      nodes.add(formatNode(node, loopHeads, formatNodeLabel));
-
-      return CFATraversal.TraversalProcess.CONTINUE;
-    }
+  private static boolean isInterproceduralEdge(CFAEdge edge) {
+    return edge.getEdgeType() == CFAEdgeType.FunctionCallEdge
+        || edge.getEdgeType() == CFAEdgeType.FunctionReturnEdge;
+  }
 
-    private static String formatEdge(CFAEdge edge) {
-      StringBuilder sb = new StringBuilder();
-      sb.append(edge.getPredecessor().getNodeNumber());
-      sb.append(" -> ");
-      sb.append(edge.getSuccessor().getNodeNumber());
-      sb.append(" [label=\"");
+  private static String formatEdge(CFAEdge edge) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(edge.getPredecessor().getNodeNumber());
+    sb.append(" -> ");
+    sb.append(edge.getSuccessor().getNodeNumber());
+    sb.append(" [label=\"");
 
-      //the first call to replaceAll replaces \" with \ " to prevent a bug in dotty.
-      //future updates of dotty may make this obsolete.
-      sb.append(escapeGraphvizLabel(edge.getDescription(), " "));
+    //the first call to replaceAll replaces \" with \ " to prevent a bug in dotty.
+    //future updates of dotty may make this obsolete.
+    sb.append(escapeGraphvizLabel(edge.getDescription(), " "));
 
-      sb.append("\"");
-      if (edge instanceof FunctionSummaryEdge) {
-        sb.append(" style=\"dotted\" arrowhead=\"empty\"");
-      }
-      sb.append("]");
-      return sb.toString();
+    sb.append("\"");
+    if (edge instanceof FunctionSummaryEdge) {
+      sb.append(" style=\"dotted\" arrowhead=\"empty\"");
     }
+    sb.append("]");
+    return sb.toString();
   }
 
   static String formatNode(
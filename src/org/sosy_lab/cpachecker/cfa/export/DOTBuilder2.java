@@ -159,24 +159,12 @@ public final class DOTBuilder2 {
 
         try (Writer out = outdir.resolve("cfa__" + funcname + ".dot").asCharSink(StandardCharsets.UTF_8).openBufferedStream()) {
           out.write("digraph " + funcname + " {\n");
-          StringBuilder outb = new StringBuilder();
-          //write comboedges
+          //combo edges of length 1 are written as normal edges
           for (List<CFAEdge> combo: comboedges) {
             if (combo.size() == 1) {
               edges.add(combo.get(0));
               nodes.add(combo.get(0).getPredecessor());
               nodes.add(combo.get(0).getSuccessor());
-
-            } else {
-              outb.append(comboToDot(combo));
-
-              CFAEdge first = combo.get(0);
-              CFAEdge last = combo.get(combo.size() - 1);
-
-              outb.append(first.getPredecessor().getNodeNumber());
-              outb.append(" -> ");
-              outb.append(last.getSuccessor().getNodeNumber());
-              outb.append("[label=\"\"]\n");
             }
           }
 
@@ -186,7 +174,19 @@ public final class DOTBuilder2 {
             out.write('\n');
           }
 
-          out.write(outb.toString());
+          //write comboedges (after the nodes, because they override some node definitions)
+          for (List<CFAEdge> combo: comboedges) {
+            if (combo.size() > 1) {
+              out.write(comboToDot(combo));
+
+              CFAEdge first = combo.get(0);
+              CFAEdge last = combo.get(combo.size() - 1);
+
+              out.write(first.getPredecessor().getNodeNumber()
+                  + " -> " + last.getSuccessor().getNodeNumber()
+                  + "[label=\"\"]\n");
+            }
+          }
 
           //write edges
           for (CFAEdge edge: edges) {
@@ -31,6 +31,8 @@ import com.google.common.base.Optional;
 
 public class AssumeEdge extends AbstractCFAEdge {
 
+  private static final long serialVersionUID = -7459474814479756963L;
+
   private final boolean truthAssumption;
   protected final AExpression expression;
 
@@ -26,20 +26,28 @@ package org.sosy_lab.cpachecker.cfa.model;
 import static com.google.common.base.Preconditions.*;
 import static com.google.common.collect.Iterables.getLast;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
 import org.sosy_lab.cpachecker.util.UniqueIdGenerator;
 
-public class CFANode implements Comparable<CFANode> {
+public class CFANode implements Comparable<CFANode>, Serializable {
+
+  private static final long serialVersionUID = 3411653667907989992L;
 
   private static final UniqueIdGenerator idGenerator = new UniqueIdGenerator();
 
-  private final int nodeNumber;
+  private int nodeNumber;
 
-  private final List<CFAEdge> leavingEdges = new ArrayList<>(1);
-  private final List<CFAEdge> enteringEdges = new ArrayList<>(1);
+  // The edges are not serialized together with the node,
+  // because this would recurse along the whole CFA and could overflow the stack.
+  // Whoever serializes a whole CFA needs to store and reconnect the edges explicitly.
+  private transient List<CFAEdge> leavingEdges = new ArrayList<>(1);
+  private transient List<CFAEdge> enteringEdges = new ArrayList<>(1);
 
   // is start node of a loop?
   private boolean isLoopStart = false;
@@ -48,8 +56,8 @@ public class CFANode implements Comparable<CFANode> {
   private final String functionName;
 
   // list of summary edges
-  private FunctionSummaryEdge leavingSummaryEdge = null;
-  private FunctionSummaryEdge enteringSummaryEdge = null;
+  private transient FunctionSummaryEdge leavingSummaryEdge = null;
+  private transient FunctionSummaryEdge enteringSummaryEdge = null;
 
   // reverse postorder sort id, smaller if it appears later in sorting
   private int reversePostorderId = 0;
@@ -65,6 +73,17 @@ public class CFANode implements Comparable<CFANode> {
     return nodeNumber;
   }
 
+  /**
+   * Give this node a new number, which is larger than the numbers of all existing nodes.
+   * This must not change the order of the nodes in any sorted collection
+   * that contains this node (cf. {@link #compareTo(CFANode)}),
+   * so it is only possible while the CFA is created
+   * (cf. {@link org.sosy_lab.cpachecker.cfa.MutableCFA#renumberNodes()}).
+   */
+  public void assignFreshNodeNumber() {
+    nodeNumber = idGenerator.getFreshId();
+  }
+
   public int getReversePostorderId() {
     return reversePostorderId;
   }
@@ -203,6 +222,15 @@ public class CFANode implements Comparable<CFANode> {
     return super.hashCode();
   }
 
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    leavingEdges = new ArrayList<>(1);
+    enteringEdges = new ArrayList<>(1);
+
+    // nodes created after this one was loaded must not re-use its number
+    idGenerator.reserveIdsUpTo(nodeNumber);
+  }
+
   /**
    * Return a human-readable string describing to which point in the program
    * this state belongs to.
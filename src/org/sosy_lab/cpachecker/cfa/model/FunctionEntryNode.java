@@ -39,6 +39,8 @@ import com.google.common.collect.ImmutableList;
 
 public abstract class FunctionEntryNode extends CFANode {
 
+  private static final long serialVersionUID = 4893929175425784602L;
+
   private final FileLocation location;
   private final AFunctionDeclaration functionDefinition;
   private final List<String> parameterNames;
@@ -32,7 +32,7 @@ import com.google.common.base.Optional;
 
 public class CDeclarationEdge extends ADeclarationEdge {
 
-
+  private static final long serialVersionUID = -2338494365799296321L;
 
   public CDeclarationEdge(final String pRawSignature, final FileLocation pFileLocation,
       final CFANode pPredecessor, final CFANode pSuccessor, final CDeclaration pDeclaration) {
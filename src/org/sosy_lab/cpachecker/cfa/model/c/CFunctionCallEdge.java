@@ -36,7 +36,7 @@ import com.google.common.base.Optional;
 
 public class CFunctionCallEdge extends FunctionCallEdge {
 
-
+  private static final long serialVersionUID = -383644868280493288L;
 
   public CFunctionCallEdge(String pRawStatement,
       FileLocation pFileLocation, CFANode pPredecessor, CFunctionEntryNode pSuccessor,
@@ -36,6 +36,8 @@ import com.google.common.base.Optional;
 
 public class CFunctionEntryNode extends FunctionEntryNode {
 
+  private static final long serialVersionUID = -6095392158913060026L;
+
   public CFunctionEntryNode(final FileLocation pFileLocation,
       final CFunctionDeclaration pFunctionDefinition,
       final FunctionExitNode pExitNode,
@@ -30,6 +30,7 @@ import org.sosy_lab.cpachecker.cfa.model.FunctionReturnEdge;
 
 public class CFunctionReturnEdge extends FunctionReturnEdge {
 
+  private static final long serialVersionUID = 4884389563636702015L;
 
   public CFunctionReturnEdge(FileLocation pFileLocation,
       FunctionExitNode pPredecessor, CFANode pSuccessor,
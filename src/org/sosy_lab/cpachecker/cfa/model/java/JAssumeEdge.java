@@ -33,6 +33,8 @@ import com.google.common.base.Optional;
 
 public class JAssumeEdge extends AssumeEdge {
 
+  private static final long serialVersionUID = -3101836522610513375L;
+
   public JAssumeEdge(String pRawStatement, FileLocation pFileLocation, CFANode pPredecessor,
       CFANode pSuccessor, JExpression pExpression, boolean pTruthAssumption) {
 
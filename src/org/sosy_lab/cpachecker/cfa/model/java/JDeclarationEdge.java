@@ -34,7 +34,7 @@ import com.google.common.base.Optional;
 
 public class JDeclarationEdge extends ADeclarationEdge {
 
-
+  private static final long serialVersionUID = 1133014235717573536L;
 
   public JDeclarationEdge(final String pRawSignature, final FileLocation pFileLocation,
       final CFANode pPredecessor, final CFANode pSuccessor, final JDeclaration pDeclaration) {
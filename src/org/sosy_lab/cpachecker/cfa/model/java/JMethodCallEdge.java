@@ -36,7 +36,7 @@ import com.google.common.base.Optional;
 
 public class JMethodCallEdge extends FunctionCallEdge {
 
-
+  private static final long serialVersionUID = -1381236747889096374L;
 
   public JMethodCallEdge(String pRawStatement,
       FileLocation pFileLocation, CFANode pPredecessor, JMethodEntryNode pSuccessor,
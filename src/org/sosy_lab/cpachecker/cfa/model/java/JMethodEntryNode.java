@@ -36,6 +36,8 @@ import com.google.common.base.Optional;
 
 public class JMethodEntryNode extends FunctionEntryNode {
 
+  private static final long serialVersionUID = 4746600711063823920L;
+
   public JMethodEntryNode(final FileLocation pFileLocation,
       final JMethodDeclaration pMethodDefinition,
       final FunctionExitNode pExitNode,
@@ -30,6 +30,7 @@ import org.sosy_lab.cpachecker.cfa.model.FunctionReturnEdge;
 
 public class JMethodReturnEdge extends FunctionReturnEdge {
 
+  private static final long serialVersionUID = 4092288435044548085L;
 
   public JMethodReturnEdge(FileLocation pFileLocation,
       FunctionExitNode pPredecessor, CFANode pSuccessor,
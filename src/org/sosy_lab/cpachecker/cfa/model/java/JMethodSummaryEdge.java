@@ -30,6 +30,7 @@ import org.sosy_lab.cpachecker.cfa.model.FunctionSummaryEdge;
 
 public class JMethodSummaryEdge extends FunctionSummaryEdge {
 
+  private static final long serialVersionUID = 7486501877691574770L;
 
   public JMethodSummaryEdge(String pRawStatement, FileLocation pFileLocation,
       CFANode pPredecessor, CFANode pSuccessor,
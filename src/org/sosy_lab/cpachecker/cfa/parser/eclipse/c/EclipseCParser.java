@@ -29,9 +29,16 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
@@ -54,6 +61,8 @@ import org.eclipse.cdt.internal.core.parser.InternalParserUtil;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.core.runtime.CoreException;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
+import org.sosy_lab.common.concurrency.Threads;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.io.Path;
@@ -72,8 +81,10 @@ import org.sosy_lab.cpachecker.exceptions.CParserException;
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 /**
  * Wrapper for Eclipse CDT 7.0 and 8.* (internal version number since 5.2.*)
@@ -89,17 +100,21 @@ class EclipseCParser implements CParser {
   private final LogManager logger;
   private final Configuration config;
 
+  private final int threads;
+
   private final Timer parseTimer = new Timer();
   private final Timer cfaTimer = new Timer();
+  private final Map<String, Timer> parseTimePerFile = new LinkedHashMap<>();
 
   public EclipseCParser(Configuration pConfig, LogManager pLogger,
-      Dialect dialect, MachineModel pMachine) {
+      ParserOptions pOptions, MachineModel pMachine) {
 
     this.logger = pLogger;
     this.machine = pMachine;
     this.config = pConfig;
+    this.threads = pOptions.getThreads();
 
-    switch (dialect) {
+    switch (pOptions.getDialect()) {
     case C99:
       language = new CLanguage(new ANSICParserExtensionConfiguration());
       break;
@@ -140,21 +155,21 @@ class EclipseCParser implements CParser {
   @Override
   public ParseResult parseFile(List<FileToParse> pFilenames, CSourceOriginMapping sourceOriginMapping) throws CParserException, IOException, InvalidConfigurationException {
 
-    List<IASTTranslationUnit> astUnits = new ArrayList<>();
+    List<FileContent> contents = new ArrayList<>(pFilenames.size());
     for (FileToParse f: pFilenames) {
-      astUnits.add(parse(wrapFile(f.getFileName())));
+      contents.add(wrapFile(f.getFileName()));
     }
-    return buildCFA(astUnits, sourceOriginMapping);
+    return buildCFA(parseAll(contents), sourceOriginMapping);
   }
 
   @Override
   public ParseResult parseString(List<FileContentToParse> codeFragments, CSourceOriginMapping sourceOriginMapping) throws CParserException, InvalidConfigurationException {
 
-    List<IASTTranslationUnit> astUnits = new ArrayList<>();
+    List<FileContent> contents = new ArrayList<>(codeFragments.size());
     for (FileContentToParse f : codeFragments) {
-      astUnits.add(parse(wrapCode(f)));
+      contents.add(wrapCode(f));
     }
-    return buildCFA(astUnits, sourceOriginMapping);
+    return buildCFA(parseAll(contents), sourceOriginMapping);
   }
 
   /**
@@ -261,8 +276,87 @@ class EclipseCParser implements CParser {
           | ILanguage.OPTION_NO_IMAGE_LOCATIONS // we don't use IASTName#getImageLocation(), so the parse doesn't need to create them
           ;
 
+  /**
+   * Parse several files, concurrently if more than one thread is configured,
+   * and measure the time for each file.
+   * Parsing is thread-safe because Eclipse CDT creates a new scanner and parser
+   * for each translation unit, and all objects shared by these are stateless.
+   */
+  private List<IASTTranslationUnit> parseAll(List<FileContent> pContents) throws CParserException {
+    parseTimePerFile.clear();
+    List<ParseTask> tasks = new ArrayList<>(pContents.size());
+    for (FileContent content : pContents) {
+      tasks.add(new ParseTask(content));
+    }
+
+    List<IASTTranslationUnit> result = new ArrayList<>(tasks.size());
+    parseTimer.start();
+    try {
+      if (threads <= 1 || tasks.size() <= 1) {
+        for (ParseTask task : tasks) {
+          result.add(task.call());
+        }
+
+      } else {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()),
+            Threads.threadFactoryBuilder().setDaemon(true).build());
+        try {
+          List<Future<IASTTranslationUnit>> futures = new ArrayList<>(tasks.size());
+          for (ParseTask task : tasks) {
+            futures.add(executor.submit(task));
+          }
+          for (Future<IASTTranslationUnit> future : futures) {
+            // parsing cannot be interrupted, so we do not need to handle interrupts here
+            result.add(Uninterruptibles.getUninterruptibly(future));
+          }
+        } catch (ExecutionException e) {
+          Throwable t = e.getCause();
+          Throwables.propagateIfPossible(t, CParserException.class);
+          throw new UnexpectedCheckedException("parsing", t);
+        } finally {
+          executor.shutdownNow();
+        }
+      }
+    } finally {
+      parseTimer.stop();
+    }
+
+    for (ParseTask task : tasks) {
+      parseTimePerFile.put(task.content.getFileLocation(), task.timer);
+    }
+    return result;
+  }
+
+  private class ParseTask implements Callable<IASTTranslationUnit> {
+
+    private final FileContent content;
+    private final Timer timer = new Timer();
+
+    private ParseTask(FileContent pContent) {
+      content = pContent;
+    }
+
+    @Override
+    public IASTTranslationUnit call() throws CParserException {
+      timer.start();
+      try {
+        return parseWithoutTimer(content);
+      } finally {
+        timer.stop();
+      }
+    }
+  }
+
   private IASTTranslationUnit parse(FileContent codeReader) throws CParserException {
     parseTimer.start();
+    try {
+      return parseWithoutTimer(codeReader);
+    } finally {
+      parseTimer.stop();
+    }
+  }
+
+  private IASTTranslationUnit parseWithoutTimer(FileContent codeReader) throws CParserException {
     try {
       IASTTranslationUnit result = getASTTranslationUnit(codeReader);
 
@@ -291,8 +385,6 @@ class EclipseCParser implements CParser {
       throw new CParserException(e);
     } catch (CoreException e) {
       throw new CParserException(e);
-    } finally {
-      parseTimer.stop();
     }
   }
 
@@ -414,6 +506,11 @@ class EclipseCParser implements CParser {
     return cfaTimer;
   }
 
+  @Override
+  public Map<String, Timer> getParseTimePerFile() {
+    return Collections.unmodifiableMap(parseTimePerFile);
+  }
+
 
   /**
    * Private class extending the Eclipse CDT class that is the starting point
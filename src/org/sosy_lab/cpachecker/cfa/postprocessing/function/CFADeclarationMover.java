@@ -69,11 +69,16 @@ public class CFADeclarationMover {
   public void moveDeclarationsToFunctionStart(MutableCFA cfa) {
     Collection<FunctionEntryNode> startNodes = cfa.getAllFunctionHeads();
     for (FunctionEntryNode node : startNodes) {
-      handleDeclarationsInFunction(node, cfa);
+      moveDeclarationsToFunctionStart(node, cfa);
     }
   }
 
-  private void handleDeclarationsInFunction(FunctionEntryNode startNode, MutableCFA cfa) {
+  /**
+   * Move the declarations of a single function to its beginning.
+   * This touches only the given function and may thus be called
+   * concurrently for different functions.
+   */
+  public void moveDeclarationsToFunctionStart(FunctionEntryNode startNode, MutableCFA cfa) {
     CFAEdge firstRealFunctionEdge = startNode.getLeavingEdge(0);
     List<CFAEdge> secondRealFunctionEdge = new ArrayList<>();
     String functionName = startNode.getFunctionName();
@@ -65,10 +65,13 @@ public class CFASimplifier {
    * This method makes the simplification step for a single function, the
    * root node is the node where the search for possible simplifications starts.
    *
+   * This touches only the given function and may thus be called
+   * concurrently for different functions.
+   *
    * @param root
    * @param cfa The cfa where the simplifications should be applied
    */
-  private static void simplifyFunction(final CFANode root, final MutableCFA cfa) {
+  public static void simplifyFunction(final CFANode root, final MutableCFA cfa) {
     // We want to eliminate branching with two empty branches (only blank edges).
     // Inner branches need to be eliminated first.
 
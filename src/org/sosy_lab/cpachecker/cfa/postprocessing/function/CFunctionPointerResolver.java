@@ -230,17 +230,29 @@ public class CFunctionPointerResolver {
    * potentially replacing function pointer calls with regular function calls.
    */
   public void resolveFunctionPointers() {
+    for (FunctionEntryNode functionStartNode : cfa.getAllFunctionHeads()) {
+      resolveFunctionPointers(cfa, functionStartNode);
+    }
+  }
+
+  /**
+   * Replace the function pointer calls of a single function.
+   * This touches only the given function and may thus be called
+   * concurrently for different functions.
+   *
+   * @param pCfa The CFA that owns the nodes of the given function
+   * (the CFA given in the constructor, or a copy of it for this function).
+   */
+  public void resolveFunctionPointers(MutableCFA pCfa, FunctionEntryNode functionStartNode) {
 
     // 1.Step: get all function calls
     final FunctionPointerCallCollector visitor = new FunctionPointerCallCollector();
-    for (FunctionEntryNode functionStartNode : cfa.getAllFunctionHeads()) {
-      CFATraversal.dfs().traverseOnce(functionStartNode, visitor);
-    }
+    CFATraversal.dfs().traverseOnce(functionStartNode, visitor);
 
     // 2.Step: replace functionCalls with functioncall- and return-edges
     // This loop replaces function pointer calls inside the given function with regular function calls.
     for (final CStatementEdge edge : visitor.functionPointerCalls) {
-      replaceFunctionPointerCall((CFunctionCall)edge.getStatement(), edge);
+      replaceFunctionPointerCall(pCfa, (CFunctionCall)edge.getStatement(), edge);
     }
   }
 
@@ -286,7 +298,8 @@ public class CFunctionPointerResolver {
   /**
    * This method replaces a single function pointer call with a function call series.
    */
-  private void replaceFunctionPointerCall(CFunctionCall functionCall, CStatementEdge statement) {
+  private void replaceFunctionPointerCall(MutableCFA pCfa,
+      CFunctionCall functionCall, CStatementEdge statement) {
     CFunctionCallExpression fExp = functionCall.getFunctionCallExpression();
     logger.log(Level.FINEST, "Function pointer call", fExp);
 
@@ -328,8 +341,8 @@ public class CFunctionPointerResolver {
 
     CFANode rootNode = start;
     for (FunctionEntryNode fNode : funcs) {
-      CFANode thenNode = newCFANode(start.getFunctionName());
-      CFANode elseNode = newCFANode(start.getFunctionName());
+      CFANode thenNode = newCFANode(pCfa, start.getFunctionName());
+      CFANode elseNode = newCFANode(pCfa, start.getFunctionName());
       CIdExpression func = new CIdExpression(nameExp.getFileLocation(),
                                               (CType)fNode.getFunctionDefinition().getType(),
                                               fNode.getFunctionName(),
@@ -344,7 +357,7 @@ public class CFunctionPointerResolver {
       addConditionEdges(condition, rootNode, thenNode, elseNode, fileLocation);
 
 
-      CFANode retNode = newCFANode(start.getFunctionName());
+      CFANode retNode = newCFANode(pCfa, start.getFunctionName());
       //create special summary edge
       //thenNode-->retNode
       String pRawStatement = "pointer call(" + fNode.getFunctionName() + ") " + statement.getRawStatement();
@@ -376,7 +389,7 @@ public class CFunctionPointerResolver {
       for (CFAEdge edge : CFAUtils.enteringEdges(rootNode)) {
         CFACreationUtils.removeEdgeFromNodes(edge);
       }
-      cfa.removeNode(rootNode);
+      pCfa.removeNode(rootNode);
     }
   }
 
@@ -408,10 +421,10 @@ public class CFunctionPointerResolver {
   /**
    * @category helper
    */
-  private CFANode newCFANode(final String functionName) {
-    assert cfa != null;
+  private CFANode newCFANode(final MutableCFA pCfa, final String functionName) {
+    assert pCfa != null;
     CFANode nextNode = new CFANode(functionName);
-    cfa.addNode(nextNode);
+    pCfa.addNode(nextNode);
     return nextNode;
   }
 
@@ -76,23 +76,31 @@ public class ExpandFunctionPointerArrayAssignments {
   }
 
   public void replaceFunctionPointerArrayAssignments(final MutableCFA cfa) throws CParserException {
+    for (String function : cfa.getAllFunctionNames()) {
+      replaceFunctionPointerArrayAssignments(cfa, function);
+    }
+  }
+
+  /**
+   * Replace the function-pointer array assignments of a single function.
+   * This touches only the given function and may thus be called
+   * concurrently for different functions.
+   */
+  public void replaceFunctionPointerArrayAssignments(final MutableCFA cfa, final String function) throws CParserException {
 
     CBinaryExpressionBuilder binBuilder = new CBinaryExpressionBuilder(cfa.getMachineModel(), logger);
 
-    for (final String function : cfa.getAllFunctionNames()) {
-
-      for (CFANode node : ImmutableList.copyOf(cfa.getFunctionNodes(function))) {
-        switch (node.getNumLeavingEdges()) {
-        case 0:
-          break;
-        case 1:
-          handleEdge(node.getLeavingEdge(0), cfa, binBuilder);
-          break;
-        case 2:
-          break;
-        default:
-          throw new AssertionError("Too many leaving edges on CFANode");
-        }
+    for (CFANode node : ImmutableList.copyOf(cfa.getFunctionNodes(function))) {
+      switch (node.getNumLeavingEdges()) {
+      case 0:
+        break;
+      case 1:
+        handleEdge(node.getLeavingEdge(0), cfa, binBuilder);
+        break;
+      case 2:
+        break;
+      default:
+        throw new AssertionError("Too many leaving edges on CFANode");
       }
     }
   }
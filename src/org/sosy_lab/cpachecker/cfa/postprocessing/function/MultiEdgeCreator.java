@@ -46,12 +46,22 @@ import org.sosy_lab.cpachecker.util.CFATraversal.TraversalProcess;
 public class MultiEdgeCreator extends DefaultCFAVisitor {
 
   public static void createMultiEdges(MutableCFA cfa) {
-    final MultiEdgeCreator visitor = new MultiEdgeCreator(cfa);
     for (final CFANode functionStart : cfa.getAllFunctionHeads()) {
-      CFATraversal.dfs().ignoreSummaryEdges().traverseOnce(functionStart, visitor);
+      createMultiEdges(cfa, functionStart);
     }
   }
 
+  /**
+   * Create the multi edges of a single function.
+   * This touches only the given function and may thus be called
+   * concurrently for different functions
+   * (as long as the CFAs of the functions are not yet connected).
+   */
+  public static void createMultiEdges(MutableCFA cfa, CFANode functionStart) {
+    final MultiEdgeCreator visitor = new MultiEdgeCreator(cfa);
+    CFATraversal.dfs().ignoreSummaryEdges().traverseOnce(functionStart, visitor);
+  }
+
   private final MutableCFA cfa;
 
   private MultiEdgeCreator(MutableCFA pCfa) {
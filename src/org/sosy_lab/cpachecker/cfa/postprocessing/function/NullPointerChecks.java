@@ -99,57 +99,65 @@ public class NullPointerChecks {
   }
 
   public void addNullPointerChecks(final MutableCFA cfa) throws CParserException {
+    for (String function : cfa.getAllFunctionNames()) {
+      addNullPointerChecks(cfa, function);
+    }
+  }
 
-    CBinaryExpressionBuilder binBuilder = new CBinaryExpressionBuilder(cfa.getMachineModel(), logger);
-
-    for (final String function : cfa.getAllFunctionNames()) {
+  /**
+   * Add null-pointer checks to a single function.
+   * This touches only the given function and may thus be called
+   * concurrently for different functions.
+   */
+  public void addNullPointerChecks(final MutableCFA cfa, final String function) throws CParserException {
 
-      // This supplier creates the appropriate target nodes that get added
-      // to the CFA for the case the dereference fails.
-      Supplier<CFANode> targetNodeSupplier = new Supplier<CFANode>() {
-        @Override
-        public CFANode get() {
+    CBinaryExpressionBuilder binBuilder = new CBinaryExpressionBuilder(cfa.getMachineModel(), logger);
 
-          CFANode startNode = new CFANode(function);
-          CFANode endNode = new CFANode(function);
-          BlankEdge endEdge = new BlankEdge("null-deref", FileLocation.DUMMY, startNode, endNode, "null-deref");
-          CFACreationUtils.addEdgeUnconditionallyToCFA(endEdge);
+    // This supplier creates the appropriate target nodes that get added
+    // to the CFA for the case the dereference fails.
+    Supplier<CFANode> targetNodeSupplier = new Supplier<CFANode>() {
+      @Override
+      public CFANode get() {
 
-          BlankEdge loopEdge = new BlankEdge("", FileLocation.DUMMY, endNode, endNode, "");
-          CFACreationUtils.addEdgeUnconditionallyToCFA(loopEdge);
+        CFANode startNode = new CFANode(function);
+        CFANode endNode = new CFANode(function);
+        BlankEdge endEdge = new BlankEdge("null-deref", FileLocation.DUMMY, startNode, endNode, "null-deref");
+        CFACreationUtils.addEdgeUnconditionallyToCFA(endEdge);
 
-          cfa.addNode(startNode);
-          cfa.addNode(endNode);
-          return startNode;
-        }
-      };
+        BlankEdge loopEdge = new BlankEdge("", FileLocation.DUMMY, endNode, endNode, "");
+        CFACreationUtils.addEdgeUnconditionallyToCFA(loopEdge);
 
-      if (singleTargetPerFunction) {
-        // Only a single target node per function,
-        // memoize the first created one and reuse it
-        targetNodeSupplier = Suppliers.memoize(targetNodeSupplier);
+        cfa.addNode(startNode);
+        cfa.addNode(endNode);
+        return startNode;
       }
+    };
+
+    if (singleTargetPerFunction) {
+      // Only a single target node per function,
+      // memoize the first created one and reuse it
+      targetNodeSupplier = Suppliers.memoize(targetNodeSupplier);
+    }
 
-      for (CFANode node : ImmutableList.copyOf(cfa.getFunctionNodes(function))) {
-        switch (node.getNumLeavingEdges()) {
-        case 0:
-          break;
-        case 1:
+    for (CFANode node : ImmutableList.copyOf(cfa.getFunctionNodes(function))) {
+      switch (node.getNumLeavingEdges()) {
+      case 0:
+        break;
+      case 1:
+        handleEdge(node.getLeavingEdge(0), cfa, targetNodeSupplier, binBuilder);
+        break;
+      case 2:
+        if (node.getLeavingEdge(0) instanceof AssumeEdge
+            && node.getLeavingEdge(1) instanceof AssumeEdge) {
+          // handle only one edge, both contain the same expression
           handleEdge(node.getLeavingEdge(0), cfa, targetNodeSupplier, binBuilder);
-          break;
-        case 2:
-          if (node.getLeavingEdge(0) instanceof AssumeEdge
-              && node.getLeavingEdge(1) instanceof AssumeEdge) {
-            // handle only one edge, both contain the same expression
-            handleEdge(node.getLeavingEdge(0), cfa, targetNodeSupplier, binBuilder);
-          } else {
-            handleEdge(node.getLeavingEdge(0), cfa, targetNodeSupplier, binBuilder);
-            handleEdge(node.getLeavingEdge(1), cfa, targetNodeSupplier, binBuilder);
-          }
-          break;
-        default:
-          throw new AssertionError("Too many leaving edges on CFANode");
+        } else {
+          handleEdge(node.getLeavingEdge(0), cfa, targetNodeSupplier, binBuilder);
+          handleEdge(node.getLeavingEdge(1), cfa, targetNodeSupplier, binBuilder);
         }
+        break;
+      default:
+        throw new AssertionError("Too many leaving edges on CFANode");
       }
     }
   }
@@ -41,6 +41,8 @@ import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
  */
 class CProgramCounterValueAssignmentEdge extends CStatementEdge implements ProgramCounterValueAssignmentEdge {
 
+  private static final long serialVersionUID = 7166665222749102611L;
+
   /**
    * The program counter value.
    */
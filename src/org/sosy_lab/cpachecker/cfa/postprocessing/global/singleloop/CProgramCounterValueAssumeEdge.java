@@ -43,6 +43,8 @@ import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
  */
 class CProgramCounterValueAssumeEdge extends CAssumeEdge implements ProgramCounterValueAssumeEdge {
 
+  private static final long serialVersionUID = -3027122207798191255L;
+
   /**
    * The program counter value assumed.
    */
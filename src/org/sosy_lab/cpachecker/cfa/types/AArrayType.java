@@ -29,6 +29,7 @@ import java.util.Objects;
 
 public abstract class AArrayType implements Type {
 
+  private static final long serialVersionUID = 2300443611494851593L;
 
   private final Type elementType;
 
@@ -32,6 +32,8 @@ import com.google.common.collect.ImmutableList;
 
 public class AFunctionType implements IAFunctionType {
 
+  private static final long serialVersionUID = -6461435112723681301L;
+
   private final Type returnType;
   private final List<? extends Type> parameters;
   private final boolean takesVarArgs;
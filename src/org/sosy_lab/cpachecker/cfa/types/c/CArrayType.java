@@ -32,6 +32,7 @@ import org.sosy_lab.cpachecker.cfa.types.AArrayType;
 
 public class CArrayType extends AArrayType implements CType {
 
+  private static final long serialVersionUID = 8375034843533420626L;
 
   private final CExpression    length;
   private boolean   isConst;
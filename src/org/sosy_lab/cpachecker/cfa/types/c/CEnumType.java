@@ -42,6 +42,8 @@ import com.google.common.collect.ImmutableList;
 
 public final class CEnumType implements CComplexType {
 
+  private static final long serialVersionUID = -8086601406979805978L;
+
   private final ImmutableList<CEnumerator> enumerators;
   private final String name;
   private final String origName;
@@ -122,6 +124,8 @@ public final class CEnumType implements CComplexType {
 
   public static final class CEnumerator extends AbstractSimpleDeclaration implements CSimpleDeclaration {
 
+    private static final long serialVersionUID = -3224728689675562204L;
+
     private final @Nullable Long  value;
     private CEnumType             enumType;
     private final String         qualifiedName;
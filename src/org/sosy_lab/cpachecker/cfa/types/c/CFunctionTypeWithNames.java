@@ -41,6 +41,8 @@ import com.google.common.collect.ImmutableList;
  */
 public final class CFunctionTypeWithNames extends CFunctionType implements CType {
 
+  private static final long serialVersionUID = -8612345206530590467L;
+
   private final List<CParameterDeclaration> parameters;
 
   public CFunctionTypeWithNames(
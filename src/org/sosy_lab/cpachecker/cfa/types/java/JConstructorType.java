@@ -31,6 +31,8 @@ import java.util.List;
  */
 public class JConstructorType extends JMethodType implements JType {
 
+  private static final long serialVersionUID = -6718644725715086131L;
+
   private static final JConstructorType UNRESOLVABLE_TYPE = new JConstructorType(JClassType.createUnresolvableType(), new ArrayList<JType>(), false);
 
   /**
@@ -42,6 +42,8 @@ import com.google.common.collect.ImmutableSet;
  */
 public final class JInterfaceType extends JClassOrInterfaceType implements JReferenceType {
 
+  private static final long serialVersionUID = -6615895010046806850L;
+
   private static final JInterfaceType UNRESOLVABLE_TYPE =
       new JInterfaceType("_unspecified_", "_unspecified_", VisibilityModifier.NONE,
           new HashSet<JInterfaceType>());
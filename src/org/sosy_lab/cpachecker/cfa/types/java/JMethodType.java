@@ -33,6 +33,8 @@ import org.sosy_lab.cpachecker.cfa.types.AFunctionType;
  */
 public class JMethodType extends AFunctionType implements JType {
 
+  private static final long serialVersionUID = 3063884530535577395L;
+
   private static final JMethodType UNRESOLVABLE_TYPE = new JMethodType(
       JSimpleType.getUnspecified(), new ArrayList<JType>(), false);
 
@@ -28,6 +28,8 @@ package org.sosy_lab.cpachecker.cfa.types.java;
  */
 public class JNullType implements JReferenceType {
 
+  private static final long serialVersionUID = 216737815506393993L;
+
   @Override
   public String toASTString(String pDeclarator) {
     return "null";
@@ -0,0 +1,71 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cmdline;
+
+import java.io.IOException;
+import java.util.logging.Level;
+
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.io.Paths;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.pcc.strategy.IndexedProofFile;
+
+/**
+ * Command-line tool that converts a proof file in the zip-based format
+ * into the indexed format (cf. {@link IndexedProofFile}).
+ *
+ * Usage: ProofFileConverter &lt;zip-based proof file&gt; &lt;output file&gt;
+ */
+public class ProofFileConverter {
+
+  public static void main(String[] args) throws InvalidConfigurationException {
+    LogManager logger = new BasicLogManager(Configuration.defaultConfiguration());
+    int exitCode = convert(args, logger);
+    logger.flush();
+    if (exitCode != 0) {
+      System.exit(exitCode);
+    }
+  }
+
+  /**
+   * Convert the proof file given in the arguments.
+   * @return The exit code of the tool.
+   */
+  static int convert(String[] args, LogManager logger) {
+    if (args.length != 2) {
+      logger.log(Level.SEVERE, "Usage: ProofFileConverter <zip-based proof file> <output file>");
+      return CPAMain.ERROR_EXIT_CODE;
+    }
+    try {
+      IndexedProofFile.convertFromZip(Paths.get(args[0]), Paths.get(args[1]));
+    } catch (IOException e) {
+      logger.logUserException(Level.SEVERE, e, "Could not convert proof file");
+      return CPAMain.ERROR_EXIT_CODE;
+    }
+    logger.log(Level.INFO, "Wrote indexed proof file", args[1]);
+    return 0;
+  }
+}
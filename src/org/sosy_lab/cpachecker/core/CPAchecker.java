@@ -25,7 +25,6 @@ package org.sosy_lab.cpachecker.core;
 
 import static com.google.common.collect.FluentIterable.from;
 import static org.sosy_lab.cpachecker.core.ShutdownNotifier.interruptCurrentThreadOnShutdown;
-import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -67,6 +66,7 @@ import org.sosy_lab.cpachecker.core.interfaces.Targetable;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.ParserException;
+import org.sosy_lab.cpachecker.util.CPAs;
 import org.sosy_lab.cpachecker.util.LoopStructure;
 import org.sosy_lab.cpachecker.util.LoopStructure.Loop;
 import org.sosy_lab.cpachecker.util.automaton.TargetLocationProvider;
@@ -235,6 +235,7 @@ public class CPAchecker {
       reached = factory.createReachedSet();
 
       Algorithm algorithm;
+      ConfigurableProgramAnalysis cpa = null;
 
       if (runCBMCasExternalTool) {
 
@@ -251,7 +252,7 @@ public class CPAchecker {
             ? SpecAutomatonCompositionType.BACKWARD_TO_ENTRY_SPEC
             : SpecAutomatonCompositionType.TARGET_SPEC;
 
-        ConfigurableProgramAnalysis cpa = factory.createCPA(
+        cpa = factory.createCPA(
             cfa, stats,
             speComposition);
         GlobalInfo.getInstance().storeCPA(cpa);
@@ -280,7 +281,7 @@ public class CPAchecker {
       // run analysis
       result = Result.UNKNOWN; // set to unknown so that the result is correct in case of exception
 
-      AlgorithmStatus status = runAlgorithm(algorithm, reached, stats);
+      AlgorithmStatus status = runAlgorithm(algorithm, cpa, reached, stats);
 
       violatedPropertyDescription = findViolatedProperties(reached);
       if (violatedPropertyDescription != null) {
@@ -376,6 +377,7 @@ public class CPAchecker {
   }
 
   private AlgorithmStatus runAlgorithm(final Algorithm algorithm,
+      final @Nullable ConfigurableProgramAnalysis cpa,
       final ReachedSet reached,
       final MainCPAStatistics stats) throws CPAException, InterruptedException {
 
@@ -404,11 +406,15 @@ public class CPAchecker {
 
       // unregister management interface for CPAchecker
       mxbean.unregister();
+
+      if (cpa != null) {
+        CPAs.notifyAnalysisFinished(cpa);
+      }
     }
   }
 
   private @Nullable String findViolatedProperties(final ReachedSet reached) {
-    Set<String> descriptions = from(reached).filter(IS_TARGET_STATE)
+    Set<String> descriptions = from(reached.getTargetStates())
                         .transform(new Function<AbstractState, String>() {
                                     @Override
                                     public String apply(AbstractState s) {
@@ -433,7 +433,7 @@ class MainCPAStatistics implements Statistics, AlgorithmIterationListener {
         out.println();
       }
     }
-    out.println("  Number of target states:       " + from(reached).filter(IS_TARGET_STATE).size());
+    out.println("  Number of target states:       " + from(reached.getTargetStates()).size());
   }
 
   private void printCfaStatistics(PrintStream out) {
@@ -23,7 +23,6 @@
  */
 package org.sosy_lab.cpachecker.core.algorithm;
 
-import static com.google.common.collect.FluentIterable.from;
 import static org.sosy_lab.cpachecker.util.AbstractStates.*;
 import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.div;
 
@@ -245,7 +244,7 @@ public class CEGARAlgorithm implements Algorithm, StatisticsProvider {
           // assert that reached set is free of target states,
           // if refinement was successful and initial reached set was empty (i.e. stopAfterError=true)
           if (refinementSuccessful && initialReachedSetSize == 1) {
-            assert !from(reached).anyMatch(IS_TARGET_STATE);
+            assert reached.getTargetStates().isEmpty();
           }
         }
 
@@ -272,7 +271,7 @@ public class CEGARAlgorithm implements Algorithm, StatisticsProvider {
   private boolean refinementNecessary(ReachedSet reached) {
     if (globalRefinement) {
       // check other states
-      return from(reached).anyMatch(IS_TARGET_STATE);
+      return !reached.getTargetStates().isEmpty();
 
     } else {
       // check only last state
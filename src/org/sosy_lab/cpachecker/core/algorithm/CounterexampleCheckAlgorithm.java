@@ -130,9 +130,8 @@ public class CounterexampleCheckAlgorithm implements Algorithm, StatisticsProvid
       if (lastState != null && lastState.isTarget()) {
         errorStates.add(lastState);
       } else {
-        from(reached)
+        from(reached.getTargetStates())
           .transform(AbstractStates.toState(ARGState.class))
-          .filter(AbstractStates.IS_TARGET_STATE)
           .filter(Predicates.not(Predicates.in(checkedTargetStates)))
           .copyInto(errorStates);
       }
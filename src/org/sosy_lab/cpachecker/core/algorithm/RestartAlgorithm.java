@@ -25,19 +25,31 @@ package org.sosy_lab.cpachecker.core.algorithm;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static com.google.common.collect.FluentIterable.from;
-import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import javax.annotation.Nullable;
 
 import org.sosy_lab.common.Triple;
+import org.sosy_lab.common.concurrency.Threads;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.ConfigurationBuilder;
 import org.sosy_lab.common.configuration.FileOption;
@@ -47,6 +59,7 @@ import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.io.Path;
 import org.sosy_lab.common.io.Paths;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
@@ -66,10 +79,12 @@ import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.CPAs;
+import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
 import org.sosy_lab.cpachecker.util.resources.ResourceLimitChecker;
 
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.PeekingIterator;
 
@@ -84,6 +99,7 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
     private final Collection<Statistics> subStats;
     private int noOfAlgorithmsUsed = 0;
     private Timer totalTime = new Timer();
+    private final List<PortfolioAnalysis> portfolioAnalyses = new ArrayList<>();
 
     public RestartAlgorithmStatistics(int pNoOfAlgorithms) {
       noOfAlgorithms = pNoOfAlgorithms;
@@ -122,13 +138,51 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
       out.println("Number of algorithms provided:    " + noOfAlgorithms);
       out.println("Number of algorithms used:        " + noOfAlgorithmsUsed);
 
+      if (!portfolioAnalyses.isEmpty()) {
+        printPortfolioStatistics(out);
+      }
+
       printSubStatistics(out, result, reached);
     }
 
+    /**
+     * Print the statistics of an analysis of the portfolio
+     * whose result is not used.
+     */
+    private void printPortfolioAnalysisStatistics(PrintStream out, PortfolioAnalysis analysis) {
+      String text = "Statistics for analysis " + analysis.number + " of " + noOfAlgorithms
+          + " (" + analysis.outcome + ", result not used)";
+      out.println(text);
+      out.println(Strings.repeat("=", text.length()));
+
+      printAllStatistics(out, analysis.subStats, Result.UNKNOWN, analysis.reached);
+      out.println();
+    }
+
+    private void printPortfolioStatistics(PrintStream out) {
+      out.println("Analyses run in parallel:");
+      for (PortfolioAnalysis analysis : portfolioAnalyses) {
+        out.println("  Analysis " + analysis.number + " (" + analysis.configFile + "): "
+            + analysis.outcome
+            + ", wall time " + TimeSpan.ofNanos(analysis.wallTime).formatAs(SECONDS)
+            + (analysis.cpuTime >= 0 ? ", CPU time " + TimeSpan.ofNanos(analysis.cpuTime).formatAs(SECONDS) : ""));
+      }
+      out.println();
+      for (PortfolioAnalysis analysis : portfolioAnalyses) {
+        if (analysis.statistics != null) {
+          out.print(analysis.statistics);
+        }
+      }
+    }
+
     private void printSubStatistics(PrintStream out, Result result, ReachedSet reached) {
       out.println("Total time for algorithm " + noOfAlgorithmsUsed + ": " + totalTime);
+      printAllStatistics(out, subStats, result, reached);
+    }
 
-      for (Statistics s : subStats) {
+    private static void printAllStatistics(PrintStream out, Collection<Statistics> pStats,
+        Result result, ReachedSet reached) {
+      for (Statistics s : pStats) {
         String name = s.getName();
         if (!isNullOrEmpty(name)) {
           name = name + " statistics";
@@ -148,6 +202,12 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
   @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
   private List<Path> configFiles;
 
+  @Option(secure=true, name="portfolio",
+      description = "Run all configurations concurrently instead of one after another, "
+      + "use the result of the first analysis that finishes with a conclusive result, "
+      + "and stop the remaining analyses. Conditions of the configurations are ignored.")
+  private boolean runAsPortfolio = false;
+
   private final LogManager logger;
   private final ShutdownNotifier shutdownNotifier;
   private final RestartAlgorithmStatistics stats;
@@ -184,6 +244,10 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
     CFANode mainFunction = AbstractStates.extractLocation(pReached.getFirstState());
     assert mainFunction != null : "Location information needed";
 
+    if (runAsPortfolio) {
+      return runPortfolio(reached, mainFunction);
+    }
+
     PeekingIterator<Path> configFilesIterator = Iterators.peekingIterator(configFiles.iterator());
 
     AlgorithmStatus status = AlgorithmStatus.UNSOUND_AND_PRECISE;
@@ -204,7 +268,8 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
         singleConfigFileName = Paths.get(CONFIG_FILE_CONDITION_SPLITTER.split(singleConfigFileName.toString()).iterator().next());
 
         try {
-          Triple<Algorithm, ConfigurableProgramAnalysis, ReachedSet> currentAlg = createNextAlgorithm(singleConfigFileName, mainFunction, singleShutdownNotifier);
+          Triple<Algorithm, ConfigurableProgramAnalysis, ReachedSet> currentAlg = createNextAlgorithm(singleConfigFileName, mainFunction, singleShutdownNotifier,
+              stats.noOfAlgorithmsUsed+1, stats.getSubStatistics());
           currentAlgorithm = currentAlg.getFirst();
           currentCpa = currentAlg.getSecond();
           currentReached = currentAlg.getThird();
@@ -229,7 +294,7 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
         try {
           status = currentAlgorithm.run(currentReached);
 
-          if (from(currentReached).anyMatch(IS_TARGET_STATE) && status.isPrecise()) {
+          if (!currentReached.getTargetStates().isEmpty() && status.isPrecise()) {
 
             // If the algorithm is not _precise_, verdict "false" actually means "unknown".
             return status;
@@ -268,6 +333,9 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
         }
       } finally {
         singleShutdownNotifier.requestShutdown("Analysis terminated"); // shutdown any remaining components
+        if (currentCpa != null) {
+          CPAs.notifyAnalysisFinished(currentCpa);
+        }
         stats.totalTime.stop();
       }
 
@@ -327,6 +395,256 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
     return status;
   }
 
+  /**
+   * The state of one analysis that is run in portfolio mode.
+   * Each analysis has its own {@link GlobalInfo},
+   * such that the analyses do not overwrite the information of each other.
+   */
+  private static class PortfolioAnalysis implements Callable<AlgorithmStatus> {
+
+    private final int number;
+    private final Path configFile;
+    private final Algorithm algorithm;
+    private final @Nullable ConfigurableProgramAnalysis cpa;
+    private final ReachedSet reached;
+    private final ShutdownNotifier shutdownNotifier;
+    private final Collection<Statistics> subStats;
+    private final GlobalInfo globalInfo;
+
+    // the printed statistics, if the result of this analysis is not used
+    private @Nullable String statistics = null;
+
+    private volatile String outcome = "not started";
+    private volatile long wallTime = 0; // nanos
+    private volatile long cpuTime = -1; // nanos, only of the thread that runs the analysis
+
+    private PortfolioAnalysis(int pNumber, Path pConfigFile,
+        Triple<Algorithm, ConfigurableProgramAnalysis, ReachedSet> pAlgorithm,
+        ShutdownNotifier pShutdownNotifier, Collection<Statistics> pSubStats, GlobalInfo pGlobalInfo) {
+      number = pNumber;
+      configFile = pConfigFile;
+      algorithm = pAlgorithm.getFirst();
+      cpa = pAlgorithm.getSecond();
+      reached = pAlgorithm.getThird();
+      shutdownNotifier = pShutdownNotifier;
+      subStats = pSubStats;
+      globalInfo = pGlobalInfo;
+    }
+
+    @Override
+    public AlgorithmStatus call() throws CPAException, InterruptedException {
+      GlobalInfo.setThreadInstance(globalInfo);
+      ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+      boolean measureCpuTime = threadBean.isCurrentThreadCpuTimeSupported();
+      long startCpuTime = measureCpuTime ? threadBean.getCurrentThreadCpuTime() : 0;
+      long startTime = System.nanoTime();
+      outcome = "running";
+      try {
+        AlgorithmStatus status = algorithm.run(reached);
+        outcome = isConclusive(status) ? "finished" : "inconclusive";
+        return status;
+      } catch (CPAException e) {
+        outcome = "failed";
+        throw e;
+      } catch (InterruptedException e) {
+        outcome = "stopped";
+        throw e;
+      } finally {
+        if (cpa != null) {
+          CPAs.notifyAnalysisFinished(cpa);
+        }
+        wallTime = System.nanoTime() - startTime;
+        if (measureCpuTime) {
+          cpuTime = threadBean.getCurrentThreadCpuTime() - startCpuTime;
+        }
+        GlobalInfo.setThreadInstance(null);
+      }
+    }
+
+    private boolean isConclusive(AlgorithmStatus status) {
+      if (!reached.getTargetStates().isEmpty()) {
+        return status.isPrecise();
+      }
+      return status.isSound() && !reached.hasWaitingState();
+    }
+  }
+
+  private AlgorithmStatus runPortfolio(ForwardingReachedSet reached, CFANode mainFunction)
+      throws CPAException, InterruptedException {
+    stats.totalTime.start();
+    List<PortfolioAnalysis> analyses = new ArrayList<>();
+    try {
+      // Create all analyses on this thread, only running them happens concurrently.
+      for (Path configFile : configFiles) {
+        List<String> parts = CONFIG_FILE_CONDITION_SPLITTER.splitToList(configFile.toString());
+        if (parts.size() == 2) {
+          logger.logf(Level.WARNING, "Ignoring restart condition '%s' of configuration '%s' in portfolio mode.", parts.get(1), parts.get(0));
+        }
+        Path singleConfigFileName = Paths.get(parts.get(0));
+        int number = analyses.size() + 1;
+        ShutdownNotifier singleShutdownNotifier = ShutdownNotifier.createWithParent(shutdownNotifier);
+        Collection<Statistics> subStats = new ArrayList<>();
+        GlobalInfo singleGlobalInfo = GlobalInfo.getInstance().copy();
+
+        GlobalInfo.setThreadInstance(singleGlobalInfo);
+        try {
+          analyses.add(new PortfolioAnalysis(number, singleConfigFileName,
+              createNextAlgorithm(singleConfigFileName, mainFunction, singleShutdownNotifier, number, subStats),
+              singleShutdownNotifier, subStats, singleGlobalInfo));
+        } catch (InvalidConfigurationException e) {
+          logger.logUserException(Level.WARNING, e, "Skipping one analysis because the configuration file " + singleConfigFileName.toString() + " is invalid");
+        } catch (IOException e) {
+          logger.logUserException(Level.WARNING, e, "Skipping one analysis because the configuration file " + singleConfigFileName.toString() + " could not be read");
+        } finally {
+          GlobalInfo.setThreadInstance(null);
+        }
+      }
+      shutdownNotifier.shutdownIfNecessary();
+
+      if (analyses.isEmpty()) {
+        logger.log(Level.INFO, "No further configuration available.");
+        return AlgorithmStatus.UNSOUND_AND_PRECISE;
+      }
+      stats.noOfAlgorithmsUsed = analyses.size();
+      stats.portfolioAnalyses.addAll(analyses);
+
+      return runPortfolioAnalyses(reached, analyses);
+
+    } finally {
+      for (PortfolioAnalysis analysis : analyses) {
+        analysis.shutdownNotifier.requestShutdown("Analysis terminated"); // shutdown any remaining components
+      }
+      stats.totalTime.stop();
+    }
+  }
+
+  private AlgorithmStatus runPortfolioAnalyses(ForwardingReachedSet reached,
+      List<PortfolioAnalysis> analyses) throws CPAException, InterruptedException {
+
+    ExecutorService executor = Executors.newFixedThreadPool(analyses.size(),
+        Threads.threadFactoryBuilder().setNameFormat("Portfolio-%d").setDaemon(true).build());
+    CompletionService<AlgorithmStatus> completionService = new ExecutorCompletionService<>(executor);
+    Map<Future<AlgorithmStatus>, PortfolioAnalysis> futures = new HashMap<>();
+    for (PortfolioAnalysis analysis : analyses) {
+      futures.put(completionService.submit(analysis), analysis);
+    }
+    executor.shutdown();
+
+    PortfolioAnalysis winner = null;
+    AlgorithmStatus winnerStatus = null;
+    PortfolioAnalysis lastFinished = null;
+    AlgorithmStatus lastStatus = AlgorithmStatus.UNSOUND_AND_PRECISE;
+    CPAException firstException = null;
+
+    try {
+      for (int i = 0; i < analyses.size(); i++) {
+        Future<AlgorithmStatus> future = completionService.take();
+        PortfolioAnalysis analysis = futures.get(future);
+
+        AlgorithmStatus status;
+        try {
+          status = future.get();
+        } catch (ExecutionException e) {
+          Throwable t = e.getCause();
+          if (t instanceof CPAException) {
+            if (winner == null) {
+              logger.logUserException(Level.WARNING, t, "Analysis " + analysis.number + " not completed");
+              if (firstException == null) {
+                firstException = (CPAException)t;
+              }
+            }
+          } else if (t instanceof InterruptedException) {
+            if (winner == null) {
+              shutdownNotifier.shutdownIfNecessary(); // check if we should also stop
+              logger.logUserException(Level.WARNING, t, "Analysis " + analysis.number + " stopped");
+            }
+          } else {
+            Throwables.propagateIfPossible(t);
+            throw new AssertionError(t);
+          }
+          continue;
+        }
+
+        if (winner == null) {
+          if (analysis.isConclusive(status)) {
+            winner = analysis;
+            winnerStatus = status;
+            logger.log(Level.INFO, "Analysis", analysis.number, "finished, stopping the remaining analyses.");
+            for (PortfolioAnalysis other : analyses) {
+              if (other != analysis) {
+                other.shutdownNotifier.requestShutdown("Another analysis of the portfolio finished");
+              }
+            }
+          } else {
+            lastFinished = analysis;
+            lastStatus = status;
+            logger.log(Level.INFO, "Analysis", analysis.number, "finished without a conclusive result.");
+          }
+        }
+      }
+    } finally {
+      // in case of exceptions make sure that no analysis keeps running
+      executor.shutdownNow();
+    }
+
+    if (winner == null) {
+      if (lastFinished == null) {
+        if (firstException != null) {
+          throw firstException;
+        }
+        shutdownNotifier.shutdownIfNecessary();
+        logger.log(Level.INFO, "No further configuration available.");
+        return AlgorithmStatus.UNSOUND_AND_PRECISE;
+      }
+      winner = lastFinished;
+      winnerStatus = lastStatus;
+    }
+
+    // from now on, the information of the winner is the global information
+    GlobalInfo.setInstance(winner.globalInfo);
+    reached.setDelegate(winner.reached);
+    currentAlgorithm = winner.algorithm;
+    stats.getSubStatistics().addAll(winner.subStats);
+    if (winner.algorithm instanceof StatisticsProvider) {
+      ((StatisticsProvider)winner.algorithm).collectStatistics(stats.getSubStatistics());
+    }
+
+    for (PortfolioAnalysis analysis : analyses) {
+      if (analysis != winner) {
+        finishUnusedAnalysis(analysis);
+      }
+    }
+    return winnerStatus;
+  }
+
+  /**
+   * Keep the statistics of an analysis of the portfolio whose result is not used,
+   * and close it afterwards.
+   * The statistics are printed now, because they cannot be printed
+   * after the CPAs of the analysis are closed.
+   */
+  private void finishUnusedAnalysis(PortfolioAnalysis analysis) {
+    if (analysis.algorithm instanceof StatisticsProvider) {
+      ((StatisticsProvider)analysis.algorithm).collectStatistics(analysis.subStats);
+    }
+
+    GlobalInfo.setThreadInstance(analysis.globalInfo);
+    try {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      try (PrintStream out = new PrintStream(buffer)) {
+        stats.printPortfolioAnalysisStatistics(out, analysis);
+      }
+      analysis.statistics = buffer.toString();
+
+      if (analysis.cpa != null) {
+        CPAs.closeCpaIfPossible(analysis.cpa, logger);
+      }
+      CPAs.closeIfPossible(analysis.algorithm, logger);
+    } finally {
+      GlobalInfo.setThreadInstance(null);
+    }
+  }
+
   @Options
   private static class RestartAlgorithmOptions {
 
@@ -360,7 +678,8 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
 
   }
 
-  private Triple<Algorithm, ConfigurableProgramAnalysis, ReachedSet> createNextAlgorithm(Path singleConfigFileName, CFANode mainFunction, ShutdownNotifier singleShutdownNotifier) throws InvalidConfigurationException, CPAException, IOException {
+  private Triple<Algorithm, ConfigurableProgramAnalysis, ReachedSet> createNextAlgorithm(Path singleConfigFileName, CFANode mainFunction, ShutdownNotifier singleShutdownNotifier,
+      int analysisNumber, Collection<Statistics> pStatsCollection) throws InvalidConfigurationException, CPAException, IOException {
 
     ReachedSet reached;
     ConfigurableProgramAnalysis cpa;
@@ -375,7 +694,7 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
       singleConfigBuilder.copyOptionFrom(globalConfig, "specification");
     }
     Configuration singleConfig = singleConfigBuilder.build();
-    LogManager singleLogger = logger.withComponentName("Analysis" + (stats.noOfAlgorithmsUsed+1));
+    LogManager singleLogger = logger.withComponentName("Analysis" + analysisNumber);
 
     RestartAlgorithmOptions singleOptions = new RestartAlgorithmOptions();
     singleConfig.inject(singleOptions);
@@ -389,7 +708,7 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
       reached = new ReachedSetFactory(singleConfig, singleLogger).create();
     } else {
       ReachedSetFactory singleReachedSetFactory = new ReachedSetFactory(singleConfig, singleLogger);
-      cpa = createCPA(singleReachedSetFactory, singleConfig, singleLogger, singleShutdownNotifier, stats);
+      cpa = createCPA(singleReachedSetFactory, singleConfig, singleLogger, singleShutdownNotifier, pStatsCollection);
       algorithm = createAlgorithm(cpa, singleConfig, singleLogger, singleShutdownNotifier, stats, singleReachedSetFactory, singleOptions);
       reached = createInitialReachedSetForRestart(cpa, mainFunction, singleReachedSetFactory, singleLogger);
     }
@@ -414,14 +733,14 @@ public class RestartAlgorithm implements Algorithm, StatisticsProvider {
 
   private ConfigurableProgramAnalysis createCPA(ReachedSetFactory pReachedSetFactory,
       Configuration pConfig, LogManager singleLogger, ShutdownNotifier singleShutdownNotifier,
-      RestartAlgorithmStatistics stats) throws InvalidConfigurationException, CPAException {
+      Collection<Statistics> pStatsCollection) throws InvalidConfigurationException, CPAException {
     singleLogger.log(Level.FINE, "Creating CPAs");
 
     CPABuilder builder = new CPABuilder(pConfig, singleLogger, singleShutdownNotifier, pReachedSetFactory);
     ConfigurableProgramAnalysis cpa = builder.buildCPAWithSpecAutomatas(cfa);
 
     if (cpa instanceof StatisticsProvider) {
-      ((StatisticsProvider)cpa).collectStatistics(stats.getSubStatistics());
+      ((StatisticsProvider)cpa).collectStatistics(pStatsCollection);
     }
     return cpa;
   }
@@ -0,0 +1,74 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.algorithm;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+import org.junit.Test;
+import org.sosy_lab.cpachecker.util.test.CPATestRunner;
+import org.sosy_lab.cpachecker.util.test.TestResults;
+
+import com.google.common.collect.ImmutableMap;
+
+public class RestartAlgorithmTest {
+
+  private static final Map<String, String> PORTFOLIO_CONFIG = ImmutableMap.of(
+      "analysis.restartAfterUnknown", "true",
+      "restartAlgorithm.portfolio",   "true",
+      "restartAlgorithm.configFiles", "test/config/portfolio/valueAnalysis.properties, "
+                                    + "test/config/portfolio/intervalAnalysis.properties",
+      "specification",                "config/specification/default.spc",
+      "log.consoleLevel",             "INFO");
+
+  @Test
+  public void testPortfolioSafe() throws Exception {
+    TestResults results = CPATestRunner.run(PORTFOLIO_CONFIG,
+        "test/programs/simple/globalVariableInitialValue_true-unreach-label.c");
+
+    results.assertIsSafe();
+    assertThat(results.getLog()).contains("finished, stopping the remaining analyses");
+    assertThat(getStatistics(results)).contains("result not used");
+  }
+
+  @Test
+  public void testPortfolioUnsafe() throws Exception {
+    TestResults results = CPATestRunner.run(PORTFOLIO_CONFIG,
+        "test/programs/simple/globalVariableInitialValue_false-unreach-label.c");
+
+    results.assertIsUnsafe();
+    assertThat(getStatistics(results)).contains("result not used");
+  }
+
+  private static String getStatistics(TestResults results) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (PrintStream out = new PrintStream(buffer)) {
+      results.getCheckerResult().printStatistics(out);
+    }
+    return buffer.toString();
+  }
+}
@@ -23,9 +23,6 @@
  */
 package org.sosy_lab.cpachecker.core.algorithm;
 
-import static com.google.common.collect.FluentIterable.from;
-import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
-
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -92,7 +89,7 @@ public class RestartWithConditionsAlgorithm implements Algorithm {
       // run the inner algorithm to fill the reached set
       status = status.update(innerAlgorithm.run(pReached));
 
-      if (from(pReached).anyMatch(IS_TARGET_STATE) && status.isPrecise()) {
+      if (!pReached.getTargetStates().isEmpty() && status.isPrecise()) {
         return status;
       }
 
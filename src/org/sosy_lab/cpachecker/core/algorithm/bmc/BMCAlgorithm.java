@@ -24,7 +24,6 @@
 package org.sosy_lab.cpachecker.core.algorithm.bmc;
 
 import static com.google.common.collect.FluentIterable.from;
-import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -165,7 +164,7 @@ public class BMCAlgorithm extends AbstractBMCAlgorithm implements Algorithm {
     try {
       logger.log(Level.INFO, "Error found, creating error path");
 
-      Set<ARGState> targetStates = from(pReachedSet).filter(IS_TARGET_STATE).filter(ARGState.class).toSet();
+      Set<ARGState> targetStates = from(pReachedSet.getTargetStates()).filter(ARGState.class).toSet();
 
       final boolean shouldCheckBranching;
       if (targetStates.size() == 1) {
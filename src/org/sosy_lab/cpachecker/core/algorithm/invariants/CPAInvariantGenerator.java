@@ -25,8 +25,6 @@ package org.sosy_lab.cpachecker.core.algorithm.invariants;
 
 import static com.google.common.base.Preconditions.*;
 import static com.google.common.base.Verify.verifyNotNull;
-import static com.google.common.collect.FluentIterable.from;
-import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
 
 import java.io.IOException;
 import java.io.PrintStream;
@@ -344,7 +342,7 @@ public class CPAInvariantGenerator implements InvariantGenerator, StatisticsProv
         }
       }
 
-      if (!from(taskReached).anyMatch(IS_TARGET_STATE)) {
+      if (taskReached.getTargetStates().isEmpty()) {
         // program is safe (waitlist is empty, algorithm was sound, no target states present)
         logger.log(Level.INFO, "Invariant generation with abstract interpretation proved specification to hold.");
         programIsSafe = true;
@@ -24,8 +24,6 @@
 package org.sosy_lab.cpachecker.core.algorithm.pcc;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.collect.FluentIterable.from;
-import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
 
 import java.io.PrintStream;
 import java.util.ArrayDeque;
@@ -136,7 +134,7 @@ public class PartialARGsCombiner implements Algorithm, StatisticsProvider {
           return status;
         }
 
-        if (from(reached.getDelegate()).anyMatch((IS_TARGET_STATE))) {
+        if (!reached.getDelegate().getTargetStates().isEmpty()) {
           logger.log(Level.INFO, "Error found, do not combine ARGs.");
           ((ForwardingReachedSet) pReachedSet).setDelegate(reached.getDelegate());
           return status;
@@ -150,7 +148,7 @@ public class PartialARGsCombiner implements Algorithm, StatisticsProvider {
           checkArgument(AbstractStates.extractLocation(usedReached.getFirstState()) != null,
               "Require that all restart configurations consider a location aware state");
 
-          for (AbstractState errorState : from(usedReached).filter((IS_TARGET_STATE))) {
+          for (AbstractState errorState : usedReached.getTargetStates()) {
             logger.log(Level.INFO, "Error state found in reached set ", usedReached,
                 "but not by last configuration. Error state must be infeasible.");
             logger.log(Level.FINE, "Remove infeasible error state", errorState);
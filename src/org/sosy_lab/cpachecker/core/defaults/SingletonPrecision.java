@@ -23,9 +23,13 @@
  */
 package org.sosy_lab.cpachecker.core.defaults;
 
+import java.io.Serializable;
+
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 
-public class SingletonPrecision implements Precision {
+public class SingletonPrecision implements Precision, Serializable {
+
+  private static final long serialVersionUID = 2390527351925460281L;
 
   private final static SingletonPrecision mInstance = new SingletonPrecision();
 
@@ -41,4 +45,8 @@ public class SingletonPrecision implements Precision {
   public String toString() {
     return "no precision";
   }
+
+  private Object readResolve() {
+    return mInstance;
+  }
 }
@@ -29,15 +29,25 @@ import org.sosy_lab.cpachecker.core.interfaces.AbstractDomain;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
+import org.sosy_lab.cpachecker.core.interfaces.Subsumable;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
 
 /**
- * Standard stop-sep operator
+ * Standard stop-sep operator.
+ *
+ * If the states implement {@link Subsumable}, their summaries are used
+ * to skip the states of the reached set that cannot cover the given state.
  */
 public class StopSepOperator implements StopOperator {
 
   private final AbstractDomain domain;
 
+  // only updated for states with summaries
+  private final StatCounter coverageChecks = new StatCounter("Number of coverage checks with summaries");
+  private final StatCounter prunedCoverageChecks = new StatCounter("Number of coverage checks pruned by summaries");
+
   /**
    * Creates a stop-sep operator based on the given
    * partial order
@@ -50,6 +60,10 @@ public class StopSepOperator implements StopOperator {
   public boolean stop(AbstractState el, Collection<AbstractState> reached, Precision precision)
     throws CPAException, InterruptedException {
 
+    if (el instanceof Subsumable) {
+      return stopWithSummaries(el, ((Subsumable)el).getSubsumptionSummary(), reached);
+    }
+
     for (AbstractState reachedState : reached) {
       if (domain.isLessOrEqual(el, reachedState)) {
         return true;
@@ -57,4 +71,33 @@ public class StopSepOperator implements StopOperator {
     }
     return false;
   }
+
+  private boolean stopWithSummaries(AbstractState el, long summary, Collection<AbstractState> reached)
+      throws CPAException, InterruptedException {
+
+    for (AbstractState reachedState : reached) {
+      coverageChecks.inc();
+      if (reachedState instanceof Subsumable
+          && (((Subsumable)reachedState).getSubsumptionSummary() & ~summary) != 0) {
+        // the reached state contains information that el does not have
+        prunedCoverageChecks.inc();
+        continue;
+      }
+
+      if (domain.isLessOrEqual(el, reachedState)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Write how many coverage checks could be skipped thanks to {@link Subsumable}.
+   * Nothing is written if no state with a summary was checked.
+   */
+  public void printStatistics(StatisticsWriter writer) {
+    boolean used = coverageChecks.getValue() > 0;
+    writer.putIf(used, coverageChecks)
+          .putIf(used, prunedCoverageChecks);
+  }
 }
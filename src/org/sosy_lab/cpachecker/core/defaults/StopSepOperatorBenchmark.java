@@ -0,0 +1,101 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.defaults;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisCPA;
+import org.sosy_lab.cpachecker.cpa.value.ValueAnalysisState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.Precisions;
+import org.sosy_lab.cpachecker.util.test.RecordedAnalysis;
+
+/**
+ * Microbenchmark for {@link StopSepOperator} with the states of a value analysis.
+ * One benchmark operation checks for each state of the reached set
+ * whether it is covered by the other states at the same location.
+ * Run with "ant microbenchmarks".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class StopSepOperatorBenchmark {
+
+  @Param("test/programs/simple/ssh_s3_clnt_errorpath.c")
+  public String program;
+
+  private RecordedAnalysis analysis;
+  private StopSepOperator stopOperator;
+
+  private final List<AbstractState> states = new ArrayList<>();
+  private final List<List<AbstractState>> otherStates = new ArrayList<>();
+  private final List<Precision> precisions = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    analysis = RecordedAnalysis.run("config/valueAnalysis.properties", program);
+    stopOperator = new StopSepOperator(analysis.getCPA(ValueAnalysisCPA.class).getAbstractDomain());
+
+    for (AbstractState state : analysis.getReached()) {
+      List<AbstractState> others = analysis.getStatesForStop(state, ValueAnalysisState.class);
+      states.add(AbstractStates.extractStateByType(state, ValueAnalysisState.class));
+      otherStates.add(others);
+      precisions.add(Precisions.extractPrecisionByType(
+          analysis.getReached().getPrecision(state), VariableTrackingPrecision.class));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    analysis.close();
+  }
+
+  @Benchmark
+  public void stop(Blackhole pBlackhole) throws Exception {
+    for (int i = 0; i < states.size(); i++) {
+      pBlackhole.consume(stopOperator.stop(states.get(i), otherStates.get(i), precisions.get(i)));
+    }
+  }
+}
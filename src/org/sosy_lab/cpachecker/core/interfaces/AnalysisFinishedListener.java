@@ -0,0 +1,38 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.interfaces;
+
+/**
+ * Interface for CPAs that need to do something after the analysis with them
+ * has finished (successfully or not), for example writing persistent caches.
+ * This is called before the statistics are printed,
+ * and the CPA may still be used afterwards (e.g., for statistics and exports).
+ *
+ * Use {@link org.sosy_lab.cpachecker.util.CPAs#notifyAnalysisFinished(ConfigurableProgramAnalysis)}
+ * to notify all CPAs in a tree of CPAs.
+ */
+public interface AnalysisFinishedListener extends ConfigurableProgramAnalysis {
+
+  void analysisFinished();
+}
@@ -0,0 +1,51 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.interfaces;
+
+/**
+ * Interface for abstract states that provide a cheap summary of their content,
+ * which allows to rule out that a state is covered by another state
+ * without calling {@link AbstractDomain#isLessOrEqual(AbstractState, AbstractState)}.
+ * This is used by {@link org.sosy_lab.cpachecker.core.defaults.StopSepOperator}
+ * to prune the states of the reached set that need to be checked.
+ */
+public interface Subsumable {
+
+  /**
+   * Returns a summary of this state as a bit set.
+   *
+   * The result of this method has to satisfy the following condition:
+   * if a state e1 is less or equal than a state e2 with regard to the abstract domain,
+   * each bit that is set in the summary of e2 also has to be set in the summary of e1,
+   * i.e., <code>(e2.getSubsumptionSummary() & ~e1.getSubsumptionSummary()) == 0</code>.
+   * For example, if e1 can only be covered by e2 if e2 tracks a subset of the variables of e1,
+   * the summary could be the set of hash codes of the tracked variables.
+   *
+   * The result has to stay constant as long as the state is in the reached set,
+   * and this method should be fast (e.g., by caching the result).
+   *
+   * @return a bit set summarizing this state
+   */
+  public long getSubsumptionSummary();
+}
@@ -0,0 +1,475 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.reachedset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
+import static org.sosy_lab.cpachecker.util.AbstractStates.isTargetState;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+
+import org.sosy_lab.common.Pair;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Partitionable;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.Striped;
+
+/**
+ * Thread-safe implementation of the reached set that partitions the set
+ * in the same way as {@link PartitionedReachedSet}.
+ *
+ * Modifications are guarded by striped locks that are selected by the partition key,
+ * so threads working on states of different partitions rarely contend.
+ * Lookups of precisions and membership tests are lock-free.
+ *
+ * The collections returned by {@link #getReached(AbstractState)},
+ * {@link #asCollection()} and {@link #iterator()} are live views that are weakly consistent
+ * (they never throw a {@link java.util.ConcurrentModificationException},
+ * but may or may not reflect concurrent modifications).
+ * {@link #getTargetStates()} returns a snapshot.
+ *
+ * The given waitlist factory needs to create thread-safe waitlists
+ * (cf. {@link org.sosy_lab.cpachecker.core.waitlist.ConcurrentSimpleWaitlist}
+ * and {@link org.sosy_lab.cpachecker.core.waitlist.SynchronizedWaitlist}).
+ * Note that {@link #popFromWaitlist()} may return null
+ * if another thread took the last state from the waitlist
+ * after {@link #hasWaitingState()} was called.
+ */
+public class ConcurrentPartitionedReachedSet implements ReachedSet {
+
+  /**
+   * The information stored per state: its precision and its position
+   * in the insertion order of the reached set.
+   */
+  private static final class Entry {
+    private final Precision precision;
+    private final long index;
+
+    private Entry(Precision pPrecision, long pIndex) {
+      precision = pPrecision;
+      index = pIndex;
+    }
+  }
+
+  private static final Object NULL_KEY = new Object();
+
+  private final ConcurrentMap<AbstractState, Entry> reached = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Long, AbstractState> insertionOrder = new ConcurrentSkipListMap<>();
+  private final AtomicLong nextIndex = new AtomicLong(0);
+
+  // The states of each partition, sorted by their insertion index.
+  // Modifications of the map for a key are guarded by the lock for the key,
+  // reading is possible without lock.
+  private final ConcurrentMap<Object, ConcurrentNavigableMap<Long, AbstractState>> partitionedReached =
+      new ConcurrentHashMap<>();
+  private final Striped<Lock> partitionLocks;
+
+  // Superset of the target states, cf. DefaultReachedSet.
+  private final Set<AbstractState> targetStates = Collections.newSetFromMap(new ConcurrentHashMap<AbstractState, Boolean>());
+
+  private final AtomicReference<AbstractState> firstState = new AtomicReference<>();
+  private final AtomicReference<AbstractState> lastState = new AtomicReference<>();
+  private final Waitlist waitlist;
+
+  private final Set<AbstractState> unmodifiableReached = new AbstractSet<AbstractState>() {
+
+    @Override
+    public Iterator<AbstractState> iterator() {
+      return Iterators.unmodifiableIterator(insertionOrder.values().iterator());
+    }
+
+    @Override
+    public boolean contains(Object pObj) {
+      return reached.containsKey(pObj);
+    }
+
+    @Override
+    public int size() {
+      return reached.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return reached.isEmpty();
+    }
+  };
+
+  public ConcurrentPartitionedReachedSet(WaitlistFactory waitlistFactory, int pLockStripes) {
+    waitlist = waitlistFactory.createWaitlistInstance();
+    partitionLocks = Striped.lock(pLockStripes);
+  }
+
+  @Override
+  public void add(AbstractState state, Precision precision) throws IllegalArgumentException {
+    checkNotNull(state);
+    checkNotNull(precision);
+
+    Object key = partitionKeyOf(state);
+    Lock lock = partitionLocks.get(key);
+    lock.lock();
+    try {
+      Entry newEntry = new Entry(precision, nextIndex.getAndIncrement());
+      Entry previousEntry = reached.putIfAbsent(state, newEntry);
+
+      if (previousEntry == null) {
+        // State wasn't already in the reached set.
+        insertionOrder.put(newEntry.index, state);
+        getPartition(key).put(newEntry.index, state);
+        // Only the lock of one partition is held here,
+        // so the emptiness of the whole reached set cannot be checked reliably.
+        firstState.compareAndSet(null, state);
+        lastState.set(state);
+        if (isTargetState(state)) {
+          targetStates.add(state);
+        }
+        waitlist.add(state);
+
+      } else {
+        // State was already in the reached set
+        // (cf. DefaultReachedSet#add for why we do nothing in this case).
+        if (!precision.equals(previousEntry.precision)) {
+          throw new IllegalArgumentException("State added to reached set which is already contained, but with a different precision");
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void addAll(Iterable<Pair<AbstractState, Precision>> toAdd) {
+    for (Pair<AbstractState, Precision> pair : toAdd) {
+      add(pair.getFirst(), pair.getSecond());
+    }
+  }
+
+  @Override
+  public void reAddToWaitlist(AbstractState s) {
+    checkNotNull(s);
+
+    Lock lock = partitionLocks.get(partitionKeyOf(s));
+    lock.lock();
+    try {
+      Preconditions.checkArgument(reached.containsKey(s), "State has to be in the reached set");
+
+      if (!waitlist.contains(s)) {
+        waitlist.add(s);
+      }
+      if (isTargetState(s)) {
+        targetStates.add(s);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void updatePrecision(AbstractState s, Precision newPrecision) {
+    checkNotNull(s);
+    checkNotNull(newPrecision);
+
+    Lock lock = partitionLocks.get(partitionKeyOf(s));
+    lock.lock();
+    try {
+      Entry oldEntry = reached.get(s);
+      if (oldEntry == null) {
+        throw new IllegalArgumentException("State needs to be in the reached set in order to change the precision.");
+      }
+      reached.put(s, new Entry(newPrecision, oldEntry.index));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(AbstractState state) {
+    checkNotNull(state);
+
+    Object key = partitionKeyOf(state);
+    Lock lock = partitionLocks.get(key);
+    lock.lock();
+    try {
+      firstState.compareAndSet(state, null);
+      lastState.compareAndSet(state, null);
+      waitlist.remove(state);
+
+      Entry entry = reached.remove(state);
+      if (entry != null) {
+        insertionOrder.remove(entry.index);
+        targetStates.remove(state);
+
+        ConcurrentNavigableMap<Long, AbstractState> partition = partitionedReached.get(key);
+        if (partition != null) {
+          partition.remove(entry.index);
+          if (partition.isEmpty()) {
+            partitionedReached.remove(key);
+          }
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void removeAll(Iterable<? extends AbstractState> toRemove) {
+    for (AbstractState state : toRemove) {
+      remove(state);
+    }
+  }
+
+  @Override
+  public void removeOnlyFromWaitlist(AbstractState state) {
+    checkNotNull(state);
+    waitlist.remove(state);
+  }
+
+  @Override
+  public void clear() {
+    // acquire all locks in a fixed order, such that no modification is running concurrently
+    List<Lock> locks = new ArrayList<>(partitionLocks.size());
+    for (int i = 0; i < partitionLocks.size(); i++) {
+      Lock lock = partitionLocks.getAt(i);
+      lock.lock();
+      locks.add(lock);
+    }
+    try {
+      firstState.set(null);
+      lastState.set(null);
+      waitlist.clear();
+      reached.clear();
+      insertionOrder.clear();
+      partitionedReached.clear();
+      targetStates.clear();
+    } finally {
+      for (Lock lock : locks) {
+        lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public Set<AbstractState> asCollection() {
+    return unmodifiableReached;
+  }
+
+  @Override
+  public Iterator<AbstractState> iterator() {
+    return unmodifiableReached.iterator();
+  }
+
+  @Override
+  public Collection<Precision> getPrecisions() {
+    List<Precision> precisions = new ArrayList<>(reached.size());
+    for (AbstractState state : insertionOrder.values()) {
+      Entry entry = reached.get(state);
+      if (entry != null) {
+        precisions.add(entry.precision);
+      }
+    }
+    return Collections.unmodifiableList(precisions);
+  }
+
+  /**
+   * Return a live view of all states in the same partition as the given state,
+   * which reflects later modifications of this partition.
+   */
+  @Override
+  public Collection<AbstractState> getReached(AbstractState state) {
+    return getReachedForKey(partitionKeyOf(state));
+  }
+
+  @Override
+  public Collection<AbstractState> getReached(CFANode location) {
+    return asCollection();
+  }
+
+  /**
+   * Return a snapshot of all target states.
+   */
+  @Override
+  public Collection<AbstractState> getTargetStates() {
+    return FluentIterable.from(targetStates).filter(IS_TARGET_STATE).toList();
+  }
+
+  @Override
+  public AbstractState getFirstState() {
+    AbstractState state = firstState.get();
+    Preconditions.checkState(state != null);
+    return state;
+  }
+
+  @Override
+  public AbstractState getLastState() {
+    return lastState.get();
+  }
+
+  @Override
+  public boolean hasWaitingState() {
+    return !waitlist.isEmpty();
+  }
+
+  @Override
+  public Collection<AbstractState> getWaitlist() {
+    return new AbstractCollection<AbstractState>() {
+
+      @Override
+      public Iterator<AbstractState> iterator() {
+        return Iterators.unmodifiableIterator(waitlist.iterator());
+      }
+
+      @Override
+      public boolean contains(Object obj) {
+        if (!(obj instanceof AbstractState)) {
+          return false;
+        }
+        return waitlist.contains((AbstractState)obj);
+      }
+
+      @Override
+      public boolean isEmpty() {
+        return waitlist.isEmpty();
+      }
+
+      @Override
+      public int size() {
+        return waitlist.size();
+      }
+
+      @Override
+      public String toString() {
+        return waitlist.toString();
+      }
+    };
+  }
+
+  @Override
+  public AbstractState popFromWaitlist() {
+    return waitlist.pop();
+  }
+
+  @Override
+  public Precision getPrecision(AbstractState state) {
+    checkNotNull(state);
+    Entry entry = reached.get(state);
+    Preconditions.checkArgument(entry != null, "State not in reached set:\n%s", state);
+    return entry.precision;
+  }
+
+  @Override
+  public boolean contains(AbstractState state) {
+    checkNotNull(state);
+    return reached.containsKey(state);
+  }
+
+  @Override
+  public int size() {
+    return reached.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return reached.isEmpty();
+  }
+
+  public int getNumberOfPartitions() {
+    return partitionedReached.size();
+  }
+
+  private Object partitionKeyOf(AbstractState pState) {
+    Object key = getPartitionKey(pState);
+    // concurrent maps do not allow null keys
+    return (key == null) ? NULL_KEY : key;
+  }
+
+  protected Object getPartitionKey(AbstractState pState) {
+    assert pState instanceof Partitionable : "Partitionable states necessary for ConcurrentPartitionedReachedSet";
+    return ((Partitionable)pState).getPartitionKey();
+  }
+
+  protected Collection<AbstractState> getReachedForKey(final Object key) {
+    return new AbstractSet<AbstractState>() {
+
+      @Override
+      public Iterator<AbstractState> iterator() {
+        ConcurrentNavigableMap<Long, AbstractState> partition = partitionedReached.get(key);
+        if (partition == null) {
+          return Collections.emptyIterator();
+        }
+        return Iterators.unmodifiableIterator(partition.values().iterator());
+      }
+
+      @Override
+      public boolean contains(Object pObj) {
+        return reached.containsKey(pObj)
+            && key.equals(partitionKeyOf((AbstractState)pObj));
+      }
+
+      @Override
+      public int size() {
+        ConcurrentNavigableMap<Long, AbstractState> partition = partitionedReached.get(key);
+        return (partition == null) ? 0 : partition.size();
+      }
+    };
+  }
+
+  /**
+   * Get the states of a partition, creating the partition if necessary.
+   * The caller needs to hold the write lock for the key.
+   */
+  private ConcurrentNavigableMap<Long, AbstractState> getPartition(Object key) {
+    ConcurrentNavigableMap<Long, AbstractState> partition = partitionedReached.get(key);
+    if (partition == null) {
+      partition = new ConcurrentSkipListMap<>();
+      partitionedReached.put(key, partition);
+    }
+    return partition;
+  }
+
+  @Override
+  public String toString() {
+    return unmodifiableReached.toString();
+  }
+}
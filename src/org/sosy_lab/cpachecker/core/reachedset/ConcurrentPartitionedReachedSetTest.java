@@ -0,0 +1,226 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.reachedset;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Partitionable;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.interfaces.Targetable;
+import org.sosy_lab.cpachecker.core.waitlist.ConcurrentSimpleWaitlist;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.TraversalMethod;
+
+public class ConcurrentPartitionedReachedSetTest {
+
+  private static class PartitionedState implements AbstractState, Partitionable {
+
+    private final Object key;
+
+    private PartitionedState(Object pKey) {
+      key = pKey;
+    }
+
+    @Override
+    public Object getPartitionKey() {
+      return key;
+    }
+  }
+
+  private static class TargetState extends PartitionedState implements Targetable {
+
+    private boolean isTarget = true;
+
+    private TargetState(Object pKey) {
+      super(pKey);
+    }
+
+    @Override
+    public boolean isTarget() {
+      return isTarget;
+    }
+
+    @Override
+    public String getViolatedPropertyDescription() {
+      return "";
+    }
+  }
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+
+  private final Precision precision = mock(Precision.class);
+
+  private ConcurrentPartitionedReachedSet reached;
+
+  @Before
+  public void setUp() {
+    reached = new ConcurrentPartitionedReachedSet(
+        ConcurrentSimpleWaitlist.factory(TraversalMethod.BFS), 4);
+  }
+
+  @Test
+  public void testAddAndPartitions() {
+    AbstractState a1 = new PartitionedState("a");
+    AbstractState a2 = new PartitionedState("a");
+    AbstractState b1 = new PartitionedState("b");
+    reached.add(a1, precision);
+    reached.add(b1, precision);
+    reached.add(a2, precision);
+
+    assertThat(reached.size()).isEqualTo(3);
+    assertThat(reached.getNumberOfPartitions()).isEqualTo(2);
+    assertThat(reached.asCollection()).containsExactly(a1, b1, a2).inOrder();
+    assertThat(reached.getReached(a1)).containsExactly(a1, a2).inOrder();
+    assertThat(reached.getFirstState()).isSameAs(a1);
+    assertThat(reached.getLastState()).isSameAs(a2);
+    assertThat(reached.getPrecision(b1)).isSameAs(precision);
+
+    assertThat(reached.popFromWaitlist()).isSameAs(a1);
+    assertThat(reached.getWaitlist()).containsExactly(b1, a2).inOrder();
+  }
+
+  @Test
+  public void testLiveView() {
+    AbstractState a1 = new PartitionedState("a");
+    AbstractState a2 = new PartitionedState("a");
+    AbstractState b1 = new PartitionedState("b");
+    reached.add(a1, precision);
+
+    Collection<AbstractState> partition = reached.getReached(a1);
+    reached.add(a2, precision);
+    reached.add(b1, precision);
+    assertThat(partition).containsExactly(a1, a2).inOrder();
+    assertThat(partition.contains(a2)).isTrue();
+    assertThat(partition.contains(b1)).isFalse();
+
+    reached.remove(a1);
+    assertThat(partition).containsExactly(a2);
+    assertThat(partition.contains(a1)).isFalse();
+
+    reached.remove(a2);
+    assertThat(partition).isEmpty();
+
+    // the view still works after the partition was removed and re-created
+    reached.add(a1, precision);
+    assertThat(partition).containsExactly(a1);
+  }
+
+  @Test
+  public void testRemoveLastOfPartition() {
+    AbstractState a = new PartitionedState("a");
+    reached.add(a, precision);
+    reached.remove(a);
+
+    assertThat(reached.isEmpty()).isTrue();
+    assertThat(reached.getNumberOfPartitions()).isEqualTo(0);
+    assertThat(reached.getReached(a)).isEmpty();
+    assertThat(reached.hasWaitingState()).isFalse();
+  }
+
+  @Test
+  public void testNullPartitionKey() {
+    AbstractState s = new PartitionedState(null);
+    reached.add(s, precision);
+
+    assertThat(reached.getReached(s)).containsExactly(s);
+  }
+
+  @Test
+  public void testTargetStates() {
+    AbstractState a = new PartitionedState("a");
+    TargetState t1 = new TargetState("a");
+    TargetState t2 = new TargetState("b");
+    reached.add(a, precision);
+    reached.add(t1, precision);
+    reached.add(t2, precision);
+
+    assertThat(reached.getTargetStates()).containsExactly(t1, t2);
+
+    t1.isTarget = false;
+    reached.remove(t2);
+    assertThat(reached.getTargetStates()).isEmpty();
+
+    t1.isTarget = true;
+    reached.reAddToWaitlist(t1);
+    assertThat(reached.getTargetStates()).containsExactly(t1);
+
+    reached.clear();
+    assertThat(reached.getTargetStates()).isEmpty();
+  }
+
+  @Test
+  public void testAddWithDifferentPrecision() {
+    AbstractState a = new PartitionedState("a");
+    reached.add(a, precision);
+    reached.add(a, precision);
+
+    thrown.expect(IllegalArgumentException.class);
+    reached.add(a, mock(Precision.class));
+  }
+
+  @Test
+  public void testConcurrentAdd() throws Exception {
+    final int threads = 4;
+    final int statesPerThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() {
+            for (int j = 0; j < statesPerThread; j++) {
+              reached.add(new PartitionedState(j % 10), precision);
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(reached.size()).isEqualTo(threads * statesPerThread);
+    assertThat(reached.getWaitlist().size()).isEqualTo(threads * statesPerThread);
+    assertThat(reached.getNumberOfPartitions()).isEqualTo(10);
+    assertThat(reached.getReached(new PartitionedState(0)).size()).isEqualTo(threads * statesPerThread / 10);
+  }
+}
@@ -24,12 +24,15 @@
 package org.sosy_lab.cpachecker.core.reachedset;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
+import static org.sosy_lab.cpachecker.util.AbstractStates.isTargetState;
 
 import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.sosy_lab.common.Pair;
@@ -40,6 +43,7 @@ import org.sosy_lab.cpachecker.core.waitlist.Waitlist;
 import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Collections2;
 import com.google.common.collect.Iterators;
 
 /**
@@ -54,6 +58,11 @@ class DefaultReachedSet implements ReachedSet {
   private AbstractState firstState = null;
   private final Waitlist waitlist;
 
+  // All states that were target states when they were added or re-added to the waitlist.
+  // Whether a state is a target state may change afterwards (e.g., if an ARGState gets covered),
+  // so this is a superset of the target states and needs to be filtered when queried.
+  private final Set<AbstractState> targetStates = new LinkedHashSet<>();
+
   DefaultReachedSet(WaitlistFactory waitlistFactory) {
     reached = new LinkedHashMap<>();
     unmodifiableReached = Collections.unmodifiableSet(reached.keySet());
@@ -75,6 +84,9 @@ class DefaultReachedSet implements ReachedSet {
       // State wasn't already in the reached set.
       waitlist.add(state);
       lastState = state;
+      if (isTargetState(state)) {
+        targetStates.add(state);
+      }
 
     } else {
       // State was already in the reached set.
@@ -118,6 +130,10 @@ class DefaultReachedSet implements ReachedSet {
     if (!waitlist.contains(s)) {
       waitlist.add(s);
     }
+    if (isTargetState(s)) {
+      // states may become target states again when they are uncovered
+      targetStates.add(s);
+    }
   }
 
   @Override
@@ -147,6 +163,7 @@ class DefaultReachedSet implements ReachedSet {
     }
     waitlist.remove(state);
     reached.remove(state);
+    targetStates.remove(state);
   }
 
   @Override
@@ -168,6 +185,7 @@ class DefaultReachedSet implements ReachedSet {
     lastState = null;
     waitlist.clear();
     reached.clear();
+    targetStates.clear();
   }
 
   @Override
@@ -195,6 +213,11 @@ class DefaultReachedSet implements ReachedSet {
     return asCollection();
   }
 
+  @Override
+  public Collection<AbstractState> getTargetStates() {
+    return Collections.unmodifiableCollection(Collections2.filter(targetStates, IS_TARGET_STATE));
+  }
+
   @Override
   public AbstractState getFirstState() {
     Preconditions.checkState(firstState != null);
@@ -80,6 +80,11 @@ public class ForwardingReachedSet implements ReachedSet {
     return delegate.getReached(pLocation);
   }
 
+  @Override
+  public Collection<AbstractState> getTargetStates() {
+    return delegate.getTargetStates();
+  }
+
   @Override
   public AbstractState getFirstState() {
     return delegate.getFirstState();
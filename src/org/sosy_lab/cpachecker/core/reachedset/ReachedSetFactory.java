@@ -24,6 +24,7 @@
 package org.sosy_lab.cpachecker.core.reachedset;
 
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -31,18 +32,21 @@ import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.core.waitlist.AutomatonFailedMatchesWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.AutomatonMatchesWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.CallstackSortedWaitlist;
+import org.sosy_lab.cpachecker.core.waitlist.ConcurrentSimpleWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.ExplicitSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.LoopstackSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.PostorderSortedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.ReversePostorderSortedWaitlist;
+import org.sosy_lab.cpachecker.core.waitlist.SynchronizedWaitlist;
 import org.sosy_lab.cpachecker.core.waitlist.Waitlist;
+import org.sosy_lab.cpachecker.core.waitlist.Waitlist.TraversalMethod;
 import org.sosy_lab.cpachecker.core.waitlist.Waitlist.WaitlistFactory;
 
 @Options(prefix="analysis")
 public class ReachedSetFactory {
 
   private static enum ReachedSetType {
-    NORMAL, LOCATIONMAPPED, PARTITIONED
+    NORMAL, LOCATIONMAPPED, PARTITIONED, CONCURRENT
   }
 
   @Option(secure=true, name="traversal.order",
@@ -83,9 +87,16 @@ public class ReachedSetFactory {
       + "\nNORMAL: just a simple set"
       + "\nLOCATIONMAPPED: a different set per location "
       + "(faster, states with different locations cannot be merged)"
-      + "\nPARTITIONED: partitioning depending on CPAs (e.g Location, Callstack etc.)")
+      + "\nPARTITIONED: partitioning depending on CPAs (e.g Location, Callstack etc.)"
+      + "\nCONCURRENT: like PARTITIONED, but thread-safe with a lock per partition "
+      + "(slower for single-threaded analyses)")
   ReachedSetType reachedSet = ReachedSetType.PARTITIONED;
 
+  @Option(secure=true, name = "reachedSet.lockStripes",
+      description = "number of locks that are shared by the partitions of the CONCURRENT reached set")
+  @IntegerOption(min=1)
+  int lockStripes = 64;
+
   public ReachedSetFactory(Configuration config, LogManager logger) throws InvalidConfigurationException {
     config.inject(this);
   }
@@ -114,6 +125,14 @@ public class ReachedSetFactory {
     }
 
     switch (reachedSet) {
+    case CONCURRENT:
+      if (waitlistFactory == TraversalMethod.BFS || waitlistFactory == TraversalMethod.DFS) {
+        waitlistFactory = ConcurrentSimpleWaitlist.factory((TraversalMethod)waitlistFactory);
+      } else {
+        waitlistFactory = SynchronizedWaitlist.factory(waitlistFactory);
+      }
+      return new ConcurrentPartitionedReachedSet(waitlistFactory, lockStripes);
+
     case PARTITIONED:
       return new PartitionedReachedSet(waitlistFactory);
 
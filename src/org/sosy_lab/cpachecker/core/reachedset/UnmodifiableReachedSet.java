@@ -77,6 +77,18 @@ public interface UnmodifiableReachedSet extends Iterable<AbstractState> {
    */
   public Collection<AbstractState> getReached(CFANode location);
 
+  /**
+   * Returns all target states in the reached set
+   * (cf. {@link org.sosy_lab.cpachecker.util.AbstractStates#isTargetState(AbstractState)}).
+   * Implementations keep an index of these states up-to-date on modifications,
+   * such that this method does not need to iterate over the whole reached set.
+   *
+   * The returned set is an unmodifiable view of the actual data.
+   *
+   * @return A subset of the reached set.
+   */
+  public Collection<AbstractState> getTargetStates();
+
   /**
    * Returns the first state that was added to the reached set.
    * @throws IllegalStateException If the reached set is empty.
@@ -23,6 +23,8 @@
  */
 package org.sosy_lab.cpachecker.core.reachedset;
 
+import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
+
 import java.util.Collection;
 import java.util.Iterator;
 
@@ -87,6 +89,13 @@ public class UnmodifiableReachedSetView
     return Collections2.transform(underlying.getReached(pLocation), mapStateFunction);
   }
 
+  @Override
+  public Collection<AbstractState> getTargetStates() {
+    // the mapping may change whether a state is a target state,
+    // so we cannot use the index of the underlying reached set
+    return Collections2.filter(asCollection(), IS_TARGET_STATE);
+  }
+
   @Override
   public Collection<Precision> getPrecisions() {
     return Collections2.transform(underlying.getPrecisions(), mapPrecisionFunction);
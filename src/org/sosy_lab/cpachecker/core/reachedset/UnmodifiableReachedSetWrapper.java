@@ -66,6 +66,11 @@ public class UnmodifiableReachedSetWrapper implements UnmodifiableReachedSet {
     return Collections.unmodifiableCollection(delegate.getReached(pLocation));
   }
 
+  @Override
+  public Collection<AbstractState> getTargetStates() {
+    return Collections.unmodifiableCollection(delegate.getTargetStates());
+  }
+
   @Override
   public AbstractState getFirstState() {
     return delegate.getFirstState();
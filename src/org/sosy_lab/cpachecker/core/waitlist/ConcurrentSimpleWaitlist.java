@@ -0,0 +1,138 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.waitlist;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
+
+/**
+ * Thread-safe waitlist implementation that supports either a breadth-first (BFS)
+ * or depth-first (DFS) strategy for pop().
+ * It is lock-free and may be used concurrently by several threads.
+ *
+ * {@link #pop()} returns null if the waitlist is empty
+ * (which may happen even after {@link #isEmpty()} returned false if another thread
+ * popped the last state in between).
+ * The result of {@link #size()} is exact only if there are no concurrent modifications.
+ * Iterators are weakly consistent and unmodifiable.
+ */
+public class ConcurrentSimpleWaitlist implements Waitlist {
+
+  private final ConcurrentLinkedDeque<AbstractState> waitlist = new ConcurrentLinkedDeque<>();
+
+  // ConcurrentLinkedDeque.size() is not a constant-time operation
+  private final AtomicInteger size = new AtomicInteger(0);
+
+  private final TraversalMethod traversal;
+
+  protected ConcurrentSimpleWaitlist(TraversalMethod pTraversal) {
+    Preconditions.checkArgument(pTraversal == TraversalMethod.BFS || pTraversal == TraversalMethod.DFS);
+    traversal = pTraversal;
+  }
+
+  @Override
+  public void add(AbstractState pState) {
+    waitlist.addLast(pState);
+    size.incrementAndGet();
+  }
+
+  @Override
+  public void clear() {
+    while (waitlist.pollFirst() != null) {
+      size.decrementAndGet();
+    }
+  }
+
+  @Override
+  public boolean contains(AbstractState pState) {
+    return waitlist.contains(pState);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return waitlist.isEmpty();
+  }
+
+  @Override
+  public AbstractState pop() {
+    AbstractState state;
+    switch (traversal) {
+    case BFS:
+      state = waitlist.pollFirst();
+      break;
+
+    case DFS:
+      state = waitlist.pollLast();
+      break;
+
+    default:
+      throw new AssertionError();
+    }
+
+    if (state != null) {
+      size.decrementAndGet();
+    }
+    return state;
+  }
+
+  @Override
+  public boolean remove(AbstractState pState) {
+    if (waitlist.remove(pState)) {
+      size.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return Math.max(0, size.get());
+  }
+
+  @Override
+  public Iterator<AbstractState> iterator() {
+    return Iterators.unmodifiableIterator(waitlist.iterator());
+  }
+
+  @Override
+  public String toString() {
+    return waitlist.toString();
+  }
+
+  public static WaitlistFactory factory(final TraversalMethod pTraversal) {
+    return new WaitlistFactory() {
+
+      @Override
+      public Waitlist createWaitlistInstance() {
+        return new ConcurrentSimpleWaitlist(pTraversal);
+      }
+    };
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.core.waitlist;
+
+import java.util.Iterator;
+
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Thread-safe wrapper around an arbitrary waitlist,
+ * which guards all operations with a single lock.
+ * This can be used for those strategies that have no lock-free implementation
+ * (cf. {@link ConcurrentSimpleWaitlist}).
+ *
+ * {@link #pop()} returns null if the waitlist is empty.
+ * Iterators work on a snapshot of the waitlist and are unmodifiable.
+ */
+public class SynchronizedWaitlist implements Waitlist {
+
+  private final Waitlist delegate;
+
+  protected SynchronizedWaitlist(Waitlist pDelegate) {
+    delegate = pDelegate;
+  }
+
+  @Override
+  public synchronized void add(AbstractState pState) {
+    delegate.add(pState);
+  }
+
+  @Override
+  public synchronized void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public synchronized boolean contains(AbstractState pState) {
+    return delegate.contains(pState);
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return delegate.isEmpty();
+  }
+
+  @Override
+  public synchronized AbstractState pop() {
+    if (delegate.isEmpty()) {
+      return null;
+    }
+    return delegate.pop();
+  }
+
+  @Override
+  public synchronized boolean remove(AbstractState pState) {
+    return delegate.remove(pState);
+  }
+
+  @Override
+  public synchronized int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public synchronized Iterator<AbstractState> iterator() {
+    return ImmutableList.copyOf(delegate).iterator();
+  }
+
+  @Override
+  public synchronized String toString() {
+    return delegate.toString();
+  }
+
+  public static WaitlistFactory factory(final WaitlistFactory pDelegate) {
+    return new WaitlistFactory() {
+
+      @Override
+      public Waitlist createWaitlistInstance() {
+        return new SynchronizedWaitlist(pDelegate.createWaitlistInstance());
+      }
+    };
+  }
+}
@@ -27,12 +27,14 @@ import static com.google.common.base.Preconditions.*;
 import static com.google.common.collect.FluentIterable.from;
 import static org.sosy_lab.cpachecker.util.AbstractStates.extractLocation;
 
+import java.util.AbstractCollection;
 import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -47,18 +49,23 @@ import org.sosy_lab.cpachecker.core.interfaces.Graphable;
 import org.sosy_lab.cpachecker.util.UniqueIdGenerator;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
 
 public class ARGState extends AbstractSingleWrapperState implements Comparable<ARGState>, Graphable {
 
-  private static final long serialVersionUID = 2608287648397165040L;
+  private static final long serialVersionUID = 6773528269031999689L;
 
-  // We use a List here although we would like to have a Set
-  // because ArrayList is much more memory efficient than e.g. LinkedHashSet.
-  // Also these collections are small and so a slow contains() method won't hurt.
-  // To enforce set semantics, do not add elements except through addparent()!
-  private final Collection<ARGState> children = new ArrayList<>(1);
-  private final Collection<ARGState> parents = new ArrayList<>(1);
+  // Children and parents are stored without collection objects,
+  // because there are many ARGStates and most have one parent and few children:
+  // each of the fields is either null (empty), a single ARGState,
+  // or an ARGState[] with at least two elements.
+  // Arrays are never modified once they are stored (copy-on-write),
+  // so iterating over them is safe while the ARG is changed.
+  // These collections are small and so a slow contains() method won't hurt.
+  // To enforce set semantics, do not add elements except through addParent()!
+  private @Nullable Object children = null;
+  private @Nullable Object parents = null;
 
   private ARGState mCoveredBy = null;
   private Set<ARGState> mCoveredByThis = null; // lazy initialization because rarely needed
@@ -90,7 +97,22 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
    * @return A unmodifiable collection of ARGStates without duplicates.
    */
   public Collection<ARGState> getParents() {
-    return Collections.unmodifiableCollection(parents);
+    return new AbstractCollection<ARGState>() {
+      @Override
+      public Iterator<ARGState> iterator() {
+        return iteratorOf(parents);
+      }
+
+      @Override
+      public int size() {
+        return sizeOf(parents);
+      }
+
+      @Override
+      public boolean contains(Object pState) {
+        return pState instanceof ARGState && containsState(parents, (ARGState)pState);
+      }
+    };
   }
 
   public void addParent(ARGState pOtherParent) {
@@ -98,12 +120,12 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
     assert !destroyed : "Don't use destroyed ARGState " + this;
 
     // Manually enforce set semantics.
-    if (!parents.contains(pOtherParent)) {
-      assert !pOtherParent.children.contains(this);
-      parents.add(pOtherParent);
-      pOtherParent.children.add(this);
+    if (!containsState(parents, pOtherParent)) {
+      assert !containsState(pOtherParent.children, this);
+      parents = withState(parents, pOtherParent);
+      pOtherParent.children = withState(pOtherParent.children, this);
     } else {
-      assert pOtherParent.children.contains(this);
+      assert containsState(pOtherParent.children, this);
     }
   }
 
@@ -113,7 +135,92 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
    */
   public Collection<ARGState> getChildren() {
     assert !destroyed : "Don't use destroyed ARGState " + this;
-    return Collections.unmodifiableCollection(children);
+    return new AbstractCollection<ARGState>() {
+      @Override
+      public Iterator<ARGState> iterator() {
+        return iteratorOf(children);
+      }
+
+      @Override
+      public int size() {
+        return sizeOf(children);
+      }
+
+      @Override
+      public boolean contains(Object pState) {
+        return pState instanceof ARGState && containsState(children, (ARGState)pState);
+      }
+    };
+  }
+
+  // helper methods for the representation of children and parents
+
+  private static int sizeOf(@Nullable Object pStates) {
+    if (pStates == null) {
+      return 0;
+    } else if (pStates instanceof ARGState) {
+      return 1;
+    } else {
+      return ((ARGState[])pStates).length;
+    }
+  }
+
+  private static Iterator<ARGState> iteratorOf(@Nullable Object pStates) {
+    if (pStates == null) {
+      return Collections.emptyIterator();
+    } else if (pStates instanceof ARGState) {
+      return Iterators.singletonIterator((ARGState)pStates);
+    } else {
+      return Iterators.forArray((ARGState[])pStates);
+    }
+  }
+
+  private static boolean containsState(@Nullable Object pStates, ARGState pState) {
+    if (pStates instanceof ARGState[]) {
+      return indexOf((ARGState[])pStates, pState) >= 0;
+    }
+    return pStates == pState;
+  }
+
+  private static int indexOf(ARGState[] pStates, ARGState pState) {
+    for (int i = 0; i < pStates.length; i++) {
+      if (pStates[i] == pState) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static Object withState(@Nullable Object pStates, ARGState pState) {
+    if (pStates == null) {
+      return pState;
+    } else if (pStates instanceof ARGState) {
+      return new ARGState[] {(ARGState)pStates, pState};
+    } else {
+      ARGState[] states = (ARGState[])pStates;
+      ARGState[] result = Arrays.copyOf(states, states.length + 1);
+      result[states.length] = pState;
+      return result;
+    }
+  }
+
+  private static @Nullable Object withoutState(@Nullable Object pStates, ARGState pState) {
+    if (pStates == pState) {
+      return null;
+    } else if (pStates instanceof ARGState[]) {
+      ARGState[] states = (ARGState[])pStates;
+      int pos = indexOf(states, pState);
+      if (pos < 0) {
+        return pStates;
+      } else if (states.length == 2) {
+        return states[1 - pos];
+      }
+      ARGState[] result = new ARGState[states.length - 1];
+      System.arraycopy(states, 0, result, 0, pos);
+      System.arraycopy(states, pos + 1, result, pos, result.length - pos);
+      return result;
+    }
+    return pStates;
   }
 
   /**
@@ -161,7 +268,7 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
       ARGState currentElement = workList.removeFirst();
       if (result.add(currentElement)) {
         // currentElement was not in result
-        workList.addAll(currentElement.children);
+        Iterators.addAll(workList, iteratorOf(currentElement.children));
       }
     }
     return result;
@@ -247,9 +354,9 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
   }
 
   void deleteChild(ARGState child) {
-    assert (children.contains(child));
-    children.remove(child);
-    child.parents.remove(this);
+    assert containsState(children, child);
+    children = withoutState(children, child);
+    child.parents = withoutState(child.parents, this);
   }
 
   // small and less important stuff
@@ -306,9 +413,9 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
     sb.append(stateId);
     if (!destroyed) {
       sb.append(", Parents: ");
-      sb.append(stateIdsOf(parents));
+      sb.append(stateIdsOf(getParents()));
       sb.append(", Children: ");
-      sb.append(stateIdsOf(children));
+      sb.append(stateIdsOf(getChildren()));
 
       if (mCoveredBy != null) {
         sb.append(", Covered by: ");
@@ -367,18 +474,18 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
     assert !destroyed : "Don't use destroyed ARGState " + this;
 
     // clear children
-    for (ARGState child : children) {
-      assert (child.parents.contains(this));
-      child.parents.remove(this);
+    for (ARGState child : getChildren()) {
+      assert containsState(child.parents, this);
+      child.parents = withoutState(child.parents, this);
     }
-    children.clear();
+    children = null;
 
     // clear parents
-    for (ARGState parent : parents) {
-      assert (parent.children.contains(this));
-      parent.children.remove(this);
+    for (ARGState parent : getParents()) {
+      assert containsState(parent.children, this);
+      parent.children = withoutState(parent.children, this);
     }
-    parents.clear();
+    parents = null;
 
     // clear coverage relation
     if (isCovered()) {
@@ -415,19 +522,19 @@ public class ARGState extends AbstractSingleWrapperState implements Comparable<A
     assert !replacement.isCovered() : "Cannot replace with covered element " + replacement;
 
     // copy children
-    for (ARGState child : children) {
-      assert (child.parents.contains(this)) : "Inconsistent ARG at " + this;
-      child.parents.remove(this);
+    for (ARGState child : getChildren()) {
+      assert containsState(child.parents, this) : "Inconsistent ARG at " + this;
+      child.parents = withoutState(child.parents, this);
       child.addParent(replacement);
     }
-    children.clear();
+    children = null;
 
-    for (ARGState parent : parents) {
-      assert (parent.children.contains(this)) : "Inconsistent ARG at " + this;
-      parent.children.remove(this);
+    for (ARGState parent : getParents()) {
+      assert containsState(parent.children, this) : "Inconsistent ARG at " + this;
+      parent.children = withoutState(parent.children, this);
       replacement.addParent(parent);
     }
-    parents.clear();
+    parents = null;
 
     if (mCoveredByThis != null) {
       if (replacement.mCoveredByThis == null) {
@@ -0,0 +1,107 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Collection;
+
+import org.junit.Test;
+
+public class ARGStateTest {
+
+  @Test
+  public void testAddParent() {
+    ARGState root = new ARGState(null, null);
+    ARGState child1 = new ARGState(null, root);
+    ARGState child2 = new ARGState(null, root);
+    ARGState child3 = new ARGState(null, root);
+    ARGState merged = new ARGState(null, child1);
+
+    merged.addParent(child2);
+    merged.addParent(child2);
+
+    assertThat(root.getParents()).isEmpty();
+    assertThat(root.getChildren()).containsExactly(child1, child2, child3).inOrder();
+    assertThat(child1.getParents()).containsExactly(root);
+    assertThat(merged.getParents()).containsExactly(child1, child2).inOrder();
+    assertThat(child2.getChildren()).containsExactly(merged);
+    assertThat(child3.getChildren()).isEmpty();
+  }
+
+  @Test
+  public void testRemoveFromARG() {
+    ARGState root = new ARGState(null, null);
+    ARGState child1 = new ARGState(null, root);
+    ARGState child2 = new ARGState(null, root);
+    ARGState child3 = new ARGState(null, root);
+    ARGState grandChild = new ARGState(null, child2);
+
+    child2.removeFromARG();
+
+    assertThat(child2.isDestroyed()).isTrue();
+    assertThat(root.getChildren()).containsExactly(child1, child3).inOrder();
+    assertThat(grandChild.getParents()).isEmpty();
+
+    child1.removeFromARG();
+    assertThat(root.getChildren()).containsExactly(child3);
+
+    child3.removeFromARG();
+    assertThat(root.getChildren()).isEmpty();
+  }
+
+  @Test
+  public void testReplaceInARGWith() {
+    ARGState root = new ARGState(null, null);
+    ARGState child = new ARGState(null, root);
+    ARGState grandChild1 = new ARGState(null, child);
+    ARGState grandChild2 = new ARGState(null, child);
+    ARGState replacement = new ARGState(null, null);
+
+    child.replaceInARGWith(replacement);
+
+    assertThat(child.isDestroyed()).isTrue();
+    assertThat(root.getChildren()).containsExactly(replacement);
+    assertThat(replacement.getParents()).containsExactly(root);
+    assertThat(replacement.getChildren()).containsExactly(grandChild1, grandChild2);
+    assertThat(grandChild1.getParents()).containsExactly(replacement);
+  }
+
+  @Test
+  public void testChildrenViewIsLive() {
+    ARGState root = new ARGState(null, null);
+    ARGState child1 = new ARGState(null, root);
+
+    // the view reflects later changes, but iterating over it while changing the ARG is safe
+    Collection<ARGState> children = root.getChildren();
+    ARGState child2 = new ARGState(null, root);
+    assertThat(children).containsExactly(child1, child2).inOrder();
+
+    for (ARGState child : children) {
+      child.removeFromARG();
+    }
+    assertThat(children).isEmpty();
+    assertThat(children.contains(child1)).isFalse();
+  }
+}
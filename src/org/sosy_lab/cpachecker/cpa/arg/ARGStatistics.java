@@ -23,9 +23,6 @@
  */
 package org.sosy_lab.cpachecker.cpa.arg;
 
-import static com.google.common.collect.FluentIterable.from;
-import static org.sosy_lab.cpachecker.util.AbstractStates.IS_TARGET_STATE;
-
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Writer;
@@ -43,7 +40,6 @@ import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
-import org.sosy_lab.common.io.Files;
 import org.sosy_lab.common.io.Path;
 import org.sosy_lab.common.io.Paths;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
@@ -59,6 +55,7 @@ import org.sosy_lab.cpachecker.cpa.arg.counterexamples.CEXExporter;
 import org.sosy_lab.cpachecker.cpa.partitioning.PartitioningCPA.PartitionState;
 import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.CPAs;
+import org.sosy_lab.cpachecker.util.OutputFiles;
 
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
@@ -78,7 +75,7 @@ public class ARGStatistics implements IterationStatistics {
   private boolean exportARG = true;
 
   @Option(secure=true, name="file",
-      description="export final ARG as .dot file")
+      description="export final ARG as .dot file (compressed if the file name ends with .gz)")
   @FileOption(FileOption.Type.OUTPUT_FILE)
   private Path argFile = Paths.get("ARG.dot");
 
@@ -92,6 +89,11 @@ public class ARGStatistics implements IterationStatistics {
   @FileOption(FileOption.Type.OUTPUT_FILE)
   private Path refinementGraphFile = Paths.get("ARGRefinements.dot");
 
+  @Option(secure=true, name="export.maxStates",
+      description="maximal number of states written when exporting the final ARG as .dot file, "
+          + "larger ARGs are truncated to the states found first from the root state (-1 for infinite)")
+  private int maxExportedStates = -1;
+
   @Option(secure=true, name="errorPath.export",
       description="export error path to file, if one is found")
   private boolean exportErrorPath = true;
@@ -124,7 +126,7 @@ public class ARGStatistics implements IterationStatistics {
       // we continuously write into this file during analysis.
       // We do this lazily so that the file is written only if there are refinements.
       try {
-        refinementGraphUnderlyingWriter = Files.openOutputFile(refinementGraphFile);
+        refinementGraphUnderlyingWriter = OutputFiles.openOutputFile(refinementGraphFile);
         refinementGraphWriter = new ARGToDotWriter(refinementGraphUnderlyingWriter);
       } catch (IOException e) {
         if (refinementGraphUnderlyingWriter != null) {
@@ -211,22 +213,24 @@ public class ARGStatistics implements IterationStatistics {
     Function<ARGState, Collection<ARGState>> relevantSuccessorFunction = Functions.forMap(relevantSuccessorRelation.asMap(), ImmutableSet.<ARGState>of());
 
     if (argFile != null) {
-      try (Writer w = Files.openOutputFile(adjustPathNameForPartitioning(rootState, argFile))) {
+      try (Writer w = OutputFiles.openOutputFile(adjustPathNameForPartitioning(rootState, argFile))) {
         ARGToDotWriter.write(w, rootState,
             ARGUtils.CHILDREN_OF_STATE,
             Predicates.alwaysTrue(),
-            isTargetPathEdge);
+            isTargetPathEdge,
+            maxExportedStates);
       } catch (IOException e) {
         cpa.getLogger().logUserException(Level.WARNING, e, "Could not write ARG to file");
       }
     }
 
     if (simplifiedArgFile != null) {
-      try (Writer w = Files.openOutputFile(adjustPathNameForPartitioning(rootState, simplifiedArgFile))) {
+      try (Writer w = OutputFiles.openOutputFile(adjustPathNameForPartitioning(rootState, simplifiedArgFile))) {
         ARGToDotWriter.write(w, rootState,
             relevantSuccessorFunction,
             Predicates.alwaysTrue(),
-            Predicates.alwaysFalse());
+            Predicates.alwaysFalse(),
+            maxExportedStates);
       } catch (IOException e) {
         cpa.getLogger().logUserException(Level.WARNING, e, "Could not write ARG to file");
       }
@@ -260,7 +264,7 @@ public class ARGStatistics implements IterationStatistics {
 
     Map<ARGState, CounterexampleInfo> counterexamples = new HashMap<>();
 
-    for (AbstractState targetState : from(pReached).filter(IS_TARGET_STATE)) {
+    for (AbstractState targetState : pReached.getTargetStates()) {
       ARGState s = (ARGState)targetState;
       CounterexampleInfo cex = probableCounterexample.get(s);
       if (cex == null) {
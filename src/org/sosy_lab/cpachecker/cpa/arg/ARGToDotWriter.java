@@ -46,8 +46,16 @@ public class ARGToDotWriter {
 
   private final Appendable sb;
 
+  /** maximal number of states written per subgraph (-1 for infinite) */
+  private final int maxStates;
+
   ARGToDotWriter(Appendable pSb) throws IOException {
+    this(pSb, -1);
+  }
+
+  private ARGToDotWriter(Appendable pSb, int pMaxStates) throws IOException {
     sb = pSb;
+    maxStates = pMaxStates;
 
     sb.append("digraph ARG {\n");
     // default style for nodes
@@ -69,8 +77,32 @@ public class ARGToDotWriter {
       final Predicate<? super ARGState> displayedElements,
       final Predicate<? super Pair<ARGState, ARGState>> highlightEdge)
       throws IOException {
+    write(sb, rootState, successorFunction, displayedElements, highlightEdge, -1);
+  }
 
-    ARGToDotWriter toDotWriter = new ARGToDotWriter(sb);
+  /**
+   * Create String with ARG in the DOT format of Graphviz,
+   * writing at most the given number of states.
+   * If the ARG is larger, only the (connected) part of the ARG
+   * that is found first when exploring it from the root is written,
+   * and the states at which it was cut are written as placeholder nodes.
+   * @param sb Where to write the ARG into.
+   * @param rootState the root element of the ARG
+   * @param successorFunction A function giving all successors of an ARGState. Only states reachable from root by iteratively applying this function will be dumped.
+   * @param displayedElements A predicate for selecting states that should be displayed. States which are only reachable via non-displayed states are ignored, too.
+   * @param highlightEdge Which edges to highlight in the graph?
+   * @param maxStates The maximal number of states to write (-1 for infinite).
+   * @throws IOException
+   */
+  public static void write(Appendable sb,
+      final ARGState rootState,
+      final Function<? super ARGState, ? extends Iterable<ARGState>> successorFunction,
+      final Predicate<? super ARGState> displayedElements,
+      final Predicate<? super Pair<ARGState, ARGState>> highlightEdge,
+      final int maxStates)
+      throws IOException {
+
+    ARGToDotWriter toDotWriter = new ARGToDotWriter(sb, maxStates);
     toDotWriter.writeSubgraph(rootState,
         successorFunction,
         displayedElements,
@@ -131,35 +163,63 @@ public class ARGToDotWriter {
 
     Deque<ARGState> worklist = new ArrayDeque<>();
     Set<ARGState> processed = new HashSet<>();
-    StringBuilder edges = new StringBuilder();
 
     worklist.add(rootState);
 
+    // Nodes and edges are written immediately (and not collected before),
+    // so that huge ARGs can be written without having the whole output in memory.
+    // The order does not matter for Graphviz.
     while (!worklist.isEmpty()) {
       ARGState currentElement = worklist.removeLast();
       if (!displayedElements.apply(currentElement)) {
         continue;
       }
-      if (!processed.add(currentElement)) {
+      if (processed.contains(currentElement)) {
         continue;
       }
+      if (maxStates >= 0 && processed.size() >= maxStates) {
+        sb.append("// ARG truncated after " + maxStates + " states\n");
+        writeTruncatedFrontier(currentElement, worklist, processed, displayedElements);
+        break;
+      }
+      processed.add(currentElement);
 
       sb.append(determineNode(currentElement));
       sb.append(determineStateHint(currentElement));
 
       for (ARGState covered : currentElement.getCoveredByThis()) {
-        edges.append(covered.getStateId());
-        edges.append(" -> ");
-        edges.append(currentElement.getStateId());
-        edges.append(" [style=\"dashed\" weight=\"0\" label=\"covered by\"]\n");
+        sb.append(Integer.toString(covered.getStateId()));
+        sb.append(" -> ");
+        sb.append(Integer.toString(currentElement.getStateId()));
+        sb.append(" [style=\"dashed\" weight=\"0\" label=\"covered by\"]\n");
       }
 
       for (ARGState child : successorFunction.apply(currentElement)) {
-        edges.append(determineEdge(highlightEdge, currentElement, child));
+        sb.append(determineEdge(highlightEdge, currentElement, child));
         worklist.add(child);
       }
     }
-    sb.append(edges);
+  }
+
+  /**
+   * Write a placeholder node for each state that was reached by an already written edge,
+   * but not written itself because of the limit on the number of states.
+   * This makes the places where the ARG was cut visible.
+   */
+  private void writeTruncatedFrontier(final ARGState firstState,
+      final Deque<ARGState> worklist, final Set<ARGState> processed,
+      final Predicate<? super ARGState> displayedElements) throws IOException {
+
+    worklist.add(firstState);
+    while (!worklist.isEmpty()) {
+      ARGState state = worklist.removeLast();
+      if (displayedElements.apply(state) && processed.add(state)) {
+        sb.append(Integer.toString(state.getStateId()));
+        sb.append(" [style=\"dashed\" label=\"");
+        sb.append(Integer.toString(state.getStateId()));
+        sb.append(" (not exported)\"]\n");
+      }
+    }
   }
 
   private static String determineEdge(final Predicate<? super Pair<ARGState, ARGState>> highlightEdge,
@@ -0,0 +1,82 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.arg;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.google.common.base.Functions;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+
+public class ARGToDotWriterTest {
+
+  // The states are not connected in the ARG itself,
+  // so that no CFA edges are needed for writing the edges between them.
+  private final ARGState root = new ARGState(null, null);
+  private final ARGState child = new ARGState(null, null);
+  private final ARGState grandChild = new ARGState(null, null);
+  private final ARGState greatGrandChild = new ARGState(null, null);
+
+  private final ImmutableListMultimap<ARGState, ARGState> successors =
+      ImmutableListMultimap.of(root, child, child, grandChild, grandChild, greatGrandChild);
+
+  private String write(int maxStates) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    ARGToDotWriter.write(sb, root,
+        Functions.forMap(successors.asMap(), ImmutableSet.<ARGState>of()),
+        Predicates.alwaysTrue(),
+        Predicates.alwaysFalse(),
+        maxStates);
+    return sb.toString();
+  }
+
+  @Test
+  public void testWriteAll() throws IOException {
+    String dot = write(-1);
+
+    assertThat(dot).startsWith("digraph ARG {\n");
+    assertThat(dot).endsWith("}\n");
+    assertThat(dot).doesNotContain("truncated");
+    assertThat(dot).contains(greatGrandChild.getStateId() + " [");
+    assertThat(dot).contains(grandChild.getStateId() + " -> " + greatGrandChild.getStateId());
+  }
+
+  @Test
+  public void testWriteTruncated() throws IOException {
+    String dot = write(2);
+
+    assertThat(dot).endsWith("}\n");
+    assertThat(dot).contains("// ARG truncated after 2 states\n");
+    assertThat(dot).contains(child.getStateId() + " -> " + grandChild.getStateId());
+    assertThat(dot).contains(grandChild.getStateId() + " [style=\"dashed\" label=\""
+        + grandChild.getStateId() + " (not exported)\"]\n");
+    assertThat(dot).doesNotContain(grandChild.getStateId() + " -> ");
+    assertThat(dot).doesNotContain(greatGrandChild.getStateId() + " [");
+  }
+}
@@ -50,10 +50,12 @@ import org.sosy_lab.cpachecker.cpa.arg.MutableARGPath;
 import org.sosy_lab.cpachecker.cpa.bam.BAMCEXSubgraphComputer.BackwardARGState;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
+import org.sosy_lab.cpachecker.util.AbstractStates;
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
+import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import com.google.errorprone.annotations.ForOverride;
 
@@ -196,6 +198,11 @@ public abstract class AbstractBAMBasedRefiner extends AbstractARGBasedRefiner {
           throw new UnsupportedOperationException("should not be needed");
         }
 
+        @Override
+        public Collection<AbstractState> getTargetStates() {
+          return Collections2.filter(subgraph, AbstractStates.IS_TARGET_STATE);
+        }
+
         @Override
         public AbstractState getFirstState() {
           return rootOfSubgraph;
@@ -212,22 +212,33 @@ public class BAMCEXSubgraphComputer {
 
     assert reachedSet.contains(reducedTarget);
 
+    if (bamCache.isPersistentReturnState(reducedTarget)) {
+      // the summary was loaded from disk and contains no paths through the block
+      logger.log(Level.FINE,
+              "Target state refers to a stored summary of a block, i.e., the block will be analysed again.");
+      removeCachedBlock(expandedRoot, reachedSet);
+      return DUMMY_STATE_FOR_MISSING_BLOCK;
+    }
+
     // we found the target; now construct a subtree in the ARG starting with targetARGElement
     final BackwardARGState result = computeCounterexampleSubgraph(reducedTarget, new ARGReachedSet(reachedSet), newTreeTarget);
     if (result == DUMMY_STATE_FOR_MISSING_BLOCK) {
       //enforce recomputation to update cached subtree
       logger.log(Level.FINE,
               "Target state refers to a destroyed ARGState, i.e., the cached subtree will be removed.");
-
-      // TODO why do we use precision of reachedSet from 'abstractStateToReachedSet' here and not the reduced precision?
-      final CFANode rootNode = extractLocation(expandedRoot);
-      final Block rootBlock = partitioning.getBlockForCallNode(rootNode);
-      final AbstractState reducedRootState = reducer.getVariableReducedState(expandedRoot, rootBlock, rootNode);
-      bamCache.removeReturnEntry(reducedRootState, reachedSet.getPrecision(reachedSet.getFirstState()), rootBlock);
+      removeCachedBlock(expandedRoot, reachedSet);
     }
     return result;
   }
 
+  private void removeCachedBlock(final ARGState expandedRoot, final ReachedSet reachedSet) {
+    // TODO why do we use precision of reachedSet from 'abstractStateToReachedSet' here and not the reduced precision?
+    final CFANode rootNode = extractLocation(expandedRoot);
+    final Block rootBlock = partitioning.getBlockForCallNode(rootNode);
+    final AbstractState reducedRootState = reducer.getVariableReducedState(expandedRoot, rootBlock, rootNode);
+    bamCache.removeReturnEntry(reducedRootState, reachedSet.getPrecision(reachedSet.getFirstState()), rootBlock);
+  }
+
 
   /**
    * This is a ARGState, that counts backwards, used to build the Pseudo-ARG for CEX-retrieval.
@@ -51,6 +51,7 @@ import org.sosy_lab.cpachecker.core.defaults.AbstractSingleWrapperCPA;
 import org.sosy_lab.cpachecker.core.defaults.AutomaticCPAFactory;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractDomain;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.AnalysisFinishedListener;
 import org.sosy_lab.cpachecker.core.interfaces.CPAFactory;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysisWithBAM;
@@ -72,7 +73,8 @@ import com.google.common.base.Preconditions;
 
 
 @Options(prefix = "cpa.bam")
-public class BAMCPA extends AbstractSingleWrapperCPA implements StatisticsProvider, ProofChecker {
+public class BAMCPA extends AbstractSingleWrapperCPA implements StatisticsProvider, ProofChecker,
+    AnalysisFinishedListener {
 
   public static CPAFactory factory() {
     return AutomaticCPAFactory.forType(BAMCPA.class);
@@ -82,6 +84,7 @@ public class BAMCPA extends AbstractSingleWrapperCPA implements StatisticsProvid
 
   private final LogManager logger;
   private final TimedReducer reducer;
+  private final BAMCache cache;
   private final BAMTransferRelation transfer;
   private final BAMPrecisionAdjustment prec;
   private final BAMMergeOperator merge;
@@ -119,7 +122,7 @@ public class BAMCPA extends AbstractSingleWrapperCPA implements StatisticsProvid
       this.wrappedProofChecker = null;
     }
     reducer = new TimedReducer(wrappedReducer);
-    final BAMCache cache = new BAMCache(config, reducer);
+    cache = new BAMCache(config, reducer, pReachedSetFactory, logger, cfa);
     transfer = new BAMTransferRelation(config, logger, this, wrappedProofChecker, cache, pReachedSetFactory, pShutdownNotifier);
     prec = new BAMPrecisionAdjustment(pCpa.getPrecisionAdjustment(), transfer, logger);
     merge = new BAMMergeOperator(pCpa.getMergeOperator(), transfer);
@@ -213,6 +216,11 @@ public class BAMCPA extends AbstractSingleWrapperCPA implements StatisticsProvid
     return stats;
   }
 
+  @Override
+  public void analysisFinished() {
+    cache.storePersistentCache();
+  }
+
   @Override
   public boolean areAbstractSuccessors(AbstractState pState, CFAEdge pCfaEdge,
       Collection<? extends AbstractState> pSuccessors) throws CPATransferException, InterruptedException {
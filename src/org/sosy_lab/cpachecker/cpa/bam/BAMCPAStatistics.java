@@ -139,6 +139,15 @@ class BAMCPAStatistics implements Statistics {
       out.println("  Number of precision caused misses:                            " + cache.precisionCausedMisses + " (" + toPercent(cache.precisionCausedMisses, cache.cacheMisses) + " of all misses)");
       out.println("  Number of misses with no similar elements:                    " + cache.noSimilarCausedMisses + " (" + toPercent(cache.noSimilarCausedMisses, cache.cacheMisses) + " of all misses)");
     }
+    BAMPersistentCache persistentCache = cache.persistentCache;
+    if (persistentCache.isEnabled()) {
+      out.println("Summaries loaded from persistent cache:                         " + persistentCache.loadedEntries);
+      out.println("  Number of reused summaries:                                   " + persistentCache.hits + " (" + toPercent(persistentCache.hits, sumCalls) + " of all calls)");
+      out.println("  Number of invalidated summaries:                              " + persistentCache.invalidatedEntries);
+      out.println("  Number of summaries with different precision:                 " + persistentCache.precisionMismatches);
+      out.println("  Number of new summaries:                                      " + persistentCache.storedEntries);
+      out.println("  Time for (de-)serializing summaries:                          " + persistentCache.serializationTimer);
+    }
     out.println("Time for reducing abstract states:                            " + reducer.reduceTime + " (Calls: " + reducer.reduceTime.getNumberOfIntervals() + ")");
     out.println("Time for expanding abstract states:                           " + reducer.expandTime + " (Calls: " + reducer.expandTime.getNumberOfIntervals() + ")");
     out.println("Time for checking equality of abstract states:                " + cache.equalsTimer + " (Calls: " + cache.equalsTimer.getNumberOfIntervals() + ")");
@@ -25,24 +25,36 @@ package org.sosy_lab.cpachecker.cpa.bam;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.sosy_lab.common.Pair;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.common.time.Timer;
+import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.blocks.Block;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.Reducer;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Sets;
 
 @Options(prefix = "cpa.bam")
 public class BAMCache {
@@ -70,12 +82,26 @@ public class BAMCache {
   private final Map<AbstractStateHash, Collection<AbstractState>> returnCache = new HashMap<>();
   private final Map<AbstractStateHash, ARGState> blockARGCache = new HashMap<>();
 
+  // the precisions of the keys of preciseReachedCache for each block (with multiplicities),
+  // lookups that ignore the precision only need to check the keys with these precisions
+  private final Map<Block, Multiset<Precision>> cachedPrecisions = new HashMap<>();
+
+  // keys of the summaries that were loaded from the persistent cache,
+  // and the return states of these summaries
+  private final Map<AbstractStateHash, String> persistentKeys = new HashMap<>();
+  private final Set<AbstractState> persistentReturnStates = Sets.newIdentityHashSet();
+
   private ARGState lastAnalyzedBlock = null;
   private final Reducer reducer;
+  private final ReachedSetFactory reachedSetFactory;
+  final BAMPersistentCache persistentCache;
 
-  public BAMCache(Configuration config, Reducer reducer) throws InvalidConfigurationException {
+  public BAMCache(Configuration config, Reducer reducer, ReachedSetFactory pReachedSetFactory,
+      LogManager pLogger, CFA pCfa) throws InvalidConfigurationException {
     config.inject(this);
     this.reducer = reducer;
+    this.reachedSetFactory = pReachedSetFactory;
+    this.persistentCache = new BAMPersistentCache(config, pLogger, pCfa);
   }
 
   public boolean doesAggressiveCaching() {
@@ -89,7 +115,36 @@ public class BAMCache {
   public void put(AbstractState stateKey, Precision precisionKey, Block context, ReachedSet item) {
     AbstractStateHash hash = getHashCode(stateKey, precisionKey, context);
     assert !preciseReachedCache.containsKey(hash);
-    preciseReachedCache.put(hash, item);
+    putPreciseEntry(hash, item);
+  }
+
+  private void putPreciseEntry(AbstractStateHash hash, ReachedSet reached) {
+    if (preciseReachedCache.put(hash, reached) == null) {
+      Multiset<Precision> precisions = cachedPrecisions.get(hash.context);
+      if (precisions == null) {
+        precisions = HashMultiset.create();
+        cachedPrecisions.put(hash.context, precisions);
+      }
+      precisions.add(hash.precisionKey);
+    }
+  }
+
+  private ReachedSet removePreciseEntry(AbstractStateHash hash) {
+    ReachedSet reached = preciseReachedCache.remove(hash);
+    if (reached != null) {
+      Multiset<Precision> precisions = cachedPrecisions.get(hash.context);
+      precisions.remove(hash.precisionKey);
+      if (precisions.isEmpty()) {
+        cachedPrecisions.remove(hash.context);
+      }
+    }
+    return reached;
+  }
+
+  /** Returns the distinct precisions for which there are entries of the block in preciseReachedCache. */
+  private Set<Precision> getCachedPrecisions(Block context) {
+    Multiset<Precision> precisions = cachedPrecisions.get(context);
+    return precisions == null ? Collections.<Precision>emptySet() : precisions.elementSet();
   }
 
   public void put(AbstractState stateKey, Precision precisionKey, Block context, Collection<AbstractState> item,
@@ -100,6 +155,82 @@ public class BAMCache {
     returnCache.put(hash, item);
     blockARGCache.put(hash, rootOfBlock);
     setLastAnalyzedBlock(hash);
+
+    if (persistentCache.isEnabled() && !persistentKeys.containsKey(hash)) {
+      storePersistentSummary(stateKey, precisionKey, context, preciseReachedCache.get(hash), item);
+    }
+  }
+
+  /** Store the summary of a block in the persistent cache,
+   * if the block was analysed completely without finding a target state. */
+  private void storePersistentSummary(AbstractState stateKey, Precision precisionKey, Block context,
+      ReachedSet reached, Collection<AbstractState> returnStates) {
+    if (reached.hasWaitingState() || !(stateKey instanceof ARGState)) {
+      return;
+    }
+    List<AbstractState> wrappedReturnStates = new ArrayList<>(returnStates.size());
+    for (AbstractState returnState : returnStates) {
+      if (AbstractStates.isTargetState(returnState) || !(returnState instanceof ARGState)) {
+        return;
+      }
+      wrappedReturnStates.add(((ARGState)returnState).getWrappedState());
+    }
+
+    String key = persistentCache.getKey(context, ((ARGState)stateKey).getWrappedState());
+    if (key != null) {
+      persistentCache.put(context, key, precisionKey, wrappedReturnStates);
+    }
+  }
+
+  /** Look for a summary of the block in the persistent cache,
+   * and create a reached-set for it, that contains only the entry state
+   * and the return states (connected directly in the ARG).
+   * If a counterexample passes through this block,
+   * the summary is removed and the block is analysed again
+   * (cf. {@link #isPersistentReturnState(AbstractState)}). */
+  private Pair<ReachedSet, Collection<AbstractState>> loadPersistentSummary(
+      AbstractStateHash hash, AbstractState stateKey, Precision precisionKey, Block context) {
+    if (!persistentCache.isEnabled() || !(stateKey instanceof ARGState)) {
+      return null;
+    }
+    ARGState root = (ARGState)stateKey;
+    String key = persistentCache.getKey(context, root.getWrappedState());
+    if (key == null) {
+      return null;
+    }
+    List<AbstractState> wrappedReturnStates = persistentCache.get(context, key, precisionKey);
+    if (wrappedReturnStates == null) {
+      return null;
+    }
+
+    ReachedSet reached = reachedSetFactory.create();
+    reached.add(root, precisionKey);
+    reached.removeOnlyFromWaitlist(root);
+    List<AbstractState> returnStates = new ArrayList<>(wrappedReturnStates.size());
+    for (AbstractState wrappedReturnState : wrappedReturnStates) {
+      ARGState returnState = new ARGState(wrappedReturnState, root);
+      reached.add(returnState, precisionKey);
+      reached.removeOnlyFromWaitlist(returnState);
+      returnStates.add(returnState);
+    }
+
+    putPreciseEntry(hash, reached);
+    returnCache.put(hash, returnStates);
+    persistentKeys.put(hash, key);
+    persistentReturnStates.addAll(returnStates);
+    return Pair.<ReachedSet, Collection<AbstractState>>of(reached, returnStates);
+  }
+
+  /** Check whether a state is a return state of a summary that was loaded
+   * from the persistent cache. Such summaries contain no paths through the block,
+   * so they need to be recomputed before a counterexample through them can be analysed. */
+  public boolean isPersistentReturnState(AbstractState state) {
+    return persistentReturnStates.contains(state);
+  }
+
+  /** Write the persistent cache to disk (if enabled). */
+  public void storePersistentCache() {
+    persistentCache.store();
   }
 
   private boolean allStatesContainedInReachedSet(Collection<AbstractState> pElements, ReachedSet reached) {
@@ -110,7 +241,23 @@ public class BAMCache {
   }
 
   public void removeReturnEntry(AbstractState stateKey, Precision precisionKey, Block context) {
-    returnCache.remove(getHashCode(stateKey, precisionKey, context));
+    AbstractStateHash hash = getHashCode(stateKey, precisionKey, context);
+    Collection<AbstractState> returnStates = returnCache.remove(hash);
+
+    String persistentKey = persistentKeys.remove(hash);
+    if (persistentKey != null) {
+      // the reached-set of a stored summary cannot be continued, remove it completely
+      persistentCache.invalidate(persistentKey);
+      ReachedSet reached = removePreciseEntry(hash);
+      for (Iterator<ReachedSet> it = unpreciseReachedCache.values().iterator(); it.hasNext(); ) {
+        if (it.next() == reached) {
+          it.remove();
+        }
+      }
+      if (returnStates != null) {
+        persistentReturnStates.removeAll(returnStates);
+      }
+    }
   }
 
   public void removeBlockEntry(AbstractState stateKey, Precision precisionKey, Block context) {
@@ -174,6 +321,13 @@ public class BAMCache {
       }
     }
 
+    Pair<ReachedSet, Collection<AbstractState>> persistentSummary =
+        loadPersistentSummary(hash, stateKey, precisionKey, context);
+    if (persistentSummary != null) {
+      setLastAnalyzedBlock(hash);
+      return persistentSummary;
+    }
+
     lastAnalyzedBlock = null;
     return Pair.of(null, null);
   }
@@ -195,16 +349,15 @@ public class BAMCache {
       int min = Integer.MAX_VALUE;
       Pair<ReachedSet, Collection<AbstractState>> result = null;
 
-      for (AbstractStateHash cacheKey : preciseReachedCache.keySet()) {
-        //searchKey != cacheKey, check whether it is the same if we ignore the precision
-        AbstractStateHash ignorePrecisionSearchKey = getHashCode(pStateKey, cacheKey.precisionKey, pContext);
-        if (ignorePrecisionSearchKey.equals(cacheKey)) {
-          int distance = reducer.measurePrecisionDifference(pPrecisionKey, cacheKey.precisionKey);
+      for (Precision cachedPrecision : getCachedPrecisions(pContext)) {
+        //check whether there is an entry for the same state if we ignore the precision
+        AbstractStateHash ignorePrecisionSearchKey = getHashCode(pStateKey, cachedPrecision, pContext);
+        ReachedSet reached = preciseReachedCache.get(ignorePrecisionSearchKey);
+        if (reached != null) {
+          int distance = reducer.measurePrecisionDifference(pPrecisionKey, cachedPrecision);
           if (distance < min) { //prefer similar precisions
             min = distance;
-            result = Pair.of(
-                    preciseReachedCache.get(ignorePrecisionSearchKey),
-                    returnCache.get(ignorePrecisionSearchKey));
+            result = Pair.of(reached, returnCache.get(ignorePrecisionSearchKey));
           }
         }
       }
@@ -216,29 +369,31 @@ public class BAMCache {
   }
 
   private void findCacheMissCause(AbstractState pStateKey, Precision pPrecisionKey, Block pContext) {
-    AbstractStateHash searchKey = getHashCode(pStateKey, pPrecisionKey, pContext);
-    for (AbstractStateHash cacheKey : preciseReachedCache.keySet()) {
-      assert !searchKey.equals(cacheKey);
-      //searchKey != cacheKey, check whether it is the same if we ignore the precision
-      AbstractStateHash ignorePrecisionSearchKey = getHashCode(pStateKey, cacheKey.precisionKey, pContext);
-      if (ignorePrecisionSearchKey.equals(cacheKey)) {
+    assert !preciseReachedCache.containsKey(getHashCode(pStateKey, pPrecisionKey, pContext));
+    Set<Precision> precisions = getCachedPrecisions(pContext);
+    for (Precision cachedPrecision : precisions) {
+      //check whether there is an entry for the same state if we ignore the precision
+      if (preciseReachedCache.containsKey(getHashCode(pStateKey, cachedPrecision, pContext))) {
         precisionCausedMisses++;
         return;
       }
-      //precision was not the cause. Check abstraction.
-      AbstractStateHash ignoreAbsSearchKey = getHashCode(cacheKey.stateKey, pPrecisionKey, pContext);
-      if (ignoreAbsSearchKey.equals(cacheKey)) {
-        abstractionCausedMisses++;
-        return;
-      }
+    }
+    //precision was not the cause. Check abstraction,
+    //i.e., whether there is an entry for the same precision.
+    if (precisions.contains(pPrecisionKey)) {
+      abstractionCausedMisses++;
+      return;
     }
     noSimilarCausedMisses++;
   }
 
   public void clear() {
     preciseReachedCache.clear();
+    cachedPrecisions.clear();
     unpreciseReachedCache.clear();
     returnCache.clear();
+    persistentKeys.clear();
+    persistentReturnStates.clear();
   }
 
   public boolean containsPreciseKey(AbstractState stateKey, Precision precisionKey, Block context) {
@@ -251,8 +406,14 @@ public class BAMCache {
     AbstractStateHash hash = getHashCode(stateKey, precisionKey, context);
     ReachedSet reachedSet = preciseReachedCache.get(hash);
     if (reachedSet != null) {
-      preciseReachedCache.remove(hash);
-      preciseReachedCache.put(getHashCode(stateKey, newPrecisionKey, context), reachedSet);
+      removePreciseEntry(hash);
+      AbstractStateHash newHash = getHashCode(stateKey, newPrecisionKey, context);
+      putPreciseEntry(newHash, reachedSet);
+
+      String persistentKey = persistentKeys.remove(hash);
+      if (persistentKey != null) {
+        persistentKeys.put(newHash, persistentKey);
+      }
     }
   }
 
@@ -0,0 +1,556 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.bam;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.io.Path;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.Timer;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.ast.ADeclaration;
+import org.sosy_lab.cpachecker.cfa.blocks.Block;
+import org.sosy_lab.cpachecker.cfa.blocks.ReferencedVariable;
+import org.sosy_lab.cpachecker.cfa.model.ADeclarationEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.CPAchecker;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.OutputFiles;
+import org.sosy_lab.cpachecker.util.Precisions;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAInfo;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.SortedSetMultimap;
+import com.google.common.collect.TreeMultimap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Persistent store for the summaries of blocks computed by BAM,
+ * such that they can be reused by a later analysis of the same
+ * or a slightly changed program.
+ *
+ * A summary consists of the (non-ARG) return states of a block
+ * that was completely analysed without finding a target state.
+ * It is keyed by a hash of the content of the block
+ * (its edges and the declarations of the global variables it references)
+ * and the serialized reduced entry state, thus a summary is automatically
+ * invalidated if the code of the block changes.
+ * Every key also contains a fingerprint of the analysis:
+ * the format of the store, the version of CPAchecker, the configuration options
+ * (except for those that only control output), the content of the specification files,
+ * and the machine model. Thus summaries are never reused by a differently configured analysis.
+ * The global node numbers do not occur in keys or summaries:
+ * CFA nodes are numbered locally in the block while states are serialized
+ * (cf. {@link CFAInfo#setSerializationNumbering(BiMap)}),
+ * such that a summary stays valid if the numbering of the CFA changes.
+ * States that reference nodes outside of the block are not stored.
+ * The reduced precision with which a summary was computed is serialized
+ * in the same way as the states and stored with the summary,
+ * and a summary is reused only for an equal precision.
+ * The precision is not part of the key, so there is at most one summary
+ * per block and entry state, computed with the most recent precision.
+ *
+ * This requires that all abstract states and precisions of the wrapped CPAs
+ * are {@link java.io.Serializable}.
+ * If this is not the case, the store is disabled during the analysis.
+ */
+@Options(prefix="cpa.bam.persistentCache")
+class BAMPersistentCache {
+
+  @Option(secure=true, description="file from which summaries of blocks of a previous analysis "
+      + "of the same or a similar program are read at startup (if it exists)")
+  @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
+  private @Nullable Path inputFile = null;
+
+  @Option(secure=true, description="file to which the summaries of blocks that were computed or reused "
+      + "are written at the end of the analysis, such that they can be reused by a later analysis "
+      + "(may be the same as inputFile)")
+  @FileOption(FileOption.Type.OUTPUT_FILE)
+  private @Nullable Path outputFile = null;
+
+  @Options
+  private static class SpecificationOptions {
+
+    // the same options as in CPABuilder, the specification is part of the fingerprint
+
+    @Option(secure=true, name="specification",
+        description="comma-separated list of files with specifications that should be checked"
+          + "\n(see config/specification/ for examples)")
+    @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
+    private List<Path> specificationFiles = null;
+
+    @Option(secure=true, name="backwardSpecification",
+        description="comma-separated list of files with specifications that should be used "
+        + "\nin a backwards analysis; used if the full analysis consists of a forward AND a backward part!"
+          + "\n(see config/specification/ for examples)")
+    @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
+    private List<Path> backwardSpecificationFiles = null;
+  }
+
+  /**
+   * Version of the format of the stored summaries and keys,
+   * needs to be changed if the format or the key computation changes.
+   */
+  private static final String FORMAT_VERSION = "bam-summaries-3";
+
+  /**
+   * Prefixes of options that do not influence the analysis result,
+   * and are thus not part of the fingerprint.
+   */
+  private static final ImmutableList<String> IRRELEVANT_OPTION_PREFIXES = ImmutableList.of(
+      "cpa.bam.persistentCache.",
+      "output.",
+      "log.",
+      "statistics.");
+
+  private final LogManager logger;
+  private final CFA cfa;
+
+  // hash of everything except the program that influences the summaries
+  private final String fingerprint;
+
+  // summaries that were loaded from the file, and not (yet) used or invalidated
+  private final Map<String, byte[]> loadedSummaries = new HashMap<>();
+
+  // summaries that were used or computed during this analysis, these will be written to the file
+  private final Map<String, byte[]> currentSummaries = new HashMap<>();
+
+  private final Map<Block, BlockContent> blockContents = new HashMap<>();
+
+  // declarations of global variables (as source code), indexed by name, computed lazily
+  private SortedSetMultimap<String, String> globalDeclarations = null;
+
+  private boolean disabled = false;
+
+  final Timer serializationTimer = new Timer();
+  int loadedEntries = 0;
+  int hits = 0;
+  int storedEntries = 0;
+  int invalidatedEntries = 0;
+  int precisionMismatches = 0;
+
+  BAMPersistentCache(Configuration pConfig, LogManager pLogger, CFA pCfa) throws InvalidConfigurationException {
+    pConfig.inject(this);
+    logger = pLogger;
+    cfa = pCfa;
+
+    if (inputFile != null || outputFile != null) {
+      SpecificationOptions specification = new SpecificationOptions();
+      pConfig.inject(specification);
+      fingerprint = computeFingerprint(pConfig, specification);
+    } else {
+      fingerprint = "";
+    }
+
+    if (inputFile != null) {
+      load();
+    }
+  }
+
+  /**
+   * Compute a hash of the format version, the CPAchecker version, the relevant options,
+   * the content of the specification files, and the machine model.
+   */
+  private String computeFingerprint(Configuration pConfig, SpecificationOptions pSpecification) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putString(FORMAT_VERSION, StandardCharsets.UTF_8)
+        .putChar('|')
+        .putString(CPAchecker.getCPAcheckerVersion(), StandardCharsets.UTF_8)
+        .putChar('|')
+        .putString(cfa.getMachineModel().name(), StandardCharsets.UTF_8)
+        .putChar('|');
+
+    for (String line : Ordering.natural().sortedCopy(
+        Splitter.on('\n').omitEmptyStrings().trimResults().split(pConfig.asPropertiesString()))) {
+      if (!startsWithIrrelevantPrefix(line)) {
+        hasher.putString(line, StandardCharsets.UTF_8).putChar('\n');
+      }
+    }
+
+    for (List<Path> files : Arrays.asList(
+        pSpecification.specificationFiles, pSpecification.backwardSpecificationFiles)) {
+      hasher.putChar('|');
+      if (files == null) {
+        continue;
+      }
+      for (Path file : files) {
+        try {
+          hasher.putBytes(file.asByteSource().read()).putChar('|');
+        } catch (IOException e) {
+          // without the content of the specification, summaries could be reused unsoundly
+          logger.logUserException(Level.WARNING, e,
+              "Could not read specification file, disabling persistent cache for summaries of blocks");
+          disabled = true;
+        }
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private static boolean startsWithIrrelevantPrefix(String pOption) {
+    for (String prefix : IRRELEVANT_OPTION_PREFIXES) {
+      if (pOption.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean isEnabled() {
+    return (inputFile != null || outputFile != null) && !disabled;
+  }
+
+  /**
+   * Compute the key for a summary of a block and a reduced entry state.
+   * @return The key, or null if the state cannot be serialized.
+   */
+  @Nullable String getKey(Block pBlock, AbstractState pReducedState) {
+    if (!isEnabled()) {
+      return null;
+    }
+
+    BlockContent block = getBlockContent(pBlock);
+    byte[] state = serialize(block, pReducedState);
+    if (state == null) {
+      return null;
+    }
+    return Hashing.sha256().newHasher()
+        .putString(fingerprint, StandardCharsets.UTF_8)
+        .putString(block.hash, StandardCharsets.UTF_8)
+        .putBytes(state)
+        .hash().toString();
+  }
+
+  /**
+   * Get the return states of a stored summary.
+   * @param pReducedPrecision The reduced precision for the block, the summary is only returned
+   *        if it was computed with an equal precision.
+   * @return The (non-ARG) return states, or null if there is no summary for the key and precision.
+   */
+  @Nullable List<AbstractState> get(Block pBlock, String pKey, Precision pReducedPrecision) {
+    byte[] summary = loadedSummaries.remove(pKey);
+    if (summary == null) {
+      return null;
+    }
+
+    BlockContent block = getBlockContent(pBlock);
+    byte[] precision = serialize(block, pReducedPrecision);
+    if (precision == null) {
+      if (!disabled) {
+        loadedSummaries.put(pKey, summary);
+      }
+      return null;
+    }
+
+    serializationTimer.start();
+    CFAInfo.setSerializationNumbering(block.numbering);
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(summary))) {
+      byte[] storedPrecision = (byte[])in.readObject();
+      if (!Arrays.equals(precision, storedPrecision)) {
+        // keep the summary, it may be used later for an equal precision
+        precisionMismatches++;
+        loadedSummaries.put(pKey, summary);
+        return null;
+      }
+
+      int size = in.readInt();
+      List<AbstractState> result = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        result.add((AbstractState)in.readObject());
+      }
+      hits++;
+      currentSummaries.put(pKey, summary);
+      return result;
+
+    } catch (IOException | ClassNotFoundException | ClassCastException | IllegalArgumentException e) {
+      logger.logUserException(Level.WARNING, e, "Could not read stored summary of block, ignoring it");
+      return null;
+    } finally {
+      CFAInfo.setSerializationNumbering(null);
+      serializationTimer.stop();
+    }
+  }
+
+  /**
+   * Store the (non-ARG) return states of a summary,
+   * together with the reduced precision with which it was computed.
+   */
+  void put(Block pBlock, String pKey, Precision pReducedPrecision, Collection<AbstractState> pReturnStates) {
+    BlockContent block = getBlockContent(pBlock);
+    byte[] precision = serialize(block, pReducedPrecision);
+    if (precision == null) {
+      return;
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    serializationTimer.start();
+    CFAInfo.setSerializationNumbering(block.numbering);
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(precision);
+      out.writeInt(pReturnStates.size());
+      for (AbstractState state : pReturnStates) {
+        out.writeObject(state);
+      }
+    } catch (IOException e) {
+      disable(e);
+      return;
+    } catch (IllegalArgumentException e) {
+      logger.log(Level.FINE, "Not storing summary of", pBlock, "because it references nodes outside of the block");
+      return;
+    } finally {
+      CFAInfo.setSerializationNumbering(null);
+      serializationTimer.stop();
+    }
+    currentSummaries.put(pKey, bytes.toByteArray());
+    storedEntries++;
+  }
+
+  /**
+   * Remove a summary, e.g., because it turned out to be insufficient
+   * for counterexample analysis.
+   */
+  void invalidate(String pKey) {
+    if (currentSummaries.remove(pKey) != null) {
+      invalidatedEntries++;
+    }
+    loadedSummaries.remove(pKey);
+  }
+
+  private @Nullable byte[] serialize(BlockContent pBlock, AbstractState pState) {
+    return serializeObject(pBlock, pState);
+  }
+
+  /**
+   * Serialize a precision. If it or one of its wrapped precisions is not serializable,
+   * the store is disabled, because summaries cannot be matched to their precision.
+   */
+  private @Nullable byte[] serialize(BlockContent pBlock, Precision pPrecision) {
+    for (Precision precision : Precisions.asIterable(pPrecision)) {
+      if (!(precision instanceof Serializable)) {
+        logger.log(Level.WARNING, "Precision of type", precision.getClass().getSimpleName(),
+            "cannot be serialized, disabling persistent cache for summaries of blocks");
+        disable();
+        return null;
+      }
+    }
+    return serializeObject(pBlock, pPrecision);
+  }
+
+  private @Nullable byte[] serializeObject(BlockContent pBlock, Object pObject) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    serializationTimer.start();
+    CFAInfo.setSerializationNumbering(pBlock.numbering);
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(pObject);
+    } catch (IOException e) {
+      disable(e);
+      return null;
+    } catch (IllegalArgumentException e) {
+      // object references a node outside of the block
+      return null;
+    } finally {
+      CFAInfo.setSerializationNumbering(null);
+      serializationTimer.stop();
+    }
+    return bytes.toByteArray();
+  }
+
+  private void disable(IOException e) {
+    logger.logUserException(Level.WARNING, e,
+        "Abstract states cannot be serialized, disabling persistent cache for summaries of blocks");
+    disable();
+  }
+
+  private void disable() {
+    disabled = true;
+    loadedSummaries.clear();
+    currentSummaries.clear();
+  }
+
+  /** The content hash of a block and the local numbering of its nodes. */
+  private static class BlockContent {
+    private final String hash;
+    private final BiMap<CFANode, Integer> numbering;
+
+    private BlockContent(String pHash, BiMap<CFANode, Integer> pNumbering) {
+      hash = pHash;
+      numbering = pNumbering;
+    }
+  }
+
+  /**
+   * Compute a hash of the content of a block that does not depend on
+   * the numbering of the CFA nodes (which changes for small changes of the program),
+   * together with a local numbering of the nodes of the block.
+   * The hash covers the edges of the block in a deterministic traversal order,
+   * and the declarations of all global variables that the block references.
+   */
+  private BlockContent getBlockContent(Block pBlock) {
+    BlockContent result = blockContents.get(pBlock);
+    if (result != null) {
+      return result;
+    }
+
+    Hasher hasher = Hashing.sha256().newHasher();
+    SortedSetMultimap<String, String> globals = getGlobalDeclarations();
+    SortedSet<String> referencedVariables = new TreeSet<>();
+    for (ReferencedVariable var : pBlock.getReferencedVariables()) {
+      referencedVariables.add(var.getName());
+    }
+    for (String var : referencedVariables) {
+      for (String declaration : globals.get(var)) {
+        hasher.putString(declaration, StandardCharsets.UTF_8);
+      }
+    }
+    hasher.putChar('|');
+
+    // traverse the block in a deterministic order and number the nodes locally,
+    // successors outside of the block are numbered, but not traversed
+    BiMap<CFANode, Integer> localIds = HashBiMap.create();
+    Deque<CFANode> waitlist = new ArrayDeque<>();
+    for (CFANode node : ImmutableSortedSet.copyOf(pBlock.getCallNodes())) {
+      localIds.put(node, localIds.size());
+      waitlist.add(node);
+    }
+    while (!waitlist.isEmpty()) {
+      CFANode node = waitlist.poll();
+      for (CFAEdge edge : CFAUtils.allLeavingEdges(node)) {
+        CFANode successor = edge.getSuccessor();
+        if (!localIds.containsKey(successor)) {
+          localIds.put(successor, localIds.size());
+          if (pBlock.getNodes().contains(successor)) {
+            waitlist.add(successor);
+          }
+        }
+        hasher.putInt(localIds.get(node))
+              .putString(edge.getEdgeType().name(), StandardCharsets.UTF_8)
+              .putString(edge.getDescription(), StandardCharsets.UTF_8)
+              .putInt(localIds.get(successor))
+              .putBoolean(pBlock.getNodes().contains(successor))
+              .putBoolean(pBlock.isReturnNode(successor));
+      }
+    }
+
+    result = new BlockContent(hasher.hash().toString(), localIds);
+    blockContents.put(pBlock, result);
+    return result;
+  }
+
+  private SortedSetMultimap<String, String> getGlobalDeclarations() {
+    if (globalDeclarations == null) {
+      globalDeclarations = TreeMultimap.create();
+      for (CFANode node : cfa.getAllNodes()) {
+        for (ADeclarationEdge edge : CFAUtils.leavingEdges(node).filter(ADeclarationEdge.class)) {
+          ADeclaration declaration = edge.getDeclaration();
+          if (declaration.isGlobal()) {
+            globalDeclarations.put(declaration.getName(), declaration.toASTString());
+          }
+        }
+      }
+    }
+    return globalDeclarations;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void load() {
+    if (!inputFile.exists()) {
+      return;
+    }
+
+    try (InputStream fis = inputFile.asByteSource().openStream();
+         ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(fis))) {
+      loadedSummaries.putAll((Map<String, byte[]>)in.readObject());
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      logger.logUserException(Level.WARNING, e, "Could not read summaries of blocks from file");
+      loadedSummaries.clear();
+    }
+
+    loadedEntries = loadedSummaries.size();
+    logger.log(Level.FINE, "Loaded", loadedEntries, "summaries of blocks from", inputFile);
+  }
+
+  /**
+   * Write all summaries that were computed or used during this analysis to the file.
+   * Summaries from the file that were not used are dropped,
+   * such that summaries of changed blocks do not accumulate.
+   * If no summary was used or computed (e.g., because the analysis stopped early),
+   * the file is not written, so that it is not replaced by an empty store.
+   */
+  void store() {
+    if (outputFile == null || !isEnabled() || currentSummaries.isEmpty()) {
+      return;
+    }
+
+    final Map<String, byte[]> summaries = new HashMap<>(currentSummaries);
+    try {
+      OutputFiles.writeAtomically(outputFile, new OutputFiles.ContentWriter() {
+          @Override
+          public void writeTo(OutputStream out) throws IOException {
+            try (ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(out))) {
+              oos.writeObject(summaries);
+            }
+          }
+        });
+    } catch (IOException e) {
+      logger.logUserException(Level.WARNING, e, "Could not write summaries of blocks to file");
+    }
+  }
+}
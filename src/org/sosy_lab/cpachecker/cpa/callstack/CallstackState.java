@@ -38,6 +38,7 @@ import org.sosy_lab.cpachecker.core.interfaces.AbstractQueryableState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Partitionable;
 import org.sosy_lab.cpachecker.exceptions.InvalidQueryException;
+import org.sosy_lab.cpachecker.util.globalinfo.CFAInfo;
 import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
 
 public class CallstackState implements AbstractState, Partitionable, AbstractQueryableState, Serializable {
@@ -140,7 +141,7 @@ public class CallstackState implements AbstractState, Partitionable, AbstractQue
 
   private void writeObject(java.io.ObjectOutputStream out) throws IOException {
     out.defaultWriteObject();
-    out.writeInt(callerNode.getNodeNumber());
+    out.writeInt(CFAInfo.getSerializationNumber(callerNode));
   }
 
   private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
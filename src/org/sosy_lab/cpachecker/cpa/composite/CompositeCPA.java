@@ -73,6 +73,11 @@ public class CompositeCPA implements ConfigurableProgramAnalysis, StatisticsProv
     description="inform Composite CPA if it is run in a predicated analysis because then it must"
       + "behave differntly during merge.")
     private boolean inPredicatedAnalysis = false;
+
+    @Option(secure=true,
+        description="print an estimate of the heap memory used by the states of each component CPA "
+          + "in the reached set (expensive, traverses all reachable objects)")
+    private boolean memoryReport = false;
   }
 
   private static class CompositeCPAFactory extends AbstractCPAFactory {
@@ -160,7 +165,7 @@ public class CompositeCPA implements ConfigurableProgramAnalysis, StatisticsProv
       }
 
       return new CompositeCPA(compositeDomain, compositeTransfer, compositeMerge, compositeStop,
-          compositePrecisionAdjustment, cpas);
+          compositePrecisionAdjustment, cpas, options.memoryReport);
     }
 
     @Override
@@ -200,19 +205,22 @@ public class CompositeCPA implements ConfigurableProgramAnalysis, StatisticsProv
   private final Reducer reducer;
 
   private final ImmutableList<ConfigurableProgramAnalysis> cpas;
+  private final boolean memoryReport;
 
   protected CompositeCPA(AbstractDomain abstractDomain,
       CompositeTransferRelation transferRelation,
       MergeOperator mergeOperator,
       CompositeStopOperator stopOperator,
       PrecisionAdjustment precisionAdjustment,
-      ImmutableList<ConfigurableProgramAnalysis> cpas) {
+      ImmutableList<ConfigurableProgramAnalysis> cpas,
+      boolean memoryReport) {
     this.abstractDomain = abstractDomain;
     this.transferRelation = transferRelation;
     this.mergeOperator = mergeOperator;
     this.stopOperator = stopOperator;
     this.precisionAdjustment = precisionAdjustment;
     this.cpas = cpas;
+    this.memoryReport = memoryReport;
 
     List<Reducer> wrappedReducers = new ArrayList<>();
     for (ConfigurableProgramAnalysis cpa : cpas) {
@@ -294,6 +302,10 @@ public class CompositeCPA implements ConfigurableProgramAnalysis, StatisticsProv
     if (precisionAdjustment instanceof StatisticsProvider) {
       ((StatisticsProvider)precisionAdjustment).collectStatistics(pStatsCollection);
     }
+
+    if (memoryReport) {
+      pStatsCollection.add(new CompositeMemoryStatistics(cpas));
+    }
   }
 
   @Override
@@ -0,0 +1,95 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.composite;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.resources.ObjectSizeEstimator;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Statistics that estimate how much heap memory the states in the reached set use,
+ * split by the component CPAs of a {@link CompositeCPA}.
+ *
+ * Memory that is reachable from the CPAs themselves (e.g., the CFA or caches)
+ * is not counted. Memory that is shared between the states of several CPAs
+ * is counted for the first CPA only. Memory of all states that wrap composite states
+ * (e.g., ARG states) and of the composite states themselves is listed as overhead.
+ */
+class CompositeMemoryStatistics implements Statistics {
+
+  private final ImmutableList<ConfigurableProgramAnalysis> cpas;
+
+  CompositeMemoryStatistics(ImmutableList<ConfigurableProgramAnalysis> pCpas) {
+    cpas = pCpas;
+  }
+
+  @Override
+  public String getName() {
+    return "CompositeCPA memory usage";
+  }
+
+  @Override
+  public void printStatistics(PrintStream out, Result result, ReachedSet reached) {
+    ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+    estimator.exclude(cpas);
+
+    long[] componentSizes = new long[cpas.size()];
+    for (AbstractState state : reached) {
+      CompositeState compositeState = AbstractStates.extractStateByType(state, CompositeState.class);
+      if (compositeState == null) {
+        continue;
+      }
+      List<AbstractState> components = compositeState.getWrappedStates();
+      for (int i = 0; i < components.size() && i < componentSizes.length; i++) {
+        componentSizes[i] += estimator.estimate(components.get(i));
+      }
+    }
+
+    long overhead = 0;
+    for (AbstractState state : reached) {
+      overhead += estimator.estimate(state);
+    }
+
+    long total = overhead;
+    for (int i = 0; i < componentSizes.length; i++) {
+      out.println(String.format("  %-36s %s", cpas.get(i).getClass().getSimpleName() + ":", formatMem(componentSizes[i])));
+      total += componentSizes[i];
+    }
+    out.println(String.format("  %-36s %s", "Wrapper states (e.g., ARG):", formatMem(overhead)));
+    out.println(String.format("Estimated memory of reached states:    %s", formatMem(total)));
+  }
+
+  private static String formatMem(long mem) {
+    return String.format("%6dMB (%6d MiB)", mem/1000/1000, mem >> 20);
+  }
+}
@@ -23,6 +23,7 @@
  */
 package org.sosy_lab.cpachecker.cpa.composite;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
@@ -31,7 +32,11 @@ import org.sosy_lab.cpachecker.core.interfaces.WrapperPrecision;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableList;
 
-public class CompositePrecision implements WrapperPrecision {
+public class CompositePrecision implements WrapperPrecision, Serializable {
+
+  private static final long serialVersionUID = -3460624328911359521L;
+
+  // only serializable if all wrapped precisions are
   private final List<Precision> precisions;
 
   public CompositePrecision(List<Precision> precisions) {
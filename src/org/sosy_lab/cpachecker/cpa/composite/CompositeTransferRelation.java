@@ -43,6 +43,7 @@ import org.sosy_lab.cpachecker.cfa.model.MultiEdge;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractStateWithLocation;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.ImmutableAbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.Targetable;
 import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
@@ -66,6 +67,16 @@ public final class CompositeTransferRelation implements TransferRelation {
           + " Does not work with backwards analysis!")
   private boolean splitMultiEdges = false;
 
+  @Option(secure=true,
+      description="Reuse the component states of the predecessor and of sibling successors"
+          + " if a component successor is equal to one of them,"
+          + " such that equal component states are shared instead of kept as copies."
+          + " Only states of components that declare them as immutable"
+          + " (by implementing ImmutableAbstractState) are shared,"
+          + " because other states may be modified later, e.g., by merge or strengthen."
+          + " This saves memory, but costs an equality check per component state.")
+  private boolean internComponentStates = false;
+
   private final ImmutableList<TransferRelation> transferRelations;
   private final int size;
   private int assumptionIndex = -1;
@@ -265,11 +276,55 @@ public final class CompositeTransferRelation implements TransferRelation {
 
       // finally, create a CompositeState for each result of the cartesian product
       for (List<AbstractState> lList : lResultingElements) {
-        compositeSuccessors.add(new CompositeState(lList));
+        if (internComponentStates) {
+          compositeSuccessors.add(createInternedState(lList, componentElements, compositeSuccessors));
+        } else {
+          compositeSuccessors.add(new CompositeState(lList));
+        }
       }
     }
   }
 
+  /**
+   * Create a CompositeState that contains for each component
+   * an equal state from the predecessor or from one of the already created successors,
+   * if there is such a state, and the given component state otherwise.
+   * Only component states that implement {@link ImmutableAbstractState} are replaced,
+   * because sharing a state that is modified later would change all states that contain it.
+   * There are only few successors of one state, so we do not need an index for this.
+   */
+  private CompositeState createInternedState(List<AbstractState> pComponents,
+      List<AbstractState> pPredecessorComponents, Collection<CompositeState> pSiblings) {
+    ImmutableList.Builder<AbstractState> result = ImmutableList.builder();
+
+    for (int i = 0; i < size; i++) {
+      AbstractState component = pComponents.get(i);
+      AbstractState predecessorComponent = pPredecessorComponents.get(i);
+
+      if (!(component instanceof ImmutableAbstractState)) {
+        // may be modified later, cannot be shared
+
+      } else if (component == predecessorComponent) {
+        // already shared
+
+      } else if (component.equals(predecessorComponent)) {
+        component = predecessorComponent;
+
+      } else {
+        for (CompositeState sibling : pSiblings) {
+          AbstractState siblingComponent = sibling.get(i);
+          if (component != siblingComponent && component.equals(siblingComponent)) {
+            component = siblingComponent;
+            break;
+          }
+        }
+      }
+      result.add(component);
+    }
+
+    return new CompositeState(result.build());
+  }
+
   protected static Collection<List<AbstractState>> createCartesianProduct(
       List<Collection<? extends AbstractState>> allComponentsSuccessors, int resultCount) {
     Collection<List<AbstractState>> allResultingElements;
@@ -198,6 +198,8 @@ public class FormulaCreatorUsingCConverter implements FormulaCreator {
 
   private static class DummyEdge implements CFAEdge {
 
+    private static final long serialVersionUID = -8718925473718375363L;
+
     private static final String UNKNOWN = "unknown";
     private static final FileLocation DUMMY_LOCATION = new FileLocation(0, UNKNOWN, 0, 0, 0);
 
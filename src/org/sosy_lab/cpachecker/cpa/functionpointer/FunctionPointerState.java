@@ -32,6 +32,7 @@ import java.io.Serializable;
 import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentSortedMap;
 import org.sosy_lab.cpachecker.core.defaults.LatticeAbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ImmutableAbstractState;
 import org.sosy_lab.cpachecker.util.CFAUtils;
 
 import com.google.common.base.Joiner;
@@ -40,7 +41,7 @@ import com.google.common.base.Joiner;
  * Represents one abstract state of the FunctionPointer CPA.
  */
 public class FunctionPointerState implements LatticeAbstractState<FunctionPointerState>,
-    Serializable {
+    ImmutableAbstractState, Serializable {
 
   private static final long serialVersionUID = -1951853216031911649L;
 
@@ -256,7 +256,7 @@ public class LocationState implements AbstractStateWithLocation, AbstractQueryab
   // no equals and hashCode because there is always only one element per CFANode
 
   private Object writeReplace() {
-    return new SerialProxy(locationNode.getNodeNumber());
+    return new SerialProxy(CFAInfo.getSerializationNumber(locationNode));
   }
 
   private static class SerialProxy implements Serializable {
@@ -26,6 +26,7 @@ package org.sosy_lab.cpachecker.cpa.loopstack;
 import static com.google.common.base.Preconditions.*;
 
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ImmutableAbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Partitionable;
 import org.sosy_lab.cpachecker.core.interfaces.conditions.AvoidanceReportingState;
 import org.sosy_lab.cpachecker.util.LoopStructure.Loop;
@@ -36,7 +37,8 @@ import org.sosy_lab.cpachecker.util.predicates.interfaces.view.FormulaManagerVie
 
 import com.google.common.base.Objects;
 
-public class LoopstackState implements AbstractState, Partitionable, AvoidanceReportingState {
+public class LoopstackState implements AbstractState, Partitionable, AvoidanceReportingState,
+    ImmutableAbstractState {
 
   private final LoopstackState previousState;
   private final Loop loop;
@@ -32,6 +32,7 @@ import javax.annotation.Nullable;
 import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentSortedMap;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ImmutableAbstractState;
 import org.sosy_lab.cpachecker.cpa.pointer2.util.ExplicitLocationSet;
 import org.sosy_lab.cpachecker.cpa.pointer2.util.LocationSet;
 import org.sosy_lab.cpachecker.cpa.pointer2.util.LocationSetBot;
@@ -45,7 +46,7 @@ import com.google.common.collect.Iterables;
  * Instances of this class are pointer states that are used as abstract elements
  * in the pointer CPA.
  */
-public class PointerState implements AbstractState {
+public class PointerState implements AbstractState, ImmutableAbstractState {
 
   /**
    * The initial empty pointer state.
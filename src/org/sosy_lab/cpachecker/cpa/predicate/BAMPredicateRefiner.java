@@ -212,6 +212,12 @@ public final class BAMPredicateRefiner extends AbstractBAMBasedRefiner implement
 
     }
 
+    @Override
+    protected boolean supportsAdditionalTargetPaths() {
+      // paths to other target states would need to be computed through the block abstractions
+      return false;
+    }
+
     @Override
     protected final List<BooleanFormula> getFormulasForPath(List<ARGState> pPath, ARGState initialState) throws CPATransferException, InterruptedException {
       // the elements in the path are not expanded, so they contain the path formulas
@@ -53,7 +53,6 @@ import org.sosy_lab.cpachecker.cpa.arg.ARGReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.SolverException;
-import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.CPAs;
 import org.sosy_lab.cpachecker.util.predicates.Solver;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
@@ -156,8 +155,7 @@ public class ImpactGlobalRefiner implements Refiner, StatisticsProvider {
     refinementCalls++;
     try {
 
-      List<AbstractState> targets = from(pReached)
-        .filter(AbstractStates.IS_TARGET_STATE)
+      List<AbstractState> targets = from(pReached.getTargetStates())
         .toList();
       assert !targets.isEmpty();
 
@@ -173,8 +171,7 @@ public class ImpactGlobalRefiner implements Refiner, StatisticsProvider {
         // there might be target states which were previously covered
         // and are now uncovered
 
-        targets = from(pReached)
-            .filter(AbstractStates.IS_TARGET_STATE)
+        targets = from(pReached.getTargetStates())
             .toList();
 
       } while (!targets.isEmpty());
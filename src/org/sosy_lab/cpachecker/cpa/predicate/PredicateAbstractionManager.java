@@ -36,16 +36,26 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.Pair;
+import org.sosy_lab.common.concurrency.Threads;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -65,7 +75,9 @@ import org.sosy_lab.cpachecker.util.predicates.AbstractionFormula;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionManager;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionManager.RegionCreator;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionPredicate;
+import org.sosy_lab.cpachecker.util.predicates.FormulaMeasuring;
 import org.sosy_lab.cpachecker.util.predicates.Solver;
+import org.sosy_lab.cpachecker.util.predicates.SolverPool;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.Formula;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.PathFormulaManager;
@@ -78,16 +90,23 @@ import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMap;
 import org.sosy_lab.cpachecker.util.statistics.StatTimer;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 @Options(prefix = "cpa.predicate")
 public class PredicateAbstractionManager {
@@ -119,6 +138,13 @@ public class PredicateAbstractionManager {
 
     public long allSatCount = 0;
     public int maxAllSatCount = 0;
+
+    public final Timer parallelBooleanAbstractionTime = new Timer(); // wall time
+    public long parallelAbstractionSolveMillis = 0; // sum over all partitions
+    public long parallelAbstractionEnumMillis = 0; // sum over all partitions
+    public long parallelAbstractionBddMillis = 0; // sum over all partitions
+    public int numParallelAbstractionPartitions = 0;
+    public int maxParallelAbstractionPartitions = 0;
   }
 
   final Stats stats = new Stats();
@@ -163,6 +189,18 @@ public class PredicateAbstractionManager {
   @Option(secure=true, name = "abs.useCache", description = "use caching of abstractions")
   private boolean useCache = true;
 
+  @Option(secure=true, name = "abs.cache.maxSize",
+      description="maximal number of entries of each of the abstraction caches "
+          + "(or the maximal sum of the sizes of the cached formulas if abs.cache.weightByFormulaSize is set), "
+          + "0 for unbounded caches")
+  @IntegerOption(min=0)
+  private long cacheMaxSize = 0;
+
+  @Option(secure=true, name = "abs.cache.weightByFormulaSize",
+      description="bound the abstraction caches by the sum of the sizes of the formulas "
+          + "(number of nodes in the boolean structure) instead of the number of entries")
+  private boolean cacheWeightByFormulaSize = false;
+
   @Option(secure=true, name="refinement.splitItpAtoms",
       description="split each arithmetic equality into two inequalities when extracting predicates from interpolants")
   private boolean splitItpAtoms = false;
@@ -179,24 +217,40 @@ public class PredicateAbstractionManager {
       description="Eliminate propositions about dead variables in abstraction predicates by running a generalization procedure.")
   private boolean elimDeadVariablePredsByGeneralization = false;
 
+  @Option(secure=true, name = "abstraction.parallel.threads",
+      description="Number of threads for computing boolean abstractions "
+          + "(1 for sequential computation, 0 for the number of available processors). "
+          + "If more than one thread is used, the predicates are split into partitions "
+          + "that share no variables (neither directly nor via a conjunct of the block formula), "
+          + "the abstraction is computed for each partition in a separate context "
+          + "of the solver pool (cpa.predicate.solver.pool.size needs to be set), "
+          + "and the results are conjoined.")
+  @IntegerOption(min=0)
+  private int abstractionThreads = 1;
+
   private boolean warnedOfCartesianAbstraction = false;
 
   private boolean abstractionReuseDisabledBecauseOfAmbiguity = false;
 
-  private final Map<Pair<BooleanFormula, ImmutableSet<AbstractionPredicate>>, AbstractionFormula> abstractionCache;
+  private final Cache<Pair<BooleanFormula, ImmutableSet<AbstractionPredicate>>, AbstractionFormula> abstractionCache;
 
   // Cache for satisfiability queries: if formula is contained, it is unsat
-  private final Set<BooleanFormula> unsatisfiabilityCache;
+  private final Cache<BooleanFormula, Boolean> unsatisfiabilityCache;
 
   //cache for cartesian abstraction queries. For each predicate, the values
   // are -1: predicate is false, 0: predicate is don't care,
   // 1: predicate is true
-  private final Map<Pair<BooleanFormula, AbstractionPredicate>, Byte> cartesianAbstractionCache;
+  private final Cache<Pair<BooleanFormula, AbstractionPredicate>, Byte> cartesianAbstractionCache;
 
   private final BooleanFormulaManagerView bfmgr;
 
   private final PredicateAbstractionsStorage abstractionStorage;
 
+  // only non-null if boolean abstraction is computed in parallel
+  private final ExecutorService abstractionExecutor;
+  private final RegionCreator synchronizedRmgr;
+  private final SolverPool solverPool;
+
   private Optional<LiveVariables> liveVars;
 
   public PredicateAbstractionManager(
@@ -226,16 +280,39 @@ public class PredicateAbstractionManager {
       warnedOfCartesianAbstraction = true; // warning is not necessary
     }
 
+    if (abstractionThreads == 0) {
+      abstractionThreads = Runtime.getRuntime().availableProcessors();
+    }
+    if (abstractionThreads > 1 && abstractionType != AbstractionType.CARTESIAN) {
+      solverPool = solver.getSolverPool();
+      if (solverPool == null) {
+        throw new InvalidConfigurationException("Computing the boolean abstraction in parallel "
+            + "requires a solver pool, please set cpa.predicate.solver.pool.size");
+      }
+      int threads = Math.min(abstractionThreads, solverPool.getSize());
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+          1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+          Threads.threadFactoryBuilder().setDaemon(true).build());
+      // do not keep idle threads in case this instance is not closed
+      executor.allowCoreThreadTimeOut(true);
+      abstractionExecutor = executor;
+      synchronizedRmgr = amgr.getSynchronizedRegionCreator();
+    } else {
+      abstractionExecutor = null;
+      synchronizedRmgr = null;
+      solverPool = null;
+    }
+
     if (useCache) {
-      abstractionCache = new HashMap<>();
-      unsatisfiabilityCache = new HashSet<>();
+      abstractionCache = this.<Pair<BooleanFormula, ImmutableSet<AbstractionPredicate>>, AbstractionFormula>newCache();
+      unsatisfiabilityCache = this.<BooleanFormula, Boolean>newCache();
     } else {
       abstractionCache = null;
       unsatisfiabilityCache = null;
     }
 
     if (useCache && (abstractionType != AbstractionType.BOOLEAN)) {
-      cartesianAbstractionCache = new HashMap<>();
+      cartesianAbstractionCache = this.<Pair<BooleanFormula, AbstractionPredicate>, Byte>newCache();
     } else {
       cartesianAbstractionCache = null;
     }
@@ -248,6 +325,64 @@ public class PredicateAbstractionManager {
     }
   }
 
+  /**
+   * Create one of the abstraction caches according to the configuration.
+   * The keys of the cache need to be formulas or pairs with a formula
+   * as first component, which is used to determine the weight of an entry.
+   */
+  private <K, V> Cache<K, V> newCache() {
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+    if (cacheMaxSize > 0) {
+      if (cacheWeightByFormulaSize) {
+        final FormulaMeasuring measuring = new FormulaMeasuring(fmgr);
+        builder.maximumWeight(cacheMaxSize).weigher(new Weigher<Object, Object>() {
+          @Override
+          public int weigh(Object pKey, Object pValue) {
+            Object f = (pKey instanceof Pair<?, ?>) ? ((Pair<?, ?>)pKey).getFirst() : pKey;
+            return measuring.measureDagSize((BooleanFormula)f);
+          }
+        });
+      } else {
+        builder.maximumSize(cacheMaxSize);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Get the statistics of the cache for abstraction results,
+   * or null if caching is disabled.
+   */
+  public CacheStats getAbstractionCacheStats() {
+    return abstractionCache == null ? null : abstractionCache.stats();
+  }
+
+  /**
+   * Get the statistics of the cache for infeasible blocks,
+   * or null if caching is disabled.
+   */
+  public CacheStats getUnsatisfiabilityCacheStats() {
+    return unsatisfiabilityCache == null ? null : unsatisfiabilityCache.stats();
+  }
+
+  /**
+   * Get the statistics of the cache for the results of cartesian abstraction,
+   * or null if caching or cartesian abstraction is disabled.
+   */
+  public CacheStats getCartesianAbstractionCacheStats() {
+    return cartesianAbstractionCache == null ? null : cartesianAbstractionCache.stats();
+  }
+
+  /**
+   * Stop the threads for computing abstractions in parallel (if any).
+   * This instance may not be used anymore afterwards.
+   */
+  public void close() {
+    if (abstractionExecutor != null) {
+      abstractionExecutor.shutdownNow();
+    }
+  }
+
   /**
    * Compute an abstraction of the conjunction of an AbstractionFormula and
    * a PathFormula. The AbstractionFormula will be used in its instantiated form,
@@ -378,7 +513,7 @@ public class PredicateAbstractionManager {
     Pair<BooleanFormula, ImmutableSet<AbstractionPredicate>> absKey = null;
     if (useCache) {
       absKey = Pair.of(f, predicates);
-      AbstractionFormula result = abstractionCache.get(absKey);
+      AbstractionFormula result = abstractionCache.getIfPresent(absKey);
 
       if (result != null) {
         // create new abstraction object to have a unique abstraction id
@@ -395,8 +530,8 @@ public class PredicateAbstractionManager {
         return result;
       }
 
-      boolean unsatisfiable = unsatisfiabilityCache.contains(symbFormula)
-                            || unsatisfiabilityCache.contains(f);
+      boolean unsatisfiable = unsatisfiabilityCache.getIfPresent(symbFormula) != null
+                            || unsatisfiabilityCache.getIfPresent(f) != null;
       if (unsatisfiable) {
         // block is infeasible
         logger.log(Level.FINEST, "Block feasibility of abstraction", stats.numCallsAbstraction, "was cached and is false.");
@@ -480,8 +615,13 @@ public class PredicateAbstractionManager {
           stats.numBooleanAbsPredicates += predicates.size();
           stats.booleanAbstractionTime.start();
           try {
-            abs = rmgr.makeAnd(abs,
-                buildBooleanAbstraction(ssa, thmProver, predicates));
+            Region booleanAbs;
+            if (abstractionExecutor != null) {
+              booleanAbs = buildParallelBooleanAbstraction(f, ssa, thmProver, predicates);
+            } else {
+              booleanAbs = buildBooleanAbstraction(ssa, thmProver, predicates);
+            }
+            abs = rmgr.makeAnd(abs, booleanAbs);
           } finally {
             stats.booleanAbstractionTime.stop();
           }
@@ -498,7 +638,7 @@ public class PredicateAbstractionManager {
       abstractionCache.put(absKey, result);
 
       if (result.isFalse()) {
-        unsatisfiabilityCache.add(f);
+        unsatisfiabilityCache.put(f, Boolean.TRUE);
       }
     }
 
@@ -792,8 +932,9 @@ public class PredicateAbstractionManager {
 
       for (AbstractionPredicate p : predicates) {
         Pair<BooleanFormula, AbstractionPredicate> cacheKey = Pair.of(f, p);
-        if (useCache && cartesianAbstractionCache.containsKey(cacheKey)) {
-          byte predVal = cartesianAbstractionCache.get(cacheKey);
+        Byte cachedPredVal = useCache ? cartesianAbstractionCache.getIfPresent(cacheKey) : null;
+        if (cachedPredVal != null) {
+          byte predVal = cachedPredVal;
           stats.numCartesianAbsPredicatesCached++;
 
           stats.abstractionEnumTime.getCurentInnerTimer().start();
@@ -885,8 +1026,30 @@ public class PredicateAbstractionManager {
     // build the definition of the predicates, and instantiate them
     // also collect all predicate variables so that the solver knows for which
     // variables we want to have the satisfying assignments
-    BooleanFormula predDef = bfmgr.makeBoolean(true);
     List<BooleanFormula> predVars = new ArrayList<>(predicates.size());
+    BooleanFormula predDef = buildPredicateDefinitions(ssa, predicates, predVars);
+
+    // the formula is (abstractionFormula & pathFormula & predDef)
+    thmProver.push(predDef);
+    AllSatResult allSatResult = thmProver.allSat(predVars, rmgr,
+        stats.abstractionSolveTime, stats.abstractionEnumTime);
+
+    // pop() is actually costly sometimes, and we delete the environment anyway
+    // thmProver.pop();
+
+    updateAllSatStatistics(allSatResult);
+
+    return allSatResult.getResult();
+  }
+
+  /**
+   * Build the conjunction of the definitions (var <-> atom) of all predicates,
+   * with the atoms instantiated with the given SSAMap.
+   * @param predVars A list to which the propositional variables of the predicates are added.
+   */
+  private BooleanFormula buildPredicateDefinitions(SSAMap ssa,
+      Collection<AbstractionPredicate> predicates, List<BooleanFormula> predVars) {
+    BooleanFormula predDef = bfmgr.makeBoolean(true);
 
     for (AbstractionPredicate p : predicates) {
       // get propositional variable and definition of predicate
@@ -901,23 +1064,266 @@ public class PredicateAbstractionManager {
 
       predVars.add(var);
     }
+    return predDef;
+  }
 
-    // the formula is (abstractionFormula & pathFormula & predDef)
-    thmProver.push(predDef);
-    AllSatResult allSatResult = thmProver.allSat(predVars, rmgr,
-        stats.abstractionSolveTime, stats.abstractionEnumTime);
-
-    // pop() is actually costly sometimes, and we delete the environment anyway
-    // thmProver.pop();
-
-    // update statistics
+  private void updateAllSatStatistics(AllSatResult allSatResult) {
     int numModels = allSatResult.getCount();
     if (numModels < Integer.MAX_VALUE) {
       stats.maxAllSatCount = Math.max(numModels, stats.maxAllSatCount);
       stats.allSatCount += numModels;
     }
+  }
 
-    return allSatResult.getResult();
+  /**
+   * Compute the boolean abstraction separately for each partition of
+   * the predicates (as computed by {@link #partitionPredicates(BooleanFormula, SSAMap, Collection)})
+   * in the thread pool, and conjoin the results.
+   * Each worker gets only the conjuncts of the formula that belong to its partition,
+   * and the conjuncts that belong to no partition are checked for satisfiability
+   * in a separate worker, so each conjunct is copied only into one context of the solver pool.
+   * All formulas are created in the calling thread, the workers use a prover environment
+   * in their own context of the solver pool and the synchronized region creator.
+   * The calling thread waits until all workers have finished
+   * (also in case of an exception), such that the main formula manager
+   * is not used while the workers copy formulas from it.
+   */
+  private Region buildParallelBooleanAbstraction(final BooleanFormula f, final SSAMap ssa,
+      ProverEnvironment thmProver, Collection<AbstractionPredicate> predicates)
+          throws InterruptedException, SolverException {
+
+    List<AbstractionPartition> partitions = partitionPredicates(f, ssa, predicates);
+    int numPredicatePartitions = 0;
+    for (AbstractionPartition partition : partitions) {
+      if (!partition.predicates.isEmpty()) {
+        numPredicatePartitions++;
+      }
+    }
+    if (numPredicatePartitions <= 1) {
+      return buildBooleanAbstraction(ssa, thmProver, predicates);
+    }
+
+    stats.parallelBooleanAbstractionTime.start();
+    stats.numParallelAbstractionPartitions += numPredicatePartitions;
+    stats.maxParallelAbstractionPartitions = Math.max(numPredicatePartitions, stats.maxParallelAbstractionPartitions);
+
+    List<Future<AllSatResult>> futures = new ArrayList<>(partitions.size());
+    Future<Boolean> independentConjunctsUnsat = null;
+    final List<Timer> solveTimers = new ArrayList<>(partitions.size());
+    final List<NestedTimer> enumTimers = new ArrayList<>(partitions.size());
+    try {
+      for (AbstractionPartition partition : partitions) {
+        final BooleanFormula conjuncts = bfmgr.and(partition.conjuncts);
+        final Timer solveTime = new Timer();
+        solveTimers.add(solveTime);
+
+        if (partition.predicates.isEmpty()) {
+          // These conjuncts are independent of all predicates,
+          // they only matter if they are unsatisfiable.
+          independentConjunctsUnsat = abstractionExecutor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws InterruptedException, SolverException {
+              try (ProverEnvironment prover = solverPool.newProverEnvironment()) {
+                prover.push(conjuncts);
+                solveTime.start();
+                try {
+                  return prover.isUnsat();
+                } finally {
+                  solveTime.stop();
+                }
+              }
+            }
+          });
+          continue;
+        }
+
+        final List<BooleanFormula> predVars = new ArrayList<>(partition.predicates.size());
+        final BooleanFormula predDef = buildPredicateDefinitions(ssa, partition.predicates, predVars);
+        final NestedTimer enumTime = new NestedTimer();
+        enumTimers.add(enumTime);
+
+        futures.add(abstractionExecutor.submit(new Callable<AllSatResult>() {
+          @Override
+          public AllSatResult call() throws InterruptedException, SolverException {
+            try (ProverEnvironment prover = solverPool.newProverEnvironment()) {
+              prover.push(conjuncts);
+              prover.push(predDef);
+              AllSatResult result = prover.allSat(predVars, synchronizedRmgr, solveTime, enumTime);
+              result.getResult(); // build the region in this thread
+              return result;
+            }
+          }
+        }));
+      }
+
+      // Wait for all partitions before looking at any result,
+      // no worker may run anymore when we return.
+      List<AllSatResult> results = new ArrayList<>(futures.size());
+      Throwable failure = null;
+      for (Future<AllSatResult> future : futures) {
+        try {
+          results.add(Uninterruptibles.getUninterruptibly(future));
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+        }
+      }
+      boolean unsat = false;
+      if (independentConjunctsUnsat != null) {
+        try {
+          unsat = Uninterruptibles.getUninterruptibly(independentConjunctsUnsat);
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+        }
+      }
+      if (failure != null) {
+        Throwables.propagateIfPossible(failure, SolverException.class, InterruptedException.class);
+        throw new UnexpectedCheckedException("parallel computation of boolean abstraction", failure);
+      }
+
+      Region abs = unsat ? rmgr.makeFalse() : rmgr.makeTrue();
+      for (AllSatResult result : results) {
+        updateAllSatStatistics(result);
+        abs = rmgr.makeAnd(abs, result.getResult());
+      }
+      return abs;
+
+    } finally {
+      // in case of an exception, too
+      List<Future<?>> allFutures = new ArrayList<Future<?>>(futures);
+      if (independentConjunctsUnsat != null) {
+        allFutures.add(independentConjunctsUnsat);
+      }
+      for (Future<?> future : allFutures) {
+        try {
+          Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+          // handled above or superseded by another exception
+        }
+      }
+      for (Timer solveTime : solveTimers) {
+        stats.parallelAbstractionSolveMillis += solveTime.getSumTime().asMillis();
+      }
+      for (NestedTimer enumTime : enumTimers) {
+        stats.parallelAbstractionEnumMillis += enumTime.getOuterSumTime().asMillis();
+        stats.parallelAbstractionBddMillis += enumTime.getInnerSumTime().asMillis();
+      }
+      stats.parallelBooleanAbstractionTime.stop();
+    }
+  }
+
+  /**
+   * A part of the boolean abstraction of a formula:
+   * a set of predicates and the top-level conjuncts of the formula
+   * that share variables with them (directly or transitively).
+   */
+  @VisibleForTesting
+  static final class AbstractionPartition {
+    final List<AbstractionPredicate> predicates = new ArrayList<>();
+    final List<BooleanFormula> conjuncts = new ArrayList<>();
+  }
+
+  /**
+   * Split a set of predicates into partitions such that predicates from
+   * different partitions do not share variables,
+   * neither directly nor transitively via the conjuncts of the given formula.
+   * The variables of each (top-level) conjunct of the formula are merged,
+   * such that the formula is a conjunction of independent parts, one for each partition.
+   * Then the boolean abstraction of the formula is the conjunction
+   * of the boolean abstractions for each partition
+   * (e.g., a conjunct (x>0 | y>0) puts the predicates x>0 and y>0 into the same partition).
+   * Each conjunct of the formula is assigned to the partition with which it shares variables.
+   * Conjuncts that share no variables with any predicate are put into a last partition
+   * without predicates (if there are such conjuncts).
+   * This uses a similar notion of similarity as {@link org.sosy_lab.cpachecker.util.predicates.PredicatePartition},
+   * but it is computed for each abstraction with the instantiated predicates.
+   */
+  @VisibleForTesting
+  List<AbstractionPartition> partitionPredicates(BooleanFormula f, SSAMap ssa,
+      Collection<AbstractionPredicate> predicates) {
+
+    // union-find over variable names
+    final Map<String, String> parent = new HashMap<>();
+    List<Pair<BooleanFormula, String>> conjunctVariable = new ArrayList<>();
+    List<BooleanFormula> independentConjuncts = new ArrayList<>();
+    for (BooleanFormula conjunct : bfmgr.splitConjuncts(f)) {
+      Set<String> vars = fmgr.extractVariableNames(conjunct);
+      if (vars.isEmpty()) {
+        independentConjuncts.add(conjunct);
+      } else {
+        unionVariables(parent, vars);
+        conjunctVariable.add(Pair.of(conjunct, vars.iterator().next()));
+      }
+    }
+
+    List<AbstractionPartition> result = new ArrayList<>();
+    Map<AbstractionPredicate, String> predicateVariable = new LinkedHashMap<>();
+    for (AbstractionPredicate p : predicates) {
+      Set<String> vars = fmgr.extractVariableNames(fmgr.instantiate(p.getSymbolicAtom(), ssa));
+      if (vars.isEmpty()) {
+        // predicates without variables are independent of everything else
+        AbstractionPartition partition = new AbstractionPartition();
+        partition.predicates.add(p);
+        result.add(partition);
+      } else {
+        unionVariables(parent, vars);
+        predicateVariable.put(p, vars.iterator().next());
+      }
+    }
+
+    Map<String, AbstractionPartition> partitions = new LinkedHashMap<>();
+    for (Map.Entry<AbstractionPredicate, String> entry : predicateVariable.entrySet()) {
+      String representative = findRepresentative(parent, entry.getValue());
+      AbstractionPartition partition = partitions.get(representative);
+      if (partition == null) {
+        partition = new AbstractionPartition();
+        partitions.put(representative, partition);
+      }
+      partition.predicates.add(entry.getKey());
+    }
+    for (Pair<BooleanFormula, String> conjunct : conjunctVariable) {
+      AbstractionPartition partition = partitions.get(findRepresentative(parent, conjunct.getSecond()));
+      if (partition == null) {
+        independentConjuncts.add(conjunct.getFirst());
+      } else {
+        partition.conjuncts.add(conjunct.getFirst());
+      }
+    }
+    result.addAll(partitions.values());
+
+    if (!independentConjuncts.isEmpty()) {
+      AbstractionPartition partition = new AbstractionPartition();
+      partition.conjuncts.addAll(independentConjuncts);
+      result.add(partition);
+    }
+    return result;
+  }
+
+  private static void unionVariables(Map<String, String> parent, Set<String> vars) {
+    String first = null;
+    for (String var : vars) {
+      String representative = findRepresentative(parent, var);
+      if (first == null) {
+        first = representative;
+      } else if (!representative.equals(first)) {
+        parent.put(representative, first);
+      }
+    }
+  }
+
+  private static String findRepresentative(Map<String, String> parent, String var) {
+    String current = var;
+    String next;
+    while ((next = parent.get(current)) != null) {
+      current = next;
+    }
+    if (!current.equals(var)) {
+      parent.put(var, current); // path compression
+    }
+    return current;
   }
 
   /**
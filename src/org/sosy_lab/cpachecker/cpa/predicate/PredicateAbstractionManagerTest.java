@@ -0,0 +1,196 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.predicate;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.util.LiveVariables;
+import org.sosy_lab.cpachecker.util.predicates.AbstractionFormula;
+import org.sosy_lab.cpachecker.util.predicates.AbstractionManager;
+import org.sosy_lab.cpachecker.util.predicates.AbstractionPredicate;
+import org.sosy_lab.cpachecker.util.predicates.Solver;
+import org.sosy_lab.cpachecker.util.predicates.bdd.BDDManagerFactory;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.NumeralFormula.IntegerFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.PathFormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.Region;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.view.BooleanFormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.view.FormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.view.NumeralFormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMap;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.pointeraliasing.PointerTargetSet;
+import org.sosy_lab.cpachecker.util.test.SolverBasedTest0;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+public class PredicateAbstractionManagerTest extends SolverBasedTest0 {
+
+  private static final SSAMap SSA = SSAMap.emptySSAMap().withDefault(1);
+
+  private FormulaManagerView mgrv;
+  private BooleanFormulaManagerView bfmgrv;
+  private NumeralFormulaManagerView<IntegerFormula, IntegerFormula> ifmgrv;
+  private Solver solver;
+  private AbstractionManager amgr;
+  private PredicateAbstractionManager pamgr;
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() throws InvalidConfigurationException {
+    return super.createTestConfigBuilder()
+        .setOption("cpa.predicate.abstraction.parallel.threads", "2")
+        .setOption("cpa.predicate.solver.pool.size", "2");
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    mgrv = new FormulaManagerView(factory, config, logger);
+    bfmgrv = mgrv.getBooleanFormulaManager();
+    ifmgrv = mgrv.getIntegerFormulaManager();
+    solver = new Solver(mgrv, factory, config, logger);
+    amgr = new AbstractionManager(new BDDManagerFactory(config, logger).createRegionManager(),
+        mgrv, config, logger, solver);
+    pamgr = new PredicateAbstractionManager(amgr, mgrv, mock(PathFormulaManager.class),
+        solver, config, logger, Optional.<LiveVariables>absent());
+  }
+
+  @After
+  public void tearDown() throws InvalidConfigurationException {
+    pamgr.close();
+    solver.getSolverPool().close();
+  }
+
+  /** Create the predicate var > 0 (uninstantiated). */
+  private AbstractionPredicate makePredicate(String var) {
+    return amgr.makePredicate(ifmgrv.greaterThan(ifmgrv.makeVariable(var), ifmgrv.makeNumber(0)));
+  }
+
+  private BooleanFormula instantiate(AbstractionPredicate p) {
+    return mgrv.instantiate(p.getSymbolicAtom(), SSA);
+  }
+
+  /** Create the formula var > 0 (instantiated), without a predicate for it. */
+  private BooleanFormula makeAtom(String var) {
+    return mgrv.instantiate(ifmgrv.greaterThan(ifmgrv.makeVariable(var), ifmgrv.makeNumber(0)), SSA);
+  }
+
+  @Test
+  public void testPartitionIndependentConjuncts() {
+    AbstractionPredicate px = makePredicate("x");
+    AbstractionPredicate py = makePredicate("y");
+    BooleanFormula f = bfmgrv.and(instantiate(px), instantiate(py));
+
+    List<PredicateAbstractionManager.AbstractionPartition> partitions =
+        pamgr.partitionPredicates(f, SSA, ImmutableList.of(px, py));
+
+    assertThat(partitions).hasSize(2);
+    assertThat(partitions.get(0).predicates).containsExactly(px);
+    assertThat(partitions.get(0).conjuncts).containsExactly(instantiate(px));
+    assertThat(partitions.get(1).predicates).containsExactly(py);
+    assertThat(partitions.get(1).conjuncts).containsExactly(instantiate(py));
+  }
+
+  @Test
+  public void testPartitionDisjunction() {
+    AbstractionPredicate px = makePredicate("x");
+    AbstractionPredicate py = makePredicate("y");
+    BooleanFormula f = bfmgrv.or(instantiate(px), instantiate(py));
+
+    List<PredicateAbstractionManager.AbstractionPartition> partitions =
+        pamgr.partitionPredicates(f, SSA, ImmutableList.of(px, py));
+
+    assertThat(partitions).hasSize(1);
+    assertThat(partitions.get(0).predicates).containsExactly(px, py);
+    assertThat(partitions.get(0).conjuncts).containsExactly(f);
+  }
+
+  @Test
+  public void testPartitionConjunctsWithoutPredicates() {
+    AbstractionPredicate px = makePredicate("x");
+    AbstractionPredicate pz = makePredicate("z");
+    BooleanFormula fx = instantiate(px);
+    BooleanFormula fz = instantiate(pz);
+    BooleanFormula f = bfmgrv.and(ImmutableList.of(fx, fz, makeAtom("w")));
+
+    List<PredicateAbstractionManager.AbstractionPartition> partitions =
+        pamgr.partitionPredicates(f, SSA, ImmutableList.of(px));
+
+    // z>0 and w>0 share no variables with the predicates
+    assertThat(partitions).hasSize(2);
+    assertThat(partitions.get(0).predicates).containsExactly(px);
+    assertThat(partitions.get(0).conjuncts).containsExactly(fx);
+    assertThat(partitions.get(1).predicates).isEmpty();
+    assertThat(partitions.get(1).conjuncts).containsExactly(fz, makeAtom("w"));
+  }
+
+  @Test
+  public void testParallelAbstractionOfDisjunction() throws Exception {
+    AbstractionPredicate px = makePredicate("x");
+    AbstractionPredicate py = makePredicate("y");
+    AbstractionPredicate pz = makePredicate("z");
+    // (x>0 | y>0) & z>0 has the independent parts {x>0, y>0} and {z>0}
+    BooleanFormula f = bfmgrv.and(
+        bfmgrv.or(instantiate(px), instantiate(py)),
+        instantiate(pz));
+    PathFormula pathFormula = new PathFormula(f, SSA, PointerTargetSet.emptyPointerTargetSet(), 1);
+
+    AbstractionFormula result = pamgr.buildAbstraction(new CFANode("main"),
+        pamgr.makeTrueAbstractionFormula(pathFormula), pathFormula,
+        ImmutableList.of(px, py, pz));
+
+    AbstractionManager.RegionCreator rmgr = amgr.getRegionCreator();
+    Region expected = rmgr.makeAnd(
+        rmgr.makeOr(px.getAbstractVariable(), py.getAbstractVariable()),
+        pz.getAbstractVariable());
+    assertThat(result.asRegion()).isEqualTo(expected);
+    assertThat(pamgr.stats.numParallelAbstractionPartitions).isEqualTo(2);
+  }
+
+  @Test
+  public void testParallelAbstractionWithUnsatisfiableIndependentPart() throws Exception {
+    AbstractionPredicate px = makePredicate("x");
+    AbstractionPredicate py = makePredicate("y");
+    // w>0 & !(w>0) is unsatisfiable and shares no variables with the predicates
+    BooleanFormula f = bfmgrv.and(ImmutableList.of(
+        instantiate(px), instantiate(py), makeAtom("w"), bfmgrv.not(makeAtom("w"))));
+    PathFormula pathFormula = new PathFormula(f, SSA, PointerTargetSet.emptyPointerTargetSet(), 1);
+
+    AbstractionFormula result = pamgr.buildAbstraction(new CFANode("main"),
+        pamgr.makeTrueAbstractionFormula(pathFormula), pathFormula,
+        ImmutableList.of(px, py));
+
+    assertThat(result.isFalse()).isTrue();
+    assertThat(pamgr.stats.numParallelAbstractionPartitions).isEqualTo(2);
+  }
+}
@@ -175,6 +175,7 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy {
 
   // statistics
   private StatCounter numberOfRefinementsWithStrategy2 = new StatCounter("Number of refs with location-based cutoff");
+  private StatCounter furtherPathsRemoved = new StatCounter("Number of ARG cuts for further infeasible paths");
   private StatInt irrelevantPredsInItp = new StatInt(StatKind.SUM, "Number of irrelevant preds in interpolants");
 
   private StatTimer predicateCreation = new StatTimer(StatKind.SUM, "Predicate creation");
@@ -220,6 +221,7 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy {
       basicRefinementStatistics.printStatistics(out, pResult, pReached);
 
       w0.put(numberOfRefinementsWithStrategy2)
+        .putIfUpdatedAtLeastOnce(furtherPathsRemoved)
         .ifUpdatedAtLeastOnce(itpSimplification)
           .put(irrelevantPredsInItp);
     }
@@ -251,6 +253,10 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy {
 
   private ListMultimap<Pair<CFANode, Integer>, AbstractionPredicate> newPredicates;
 
+  // infeasible paths (abstraction states and interpolants) besides the refined path,
+  // whose predicates are added in the next refinement
+  private final List<Pair<List<ARGState>, List<BooleanFormula>>> furtherInfeasiblePaths = new ArrayList<>();
+
 
   @Override
   public boolean needsInterpolants() {
@@ -382,21 +388,104 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy {
     return preds;
   }
 
+  /**
+   * Add another infeasible path (besides the one given to the next call of
+   * {@link #performRefinement(ARGReachedSet, List, List, boolean)}),
+   * for example a path to a different target state.
+   * The predicates from its interpolants will be added to the new precision
+   * of the next refinement, and the ARG is cut below the first interpolation point
+   * of this path, too, unless this part of the ARG is already removed
+   * by the refinement of the refined path.
+   *
+   * @param pAbstractionStatesTrace The abstraction states of the path (the last one is the target state).
+   * @param pInterpolants The interpolants for the path.
+   */
+  public void addFurtherInfeasiblePath(List<ARGState> pAbstractionStatesTrace, List<BooleanFormula> pInterpolants) {
+    checkArgument(pAbstractionStatesTrace.size() == pInterpolants.size() + 1);
+    furtherInfeasiblePaths.add(Pair.of(pAbstractionStatesTrace, pInterpolants));
+  }
+
+  /**
+   * Add the predicates of the infeasible paths given to {@link #addFurtherInfeasiblePath(List, List)}.
+   * @return The refinement root and the target state of each path.
+   */
+  private List<Pair<ARGState, ARGState>> addPredicatesOfFurtherInfeasiblePaths() {
+    List<Pair<ARGState, ARGState>> result = new ArrayList<>(furtherInfeasiblePaths.size());
+    for (Pair<List<ARGState>, List<BooleanFormula>> path : furtherInfeasiblePaths) {
+      List<ARGState> trace = path.getFirst();
+      ARGState unreachableState = trace.get(trace.size()-1);
+      ARGState refinementRoot = null;
+
+      for (Pair<BooleanFormula, ARGState> interpolationPoint
+          : Pair.zipList(path.getSecond(), trace.subList(0, trace.size()-1))) {
+        BooleanFormula itp = interpolationPoint.getFirst();
+
+        if (bfmgr.isTrue(itp)) {
+          continue;
+        }
+        if (bfmgr.isFalse(itp)) {
+          unreachableState = interpolationPoint.getSecond();
+          break;
+        }
+        performRefinementForState(itp, interpolationPoint.getSecond());
+        if (refinementRoot == null) {
+          refinementRoot = interpolationPoint.getSecond();
+        }
+      }
+
+      addFalsePredicate(unreachableState);
+      result.add(Pair.of(refinementRoot != null ? refinementRoot : unreachableState,
+                         trace.get(trace.size()-1)));
+    }
+    furtherInfeasiblePaths.clear();
+    return result;
+  }
+
+  /**
+   * Remove the parts of the ARG that belong to the further infeasible paths
+   * and that were not already removed with the refined path,
+   * such that they are re-explored with the new predicates.
+   */
+  private void removeFurtherInfeasiblePaths(ARGReachedSet pReached,
+      List<Pair<ARGState, ARGState>> pFurtherPaths, PredicatePrecision pNewPrecision) {
+    UnmodifiableReachedSet reached = pReached.asReachedSet();
+    for (Pair<ARGState, ARGState> path : pFurtherPaths) {
+      ARGState refinementRoot = path.getFirst();
+      ARGState target = path.getSecond();
+      if (refinementRoot.isDestroyed() || target.isDestroyed()) {
+        continue;
+      }
+
+      logger.log(Level.FINEST, "Removing everything below", refinementRoot,
+          "from ARG for the path to", target);
+      PredicatePrecision precision =
+          extractPredicatePrecision(reached.getPrecision(target)).mergeWith(pNewPrecision);
+      pReached.removeSubtree(refinementRoot, precision, Predicates.instanceOf(PredicatePrecision.class));
+      furtherPathsRemoved.inc();
+    }
+  }
+
+  private void addFalsePredicate(ARGState pUnreachableState) {
+    CFANode loc = extractLocation(pUnreachableState);
+    int locInstance = getPredicateState(pUnreachableState)
+                                     .getAbstractionLocationsOnPath().get(loc);
+    newPredicates.put(Pair.of(loc, locInstance),
+        predAbsMgr.createPredicateFor(bfmgr.makeBoolean(false)));
+  }
+
   @Override
   protected void finishRefinementOfPath(ARGState pUnreachableState,
       List<ARGState> pAffectedStates, ARGReachedSet pReached,
       boolean pRepeatedCounterexample)
-      throws CPAException {
+      throws CPAException, InterruptedException {
 
     { // Add predicate "false" to unreachable location
-      CFANode loc = extractLocation(pUnreachableState);
-      int locInstance = getPredicateState(pUnreachableState)
-                                       .getAbstractionLocationsOnPath().get(loc);
-      newPredicates.put(Pair.of(loc, locInstance),
-          predAbsMgr.createPredicateFor(bfmgr.makeBoolean(false)));
+      addFalsePredicate(pUnreachableState);
       pAffectedStates.add(pUnreachableState);
     }
 
+    List<Pair<ARGState, ARGState>> furtherPaths = addPredicatesOfFurtherInfeasiblePaths();
+
     // We have two different strategies for the refinement root: set it to
     // the first interpolation point or set it to highest location in the ARG
     // where the same CFANode appears.
@@ -501,6 +590,8 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy {
 
     assert (refinementCount > 0) || reached.size() == 1;
 
+    removeFurtherInfeasiblePaths(pReached, furtherPaths, newPrecision);
+
     if (sharePredicates) {
       pReached.updatePrecisionGlobally(newPrecision, Predicates.instanceOf(PredicatePrecision.class));
     }
@@ -34,11 +34,21 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+import javax.annotation.Nullable;
+
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.Pair;
+import org.sosy_lab.common.concurrency.Threads;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -70,6 +80,7 @@ import org.sosy_lab.cpachecker.util.AbstractStates;
 import org.sosy_lab.cpachecker.util.predicates.BlockOperator;
 import org.sosy_lab.cpachecker.util.predicates.PathChecker;
 import org.sosy_lab.cpachecker.util.predicates.Solver;
+import org.sosy_lab.cpachecker.util.predicates.SolverPool;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.PathFormulaManager;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.view.BooleanFormulaManagerView;
@@ -91,6 +102,7 @@ import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
@@ -123,6 +135,16 @@ public class PredicateCPARefiner extends AbstractARGBasedRefiner implements Stat
   @Option(secure=true, description="which sliced prefix should be used for interpolation")
   private PrefixPreference prefixPreference = PrefixPreference.NONE;
 
+  @Option(secure=true, description="If a counterexample is spurious, check the paths to up to this many "
+      + "other target states in the reached set for feasibility concurrently "
+      + "(requires a pool of solvers, cf. option cpa.predicate.solver.pool.size), "
+      + "and add the predicates from all infeasible paths in the same refinement. "
+      + "There are other target states only if the analysis does not stop "
+      + "at the first one (cf. option cpa.automaton.breakOnTargetState). "
+      + "0 disables this.")
+  @IntegerOption(min=0)
+  private int additionalTargetPaths = 0;
+
   Configuration config;
 
   // the previously analyzed counterexample to detect repeated counterexamples
@@ -140,6 +162,9 @@ public class PredicateCPARefiner extends AbstractARGBasedRefiner implements Stat
   private final StatTimer prefixExtractionTime = new StatTimer("Extracting infeasible sliced prefixes");
   private final StatTimer prefixSelectionTime = new StatTimer("Selecting infeasible sliced prefixes");
 
+  private final StatTimer additionalPathsTime = new StatTimer("Checking paths to other target states");
+  private final StatInt additionalInfeasiblePaths = new StatInt(StatKind.SUM, "Number of infeasible paths to other target states");
+
   class Stats extends AbstractStatistics {
 
     private final Statistics statistics = strategy.getStatistics();
@@ -163,6 +188,10 @@ public class PredicateCPARefiner extends AbstractARGBasedRefiner implements Stat
         w0.beginLevel().put(preciseCouterexampleTime);
         w0.beginLevel().put(prefixExtractionTime);
         w0.beginLevel().put(prefixSelectionTime);
+        if (additionalPathsTime.getUpdateCount() > 0) {
+          w0.beginLevel().put(additionalPathsTime);
+          w0.beginLevel().put(additionalInfeasiblePaths);
+        }
       }
 
       statistics.printStatistics(out, result, reached);
@@ -185,6 +214,7 @@ public class PredicateCPARefiner extends AbstractARGBasedRefiner implements Stat
   private final Solver solver;
   private final PredicateAssumeStore assumesStore;
   private final CFA cfa;
+  private final @Nullable SolverPool solverPool; // null if additional target paths are not checked
 
   public PredicateCPARefiner(final Configuration pConfig, final LogManager pLogger,
       final ConfigurableProgramAnalysis pCpa,
@@ -216,6 +246,16 @@ public class PredicateCPARefiner extends AbstractARGBasedRefiner implements Stat
 
     config = pConfig;
 
+    SolverPool pool = (additionalTargetPaths > 0) ? solver.getSolverPool() : null;
+    if (additionalTargetPaths > 0
+        && (pool == null || !(strategy instanceof PredicateAbstractionRefinementStrategy))) {
+      logger.log(Level.WARNING, "Checking paths to other target states during refinement",
+          "needs a pool of solvers (option cpa.predicate.solver.pool.size)",
+          "and the predicate-abstraction refinement strategy, ignoring option.");
+      pool = null;
+    }
+    solverPool = pool;
+
     logger.log(Level.INFO, "Using refinement for predicate analysis with " + strategy.getClass().getSimpleName() + " strategy.");
   }
 
@@ -272,6 +312,14 @@ public class PredicateCPARefiner extends AbstractARGBasedRefiner implements Stat
       boolean repeatedCounterexample = formulas.equals(lastErrorPath);
       lastErrorPath = formulas;
 
+      if (solverPool != null && supportsAdditionalTargetPaths()) {
+        for (Pair<List<ARGState>, List<BooleanFormula>> infeasiblePath
+            : checkAdditionalTargetPaths(pReached, allStatesTrace.getLastState())) {
+          ((PredicateAbstractionRefinementStrategy)strategy).addFurtherInfeasiblePath(
+              infeasiblePath.getFirst(), infeasiblePath.getSecond());
+        }
+      }
+
       strategy.performRefinement(pReached, abstractionStatesTrace, counterexample.getInterpolants(), repeatedCounterexample);
 
       totalRefinement.stop();
@@ -315,6 +363,112 @@ public class PredicateCPARefiner extends AbstractARGBasedRefiner implements Stat
     }
   }
 
+  /**
+   * Whether the paths to other target states may be checked
+   * and added to a refinement (cf. option additionalTargetPaths).
+   * Subclasses that cannot compute the paths to arbitrary target states
+   * of the reached set should return false.
+   */
+  protected boolean supportsAdditionalTargetPaths() {
+    return true;
+  }
+
+  /**
+   * Check the paths to other target states (besides the current one) for feasibility.
+   * The checks and the interpolation of the infeasible paths run concurrently
+   * in the contexts of the solver pool.
+   * This method waits until all of them have finished,
+   * so the main solver can be used again afterwards.
+   *
+   * @param pReached The reached set.
+   * @param pTarget The target state of the counterexample that is currently refined.
+   * @return The abstraction states and the interpolants of all infeasible paths.
+   */
+  private List<Pair<List<ARGState>, List<BooleanFormula>>> checkAdditionalTargetPaths(
+      ARGReachedSet pReached, ARGState pTarget) throws CPAException, InterruptedException {
+    additionalPathsTime.start();
+    try {
+      List<ARGState> otherTargets = from(pReached.asReachedSet().getTargetStates())
+          .filter(ARGState.class)
+          .filter(Predicates.not(Predicates.equalTo(pTarget)))
+          .filter(Predicates.compose(PredicateAbstractState.FILTER_ABSTRACTION_STATES,
+                                     toState(PredicateAbstractState.class)))
+          .limit(additionalTargetPaths)
+          .toList();
+
+      if (otherTargets.isEmpty()) {
+        return ImmutableList.of();
+      }
+
+      // Create all formulas before starting the checks,
+      // the main solver must not be used while the pool copies formulas from it.
+      List<List<ARGState>> traces = new ArrayList<>(otherTargets.size());
+      List<List<BooleanFormula>> formulas = new ArrayList<>(otherTargets.size());
+      for (ARGState target : otherTargets) {
+        ARGPath path = ARGUtils.getOnePathTo(target);
+        List<ARGState> trace = transformPath(path);
+        traces.add(trace);
+        formulas.add(getFormulasForPath(trace, path.getFirstState()));
+      }
+
+      // The executor is used only for this refinement,
+      // this way no threads remain if the analysis is finished.
+      ExecutorService pathCheckExecutor = Executors.newFixedThreadPool(
+          Math.min(solverPool.getSize(), otherTargets.size()),
+          Threads.threadFactoryBuilder().setDaemon(true).build());
+      List<Future<List<BooleanFormula>>> pathChecks = new ArrayList<>(otherTargets.size());
+      List<Pair<List<ARGState>, List<BooleanFormula>>> result = new ArrayList<>();
+      try {
+        for (int i = 0; i < otherTargets.size(); i++) {
+          pathChecks.add(pathCheckExecutor.submit(formulaManager.createPooledInterpolationTask(
+              formulas.get(i), Lists.<AbstractState>newArrayList(traces.get(i)), solverPool)));
+        }
+
+        for (int i = 0; i < otherTargets.size(); i++) {
+          List<BooleanFormula> interpolants;
+          try {
+            interpolants = pathChecks.get(i).get();
+          } catch (ExecutionException e) {
+            Throwable t = e.getCause();
+            if (t instanceof SolverException) {
+              logger.logDebugException(t, "Checking path to other target state failed");
+              continue;
+            }
+            Throwables.propagateIfPossible(t, CPAException.class, InterruptedException.class);
+            throw new UnexpectedCheckedException("checking path to other target state", t);
+          }
+          if (interpolants != null) {
+            result.add(Pair.of(traces.get(i), interpolants));
+          }
+        }
+
+      } finally {
+        // If we get here because of an exception, the remaining checks are still running
+        // and may copy formulas from the main solver, so we need to wait for them.
+        pathCheckExecutor.shutdown();
+        boolean interrupted = false;
+        while (!pathCheckExecutor.isTerminated()) {
+          try {
+            pathCheckExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      logger.log(Level.FINEST, "Found", result.size(), "infeasible paths to",
+          otherTargets.size(), "other target states");
+      additionalInfeasiblePaths.setNextValue(result.size());
+      return result;
+
+    } finally {
+      additionalPathsTime.stop();
+    }
+  }
+
   private ARGPath performRefinementSelection(ARGPath allStatesTrace) throws CPAException, InterruptedException {
     List<InfeasiblePrefix> infeasilbePrefixes = extractInfeasiblePrefixes(allStatesTrace);
 
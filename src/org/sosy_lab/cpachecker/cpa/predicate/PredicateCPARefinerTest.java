@@ -0,0 +1,82 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.predicate;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.sosy_lab.cpachecker.util.test.CPATestRunner;
+import org.sosy_lab.cpachecker.util.test.TestResults;
+
+import com.google.common.collect.ImmutableMap;
+
+public class PredicateCPARefinerTest {
+
+  private static final Map<String, String> ADDITIONAL_TARGET_PATHS_CONFIG =
+      ImmutableMap.<String, String>builder()
+        .put("analysis.algorithm.CEGAR",     "true")
+        .put("cegar.refiner",                "cpa.predicate.PredicateRefiner")
+        .put("cpa",                          "cpa.arg.ARGCPA")
+        .put("ARGCPA.cpa",                   "cpa.composite.CompositeCPA")
+        .put("CompositeCPA.cpas",            "cpa.location.LocationCPA, cpa.callstack.CallstackCPA, "
+                                           + "cpa.predicate.PredicateCPA")
+        .put("cpa.predicate.blk.alwaysAtFunctions", "false")
+        .put("cpa.predicate.blk.alwaysAtLoops",     "true")
+        .put("specification",                "config/specification/default.spc")
+        // collect all three target states before the first refinement
+        .put("cpa.automaton.breakOnTargetState",               "3")
+        .put("cpa.predicate.solver.pool.size",                 "2")
+        .put("cpa.predicate.refinement.additionalTargetPaths", "2")
+        .put("log.consoleLevel",             "INFO")
+        .build();
+
+  @Test
+  public void testAdditionalTargetPaths() throws Exception {
+    TestResults results = CPATestRunner.run(ADDITIONAL_TARGET_PATHS_CONFIG,
+        "test/programs/simple/additionalTargetPaths_true-unreach-label.c");
+
+    results.assertIsSafe();
+    String statistics = getStatistics(results);
+    assertThat(statistics).contains("Number of infeasible paths to other target states");
+
+    // Without the other two paths, each target state would need its own refinement.
+    Matcher refinements = Pattern.compile("Number of refinements: *(\\d+)").matcher(statistics);
+    assertThat(refinements.find()).isTrue();
+    assertThat(Integer.parseInt(refinements.group(1))).isEqualTo(1);
+  }
+
+  private static String getStatistics(TestResults results) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (PrintStream out = new PrintStream(buffer)) {
+      results.getCheckerResult().printStatistics(out);
+    }
+    return buffer.toString();
+  }
+}
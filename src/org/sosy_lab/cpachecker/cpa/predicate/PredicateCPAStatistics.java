@@ -60,13 +60,17 @@ import org.sosy_lab.cpachecker.util.predicates.AbstractionManager;
 import org.sosy_lab.cpachecker.util.predicates.AbstractionPredicate;
 import org.sosy_lab.cpachecker.util.predicates.BlockOperator;
 import org.sosy_lab.cpachecker.util.predicates.Solver;
+import org.sosy_lab.cpachecker.util.predicates.UnsatCache;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.PathFormulaManager;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.RegionManager;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.view.FormulaManagerView;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.CachingPathFormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManagerImpl;
 import org.sosy_lab.cpachecker.util.statistics.AbstractStatistics;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
@@ -209,6 +213,13 @@ class PredicateCPAStatistics extends AbstractStatistics {
   }
 
 
+  private static void printCacheStatistics(PrintStream out, String name, CacheStats stats) {
+    if (stats != null && stats.requestCount() > 0) {
+      out.println(name + toPercent(stats.hitCount(), stats.requestCount()) + " hit rate ("
+          + stats.requestCount() + " lookups, " + stats.evictionCount() + " evicted)");
+    }
+  }
+
   @Override
   public void printStatistics(PrintStream out, Result result, ReachedSet reached) {
     PredicateAbstractionManager amgr = cpa.getPredicateManager();
@@ -256,6 +267,9 @@ class PredicateCPAStatistics extends AbstractStatistics {
       loopInvariantsWriter.exportLoopInvariantsAsPrecision(invariantPrecisionsFile, reached);
     }
 
+    // the PredicateCPA owns its solver, so it is the only one that writes the persistent cache
+    cpa.getSolver().getUnsatCache().store();
+
     PredicateAbstractionManager.Stats as = amgr.stats;
     PredicateAbstractDomain domain = cpa.getAbstractDomain();
     PredicateTransferRelation trans = cpa.getTransferRelation();
@@ -263,8 +277,10 @@ class PredicateCPAStatistics extends AbstractStatistics {
     Solver solver = cpa.getSolver();
 
     CachingPathFormulaManager pfMgr = null;
-    if (cpa.getPathFormulaManager() instanceof CachingPathFormulaManager) {
-      pfMgr = (CachingPathFormulaManager)cpa.getPathFormulaManager();
+    PathFormulaManager basePfMgr = cpa.getPathFormulaManager();
+    if (basePfMgr instanceof CachingPathFormulaManager) {
+      pfMgr = (CachingPathFormulaManager)basePfMgr;
+      basePfMgr = pfMgr.delegate;
     }
 
     out.println("Number of abstractions:            " + prec.numAbstractions + " (" + toPercent(prec.numAbstractions, trans.postTimer.getNumberOfIntervals()) + " of all post computations)");
@@ -277,6 +293,9 @@ class PredicateCPAStatistics extends AbstractStatistics {
       out.println("  Times precision was empty:       " + valueWithPercentage(as.numSymbolicAbstractions, as.numCallsAbstraction));
       out.println("  Times precision was {false}:     " + valueWithPercentage(as.numSatCheckAbstractions, as.numCallsAbstraction));
       out.println("  Times result was cached:         " + valueWithPercentage(as.numCallsAbstractionCached, as.numCallsAbstraction));
+      printCacheStatistics(out, "  Abstraction cache:               ", amgr.getAbstractionCacheStats());
+      printCacheStatistics(out, "  Infeasible block cache:          ", amgr.getUnsatisfiabilityCacheStats());
+      printCacheStatistics(out, "  Cartesian abstraction cache:     ", amgr.getCartesianAbstractionCacheStats());
       out.println("  Times cartesian abs was used:    " + valueWithPercentage(as.cartesianAbstractionTime.getNumberOfIntervals(), as.numCallsAbstraction));
       out.println("  Times boolean abs was used:      " + valueWithPercentage(as.booleanAbstractionTime.getNumberOfIntervals(), as.numCallsAbstraction));
       out.println("  Times result was 'false':        " + valueWithPercentage(prec.numAbstractionsFalse, prec.numAbstractions));
@@ -298,6 +317,16 @@ class PredicateCPAStatistics extends AbstractStatistics {
     out.println("Number of SMT sat checks:          " + solver.satChecks);
     out.println("  trivial:                         " + solver.trivialSatChecks);
     out.println("  cached:                          " + solver.cachedSatChecks);
+    UnsatCache unsatCache = solver.getUnsatCache();
+    CacheStats unsatCacheStats = unsatCache.getStats();
+    if (unsatCacheStats.requestCount() > 0) {
+      out.println("  cache hit rate:                  " + toPercent(unsatCacheStats.hitCount(), unsatCacheStats.requestCount()));
+      out.println("  cache size:                      " + unsatCache.getSize() + " (" + unsatCacheStats.evictionCount() + " evicted)");
+    }
+    if (unsatCache.isPersistent()) {
+      out.println("  from persistent cache:           " + unsatCache.getPersistentHits() + " (of " + unsatCache.getLoadedPersistentEntries() + " loaded entries)");
+    }
+    solver.printSolverPoolStatistics(out);
     out.println();
     out.println("Max ABE block size:                       " + prec.maxBlockSize);
     out.println("Number of predicates discovered:          " + allDistinctPreds);
@@ -325,6 +354,11 @@ class PredicateCPAStatistics extends AbstractStatistics {
         out.println("  Total number of models for allsat:      " + as.allSatCount);
         out.println("  Max number of models for allsat:        " + as.maxAllSatCount);
         out.println("  Avg number of models for allsat:        " + div(as.allSatCount, as.booleanAbstractionTime.getNumberOfIntervals()));
+        if (as.parallelBooleanAbstractionTime.getNumberOfIntervals() > 0) {
+          out.println("  Number of parallel boolean abs:         " + as.parallelBooleanAbstractionTime.getNumberOfIntervals());
+          out.println("  Avg number of partitions in parallel:   " + div(as.numParallelAbstractionPartitions, as.parallelBooleanAbstractionTime.getNumberOfIntervals()));
+          out.println("  Max number of partitions in parallel:   " + as.maxParallelAbstractionPartitions);
+        }
       }
     }
     out.println();
@@ -333,6 +367,9 @@ class PredicateCPAStatistics extends AbstractStatistics {
       int totalPathFormulaComputations = pfMgr.pathFormulaComputationTimer.getNumberOfIntervals() + pathFormulaCacheHits;
       out.println("Number of path formula cache hits:   " + pathFormulaCacheHits + " (" + toPercent(pathFormulaCacheHits, totalPathFormulaComputations) + ")");
     }
+    if (basePfMgr instanceof PathFormulaManagerImpl) {
+      printCacheStatistics(out, "SSAMap merge cache:                  ", ((PathFormulaManagerImpl)basePfMgr).getSSAMergeCacheStats());
+    }
 
     out.println();
 
@@ -360,6 +397,12 @@ class PredicateCPAStatistics extends AbstractStatistics {
       if (as.booleanAbstractionTime.getNumberOfIntervals() > 0) {
         out.println("    Boolean abstraction:             " + as.booleanAbstractionTime);
       }
+      if (as.parallelBooleanAbstractionTime.getNumberOfIntervals() > 0) {
+        out.println("    Parallel boolean abstraction:    " + as.parallelBooleanAbstractionTime);
+        out.println("      Solving time of partitions:    " + TimeSpan.ofMillis(as.parallelAbstractionSolveMillis).formatAs(SECONDS));
+        out.println("      Enum. time of partitions:      " + TimeSpan.ofMillis(as.parallelAbstractionEnumMillis).formatAs(SECONDS));
+        out.println("      BDD time of partitions:        " + TimeSpan.ofMillis(as.parallelAbstractionBddMillis).formatAs(SECONDS));
+      }
       if (as.abstractionReuseTime.getNumberOfIntervals() > 0) {
         out.println("    Abstraction reuse:              " + as.abstractionReuseTime);
         out.println("    Abstraction reuse implication:  " + as.abstractionReuseImplicationTime);
@@ -0,0 +1,48 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.smg;
+
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.util.test.TransferRelationBenchmark;
+
+/**
+ * Microbenchmark for the transfer relation of the SMGCPA.
+ */
+public class SMGTransferRelationBenchmark extends TransferRelationBenchmark {
+
+  @Override
+  protected String getConfigFile() {
+    return "config/smg.properties";
+  }
+
+  @Override
+  protected String getProgram() {
+    return "test/programs/smg_Explicity_Test/lists/list-ext_1_true-unreach-label.c";
+  }
+
+  @Override
+  protected Class<? extends ConfigurableProgramAnalysis> getCPAClass() {
+    return SMGCPA.class;
+  }
+}
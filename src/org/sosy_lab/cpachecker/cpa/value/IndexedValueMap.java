@@ -0,0 +1,429 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.value;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
+import org.sosy_lab.common.collect.PersistentMap;
+import org.sosy_lab.cpachecker.cpa.value.type.NumericValue;
+import org.sosy_lab.cpachecker.cpa.value.type.Value;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Persistent map from memory locations to values that is more compact
+ * than a {@link PathCopyingPersistentTreeMap} for states with many variables.
+ *
+ * The memory locations are replaced by dense integer ids from a {@link MemoryLocationIndex},
+ * and the map is a trie over these ids with 32 children per node
+ * (bitmap-compressed, so that absent ids do not need space).
+ * Updates copy only the path from the root to the changed leaf.
+ * Numeric values that hold a {@link Long} are stored as primitive longs.
+ * This means that {@link #get(Object)} returns a new {@link NumericValue} instance
+ * for such values, which is equal to the one that was put into the map.
+ *
+ * The iteration order is the order of the ids.
+ * All instances that are created from the same empty map share the same index.
+ */
+final class IndexedValueMap extends AbstractMap<MemoryLocation, Value>
+    implements PersistentMap<MemoryLocation, Value>, Serializable {
+
+  private static final long serialVersionUID = 6142758314307751049L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int MAX_DEPTH = (Integer.SIZE + BITS - 1) / BITS;
+
+  private static final long[] EMPTY_NUMBERS = new long[0];
+  private static final Value[] EMPTY_VALUES = new Value[0];
+  private static final Object[] EMPTY_CHILDREN = new Object[0];
+
+  private final transient MemoryLocationIndex index;
+  private final transient @Nullable Object root; // null, Node, or Leaf (iff shift == 0)
+  private final transient int shift; // shift for the slot of an id in the root node
+  private final transient int size;
+  private transient int hashCode = 0; // cache, 0 if not computed yet
+
+  private IndexedValueMap(MemoryLocationIndex pIndex, @Nullable Object pRoot, int pShift, int pSize) {
+    index = pIndex;
+    root = pRoot;
+    shift = pShift;
+    size = pSize;
+  }
+
+  static IndexedValueMap empty(MemoryLocationIndex pIndex) {
+    return new IndexedValueMap(checkNotNull(pIndex), null, 0, 0);
+  }
+
+  /**
+   * Return an empty map that uses the same index as this map.
+   */
+  IndexedValueMap empty() {
+    return isEmpty() ? this : empty(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object pKey) {
+    return get(pKey) != null;
+  }
+
+  @Override
+  public @Nullable Value get(@Nullable Object pKey) {
+    int id = index.getIdIfPresent(pKey);
+    if (id < 0 || !isInRange(id, shift)) {
+      return null;
+    }
+    Object node = root;
+    for (int s = shift; node != null && s > 0; s -= BITS) {
+      node = ((Node)node).getChild((id >>> s) & MASK);
+    }
+    return node == null ? null : ((Leaf)node).get(id & MASK);
+  }
+
+  @Override
+  public IndexedValueMap putAndCopy(MemoryLocation pKey, Value pValue) {
+    checkNotNull(pValue);
+    int id = index.getId(pKey);
+    Value oldValue = get(pKey);
+    if (pValue.equals(oldValue)) {
+      return this;
+    }
+
+    Object newRoot = root;
+    int newShift = shift;
+    while (!isInRange(id, newShift)) {
+      if (newRoot != null) {
+        newRoot = Node.EMPTY.with(0, newRoot);
+      }
+      newShift += BITS;
+    }
+    newRoot = put(newRoot, newShift, id, pValue);
+    return new IndexedValueMap(index, newRoot, newShift, oldValue == null ? size + 1 : size);
+  }
+
+  @Override
+  public IndexedValueMap removeAndCopy(@Nullable Object pKey) {
+    if (!containsKey(pKey)) {
+      return this;
+    }
+    int id = index.getIdIfPresent(pKey);
+    return new IndexedValueMap(index, remove(root, shift, id), shift, size - 1);
+  }
+
+  private static boolean isInRange(int id, int pShift) {
+    return pShift + BITS >= Integer.SIZE || (id >>> (pShift + BITS)) == 0;
+  }
+
+  private static Object put(@Nullable Object node, int pShift, int id, Value value) {
+    int slot = (id >>> pShift) & MASK;
+    if (pShift == 0) {
+      Leaf leaf = (node == null) ? Leaf.EMPTY : (Leaf)node;
+      return leaf.with(slot, value);
+    }
+    Node inner = (node == null) ? Node.EMPTY : (Node)node;
+    return inner.with(slot, put(inner.getChild(slot), pShift - BITS, id, value));
+  }
+
+  /** Remove an id that is present in the map, returns null if the node becomes empty. */
+  private static @Nullable Object remove(Object node, int pShift, int id) {
+    int slot = (id >>> pShift) & MASK;
+    if (pShift == 0) {
+      Leaf leaf = ((Leaf)node).without(slot);
+      return leaf.present == 0 ? null : leaf;
+    }
+    Node inner = (Node)node;
+    Object child = remove(inner.getChild(slot), pShift - BITS, id);
+    inner = (child == null) ? inner.without(slot) : inner.with(slot, child);
+    return inner.bitmap == 0 ? null : inner;
+  }
+
+  private static int indexOf(int bitmap, int bit) {
+    return Integer.bitCount(bitmap & (bit - 1));
+  }
+
+  private static boolean isLong(Value value) {
+    return value instanceof NumericValue && ((NumericValue)value).getNumber() instanceof Long;
+  }
+
+  /**
+   * Inner node of the trie, with one child for each bit in the bitmap.
+   */
+  private static final class Node {
+
+    private static final Node EMPTY = new Node(0, EMPTY_CHILDREN);
+
+    private final int bitmap;
+    private final Object[] children;
+
+    private Node(int pBitmap, Object[] pChildren) {
+      bitmap = pBitmap;
+      children = pChildren;
+    }
+
+    private @Nullable Object getChild(int slot) {
+      int bit = 1 << slot;
+      return (bitmap & bit) == 0 ? null : children[indexOf(bitmap, bit)];
+    }
+
+    private Node with(int slot, Object child) {
+      int bit = 1 << slot;
+      int pos = indexOf(bitmap, bit);
+      Object[] newChildren;
+      if ((bitmap & bit) != 0) {
+        newChildren = children.clone();
+      } else {
+        newChildren = new Object[children.length + 1];
+        System.arraycopy(children, 0, newChildren, 0, pos);
+        System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+      }
+      newChildren[pos] = child;
+      return new Node(bitmap | bit, newChildren);
+    }
+
+    private Node without(int slot) {
+      int bit = 1 << slot;
+      int pos = indexOf(bitmap, bit);
+      Object[] newChildren = new Object[children.length - 1];
+      System.arraycopy(children, 0, newChildren, 0, pos);
+      System.arraycopy(children, pos + 1, newChildren, pos, newChildren.length - pos);
+      return new Node(bitmap & ~bit, newChildren);
+    }
+  }
+
+  /**
+   * Leaf of the trie with the values for 32 consecutive ids.
+   * Long values are stored in a separate primitive array.
+   */
+  private static final class Leaf {
+
+    private static final Leaf EMPTY = new Leaf(0, 0, EMPTY_NUMBERS, EMPTY_VALUES);
+
+    private final int present; // bit set iff slot has a value
+    private final int primitive; // bit set iff slot has a value in numbers
+    private final long[] numbers; // one entry per bit in primitive
+    private final Value[] values; // one entry per bit in (present & ~primitive)
+
+    private Leaf(int pPresent, int pPrimitive, long[] pNumbers, Value[] pValues) {
+      present = pPresent;
+      primitive = pPrimitive;
+      numbers = pNumbers;
+      values = pValues;
+    }
+
+    private @Nullable Value get(int slot) {
+      int bit = 1 << slot;
+      if ((present & bit) == 0) {
+        return null;
+      } else if ((primitive & bit) != 0) {
+        return new NumericValue(numbers[indexOf(primitive, bit)]);
+      } else {
+        return values[indexOf(present & ~primitive, bit)];
+      }
+    }
+
+    private Leaf with(int slot, Value value) {
+      Leaf leaf = ((present & (1 << slot)) == 0) ? this : without(slot);
+      int bit = 1 << slot;
+
+      if (isLong(value)) {
+        long number = ((NumericValue)value).longValue();
+        int pos = indexOf(leaf.primitive, bit);
+        long[] newNumbers = new long[leaf.numbers.length + 1];
+        System.arraycopy(leaf.numbers, 0, newNumbers, 0, pos);
+        System.arraycopy(leaf.numbers, pos, newNumbers, pos + 1, leaf.numbers.length - pos);
+        newNumbers[pos] = number;
+        return new Leaf(leaf.present | bit, leaf.primitive | bit, newNumbers, leaf.values);
+
+      } else {
+        int pos = indexOf(leaf.present & ~leaf.primitive, bit);
+        Value[] newValues = new Value[leaf.values.length + 1];
+        System.arraycopy(leaf.values, 0, newValues, 0, pos);
+        System.arraycopy(leaf.values, pos, newValues, pos + 1, leaf.values.length - pos);
+        newValues[pos] = value;
+        return new Leaf(leaf.present | bit, leaf.primitive, leaf.numbers, newValues);
+      }
+    }
+
+    private Leaf without(int slot) {
+      int bit = 1 << slot;
+      if ((primitive & bit) != 0) {
+        int pos = indexOf(primitive, bit);
+        long[] newNumbers = new long[numbers.length - 1];
+        System.arraycopy(numbers, 0, newNumbers, 0, pos);
+        System.arraycopy(numbers, pos + 1, newNumbers, pos, newNumbers.length - pos);
+        return new Leaf(present & ~bit, primitive & ~bit, newNumbers, values);
+
+      } else {
+        int pos = indexOf(present & ~primitive, bit);
+        Value[] newValues = new Value[values.length - 1];
+        System.arraycopy(values, 0, newValues, 0, pos);
+        System.arraycopy(values, pos + 1, newValues, pos, newValues.length - pos);
+        return new Leaf(present & ~bit, primitive, numbers, newValues);
+      }
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<MemoryLocation, Value>> entrySet() {
+    return new AbstractSet<Map.Entry<MemoryLocation, Value>>() {
+      @Override
+      public Iterator<Map.Entry<MemoryLocation, Value>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Iterator over all entries in the order of their ids,
+   * keeping the path to the current leaf on an explicit stack.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<MemoryLocation, Value>> {
+
+    private final Node[] nodes = new Node[MAX_DEPTH];
+    private final int[] remainingSlots = new int[MAX_DEPTH]; // bitmaps of unvisited children
+    private final int[] baseIds = new int[MAX_DEPTH];
+    private int depth = -1; // index of top of stack
+
+    private @Nullable Leaf leaf = null;
+    private int remainingLeafSlots = 0;
+    private int leafBaseId = 0;
+
+    private EntryIterator() {
+      if (root instanceof Leaf) {
+        enterLeaf((Leaf)root, 0);
+      } else if (root != null) {
+        push((Node)root, 0);
+      }
+    }
+
+    private void push(Node node, int baseId) {
+      depth++;
+      nodes[depth] = node;
+      remainingSlots[depth] = node.bitmap;
+      baseIds[depth] = baseId;
+    }
+
+    private void enterLeaf(Leaf pLeaf, int baseId) {
+      leaf = pLeaf;
+      remainingLeafSlots = pLeaf.present;
+      leafBaseId = baseId;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (remainingLeafSlots == 0) {
+        if (depth < 0) {
+          return false;
+        }
+        int slots = remainingSlots[depth];
+        if (slots == 0) {
+          depth--;
+          continue;
+        }
+        int slot = Integer.numberOfTrailingZeros(slots);
+        remainingSlots[depth] = slots & (slots - 1);
+
+        int childShift = shift - depth * BITS - BITS;
+        int childBaseId = baseIds[depth] | (slot << (childShift + BITS));
+        Object child = nodes[depth].getChild(slot);
+        if (childShift == 0) {
+          enterLeaf((Leaf)child, childBaseId);
+        } else {
+          push((Node)child, childBaseId);
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public Map.Entry<MemoryLocation, Value> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int slot = Integer.numberOfTrailingZeros(remainingLeafSlots);
+      remainingLeafSlots &= remainingLeafSlots - 1;
+      return Maps.immutableEntry(index.getLocation(leafBaseId | slot), leaf.get(slot));
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Override
+  public boolean equals(@Nullable Object pOther) {
+    if (pOther instanceof IndexedValueMap) {
+      IndexedValueMap other = (IndexedValueMap)pOther;
+      if (root == other.root && index == other.index) {
+        return true;
+      }
+      if (size != other.size || hashCode() != other.hashCode()) {
+        return false;
+      }
+    }
+    return super.equals(pOther);
+  }
+
+  @Override
+  public int hashCode() {
+    if (hashCode == 0) {
+      hashCode = super.hashCode();
+    }
+    return hashCode;
+  }
+
+  /**
+   * Serialize as a regular persistent map, because the ids are only valid for this analysis.
+   */
+  private Object writeReplace() {
+    PersistentMap<MemoryLocation, Value> result = PathCopyingPersistentTreeMap.of();
+    for (Map.Entry<MemoryLocation, Value> entry : entrySet()) {
+      result = result.putAndCopy(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+}
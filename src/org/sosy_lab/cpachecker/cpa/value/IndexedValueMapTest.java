@@ -0,0 +1,91 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.value;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
+import org.sosy_lab.common.collect.PersistentMap;
+import org.sosy_lab.cpachecker.cpa.value.type.NumericValue;
+import org.sosy_lab.cpachecker.cpa.value.type.Value;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+import com.google.common.collect.ImmutableMap;
+
+public class IndexedValueMapTest {
+
+  private static final MemoryLocation X = MemoryLocation.valueOf("main", "x", 0);
+  private static final MemoryLocation Y = MemoryLocation.valueOf("main", "y", 0);
+
+  @Test
+  public void testPersistence() {
+    IndexedValueMap empty = IndexedValueMap.empty(new MemoryLocationIndex());
+    IndexedValueMap withX = empty.putAndCopy(X, new NumericValue(1L));
+    IndexedValueMap withXY = withX.putAndCopy(Y, new NumericValue(BigInteger.TEN));
+
+    assertThat(empty).isEmpty();
+    assertThat(withX).isEqualTo(ImmutableMap.of(X, new NumericValue(1L)));
+    assertThat(withXY).isEqualTo(ImmutableMap.of(X, new NumericValue(1L), Y, new NumericValue(BigInteger.TEN)));
+    assertThat(withXY.removeAndCopy(Y)).isEqualTo(withX);
+    assertThat(withXY.removeAndCopy(X).removeAndCopy(Y)).isEqualTo(empty);
+    assertThat(withX.putAndCopy(X, new NumericValue(1L))).isSameAs(withX);
+  }
+
+  @Test
+  public void testSameAsTreeMap() {
+    Random random = new Random(0);
+    MemoryLocationIndex index = new MemoryLocationIndex();
+    PersistentMap<MemoryLocation, Value> indexedMap = IndexedValueMap.empty(index);
+    PersistentMap<MemoryLocation, Value> treeMap = PathCopyingPersistentTreeMap.of();
+
+    for (int i = 0; i < 10000; i++) {
+      MemoryLocation key = MemoryLocation.valueOf("main", "v" + random.nextInt(2000), 0);
+      if (random.nextInt(4) == 0) {
+        indexedMap = indexedMap.removeAndCopy(key);
+        treeMap = treeMap.removeAndCopy(key);
+      } else {
+        // mix of primitive and boxed values
+        Value value = random.nextBoolean()
+            ? new NumericValue((long)random.nextInt(10))
+            : new NumericValue(random.nextInt(10));
+        indexedMap = indexedMap.putAndCopy(key, value);
+        treeMap = treeMap.putAndCopy(key, value);
+      }
+      assertThat(indexedMap.size()).isEqualTo(treeMap.size());
+    }
+
+    assertThat(indexedMap).isEqualTo(treeMap);
+    assertThat(indexedMap.hashCode()).isEqualTo(treeMap.hashCode());
+    assertThat(new HashMap<>(indexedMap)).isEqualTo(new HashMap<>(treeMap));
+    for (Map.Entry<MemoryLocation, Value> entry : treeMap.entrySet()) {
+      assertThat(indexedMap.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+}
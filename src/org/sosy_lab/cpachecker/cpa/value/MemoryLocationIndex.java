@@ -0,0 +1,109 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.value;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import org.sosy_lab.cpachecker.util.VariableClassification;
+import org.sosy_lab.cpachecker.util.VariableClassification.Partition;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+/**
+ * Assigns dense integer ids to memory locations,
+ * which are used as keys by {@link IndexedValueMap}.
+ * Ids are never removed, so one instance should be used for one analysis only.
+ * This class is thread-safe.
+ */
+final class MemoryLocationIndex {
+
+  private final ConcurrentMap<MemoryLocation, Integer> ids = new ConcurrentHashMap<>();
+
+  // only written while holding the lock
+  private volatile MemoryLocation[] locations = new MemoryLocation[64];
+
+  @GuardedBy("this")
+  private int size = 0;
+
+  /**
+   * Create an index that contains all variables of the program.
+   * Variables of the same partition get neighboring ids,
+   * because they are typically tracked together
+   * and thus end up in the same nodes of {@link IndexedValueMap}.
+   */
+  static MemoryLocationIndex forVariables(VariableClassification pVarClassification) {
+    MemoryLocationIndex index = new MemoryLocationIndex();
+    for (Partition partition : pVarClassification.getPartitions()) {
+      for (String variable : partition.getVars()) {
+        index.getId(MemoryLocation.valueOf(variable));
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Get the id of a memory location, assigning a fresh one if necessary.
+   */
+  int getId(MemoryLocation pLocation) {
+    Integer id = ids.get(pLocation);
+    if (id != null) {
+      return id;
+    }
+    return assignId(checkNotNull(pLocation));
+  }
+
+  private synchronized int assignId(MemoryLocation pLocation) {
+    Integer id = ids.get(pLocation);
+    if (id != null) {
+      return id;
+    }
+    if (size == locations.length) {
+      locations = Arrays.copyOf(locations, 2 * size);
+    }
+    locations[size] = pLocation;
+    ids.put(pLocation, size);
+    return size++;
+  }
+
+  /**
+   * Get the id of a memory location, or -1 if it has none.
+   */
+  int getIdIfPresent(Object pLocation) {
+    Integer id = ids.get(pLocation);
+    return id == null ? -1 : id;
+  }
+
+  MemoryLocation getLocation(int pId) {
+    return locations[pId];
+  }
+
+  int size() {
+    return ids.size();
+  }
+}
@@ -32,6 +32,9 @@ import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
+import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -42,6 +45,7 @@ import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cfa.types.Type;
 import org.sosy_lab.cpachecker.core.ShutdownNotifier;
 import org.sosy_lab.cpachecker.core.counterexample.ConcreteStatePath;
 import org.sosy_lab.cpachecker.core.defaults.AutomaticCPAFactory;
@@ -93,6 +97,12 @@ public class ValueAnalysisCPA implements ConfigurableProgramAnalysisWithBAM, Sta
   @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
   private Path initialPrecisionFile = null;
 
+  @Option(secure=true, description="store the values of abstract states in a compact representation "
+      + "that identifies variables by integer ids and stores explicit numbers as primitive values, "
+      + "which needs less memory for programs with many variables "
+      + "(variables are iterated in a different order in this case)")
+  private boolean compactStates = false;
+
   public static CPAFactory factory() {
     return AutomaticCPAFactory.forType(ValueAnalysisCPA.class);
   }
@@ -105,6 +115,7 @@ public class ValueAnalysisCPA implements ConfigurableProgramAnalysisWithBAM, Sta
   private ValueAnalysisPrecisionAdjustment precisionAdjustment;
   private final ValueAnalysisReducer reducer;
   private final ValueAnalysisCPAStatistics statistics;
+  private final @Nullable MemoryLocationIndex memoryLocationIndex;
 
   private final Configuration config;
   private final LogManager logger;
@@ -128,6 +139,14 @@ public class ValueAnalysisCPA implements ConfigurableProgramAnalysisWithBAM, Sta
 
     precisionAdjustment = new ValueAnalysisPrecisionAdjustment(config, cfa);
 
+    if (!compactStates) {
+      memoryLocationIndex = null;
+    } else if (cfa.getVarClassification().isPresent()) {
+      memoryLocationIndex = MemoryLocationIndex.forVariables(cfa.getVarClassification().get());
+    } else {
+      memoryLocationIndex = new MemoryLocationIndex();
+    }
+
     reducer             = new ValueAnalysisReducer();
     statistics          = new ValueAnalysisCPAStatistics(this, config);
   }
@@ -247,6 +266,10 @@ public class ValueAnalysisCPA implements ConfigurableProgramAnalysisWithBAM, Sta
 
   @Override
   public AbstractState getInitialState(CFANode pNode, StateSpacePartition pPartition) {
+    if (memoryLocationIndex != null) {
+      return new ValueAnalysisState(IndexedValueMap.empty(memoryLocationIndex),
+          PathCopyingPersistentTreeMap.<MemoryLocation, Type>of());
+    }
     return new ValueAnalysisState();
   }
 
@@ -268,6 +291,10 @@ public class ValueAnalysisCPA implements ConfigurableProgramAnalysisWithBAM, Sta
     return config;
   }
 
+  @Nullable MemoryLocationIndex getMemoryLocationIndex() {
+    return memoryLocationIndex;
+  }
+
   public LogManager getLogger() {
     return logger;
   }
@@ -36,10 +36,12 @@ import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.io.Files;
 import org.sosy_lab.common.io.Path;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.defaults.StopSepOperator;
 import org.sosy_lab.cpachecker.core.defaults.VariableTrackingPrecision;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.WrapperPrecision;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.util.AbstractStates;
@@ -83,6 +85,16 @@ public class ValueAnalysisCPAStatistics implements Statistics {
     writer.put(numberOfVariables);
     writer.put(numberOfGlobalVariables);
 
+    MemoryLocationIndex memoryLocationIndex = cpa.getMemoryLocationIndex();
+    if (memoryLocationIndex != null) {
+      writer.put("Number of indexed memory locations", memoryLocationIndex.size());
+    }
+
+    StopOperator stopOperator = cpa.getStopOperator();
+    if (stopOperator instanceof StopSepOperator) {
+      ((StopSepOperator)stopOperator).printStatistics(writer);
+    }
+
     if (precisionFile != null) {
       exportPrecision(reached);
     }
@@ -45,6 +45,7 @@ import org.sosy_lab.cpachecker.core.defaults.LatticeAbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.AbstractQueryableState;
 import org.sosy_lab.cpachecker.core.interfaces.FormulaReportingState;
 import org.sosy_lab.cpachecker.core.interfaces.Graphable;
+import org.sosy_lab.cpachecker.core.interfaces.Subsumable;
 import org.sosy_lab.cpachecker.cpa.constraints.LessOrEqualOperator;
 import org.sosy_lab.cpachecker.cpa.value.refiner.ValueAnalysisInterpolant;
 import org.sosy_lab.cpachecker.cpa.value.symbolic.type.ConstantSymbolicExpression;
@@ -67,7 +68,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Multimap;
 
 public class ValueAnalysisState implements AbstractQueryableState, FormulaReportingState, Serializable, Graphable,
-    LatticeAbstractState<ValueAnalysisState> {
+    LatticeAbstractState<ValueAnalysisState>, Subsumable {
 
   private static final long serialVersionUID = -3152134511524554357L;
 
@@ -92,6 +93,13 @@ public class ValueAnalysisState implements AbstractQueryableState, FormulaReport
    */
   private PersistentMap<SymbolicIdentifier, Value> identifierMap = PathCopyingPersistentTreeMap.of();
 
+  /**
+   * Cache for {@link #getSubsumptionSummary()}, valid as long as constantsMap is identical
+   * to summarizedConstantsMap (every modification creates a new persistent map).
+   */
+  private transient PersistentMap<MemoryLocation, Value> summarizedConstantsMap = null;
+  private transient long subsumptionSummary = 0;
+
   public ValueAnalysisState() {
     constantsMap = PathCopyingPersistentTreeMap.of();
   }
@@ -313,6 +321,26 @@ public class ValueAnalysisState implements AbstractQueryableState, FormulaReport
     return constantsMap.size();
   }
 
+  /**
+   * The summary of this state is the set of (hashed) memory locations that have a value,
+   * because a state can only be less or equal than another state
+   * if it has a value for all memory locations that the other state has a value for.
+   */
+  @Override
+  public long getSubsumptionSummary() {
+    if (summarizedConstantsMap != constantsMap) {
+      long summary = 0;
+      for (MemoryLocation memoryLocation : constantsMap.keySet()) {
+        int hash = memoryLocation.hashCode();
+        // the shift uses only the lowest 6 bits, so mix in the higher bits
+        summary |= 1L << (hash ^ (hash >>> 6) ^ (hash >>> 12));
+      }
+      subsumptionSummary = summary;
+      summarizedConstantsMap = constantsMap;
+    }
+    return subsumptionSummary;
+  }
+
   /**
    * This method determines the number of global variables contained in this state.
    *
@@ -330,6 +358,16 @@ public class ValueAnalysisState implements AbstractQueryableState, FormulaReport
     return numberOfGlobalVariables;
   }
 
+  /**
+   * Return an empty map of the same kind as the map of this state.
+   */
+  private PersistentMap<MemoryLocation, Value> emptyConstantsMap() {
+    if (constantsMap instanceof IndexedValueMap) {
+      return ((IndexedValueMap)constantsMap).empty();
+    }
+    return PathCopyingPersistentTreeMap.of();
+  }
+
   /**
    * This element joins this element with another element.
    *
@@ -338,7 +376,7 @@ public class ValueAnalysisState implements AbstractQueryableState, FormulaReport
    */
   @Override
   public ValueAnalysisState join(ValueAnalysisState reachedState) {
-    PersistentMap<MemoryLocation, Value> newConstantsMap = PathCopyingPersistentTreeMap.of();
+    PersistentMap<MemoryLocation, Value> newConstantsMap = emptyConstantsMap();
     PersistentMap<MemoryLocation, Type> newlocToTypeMap = PathCopyingPersistentTreeMap.of();
 
     for (Map.Entry<MemoryLocation, Value> otherEntry : reachedState.constantsMap.entrySet()) {
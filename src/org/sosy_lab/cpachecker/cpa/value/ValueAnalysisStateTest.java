@@ -0,0 +1,57 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.cpa.value;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
+import org.sosy_lab.cpachecker.cpa.value.type.NumericValue;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+public class ValueAnalysisStateTest {
+
+  private static final MemoryLocation X = MemoryLocation.valueOf("main", "x", 0);
+  private static final MemoryLocation Y = MemoryLocation.valueOf("main", "y", 0);
+
+  @Test
+  public void testSubsumptionSummary() {
+    ValueAnalysisState smaller = new ValueAnalysisState();
+    smaller.assignConstant(X, new NumericValue(1), CNumericTypes.INT);
+    smaller.assignConstant(Y, new NumericValue(2), CNumericTypes.INT);
+
+    ValueAnalysisState bigger = ValueAnalysisState.copyOf(smaller);
+    bigger.forget(Y);
+
+    assertThat(smaller.isLessOrEqual(bigger)).isTrue();
+    assertThat(bigger.getSubsumptionSummary() & ~smaller.getSubsumptionSummary()).isEqualTo(0L);
+
+    // the cached summary needs to be updated if the state is changed
+    long summary = bigger.getSubsumptionSummary();
+    bigger.forget(X);
+    assertThat(bigger.getSubsumptionSummary()).isEqualTo(0L);
+    bigger.assignConstant(X, new NumericValue(1), CNumericTypes.INT);
+    assertThat(bigger.getSubsumptionSummary()).isEqualTo(summary);
+  }
+}
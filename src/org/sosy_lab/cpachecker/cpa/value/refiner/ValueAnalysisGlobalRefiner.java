@@ -91,9 +91,8 @@ public class ValueAnalysisGlobalRefiner extends ValueAnalysisRefiner {
    */
   @Override
   protected FluentIterable<ARGState> extractTargetStatesFromArg(final ARGReachedSet pReached) {
-    return from(pReached.asReachedSet())
-        .transform(AbstractStates.toState(ARGState.class))
-        .filter(AbstractStates.IS_TARGET_STATE);
+    return from(pReached.asReachedSet().getTargetStates())
+        .transform(AbstractStates.toState(ARGState.class));
   }
 }
 
@@ -444,9 +444,8 @@ public class ValueAnalysisImpactRefiner implements UnsoundRefiner, StatisticsPro
   }
 
   private List<ARGState> getErrorStates(final ReachedSet pReached) {
-    List<ARGState> targets = from(pReached)
+    List<ARGState> targets = from(pReached.getTargetStates())
         .transform(AbstractStates.toState(ARGState.class))
-        .filter(AbstractStates.IS_TARGET_STATE)
         .toList();
 
     assert !targets.isEmpty();
@@ -38,7 +38,6 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
-import org.sosy_lab.common.Triple;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.IntegerOption;
@@ -78,6 +77,23 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
   @IntegerOption(min=1)
   protected int numThreads = 1;
 
+  public static enum ProofFileFormat {
+    /** compressed zip file, parts of the proof can only be read sequentially */
+    ZIP,
+    /** uncompressed file with an index of all parts of the proof (cf. {@link IndexedProofFile}) */
+    INDEXED
+  }
+
+  @Option(secure=true,
+      name = "proofFormat",
+      description = "format of the proof file: ZIP for a compressed file, "
+          + "INDEXED for an uncompressed file with an index of all parts of the proof, "
+          + "which allows to read the parts (e.g., partitions) directly and concurrently")
+  protected ProofFileFormat proofFormat = ProofFileFormat.ZIP;
+
+  // lazily initialized when reading an indexed proof
+  private IndexedProofFile indexedProof = null;
+
   public AbstractStrategy(Configuration pConfig, LogManager pLogger) throws InvalidConfigurationException {
     pConfig.inject(this, AbstractStrategy.class);
     numThreads = Math.max(1, numThreads);
@@ -90,6 +106,10 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
   @Override
   @SuppressFBWarnings(value="OS_OPEN_STREAM", justification="Do not close stream o because it wraps stream zos/fos which need to remain open and would be closed if o.close() is called.")
   public void writeProof(UnmodifiableReachedSet pReached) {
+    if (proofFormat == ProofFileFormat.INDEXED) {
+      writeIndexedProof(pReached);
+      return;
+    }
 
     OutputStream fos = null;
     try {
@@ -148,12 +168,57 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
     }
   }
 
+  private void writeIndexedProof(UnmodifiableReachedSet pReached) {
+    try (IndexedProofFile.Writer writer = new IndexedProofFile.Writer(file)) {
+      ObjectOutputStream o = new ObjectOutputStream(writer.newSection());
+      writeProofToStream(o, pReached);
+      o.flush();
+
+      // write additional proof information
+      boolean continueWriting;
+      do {
+        o = new ObjectOutputStream(writer.newSection());
+        continueWriting = writeAdditionalProofStream(o);
+        o.flush();
+      } while (continueWriting);
+
+      // write helper storages
+      o = new ObjectOutputStream(writer.newSection());
+      int numberOfStorages = GlobalInfo.getInstance().getNumberOfHelperStorages();
+      o.writeInt(numberOfStorages);
+      for (int i = 0; i < numberOfStorages; ++i) {
+        o.writeObject(GlobalInfo.getInstance().getHelperStorage(i));
+      }
+      o.flush();
+
+    } catch (NotSerializableException eS) {
+      logger.log(Level.SEVERE, "Proof cannot be written. Class " + eS.getMessage() + " does not implement Serializable interface");
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } catch (InvalidConfigurationException e) {
+      logger.log(Level.SEVERE, "Proof cannot be constructed due to conflicting configuration.", e.getMessage());
+    } catch (InterruptedException e) {
+      logger.log(Level.SEVERE, "Proof cannot be written due to time out during proof construction");
+    }
+  }
+
   protected abstract void writeProofToStream(ObjectOutputStream out, UnmodifiableReachedSet reached)
       throws IOException, InvalidConfigurationException, InterruptedException;
 
 
   @Override
   public void readProof() throws IOException, ClassNotFoundException, InvalidConfigurationException {
+    if (proofFormat == ProofFileFormat.INDEXED) {
+      IndexedProofFile proof = getIndexedProof();
+      // helper storages are stored in the last section
+      try (ObjectInputStream o = proof.openObjectSection(proof.getNumberOfSections() - 1)) {
+        readHelperStorages(o);
+      }
+      try (ObjectInputStream o = openProofStream()) {
+        readProofFromStream(o);
+      }
+      return;
+    }
 
     InputStream fis = null;
     try {
@@ -171,23 +236,16 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
 
       assert entry.getName().equals("Helper");
       ObjectInputStream o = new ObjectInputStream(zis);
-      //read helper storages
-      int numberOfStorages = o.readInt();
-      for (int i = 0; i < numberOfStorages; ++i) {
-        Serializable storage = (Serializable) o.readObject();
-        GlobalInfo.getInstance().addHelperStorage(storage);
-      }
+      readHelperStorages(o);
       zis.closeEntry();
 
       o.close();
       zis.close();
       fis.close();
 
-      Triple<InputStream, ZipInputStream, ObjectInputStream> proofStream = openProofStream();
-      readProofFromStream(proofStream.getThird());
-      proofStream.getThird().close();
-      proofStream.getSecond().close();
-      proofStream.getFirst().close();
+      ObjectInputStream proofStream = openProofStream();
+      readProofFromStream(proofStream);
+      proofStream.close();
     } finally {
       if (fis != null) {
         fis.close();
@@ -195,21 +253,59 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
     }
   }
 
+  private void readHelperStorages(ObjectInputStream o) throws IOException, ClassNotFoundException {
+    int numberOfStorages = o.readInt();
+    for (int i = 0; i < numberOfStorages; ++i) {
+      Serializable storage = (Serializable) o.readObject();
+      GlobalInfo.getInstance().addHelperStorage(storage);
+    }
+  }
+
+  private synchronized IndexedProofFile getIndexedProof() throws IOException {
+    if (indexedProof == null) {
+      indexedProof = IndexedProofFile.read(file);
+      if (indexedProof.getNumberOfSections() < 2) {
+        throw new IOException("Proof file " + file + " does not contain a complete proof.");
+      }
+    }
+    return indexedProof;
+  }
+
   protected boolean writeAdditionalProofStream(final ObjectOutputStream pOut) throws IOException {
     return false;
   }
 
-  protected Triple<InputStream, ZipInputStream, ObjectInputStream> openProofStream() throws IOException {
+  /**
+   * Open the stream with the main part of the proof.
+   * Closing the returned stream closes all underlying streams.
+   */
+  protected ObjectInputStream openProofStream() throws IOException {
+    if (proofFormat == ProofFileFormat.INDEXED) {
+      return getIndexedProof().openObjectSection(0);
+    }
     InputStream fis = file.asByteSource().openStream();
     ZipInputStream zis = new ZipInputStream(fis);
     ZipEntry entry = zis.getNextEntry();
     assert entry.getName().equals("Proof");
-    return Triple.of(fis, zis, new ObjectInputStream(zis));
+    return new ObjectInputStream(zis);
   }
 
-  public Triple<InputStream, ZipInputStream, ObjectInputStream> openAdditionalProofStream(final int index)
+  /**
+   * Open the stream with an additional part of the proof.
+   * This method may be called concurrently.
+   * Closing the returned stream closes all underlying streams.
+   */
+  public ObjectInputStream openAdditionalProofStream(final int index)
       throws IOException {
     if (index < 0) { throw new IllegalArgumentException("Not a valid index. Indices must be at least zero."); }
+    if (proofFormat == ProofFileFormat.INDEXED) {
+      IndexedProofFile proof = getIndexedProof();
+      // first section is the main proof, last section the helper storages
+      if (index + 2 >= proof.getNumberOfSections()) {
+        throw new IOException("Proof file " + file + " has no additional proof part " + index);
+      }
+      return proof.openObjectSection(index + 1);
+    }
     InputStream fis = file.asByteSource().openStream();
     ZipInputStream zis = new ZipInputStream(fis);
     ZipEntry entry = null;
@@ -218,7 +314,7 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
     }
 
     assert entry.getName().equals("Additional " + index);
-    return Triple.of(fis, zis, new ObjectInputStream(zis));
+    return new ObjectInputStream(zis);
   }
 
   protected abstract void readProofFromStream(ObjectInputStream in) throws ClassNotFoundException, InvalidConfigurationException, IOException;
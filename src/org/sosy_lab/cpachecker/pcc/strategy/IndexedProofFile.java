@@ -0,0 +1,335 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.pcc.strategy;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.sosy_lab.common.io.Files;
+import org.sosy_lab.common.io.Path;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * Proof file format that stores the parts of a proof (the main proof,
+ * additional parts like partitions, and the helper storages)
+ * uncompressed as separate sections, followed by an index of all sections.
+ * For reading, the sections are mapped into memory,
+ * such that each section can be decoded lazily and by several threads concurrently
+ * without reading all the sections before it (as it is necessary for zip files).
+ *
+ * Layout of the file: all sections one after another,
+ * the index (offset and length of each section as long values),
+ * the number of sections (int), the offset of the index (long), and a magic number (int).
+ *
+ * The content of each section is the same as the content of the corresponding
+ * entry in the zip-based proof format,
+ * cf. {@link #convertFromZip(Path, Path)}.
+ * Sections may be larger than 2GB, they are mapped in several chunks in this case.
+ */
+public final class IndexedProofFile {
+
+  private static final int MAGIC_NUMBER = 0x43504143;
+  private static final int TRAILER_SIZE = 4 + 8 + 4;
+
+  // a single mapped buffer can have at most Integer.MAX_VALUE bytes
+  private static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+  // the chunks of each section
+  private final ByteBuffer[][] sections;
+
+  private IndexedProofFile(ByteBuffer[][] pSections) {
+    sections = pSections;
+  }
+
+  /**
+   * Read the index of a proof file and map all its sections into memory.
+   * The content of the sections is only read from disk when it is accessed.
+   */
+  public static IndexedProofFile read(Path pFile) throws IOException {
+    return read(pFile, MAX_CHUNK_SIZE);
+  }
+
+  @VisibleForTesting
+  static IndexedProofFile read(Path pFile, int pChunkSize) throws IOException {
+    checkArgument(pChunkSize > 0);
+    try (FileChannel channel = FileChannel.open(pFile.toFile().toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < TRAILER_SIZE) {
+        throw new IOException("Proof file " + pFile + " is not a valid indexed proof file.");
+      }
+
+      ByteBuffer trailer = channel.map(MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+      int numberOfSections = trailer.getInt();
+      long indexOffset = trailer.getLong();
+      if (trailer.getInt() != MAGIC_NUMBER
+          || numberOfSections < 0
+          || indexOffset + 16L * numberOfSections != size - TRAILER_SIZE
+          || 16L * numberOfSections > MAX_CHUNK_SIZE) {
+        throw new IOException("Proof file " + pFile + " is not a valid indexed proof file.");
+      }
+
+      ByteBuffer index = channel.map(MapMode.READ_ONLY, indexOffset, 16L * numberOfSections);
+      ByteBuffer[][] sections = new ByteBuffer[numberOfSections][];
+      for (int i = 0; i < numberOfSections; i++) {
+        long offset = index.getLong();
+        long length = index.getLong();
+        if (offset < 0 || length < 0 || offset + length > indexOffset) {
+          throw new IOException("Proof file " + pFile + " has an invalid index.");
+        }
+        sections[i] = map(channel, offset, length, pChunkSize);
+      }
+      return new IndexedProofFile(sections);
+    }
+  }
+
+  /**
+   * Map a part of a file into memory in chunks of at most the given size.
+   * The mapping stays valid after the channel is closed.
+   */
+  private static ByteBuffer[] map(FileChannel channel, long offset, long length, int chunkSize)
+      throws IOException {
+    int numberOfChunks = (int)Math.max(1, (length + chunkSize - 1) / chunkSize);
+    ByteBuffer[] chunks = new ByteBuffer[numberOfChunks];
+    for (int i = 0; i < numberOfChunks; i++) {
+      long chunkOffset = (long)i * chunkSize;
+      chunks[i] = channel.map(MapMode.READ_ONLY, offset + chunkOffset, Math.min(chunkSize, length - chunkOffset));
+    }
+    return chunks;
+  }
+
+  public int getNumberOfSections() {
+    return sections.length;
+  }
+
+  /**
+   * Open a stream that reads the content of a section.
+   * This method may be called concurrently, each returned stream
+   * has its own position in the section.
+   */
+  public InputStream openSection(int pIndex) {
+    checkElementIndex(pIndex, sections.length);
+    ByteBuffer[] chunks = sections[pIndex];
+    ByteBuffer[] copies = new ByteBuffer[chunks.length];
+    for (int i = 0; i < chunks.length; i++) {
+      copies[i] = chunks[i].duplicate();
+    }
+    return new ByteBufferInputStream(copies);
+  }
+
+  /**
+   * Open a stream that reads the Java objects stored in a section.
+   */
+  public ObjectInputStream openObjectSection(int pIndex) throws IOException {
+    return new ObjectInputStream(openSection(pIndex));
+  }
+
+  /**
+   * Convert a proof file in the zip-based format of {@link AbstractStrategy}
+   * into the indexed format. Each zip entry becomes one section.
+   */
+  public static void convertFromZip(Path pZipFile, Path pIndexedFile) throws IOException {
+    try (InputStream fis = pZipFile.asByteSource().openStream();
+         ZipInputStream zis = new ZipInputStream(fis);
+         Writer writer = new Writer(pIndexedFile)) {
+
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        OutputStream section = writer.newSection();
+        ByteStreams.copy(zis, section);
+        section.flush();
+        zis.closeEntry();
+      }
+    }
+  }
+
+  /**
+   * Writer for the indexed proof format.
+   * The sections are written one after another,
+   * the index is written when the writer is closed.
+   */
+  public static final class Writer implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final CountingOutputStream out;
+    private final List<Long> offsets = new ArrayList<>();
+    private long currentSectionStart = -1;
+
+    public Writer(Path pFile) throws IOException {
+      Files.createParentDirs(pFile);
+      channel = FileChannel.open(pFile.toFile().toPath(), StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      out = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+    }
+
+    /**
+     * Start a new section and return a stream for writing its content.
+     * The stream does not need to be closed,
+     * but everything written to it needs to be flushed
+     * before the next section is started or the writer is closed.
+     */
+    public OutputStream newSection() {
+      finishSection();
+      currentSectionStart = out.getCount();
+      return new NonClosingOutputStream(out);
+    }
+
+    private void finishSection() {
+      if (currentSectionStart >= 0) {
+        offsets.add(currentSectionStart);
+        offsets.add(out.getCount() - currentSectionStart);
+        currentSectionStart = -1;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        finishSection();
+        long indexOffset = out.getCount();
+        int numberOfSections = offsets.size() / 2;
+
+        ByteBuffer index = ByteBuffer.allocate(offsets.size() * 8 + TRAILER_SIZE);
+        for (long value : offsets) {
+          index.putLong(value);
+        }
+        index.putInt(numberOfSections);
+        index.putLong(indexOffset);
+        index.putInt(MAGIC_NUMBER);
+        out.write(index.array());
+        out.flush();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+  private static class NonClosingOutputStream extends OutputStream {
+
+    private final OutputStream delegate;
+
+    private NonClosingOutputStream(OutputStream pDelegate) {
+      delegate = pDelegate;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      delegate.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      delegate.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.flush();
+    }
+  }
+
+  /**
+   * Input stream that reads a sequence of byte buffers one after another.
+   */
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer[] buffers;
+    private int current = 0;
+
+    private ByteBufferInputStream(ByteBuffer[] pBuffers) {
+      buffers = pBuffers;
+    }
+
+    /** Return the current buffer, or null if all buffers were read completely. */
+    private ByteBuffer currentBuffer() {
+      while (current < buffers.length && !buffers[current].hasRemaining()) {
+        current++;
+      }
+      return current < buffers.length ? buffers[current] : null;
+    }
+
+    @Override
+    public int read() {
+      ByteBuffer buffer = currentBuffer();
+      if (buffer == null) {
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      checkPositionIndexes(off, off + len, b.length);
+      if (len == 0) {
+        return 0;
+      }
+      ByteBuffer buffer = currentBuffer();
+      if (buffer == null) {
+        return -1;
+      }
+      int count = Math.min(len, buffer.remaining());
+      buffer.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      long skipped = 0;
+      ByteBuffer buffer;
+      while (skipped < n && (buffer = currentBuffer()) != null) {
+        int count = (int)Math.min(n - skipped, buffer.remaining());
+        buffer.position(buffer.position() + count);
+        skipped += count;
+      }
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      ByteBuffer buffer = currentBuffer();
+      return buffer == null ? 0 : buffer.remaining();
+    }
+  }
+}
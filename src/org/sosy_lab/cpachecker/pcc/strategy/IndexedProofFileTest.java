@@ -0,0 +1,156 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.pcc.strategy;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sosy_lab.common.io.Path;
+import org.sosy_lab.common.io.Paths;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+public class IndexedProofFileTest {
+
+  @Rule
+  public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static final byte[] SECTION_1 = "first section".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SECTION_3 = "the third section, which is a bit longer than the first one"
+      .getBytes(StandardCharsets.UTF_8);
+
+  private Path newFile(String name) {
+    return Paths.get(tempFolder.getRoot().getPath(), name);
+  }
+
+  private void writeProof(Path file) throws IOException {
+    try (IndexedProofFile.Writer writer = new IndexedProofFile.Writer(file)) {
+      OutputStream out = writer.newSection();
+      out.write(SECTION_1);
+      out.flush();
+
+      writer.newSection(); // empty section
+
+      out = writer.newSection();
+      out.write(SECTION_3);
+      out.flush();
+
+      ObjectOutputStream o = new ObjectOutputStream(writer.newSection());
+      o.writeObject(ImmutableList.of("a", "b"));
+      o.writeInt(42);
+      o.flush();
+    }
+  }
+
+  private static byte[] readSection(IndexedProofFile proof, int index) throws IOException {
+    try (InputStream in = proof.openSection(index)) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+
+  private static void checkProof(IndexedProofFile proof) throws IOException, ClassNotFoundException {
+    assertThat(proof.getNumberOfSections()).isEqualTo(4);
+    assertThat(readSection(proof, 0)).isEqualTo(SECTION_1);
+    assertThat(readSection(proof, 1)).isEqualTo(new byte[0]);
+    assertThat(readSection(proof, 2)).isEqualTo(SECTION_3);
+    try (ObjectInputStream o = proof.openObjectSection(3)) {
+      assertThat(o.readObject()).isEqualTo(ImmutableList.of("a", "b"));
+      assertThat(o.readInt()).isEqualTo(42);
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    Path file = newFile("proof.idx");
+    writeProof(file);
+    checkProof(IndexedProofFile.read(file));
+  }
+
+  @Test
+  public void testRoundTripWithChunks() throws Exception {
+    Path file = newFile("proof.idx");
+    writeProof(file);
+    // sections are larger than one chunk, so reading crosses chunk boundaries
+    checkProof(IndexedProofFile.read(file, 5));
+    checkProof(IndexedProofFile.read(file, 1));
+  }
+
+  @Test
+  public void testSkipAcrossChunks() throws Exception {
+    Path file = newFile("proof.idx");
+    writeProof(file);
+    IndexedProofFile proof = IndexedProofFile.read(file, 4);
+    try (InputStream in = proof.openSection(2)) {
+      assertThat(in.skip(10)).isEqualTo(10L);
+      assertThat(in.read()).isEqualTo(SECTION_3[10] & 0xFF);
+      assertThat(in.skip(1000)).isEqualTo((long)SECTION_3.length - 11);
+      assertThat(in.read()).isEqualTo(-1);
+    }
+  }
+
+  @Test
+  public void testConvertFromZip() throws Exception {
+    Path zipFile = newFile("proof.zip");
+    try (OutputStream fos = zipFile.asByteSink().openStream();
+         ZipOutputStream zos = new ZipOutputStream(fos)) {
+      zos.putNextEntry(new ZipEntry("Proof"));
+      zos.write(SECTION_1);
+      zos.closeEntry();
+      zos.putNextEntry(new ZipEntry("Additional 0"));
+      zos.closeEntry();
+      zos.putNextEntry(new ZipEntry("Additional 1"));
+      zos.write(SECTION_3);
+      zos.closeEntry();
+      zos.putNextEntry(new ZipEntry("Helper"));
+      ObjectOutputStream o = new ObjectOutputStream(zos);
+      o.writeObject(ImmutableList.of("a", "b"));
+      o.writeInt(42);
+      o.flush();
+      zos.closeEntry();
+    }
+
+    Path indexedFile = newFile("proof.idx");
+    IndexedProofFile.convertFromZip(zipFile, indexedFile);
+    checkProof(IndexedProofFile.read(indexedFile));
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidFile() throws Exception {
+    Path file = newFile("invalid");
+    file.asCharSink(StandardCharsets.UTF_8).write("this is not an indexed proof file");
+    IndexedProofFile.read(file);
+  }
+}
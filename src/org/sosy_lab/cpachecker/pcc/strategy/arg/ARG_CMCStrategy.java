@@ -28,7 +28,6 @@ import static org.sosy_lab.cpachecker.cpa.arg.ARGUtils.getUncoveredChildrenView;
 import static org.sosy_lab.cpachecker.util.AbstractStates.extractLocation;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Writer;
@@ -43,9 +42,7 @@ import java.util.TreeSet;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
-import java.util.zip.ZipInputStream;
 
-import org.sosy_lab.common.Triple;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.ConfigurationBuilder;
 import org.sosy_lab.common.configuration.FileOption;
@@ -173,10 +170,9 @@ public class ARG_CMCStrategy extends AbstractStrategy {
       final ReachedSetFactory factory = new ReachedSetFactory(globalConfig, logger);
       List<ARGState> incompleteStates = new ArrayList<>();
 
-      Triple<InputStream, ZipInputStream, ObjectInputStream> streams = null;
+      ObjectInputStream o = null;
       try {
-        streams = openProofStream();
-        ObjectInputStream o = streams.getThird();
+        o = openProofStream();
         o.readInt();
 
         Object readARG;
@@ -221,11 +217,9 @@ public class ARG_CMCStrategy extends AbstractStrategy {
         return false;
       } finally {
         logger.log(Level.INFO, "Stop checking partial ARGs");
-        if (streams != null) {
+        if (o != null) {
           try {
-            streams.getThird().close();
-            streams.getSecond().close();
-            streams.getFirst().close();
+            o.close();
           } catch (IOException e) {
           }
         }
@@ -252,10 +246,9 @@ public class ARG_CMCStrategy extends AbstractStrategy {
 
         @Override
         public void run() {
-          Triple<InputStream, ZipInputStream, ObjectInputStream> streams = null;
+          ObjectInputStream o = null;
           try {
-            streams = openProofStream();
-            ObjectInputStream o = streams.getThird();
+            o = openProofStream();
             o.readInt();
 
             Object readARG;
@@ -282,11 +275,9 @@ public class ARG_CMCStrategy extends AbstractStrategy {
             logger.logException(Level.SEVERE, e2, "Unexpected failure during proof reading");
             abortPreparation();
           } finally {
-            if (streams != null) {
+            if (o != null) {
               try {
-                streams.getThird().close();
-                streams.getSecond().close();
-                streams.getFirst().close();
+                o.close();
               } catch (IOException e) {
               }
             }
@@ -24,7 +24,6 @@
 package org.sosy_lab.cpachecker.pcc.strategy.parallel.interleaved;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
@@ -39,10 +38,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
-import java.util.zip.ZipInputStream;
 
 import org.sosy_lab.common.Pair;
-import org.sosy_lab.common.Triple;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.log.LogManager;
@@ -187,10 +184,9 @@ public class PartialReachedSetIOCheckingInterleavedStrategy extends AbstractStra
 
     @Override
     public void run() {
-      Triple<InputStream, ZipInputStream, ObjectInputStream> streams = null;
+      ObjectInputStream o = null;
       try {
-        streams = openProofStream();
-        ObjectInputStream o = streams.getThird();
+        o = openProofStream();
         ioHelper.readMetadata(o, false);
         for (int i = 0; i < ioHelper.getNumPartitions() && checkResult.get(); i++) {
           ioHelper.readPartition(o, stats);
@@ -207,11 +203,9 @@ public class PartialReachedSetIOCheckingInterleavedStrategy extends AbstractStra
         logger.logException(Level.SEVERE, e2, "Unexpected failure during proof reading");
         abort();
       } finally {
-        if (streams != null) {
+        if (o != null) {
           try {
-            streams.getThird().close();
-            streams.getSecond().close();
-            streams.getFirst().close();
+            o.close();
           } catch (IOException e) {
           }
         }
@@ -24,7 +24,6 @@
 package org.sosy_lab.cpachecker.pcc.strategy.parallel.interleaved;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Collection;
@@ -34,10 +33,8 @@ import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
-import java.util.zip.ZipInputStream;
 
 import org.sosy_lab.common.Pair;
-import org.sosy_lab.common.Triple;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.log.LogManager;
@@ -191,10 +188,9 @@ public class PartialReachedSetIOCheckingOnlyInterleavedStrategy extends Abstract
 
     @Override
     public void run() {
-      Triple<InputStream, ZipInputStream, ObjectInputStream> streams = null;
+      ObjectInputStream o = null;
       try {
-        streams = openProofStream();
-        ObjectInputStream o = streams.getThird();
+        o = openProofStream();
         ioHelper.readMetadata(o, false);
 
         for (int i = 0; i < ioHelper.getNumPartitions() && checkResult.get(); i++) {
@@ -213,11 +209,9 @@ public class PartialReachedSetIOCheckingOnlyInterleavedStrategy extends Abstract
         logger.logException(Level.SEVERE, e2, "Unexpected failure during proof reading");
         abortPreparation();
       } finally {
-        if (streams != null) {
+        if (o != null) {
           try {
-            streams.getThird().close();
-            streams.getSecond().close();
-            streams.getFirst().close();
+            o.close();
           } catch (IOException e) {
           }
         }
@@ -26,6 +26,7 @@ package org.sosy_lab.cpachecker.util;
 import java.util.logging.Level;
 
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.core.interfaces.AnalysisFinishedListener;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.WrapperCPA;
 
@@ -75,6 +76,17 @@ public class CPAs {
     }.preOrderTraversal(pCpa);
   }
 
+  /**
+   * Inform all CPAs (including wrapped CPAs) that implement {@link AnalysisFinishedListener}
+   * that the analysis with them has finished.
+   * @param pCpa A CPA (possibly a WrapperCPA).
+   */
+  public static void notifyAnalysisFinished(ConfigurableProgramAnalysis pCpa) {
+    for (AnalysisFinishedListener listener : asIterable(pCpa).filter(AnalysisFinishedListener.class)) {
+      listener.analysisFinished();
+    }
+  }
+
   /**
    * Close all CPAs (including wrapped CPAs) if they support this.
    * @param cpa A CPA (possibly a WrapperCPA).
@@ -29,6 +29,7 @@ import static com.google.common.collect.FluentIterable.from;
 import static org.sosy_lab.cpachecker.cfa.model.CFAEdgeType.FunctionReturnEdge;
 import static org.sosy_lab.cpachecker.util.CFAUtils.*;
 
+import java.io.Serializable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -75,7 +76,9 @@ import com.google.common.collect.Sets;
 /**
  * Class collecting and containing information about all loops in a CFA.
  */
-public final class LoopStructure {
+public final class LoopStructure implements Serializable {
+
+  private static final long serialVersionUID = 2591585637433536925L;
 
   /**
    * Class representing one loop in a CFA.
@@ -113,7 +116,10 @@ public final class LoopStructure {
    * In such cases, both loops are considered only one loop
    * (which is legal according to the definition above).
    */
-  public static class Loop {
+  public static class Loop implements Serializable {
+
+    private static final long serialVersionUID = -4929717716045418591L;
+
     // Technically not immutable, but all modifying methods are private
     // and never called after the LoopStructure information has been collected.
 
@@ -0,0 +1,104 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPOutputStream;
+
+import org.sosy_lab.common.io.Files;
+import org.sosy_lab.common.io.Path;
+
+/**
+ * Helper methods for writing output files,
+ * such as (potentially huge) exported graphs or persistent caches.
+ */
+public final class OutputFiles {
+
+  private OutputFiles() { /* utility class */ }
+
+  /** Output files with names ending with this suffix are compressed. */
+  public static final String GZIP_SUFFIX = ".gz";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Open a file for writing, creating the parent directories if necessary.
+   * If the name of the file ends with {@link #GZIP_SUFFIX},
+   * the content is compressed with GZIP while it is written.
+   * The returned writer is buffered, so callers can write small pieces
+   * (e.g., single nodes and edges) without building the whole output in memory.
+   */
+  public static Writer openOutputFile(Path file) throws IOException {
+    if (!file.getPath().endsWith(GZIP_SUFFIX)) {
+      return Files.openOutputFile(file);
+    }
+
+    Files.createParentDirs(file);
+    OutputStream out = file.asByteSink().openStream();
+    try {
+      return new BufferedWriter(new OutputStreamWriter(
+          new GZIPOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+    } catch (IOException e) {
+      out.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Callback that writes the content of a file,
+   * cf. {@link OutputFiles#writeAtomically(Path, ContentWriter)}.
+   */
+  public static interface ContentWriter {
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  /**
+   * Write a file such that readers (also in other processes) never see
+   * a partially written file: the content is written to a temporary file
+   * in the same directory, which is then atomically moved to the target.
+   * If several processes write the same file concurrently,
+   * the file contains the complete content of one of them.
+   */
+  public static void writeAtomically(Path file, ContentWriter content) throws IOException {
+    Files.createParentDirs(file);
+    java.nio.file.Path target = file.toFile().toPath().toAbsolutePath();
+    java.nio.file.Path tmp = java.nio.file.Files.createTempFile(
+        target.getParent(), target.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = java.nio.file.Files.newOutputStream(tmp)) {
+        content.writeTo(out);
+      }
+      java.nio.file.Files.move(tmp, target,
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      java.nio.file.Files.deleteIfExists(tmp);
+    }
+  }
+}
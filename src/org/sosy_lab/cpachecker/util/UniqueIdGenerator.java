@@ -42,4 +42,20 @@ public final class UniqueIdGenerator {
     checkState(id >= 0, "Overflow for unique ID");
     return id;
   }
+
+  /**
+   * Make sure that all ids returned in the future are larger than the given id.
+   * This is necessary if objects with ids from a previous run are restored,
+   * e.g., by deserialization.
+   */
+  public void reserveIdsUpTo(int pId) {
+    checkState(pId < Integer.MAX_VALUE, "Overflow for unique ID");
+    int current;
+    do {
+      current = nextId.get();
+      if (current > pId) {
+        return;
+      }
+    } while (!nextId.compareAndSet(current, pId + 1));
+  }
 }
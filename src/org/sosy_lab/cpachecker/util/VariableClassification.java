@@ -25,6 +25,7 @@ package org.sosy_lab.cpachecker.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.io.Serializable;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collection;
@@ -52,7 +53,9 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
 
-public class VariableClassification {
+public class VariableClassification implements Serializable {
+
+  private static final long serialVersionUID = 7391346620357893472L;
 
   private final boolean hasRelevantNonIntAddVars;
 
@@ -392,7 +395,9 @@ public class VariableClassification {
 
   /** A Partition is a Wrapper for a Collection of vars, values and edges.
   * The Partitions are disjunct, so no variable and no edge is in 2 Partitions. */
-  public static class Partition {
+  public static class Partition implements Serializable {
+
+   private static final long serialVersionUID = -1474526286098346457L;
 
    private final Set<String> vars = new HashSet<>();
    private final Set<BigInteger> values = Sets.newTreeSet();
@@ -31,6 +31,7 @@ import java.io.PrintWriter;
 import java.io.Writer;
 import java.math.BigInteger;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -40,12 +41,19 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.Pair;
+import org.sosy_lab.common.concurrency.Threads;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.FileOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -118,14 +126,18 @@ import org.sosy_lab.cpachecker.util.VariableClassification.Partition;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
 import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 @Options(prefix = "cfa.variableClassification")
 public class VariableClassificationBuilder {
@@ -189,11 +201,27 @@ public class VariableClassificationBuilder {
 
   private final LogManager logger;
 
-  public VariableClassificationBuilder(Configuration config, LogManager pLogger) throws InvalidConfigurationException {
+  /** number of threads for collecting the variables of several functions concurrently */
+  private final int threads;
+
+  public VariableClassificationBuilder(Configuration config, LogManager pLogger, int pThreads)
+      throws InvalidConfigurationException {
     logger = checkNotNull(pLogger);
+    checkArgument(pThreads >= 1);
+    threads = pThreads;
     config.inject(this);
   }
 
+  /**
+   * Create a builder that is only used for collecting the variables
+   * of a single function, with the same settings as the given builder.
+   */
+  private VariableClassificationBuilder(VariableClassificationBuilder pOther) {
+    logger = pOther.logger;
+    threads = 1;
+    allowOneAsBooleanValue = pOther.allowOneAsBooleanValue;
+  }
+
   /** This function does the whole work:
    * creating all maps, collecting vars, solving dependencies.
    * The function runs only once, after that it does nothing. */
@@ -393,8 +421,52 @@ public class VariableClassificationBuilder {
 
   /** This function iterates over all edges of the cfa, collects all variables
    * and orders them into different sets, i.e. nonBoolean and nonIntEuqalNumber. */
-  private void collectVars(CFA cfa) throws UnrecognizedCCodeException {
-    Collection<CFANode> nodes = cfa.getAllNodes();
+  private void collectVars(final CFA cfa) throws UnrecognizedCCodeException {
+    if (threads <= 1 || cfa.getNumberOfFunctions() <= 1) {
+      collectVars(cfa, cfa.getAllNodes());
+      return;
+    }
+
+    // Collect the variables of each function with a separate builder in parallel,
+    // and merge them afterwards in the order of the functions.
+    // This gives the same result as collecting them sequentially,
+    // except for the order of the partitions.
+    final ImmutableListMultimap<String, CFANode> nodesPerFunction =
+        Multimaps.index(cfa.getAllNodes(), CFAUtils.GET_FUNCTION);
+
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.min(threads, nodesPerFunction.keySet().size()),
+        Threads.threadFactoryBuilder().setDaemon(true).build());
+    try {
+      List<Future<VariableClassificationBuilder>> futures = new ArrayList<>(nodesPerFunction.keySet().size());
+      for (final String function : nodesPerFunction.keySet()) {
+        futures.add(executor.submit(new Callable<VariableClassificationBuilder>() {
+          @Override
+          public VariableClassificationBuilder call() throws UnrecognizedCCodeException {
+            VariableClassificationBuilder functionBuilder =
+                new VariableClassificationBuilder(VariableClassificationBuilder.this);
+            functionBuilder.collectVars(cfa, nodesPerFunction.get(function));
+            return functionBuilder;
+          }
+        }));
+      }
+
+      // collecting is not interruptible, so we do not need to handle interrupts
+      for (Future<VariableClassificationBuilder> future : futures) {
+        mergeCollectedVars(Uninterruptibles.getUninterruptibly(future));
+      }
+
+    } catch (ExecutionException e) {
+      Throwable t = e.getCause();
+      Throwables.propagateIfPossible(t, UnrecognizedCCodeException.class);
+      throw new UnexpectedCheckedException("variable classification", t);
+
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void collectVars(CFA cfa, Collection<CFANode> nodes) throws UnrecognizedCCodeException {
     for (CFANode node : nodes) {
       for (CFAEdge edge : leavingEdges(node)) {
         handleEdge(edge, cfa);
@@ -402,6 +474,20 @@ public class VariableClassificationBuilder {
     }
   }
 
+  /** This function adds all information that was collected by another builder
+   * (for a different set of nodes) to the information of this builder. */
+  private void mergeCollectedVars(VariableClassificationBuilder other) {
+    allVars.addAll(other.allVars);
+    nonIntBoolVars.addAll(other.nonIntBoolVars);
+    nonIntEqVars.addAll(other.nonIntEqVars);
+    nonIntAddVars.addAll(other.nonIntAddVars);
+    dependencies.merge(other.dependencies);
+    relevantVariables.addAll(other.relevantVariables);
+    addressedVariables.addAll(other.addressedVariables);
+    assignments.putAll(other.assignments);
+    relevantFields.putAll(other.relevantFields);
+  }
+
   /**
    * This method extracts all variables (i.e., their qualified name), that occur in an assumption.
    */
@@ -1149,6 +1235,28 @@ public class VariableClassificationBuilder {
       }
     }
 
+    /** This function adds all partitions of another instance
+     * (with the values and edges of the partitions) to the partitions of this instance.
+     * Partitions that share a variable are merged. */
+    public void merge(Dependencies other) {
+      for (Partition otherPartition : other.partitions) {
+        Iterator<String> iter = otherPartition.getVars().iterator();
+
+        // all vars of the other partition are dependent from its first var
+        String var = iter.next();
+        addVar(var);
+        while (iter.hasNext()) {
+          add(var, iter.next());
+        }
+
+        Partition partition = getPartitionForVar(var);
+        partition.addValues(otherPartition.getValues());
+        for (Map.Entry<CFAEdge, Integer> edge : otherPartition.getEdges().entries()) {
+          partition.addEdge(edge.getKey(), edge.getValue());
+        }
+      }
+    }
+
     /** This function adds all depending vars to the set, if necessary.
      * If A depends on B and A is part of the set, B is added to the set, and vice versa.
     * Example: If A is not boolean, B is not boolean. */
@@ -217,6 +217,10 @@ public class AutomatonGraphmlCommon {
     private final Document doc;
     private final Writer target;
 
+    // created lazily and re-used for all elements,
+    // creating a new transformer for each element is expensive for large graphs
+    private @Nullable Transformer transformer = null;
+
     public GraphMlBuilder(Appendable target) throws ParserConfigurationException {
       DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
       DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
@@ -315,12 +319,14 @@ public class AutomatonGraphmlCommon {
 
     public void appendToAppendable(Node n) {
       try {
-        TransformerFactory tf = TransformerFactory.newInstance();
-        Transformer transformer = tf.newTransformer();
-        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-        transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        if (transformer == null) {
+          TransformerFactory tf = TransformerFactory.newInstance();
+          transformer = tf.newTransformer();
+          transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+          transformer.setOutputProperty(OutputKeys.METHOD, "xml");
+          transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+          transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        }
 
         transformer.transform(new DOMSource(n), new StreamResult(target));
       } catch (TransformerException ex) {
@@ -102,8 +102,7 @@ public class TargetLocationProvider {
 
       // Order of reached is the order in which states were created,
       // toSet() keeps ordering, so the result is deterministic.
-      return from(reached)
-          .filter(AbstractStates.IS_TARGET_STATE)
+      return from(reached.getTargetStates())
           .transform(AbstractStates.EXTRACT_LOCATION)
           .toSet();
 
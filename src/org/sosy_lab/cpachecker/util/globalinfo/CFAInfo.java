@@ -26,12 +26,24 @@ package org.sosy_lab.cpachecker.util.globalinfo;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cpa.location.LocationState.LocationStateFactory;
 
+import com.google.common.collect.BiMap;
+
 
 public class CFAInfo {
+
+  /**
+   * Numbering of CFA nodes that is used instead of the global node numbers
+   * while abstract states are serialized or deserialized in the current thread
+   * (cf. {@link #setSerializationNumbering(BiMap)}).
+   */
+  private static final ThreadLocal<BiMap<CFANode, Integer>> serializationNumbering = new ThreadLocal<>();
+
   private final Map<Integer, CFANode> nodeNumberToNode;
   private LocationStateFactory locationStateFactory;
 
@@ -43,8 +55,57 @@ public class CFAInfo {
     this.nodeNumberToNode = nodeNumberToNode;
   }
 
+  /** Create a copy that shares the nodes, but in which a different location-state factory can be stored. */
+  CFAInfo(CFAInfo pOther) {
+    nodeNumberToNode = pOther.nodeNumberToNode;
+    locationStateFactory = pOther.locationStateFactory;
+  }
+
+  /**
+   * Get the node for a number that was written by {@link #getSerializationNumber(CFANode)}.
+   * @throws IllegalArgumentException If a serialization numbering is set and the number is not part of it.
+   */
   public CFANode getNodeByNodeNumber(int nodeNumber) {
-    return nodeNumberToNode.get(nodeNumber);
+    BiMap<CFANode, Integer> numbering = serializationNumbering.get();
+    if (numbering == null) {
+      return nodeNumberToNode.get(nodeNumber);
+    }
+    CFANode node = numbering.inverse().get(nodeNumber);
+    if (node == null) {
+      throw new IllegalArgumentException("No CFA node with number " + nodeNumber + " in serialization numbering");
+    }
+    return node;
+  }
+
+  /**
+   * Get the number that represents a node in serialized abstract states.
+   * This is the node number, unless a different numbering was set for the current thread.
+   * @throws IllegalArgumentException If a serialization numbering is set and the node is not part of it.
+   */
+  public static int getSerializationNumber(CFANode node) {
+    BiMap<CFANode, Integer> numbering = serializationNumbering.get();
+    if (numbering == null) {
+      return node.getNodeNumber();
+    }
+    Integer number = numbering.get(node);
+    if (number == null) {
+      throw new IllegalArgumentException("CFA node " + node + " is not part of serialization numbering");
+    }
+    return number;
+  }
+
+  /**
+   * Set the numbering of CFA nodes that is used for (de-)serializing abstract states
+   * in the current thread, or reset it to the global node numbers if the argument is null.
+   * This allows to store abstract states independently of the global node numbering,
+   * e.g., relative to a part of the program.
+   */
+  public static void setSerializationNumbering(@Nullable BiMap<CFANode, Integer> pNumbering) {
+    if (pNumbering == null) {
+      serializationNumbering.remove();
+    } else {
+      serializationNumbering.set(pNumbering);
+    }
   }
 
   public void storeLocationStateFactory(LocationStateFactory pElementFactory) {
@@ -26,6 +26,8 @@ package org.sosy_lab.cpachecker.util.globalinfo;
 import java.io.Serializable;
 import java.util.ArrayList;
 
+import javax.annotation.Nullable;
+
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
@@ -42,6 +44,11 @@ import com.google.common.base.Preconditions;
 
 public class GlobalInfo {
   private static GlobalInfo instance;
+
+  // instance that replaces the global instance for the current thread,
+  // used by analyses that run concurrently to others (cf. RestartAlgorithm)
+  private static final ThreadLocal<GlobalInfo> threadInstance = new ThreadLocal<>();
+
   private CFAInfo cfaInfo;
   private AutomatonInfo automatonInfo = new AutomatonInfo();
   private ConfigurableProgramAnalysis cpa;
@@ -57,10 +64,55 @@ public class GlobalInfo {
   }
 
   public static GlobalInfo getInstance() {
-    if (instance == null) {
-      instance = new GlobalInfo();
+    GlobalInfo result = threadInstance.get();
+    if (result != null) {
+      return result;
     }
-    return instance;
+    synchronized (GlobalInfo.class) {
+      if (instance == null) {
+        instance = new GlobalInfo();
+      }
+      return instance;
+    }
+  }
+
+  /**
+   * Create a new instance that starts with the information of this instance
+   * (e.g., the CFA and the log manager), but where the information
+   * of one analysis can be stored without affecting this instance.
+   * Use {@link #setThreadInstance(GlobalInfo)} to make it visible to an analysis.
+   */
+  public GlobalInfo copy() {
+    GlobalInfo result = new GlobalInfo();
+    result.cfaInfo = (cfaInfo == null) ? null : new CFAInfo(cfaInfo);
+    result.cpa = cpa;
+    result.formulaManager = formulaManager;
+    result.formulaManagerView = formulaManagerView;
+    result.helperStorages.addAll(helperStorages);
+    result.absManager = absManager;
+    result.apronManager = apronManager;
+    result.logger = logger;
+    return result;
+  }
+
+  /**
+   * Use the given instance instead of the global one in the current thread,
+   * or the global one again if the argument is null.
+   */
+  public static void setThreadInstance(@Nullable GlobalInfo pInstance) {
+    if (pInstance == null) {
+      threadInstance.remove();
+    } else {
+      threadInstance.set(pInstance);
+    }
+  }
+
+  /**
+   * Replace the global instance, e.g., by the instance of the analysis
+   * whose result is used if several analyses were run concurrently.
+   */
+  public static synchronized void setInstance(GlobalInfo pInstance) {
+    instance = Preconditions.checkNotNull(pInstance);
   }
 
   public void storeCFA(CFA cfa) {
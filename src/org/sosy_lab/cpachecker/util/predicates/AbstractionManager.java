@@ -455,7 +455,18 @@ public final class AbstractionManager {
   }
 
   public RegionCreator getRegionCreator() {
-    return new RegionCreator();
+    return new RegionCreator(rmgr, Functions.<BooleanFormula>identity());
+  }
+
+  /**
+   * Get a RegionCreator that may be used from several threads concurrently
+   * (all region operations done through it are serialized).
+   * It must not be used concurrently with the instance returned by
+   * {@link #getRegionCreator()}, and no new predicates may be created
+   * while it is in use.
+   */
+  public RegionCreator getSynchronizedRegionCreator() {
+    return new RegionCreator(new SynchronizedRegionManager(rmgr), Functions.<BooleanFormula>identity());
   }
 
   public static interface AbstractionPredicatesMXBean {
@@ -489,6 +500,26 @@ public final class AbstractionManager {
 
   public class RegionCreator {
 
+    private final RegionManager rmgr;
+
+    // translates variables passed to getPredicate() into variables of the main solver
+    private final Function<BooleanFormula, BooleanFormula> variableTranslation;
+
+    private RegionCreator(RegionManager pRmgr, Function<BooleanFormula, BooleanFormula> pVariableTranslation) {
+      rmgr = pRmgr;
+      variableTranslation = pVariableTranslation;
+    }
+
+    /**
+     * Get a RegionCreator that creates the same regions as this instance,
+     * but whose {@link #getPredicate(BooleanFormula)} accepts the variables
+     * of another solver context, which are translated into variables
+     * of the main solver with the given function.
+     */
+    public RegionCreator withVariableTranslation(Function<BooleanFormula, BooleanFormula> pTranslation) {
+      return new RegionCreator(rmgr, pTranslation);
+    }
+
     public RegionBuilder newRegionBuilder(ShutdownNotifier pShutdownNotifier) {
       return rmgr.builder(pShutdownNotifier);
     }
@@ -574,7 +605,7 @@ public final class AbstractionManager {
     }
 
     public Region getPredicate(BooleanFormula var) {
-      return AbstractionManager.this.getPredicate(var).getAbstractVariable();
+      return AbstractionManager.this.getPredicate(variableTranslation.apply(var)).getAbstractVariable();
     }
   }
 }
@@ -183,6 +183,28 @@ public class FormulaManagerFactory {
     return itpFmgr;
   }
 
+  /**
+   * Create a new and independent instance of the given SMT solver,
+   * which can be used concurrently to the instances of this factory.
+   * The caller is responsible for closing the returned instance
+   * if it implements {@link AutoCloseable}.
+   */
+  public FormulaManager createAdditionalFormulaManager(Solvers pSolver, Configuration config)
+      throws InvalidConfigurationException {
+    return instantiateSolver(pSolver, config);
+  }
+
+  /**
+   * Return which SMT solver is used for the main instance of this factory.
+   */
+  public Solvers getMainSolver() {
+    return solver;
+  }
+
+  ShutdownNotifier getShutdownNotifier() {
+    return shutdownNotifier;
+  }
+
   /**
    * Interface for completely encapsulating all accesses to a solver's package
    * to discouple the solver's package from the rest of CPAchecker.
@@ -65,6 +65,81 @@ public class FormulaMeasuring {
     return result;
   }
 
+  /**
+   * Count the number of distinct nodes in the boolean structure of a formula
+   * (shared sub-formulas are counted only once, atoms are counted as one node).
+   * This is cheaper than {@link #measure(BooleanFormula)}
+   * and can be used as an estimate for the memory consumption of a formula.
+   */
+  public int measureDagSize(BooleanFormula formula) {
+    DagSizeVisitor visitor = new DagSizeVisitor(managerView);
+    visitor.visit(formula);
+    return visitor.size;
+  }
+
+  private static class DagSizeVisitor extends RecursiveBooleanFormulaVisitor {
+
+    private int size = 0;
+
+    DagSizeVisitor(FormulaManagerView pFmgr) {
+      super(pFmgr);
+    }
+
+    @Override
+    protected Void visitFalse() {
+      size++;
+      return null;
+    }
+
+    @Override
+    protected Void visitTrue() {
+      size++;
+      return null;
+    }
+
+    @Override
+    protected Void visitAtom(BooleanFormula pAtom) {
+      size++;
+      return null;
+    }
+
+    @Override
+    protected Void visitNot(BooleanFormula pOperand) {
+      size++;
+      return super.visitNot(pOperand);
+    }
+
+    @Override
+    protected Void visitAnd(BooleanFormula... pOperands) {
+      size++;
+      return super.visitAnd(pOperands);
+    }
+
+    @Override
+    protected Void visitOr(BooleanFormula... pOperands) {
+      size++;
+      return super.visitOr(pOperands);
+    }
+
+    @Override
+    protected Void visitEquivalence(BooleanFormula pOperand1, BooleanFormula pOperand2) {
+      size++;
+      return super.visitEquivalence(pOperand1, pOperand2);
+    }
+
+    @Override
+    protected Void visitIfThenElse(BooleanFormula pCondition, BooleanFormula pThenFormula, BooleanFormula pElseFormula) {
+      size++;
+      return super.visitIfThenElse(pCondition, pThenFormula, pElseFormula);
+    }
+
+    @Override
+    protected Void visitImplication(BooleanFormula pOperand1, BooleanFormula pOperand2) {
+      size++;
+      return super.visitImplication(pOperand1, pOperand2);
+    }
+  }
+
   private static class FormulaMeasuringVisitor extends RecursiveBooleanFormulaVisitor {
 
     private final FormulaMeasures measures;
@@ -23,9 +23,12 @@
  */
 package org.sosy_lab.cpachecker.util.predicates;
 
-import java.util.Map;
+import java.io.PrintStream;
+
+import javax.annotation.Nullable;
 
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -51,7 +54,6 @@ import org.sosy_lab.cpachecker.util.predicates.logging.LoggingProverEnvironment;
 import org.sosy_lab.cpachecker.util.predicates.matching.SmtAstMatcher;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Maps;
 
 /**
  * Encapsulation of an SMT solver.
@@ -71,13 +73,27 @@ public final class Solver implements AutoCloseable {
       description="log some solver actions, this may be slow!")
   private boolean useLogger = false;
 
+  @Option(secure=true, name="solver.pool.size",
+      description="Number of additional, independent solver contexts "
+          + "that are available for concurrent satisfiability checks (0 to disable). "
+          + "The contexts are only created if a component of the analysis asks for them, "
+          + "and all such components of the predicate analysis share the pool of its solver.")
+  @IntegerOption(min=0)
+  private int solverPoolSize = 0;
+
   private final FormulaManagerView fmgr;
   private final BooleanFormulaManagerView bfmgr;
 
   private final FormulaManager solvingFormulaManager;
   private final FormulaManager interpolationFormulaManager;
 
-  private final Map<BooleanFormula, Boolean> unsatCache = Maps.newHashMap();
+  private final UnsatCache unsatCache;
+
+  // created lazily by getSolverPool(), such that solvers that are not used concurrently
+  // do not allocate the additional contexts
+  private @Nullable SolverPool solverPool = null;
+  private final FormulaManagerFactory factory;
+  private final Configuration config;
 
   private final LogManager logger;
 
@@ -103,6 +119,9 @@ public final class Solver implements AutoCloseable {
     logger = pLogger;
     solvingFormulaManager = pFactory.getFormulaManager();
     interpolationFormulaManager = pFactory.getFormulaManagerForInterpolation();
+    unsatCache = new UnsatCache(fmgr, config, pLogger);
+    factory = pFactory;
+    this.config = config;
   }
 
   /**
@@ -218,10 +237,34 @@ public final class Solver implements AutoCloseable {
     }
   }
 
+  /**
+   * Return the pool of additional solver contexts
+   * that can be used for concurrent satisfiability checks,
+   * or null if it is disabled (cf. option cpa.predicate.solver.pool.size).
+   * The pool is created on the first call, and all callers share it,
+   * so components that need concurrent checks should use the same solver
+   * instead of creating their own.
+   */
+  public synchronized @Nullable SolverPool getSolverPool() throws InvalidConfigurationException {
+    if (solverPool == null && solverPoolSize > 0) {
+      solverPool = new SolverPool(solverPoolSize, factory, config, logger);
+    }
+    return solverPool;
+  }
+
+  /**
+   * Print the statistics of the solver pool, if it was created.
+   */
+  public synchronized void printSolverPoolStatistics(PrintStream out) {
+    if (solverPool != null) {
+      solverPool.printStatistics(out);
+    }
+  }
+
   /**
    * Checks whether a formula is unsat.
    */
-  public boolean isUnsat(BooleanFormula f) throws SolverException, InterruptedException {
+  public boolean isUnsat(final BooleanFormula f) throws SolverException, InterruptedException {
     satChecks++;
 
     if (bfmgr.isTrue(f)) {
@@ -232,22 +275,23 @@ public final class Solver implements AutoCloseable {
       trivialSatChecks++;
       return true;
     }
-    Boolean result = unsatCache.get(f);
-    if (result != null) {
-      cachedSatChecks++;
-      return result;
-    }
 
-    solverTime.start();
-    try {
-      result = isUnsatUncached(f);
-
-      unsatCache.put(f, result);
-      return result;
-
-    } finally {
-      solverTime.stop();
+    int solverCalls = solverTime.getNumberOfIntervals();
+    boolean result = unsatCache.getOrCompute(f, new UnsatCache.UnsatCheck() {
+      @Override
+      public boolean isUnsat() throws SolverException, InterruptedException {
+        solverTime.start();
+        try {
+          return isUnsatUncached(f);
+        } finally {
+          solverTime.stop();
+        }
+      }
+    });
+    if (solverTime.getNumberOfIntervals() == solverCalls) {
+      cachedSatChecks++;
     }
+    return result;
   }
 
   private boolean isUnsatUncached(BooleanFormula f) throws SolverException, InterruptedException {
@@ -285,6 +329,14 @@ public final class Solver implements AutoCloseable {
    */
   @Override
   public void close() throws Exception {
+    SolverPool solverPool;
+    synchronized (this) {
+      solverPool = this.solverPool;
+    }
+    if (solverPool != null) {
+      solverPool.close();
+    }
+
     // Reliably close both formula managers and re-throw exceptions,
     // such that no exception gets lost and both managers get closed.
     // Taken from https://stackoverflow.com/questions/24705055/wrapping-multiple-autocloseables
@@ -319,19 +371,30 @@ public final class Solver implements AutoCloseable {
    * that is known to be unsat.
    * @param unsat An unsatisfiable formula.
    */
-  public void addUnsatisfiableFormulaToCache(BooleanFormula unsat) {
-    if (unsatCache.containsKey(unsat) || bfmgr.isFalse(unsat)) {
+  public void addUnsatisfiableFormulaToCache(final BooleanFormula unsat) {
+    if (bfmgr.isFalse(unsat)) {
       return;
     }
     try {
-      assert isUnsatUncached(unsat) : "formula is sat: " + unsat;
+      unsatCache.getOrComputeWithoutStats(unsat, new UnsatCache.UnsatCheck() {
+        @Override
+        public boolean isUnsat() throws SolverException, InterruptedException {
+          assert isUnsatUncached(unsat) : "formula is sat: " + unsat;
+          return true;
+        }
+      });
     } catch (SolverException e) {
       throw new AssertionError(e);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     }
+  }
 
-    unsatCache.put(unsat, true);
+  /**
+   * Return the cache for satisfiability checks (e.g., for statistics).
+   */
+  public UnsatCache getUnsatCache() {
+    return unsatCache;
   }
 
   public SmtAstMatcher getSmtAstMatcher() {
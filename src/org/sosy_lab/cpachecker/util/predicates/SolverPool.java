@@ -0,0 +1,413 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.time.NestedTimer;
+import org.sosy_lab.common.time.TimeSpan;
+import org.sosy_lab.common.time.Timer;
+import org.sosy_lab.cpachecker.core.ShutdownNotifier;
+import org.sosy_lab.cpachecker.core.counterexample.Model;
+import org.sosy_lab.cpachecker.exceptions.SolverException;
+import org.sosy_lab.cpachecker.util.predicates.AbstractionManager.RegionCreator;
+import org.sosy_lab.cpachecker.util.predicates.FormulaManagerFactory.Solvers;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.FormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.ProverEnvironment;
+
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A pool of independent SMT solver contexts that allows to check formulas
+ * from several threads concurrently.
+ *
+ * Each context is used by only one thread at a time:
+ * a thread leases a context by creating a prover environment with
+ * {@link #newProverEnvironment()}, and the context is given back to the pool
+ * when the prover environment is closed.
+ * The formulas of the main solver are copied into the context of the pool
+ * (and back) by dumping and parsing them.
+ * The contexts can use different SMT solvers (cf. option cpa.predicate.solver.pool.solvers).
+ *
+ * The main formula manager is not thread-safe, but copying formulas accesses it.
+ * The pool serializes its own accesses to the main formula manager,
+ * but it cannot prevent other accesses to it.
+ * Thus the thread that owns the main formula manager
+ * must not use it (nor any formula or other object created by it)
+ * while prover environments or leased contexts of this pool are used by other threads.
+ * Typically, the main thread submits some tasks that use the pool,
+ * and waits until all of them are finished before it continues.
+ *
+ * There is one pool per solver (cf. {@link Solver#getSolverPool()}),
+ * which is shared by all components of an analysis that use this solver.
+ */
+@Options(prefix="cpa.predicate.solver.pool")
+public final class SolverPool implements AutoCloseable {
+
+  @Option(secure=true, description="Which SMT solvers to use for the contexts of the solver pool. "
+      + "The contexts are distributed round-robin among the given solvers "
+      + "(default is to use the main solver).")
+  private List<Solvers> solvers = ImmutableList.of();
+
+  private static class Context {
+    private final Solvers solver;
+    private final FormulaManager fmgr;
+    private final AtomicInteger leases = new AtomicInteger(0);
+
+    private Context(Solvers pSolver, FormulaManager pFmgr) {
+      solver = pSolver;
+      fmgr = pFmgr;
+    }
+  }
+
+  private final FormulaManager mainFmgr;
+  private final ShutdownNotifier shutdownNotifier;
+  private final LogManager logger;
+
+  private final ImmutableList<Context> contexts;
+  private final BlockingQueue<Context> idleContexts;
+
+  // stats
+  private final AtomicInteger leases = new AtomicInteger(0);
+  private final AtomicInteger currentlyLeased = new AtomicInteger(0);
+  private final AtomicInteger maxLeased = new AtomicInteger(0);
+  private final AtomicLong waitingTime = new AtomicLong(0); // nanos
+
+  SolverPool(int size, FormulaManagerFactory pFactory,
+      Configuration config, LogManager pLogger) throws InvalidConfigurationException {
+    checkArgument(size > 0);
+    config.inject(this);
+    mainFmgr = pFactory.getFormulaManager();
+    shutdownNotifier = pFactory.getShutdownNotifier();
+    logger = pLogger;
+
+    List<Solvers> solverTypes = solvers.isEmpty()
+        ? ImmutableList.of(pFactory.getMainSolver())
+        : solvers;
+
+    ImmutableList.Builder<Context> contextBuilder = ImmutableList.builder();
+    for (int i = 0; i < size; i++) {
+      Solvers solver = solverTypes.get(i % solverTypes.size());
+      contextBuilder.add(new Context(solver, pFactory.createAdditionalFormulaManager(solver, config)));
+    }
+    contexts = contextBuilder.build();
+    idleContexts = new LinkedBlockingQueue<>(contexts);
+  }
+
+  /**
+   * Return the number of contexts in this pool,
+   * i.e., the number of prover environments that can be used concurrently.
+   */
+  public int getSize() {
+    return contexts.size();
+  }
+
+  /**
+   * Create a prover environment in one of the contexts of this pool.
+   * If all contexts are currently in use, this method blocks until one is available.
+   * The prover environment needs to be closed after it is used by calling {@link ProverEnvironment#close()}
+   * in order to give the context back to the pool.
+   * It is recommended to use the try-with-resources syntax.
+   *
+   * The returned prover environment accepts formulas of the main solver.
+   * The {@link RegionCreator} that is given to
+   * {@link ProverEnvironment#allSat(Collection, RegionCreator, Timer, NestedTimer)}
+   * needs to be thread-safe (cf. {@link AbstractionManager#getSynchronizedRegionCreator()})
+   * if several prover environments of the pool are used concurrently.
+   */
+  public ProverEnvironment newProverEnvironment() throws InterruptedException {
+    return newProverEnvironment(false, false);
+  }
+
+  /**
+   * Like {@link #newProverEnvironment()}, but the solver is told to enable model generation.
+   */
+  public ProverEnvironment newProverEnvironmentWithModelGeneration() throws InterruptedException {
+    return newProverEnvironment(true, false);
+  }
+
+  /**
+   * Like {@link #newProverEnvironment()}, but the solver is told to enable unsat-core generation.
+   */
+  public ProverEnvironment newProverEnvironmentWithUnsatCoreGeneration() throws InterruptedException {
+    return newProverEnvironment(false, true);
+  }
+
+  private ProverEnvironment newProverEnvironment(boolean generateModels, boolean generateUnsatCore)
+      throws InterruptedException {
+    Context context = lease();
+    try {
+      return new PooledProverEnvironment(context,
+          context.fmgr.newProverEnvironment(generateModels, generateUnsatCore));
+    } catch (RuntimeException | Error e) {
+      release(context);
+      throw e;
+    }
+  }
+
+  /**
+   * Checks whether a formula of the main solver is unsat,
+   * using one of the contexts of this pool.
+   * This method may be called concurrently from several threads.
+   */
+  public boolean isUnsat(BooleanFormula f) throws SolverException, InterruptedException {
+    try (ProverEnvironment prover = newProverEnvironment()) {
+      prover.push(f);
+      return prover.isUnsat();
+    }
+  }
+
+  /**
+   * Lease one of the contexts of this pool for direct use of its formula manager,
+   * e.g., for queries that are not supported by the prover environments
+   * returned by {@link #newProverEnvironment()} like interpolation.
+   * If all contexts are currently in use, this method blocks until one is available.
+   * Formulas of the main solver need to be copied into the context
+   * with {@link LeasedContext#toContext(BooleanFormula)} before they are used,
+   * and results need to be copied back with {@link LeasedContext#fromContext(BooleanFormula)}.
+   * The returned object needs to be closed after it is used
+   * in order to give the context back to the pool.
+   */
+  public LeasedContext leaseContext() throws InterruptedException {
+    return new LeasedContext(lease());
+  }
+
+  /**
+   * A context of the pool that is exclusively used by one thread
+   * until it is closed (cf. {@link SolverPool#leaseContext()}).
+   */
+  public final class LeasedContext implements AutoCloseable {
+
+    private final Context context;
+    private boolean closed = false;
+
+    private LeasedContext(Context pContext) {
+      context = pContext;
+    }
+
+    public Solvers getSolver() {
+      return context.solver;
+    }
+
+    public FormulaManager getFormulaManager() {
+      checkState(!closed);
+      return context.fmgr;
+    }
+
+    public BooleanFormula toContext(BooleanFormula f) {
+      checkState(!closed);
+      return SolverPool.this.toContext(f, context);
+    }
+
+    public BooleanFormula fromContext(BooleanFormula f) {
+      checkState(!closed);
+      return SolverPool.this.fromContext(f, context);
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        release(context);
+      }
+    }
+  }
+
+  private Context lease() throws InterruptedException {
+    Context context = idleContexts.poll();
+    if (context == null) {
+      long start = System.nanoTime();
+      do {
+        shutdownNotifier.shutdownIfNecessary();
+        context = idleContexts.poll(100, TimeUnit.MILLISECONDS);
+      } while (context == null);
+      waitingTime.addAndGet(System.nanoTime() - start);
+    }
+
+    leases.incrementAndGet();
+    context.leases.incrementAndGet();
+    int leased = currentlyLeased.incrementAndGet();
+    int max;
+    do {
+      max = maxLeased.get();
+    } while (leased > max && !maxLeased.compareAndSet(max, leased));
+    return context;
+  }
+
+  private void release(Context context) {
+    currentlyLeased.decrementAndGet();
+    idleContexts.add(context);
+  }
+
+  // The lock on mainFmgr only serializes the accesses of the threads that use this pool,
+  // the owner of mainFmgr needs to wait for them (cf. class documentation).
+
+  private BooleanFormula toContext(BooleanFormula f, Context context) {
+    String s;
+    synchronized (mainFmgr) {
+      s = mainFmgr.dumpFormula(f).toString();
+    }
+    return context.fmgr.parse(s);
+  }
+
+  private BooleanFormula fromContext(BooleanFormula f, Context context) {
+    String s = context.fmgr.dumpFormula(f).toString();
+    synchronized (mainFmgr) {
+      return mainFmgr.parse(s);
+    }
+  }
+
+  /**
+   * Prover environment in a context of the pool
+   * that copies formulas from the main solver into the context and back.
+   */
+  private class PooledProverEnvironment implements ProverEnvironment {
+
+    private final Context context;
+    private final ProverEnvironment delegate;
+    private boolean closed = false;
+
+    private PooledProverEnvironment(Context pContext, ProverEnvironment pDelegate) {
+      context = pContext;
+      delegate = pDelegate;
+    }
+
+    @Override
+    public Void push(BooleanFormula f) {
+      checkState(!closed);
+      return delegate.push(toContext(f, context));
+    }
+
+    @Override
+    public void pop() {
+      checkState(!closed);
+      delegate.pop();
+    }
+
+    @Override
+    public boolean isUnsat() throws SolverException, InterruptedException {
+      checkState(!closed);
+      return delegate.isUnsat();
+    }
+
+    @Override
+    public Model getModel() throws SolverException {
+      checkState(!closed);
+      return delegate.getModel();
+    }
+
+    @Override
+    public List<BooleanFormula> getUnsatCore() {
+      checkState(!closed);
+      List<BooleanFormula> result = new ArrayList<>();
+      for (BooleanFormula f : delegate.getUnsatCore()) {
+        result.add(fromContext(f, context));
+      }
+      return result;
+    }
+
+    @Override
+    public AllSatResult allSat(Collection<BooleanFormula> important, RegionCreator mgr,
+        Timer solveTime, NestedTimer enumTime) throws InterruptedException, SolverException {
+      checkState(!closed);
+      // The region creator only knows the predicate variables of the main solver,
+      // so we map the variables of the context back to them.
+      Map<BooleanFormula, BooleanFormula> toMain = new LinkedHashMap<>(important.size());
+      for (BooleanFormula var : important) {
+        toMain.put(toContext(var, context), var);
+      }
+      return delegate.allSat(toMain.keySet(), mgr.withVariableTranslation(Functions.forMap(toMain)),
+          solveTime, enumTime);
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        try {
+          delegate.close();
+        } finally {
+          release(context);
+        }
+      }
+    }
+  }
+
+  public void printStatistics(PrintStream out) {
+    out.println("Number of solver contexts in pool: " + contexts.size());
+    out.println("  leased prover environments:      " + leases.get());
+    out.println("  max. concurrently leased:        " + maxLeased.get());
+    out.println("  time waiting for a context:      " + TimeSpan.ofNanos(waitingTime.get()).formatAs(TimeUnit.SECONDS));
+    if (contexts.size() > 1) {
+      StringBuilder sb = new StringBuilder();
+      for (Context context : contexts) {
+        if (sb.length() > 0) {
+          sb.append(", ");
+        }
+        sb.append(context.solver).append(": ").append(context.leases.get());
+      }
+      out.println("  leases per context:              " + sb);
+    }
+  }
+
+  /**
+   * Close all contexts of this pool.
+   * The pool may not be used anymore afterwards.
+   */
+  @Override
+  public void close() {
+    if (currentlyLeased.get() > 0) {
+      logger.log(Level.WARNING, "Closing solver pool while", currentlyLeased.get(), "contexts are still in use.");
+    }
+    for (Context context : contexts) {
+      if (context.fmgr instanceof AutoCloseable) {
+        try {
+          ((AutoCloseable)context.fmgr).close();
+        } catch (Exception e) {
+          logger.logUserException(Level.WARNING, e, "Failed to close solver context of " + context.solver);
+        }
+      }
+    }
+  }
+}
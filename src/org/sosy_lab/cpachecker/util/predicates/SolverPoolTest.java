@@ -0,0 +1,108 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.NumeralFormula.IntegerFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.ProverEnvironment;
+import org.sosy_lab.cpachecker.util.test.SolverBasedTest0;
+
+public class SolverPoolTest extends SolverBasedTest0 {
+
+  private SolverPool pool;
+
+  @Before
+  public void createPool() throws Exception {
+    pool = new SolverPool(2, factory, config, logger);
+  }
+
+  @After
+  public void closePool() {
+    pool.close();
+  }
+
+  @Test
+  public void testIsUnsat() throws Exception {
+    IntegerFormula x = imgr.makeVariable("x");
+    BooleanFormula sat = imgr.greaterThan(x, imgr.makeNumber(1));
+    BooleanFormula unsat = bmgr.and(sat, imgr.lessThan(x, imgr.makeNumber(0)));
+
+    assertThat(pool.isUnsat(sat)).isFalse();
+    assertThat(pool.isUnsat(unsat)).isTrue();
+  }
+
+  @Test
+  public void testContextsAreReused() throws Exception {
+    BooleanFormula a = bmgr.makeVariable("a");
+
+    for (int i = 0; i < 2 * pool.getSize(); i++) {
+      try (ProverEnvironment prover = pool.newProverEnvironment()) {
+        prover.push(a);
+        prover.push(bmgr.not(a));
+        assertThat(prover.isUnsat()).isTrue();
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentChecks() throws Exception {
+    final IntegerFormula x = imgr.makeVariable("x");
+    List<BooleanFormula> formulas = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      // x = i & x > 5 is unsat iff i <= 5
+      formulas.add(bmgr.and(imgr.equal(x, imgr.makeNumber(i)), imgr.greaterThan(x, imgr.makeNumber(5))));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (final BooleanFormula f : formulas) {
+        results.add(executor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+              return pool.isUnsat(f);
+            }
+          }));
+      }
+
+      for (int i = 0; i < results.size(); i++) {
+        assertThat(results.get(i).get()).isEqualTo(i <= 5);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,329 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import javax.annotation.Nullable;
+
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
+import org.sosy_lab.common.configuration.Options;
+import org.sosy_lab.common.io.Files;
+import org.sosy_lab.common.io.Path;
+import org.sosy_lab.common.io.Paths;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.exceptions.SolverException;
+import org.sosy_lab.cpachecker.util.OutputFiles;
+import org.sosy_lab.cpachecker.util.OutputFiles.ContentWriter;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.view.FormulaManagerView;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Cache for the results of satisfiability checks of {@link Solver#isUnsat(BooleanFormula)}.
+ *
+ * The cache can be bounded, in this case the least-recently used entries are evicted
+ * if the number of entries (or the sum of the sizes of the cached formulas) exceeds the bound.
+ *
+ * Optionally, the results are also stored in a file, such that they can be reused
+ * in later runs. The entries of this file are keyed by a hash of the SMT-LIB
+ * representation of the formula. The number of these entries is bounded as well,
+ * the least-recently used entries are dropped.
+ * The file is written only by the owner of the cache (cf. {@link #store()}),
+ * and the entries are merged with those that other runs wrote in the meantime.
+ */
+@Options(prefix="cpa.predicate.solver.cache")
+public class UnsatCache {
+
+  @Option(secure=true, description="maximal number of entries of the cache for satisfiability checks "
+      + "(or the maximal sum of the sizes of the cached formulas if weightByFormulaSize is set), "
+      + "0 for an unbounded cache")
+  @IntegerOption(min=0)
+  private long maxSize = 0;
+
+  @Option(secure=true, description="bound the cache for satisfiability checks by the sum of the "
+      + "sizes of the formulas (number of nodes in the boolean structure) instead of the number of entries")
+  private boolean weightByFormulaSize = false;
+
+  @Option(secure=true, description="file from which results of satisfiability checks "
+      + "of previous runs on the same or a similar program are read at startup (if it exists)")
+  @FileOption(FileOption.Type.OPTIONAL_INPUT_FILE)
+  private @Nullable Path inputFile = null;
+
+  @Option(secure=true, description="file to which the results of satisfiability checks are written "
+      + "at the end of the analysis, such that they can be reused in a later run "
+      + "(may be the same as inputFile, the results are merged with the current content of the file)")
+  @FileOption(FileOption.Type.OUTPUT_FILE)
+  private @Nullable Path outputFile = null;
+
+  @Option(secure=true, description="maximal number of results of satisfiability checks "
+      + "that are kept in the persistent cache (the least-recently used results are dropped)")
+  @IntegerOption(min=1)
+  private int maxPersistentSize = 100000;
+
+  private static final Splitter LINE_SPLITTER = Splitter.on(' ').limit(2);
+
+  private static final String LOCK_FILE_SUFFIX = ".lock";
+
+  private final FormulaManagerView fmgr;
+  private final LogManager logger;
+
+  private final Cache<BooleanFormula, Boolean> cache;
+
+  // maps hashes of the SMT-LIB representation of formulas to the result of the check,
+  // in the order of the last access
+  private final @Nullable Map<String, Boolean> persistentStore;
+
+  // stats
+  private int persistentHits = 0;
+  private int loadedPersistentEntries = 0;
+
+  public UnsatCache(FormulaManagerView pFmgr, Configuration config, LogManager pLogger)
+      throws InvalidConfigurationException {
+    config.inject(this);
+    fmgr = pFmgr;
+    logger = pLogger;
+
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+    if (maxSize > 0) {
+      if (weightByFormulaSize) {
+        final FormulaMeasuring measuring = new FormulaMeasuring(fmgr);
+        builder.maximumWeight(maxSize).weigher(new Weigher<BooleanFormula, Boolean>() {
+          @Override
+          public int weigh(BooleanFormula pKey, Boolean pValue) {
+            return measuring.measureDagSize(pKey);
+          }
+        });
+      } else {
+        builder.maximumSize(maxSize);
+      }
+    }
+    cache = builder.build();
+
+    if (inputFile != null || outputFile != null) {
+      persistentStore = newPersistentStore();
+      if (inputFile != null) {
+        loadPersistentStore();
+      }
+    } else {
+      persistentStore = null;
+    }
+  }
+
+  private Map<String, Boolean> newPersistentStore() {
+    return new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+      private static final long serialVersionUID = 6339617367066009837L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Boolean> pEldest) {
+        return size() > maxPersistentSize;
+      }
+    };
+  }
+
+  /**
+   * A satisfiability check whose result should be cached.
+   */
+  public static interface UnsatCheck {
+    boolean isUnsat() throws SolverException, InterruptedException;
+  }
+
+  /**
+   * Get the cached result for a formula, or compute and cache it if it is not cached.
+   * The key for the persistent cache is computed at most once per call,
+   * because dumping and hashing the formula is expensive.
+   * @param f The formula.
+   * @param check The check that computes the result for f if it is not cached.
+   * @return True if the formula is unsat, false if it is sat.
+   */
+  public boolean getOrCompute(BooleanFormula f, UnsatCheck check)
+      throws SolverException, InterruptedException {
+    return getOrCompute(f, check, true);
+  }
+
+  /**
+   * Like {@link #getOrCompute(BooleanFormula, UnsatCheck)},
+   * but without counting this access as a hit or miss of the cache.
+   */
+  public boolean getOrComputeWithoutStats(BooleanFormula f, UnsatCheck check)
+      throws SolverException, InterruptedException {
+    return getOrCompute(f, check, false);
+  }
+
+  private boolean getOrCompute(BooleanFormula f, UnsatCheck check, boolean recordStats)
+      throws SolverException, InterruptedException {
+    Boolean result = recordStats ? cache.getIfPresent(f) : cache.asMap().get(f);
+    if (result != null) {
+      return result;
+    }
+
+    String key = null;
+    if (persistentStore != null) {
+      key = persistentKey(f);
+      result = persistentStore.get(key);
+      if (result != null) {
+        persistentHits++;
+        cache.put(f, result);
+        return result;
+      }
+    }
+
+    boolean unsat = check.isUnsat();
+    cache.put(f, unsat);
+    if (key != null) {
+      persistentStore.put(key, unsat);
+    }
+    return unsat;
+  }
+
+  private String persistentKey(BooleanFormula f) {
+    String smtlib = fmgr.dumpFormula(f).toString();
+    return Hashing.sha256().hashString(smtlib, StandardCharsets.UTF_8).toString();
+  }
+
+  private void loadPersistentStore() {
+    if (!inputFile.exists()) {
+      return;
+    }
+
+    try {
+      readEntries(inputFile, persistentStore);
+    } catch (IOException | IndexOutOfBoundsException e) {
+      logger.logUserException(Level.WARNING, e, "Could not read cache for satisfiability checks from file");
+      persistentStore.clear();
+    }
+
+    loadedPersistentEntries = persistentStore.size();
+    logger.log(Level.FINE, "Loaded", loadedPersistentEntries, "results of satisfiability checks from", inputFile);
+  }
+
+  /**
+   * Read the entries of a file into a map (in the order of the file,
+   * which is the order from the least-recently to the most-recently used entry).
+   */
+  private static void readEntries(Path pFile, Map<String, Boolean> pEntries) throws IOException {
+    try (BufferedReader r = pFile.asCharSource(StandardCharsets.UTF_8).openBufferedStream()) {
+      String line;
+      while ((line = r.readLine()) != null) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        List<String> parts = LINE_SPLITTER.splitToList(line);
+        pEntries.put(parts.get(0), Boolean.valueOf(parts.get(1)));
+      }
+    }
+  }
+
+  /**
+   * Write the persistent store to the output file (if enabled).
+   * The entries are merged with the current content of the file,
+   * such that concurrent or previous runs that write to the same file do not lose their results.
+   * The file is locked while it is merged, and replaced atomically.
+   *
+   * This should be called only by the single owner of the solver
+   * (the CPA that created it) at the end of the analysis.
+   */
+  public void store() {
+    if (outputFile == null) {
+      return;
+    }
+
+    Path lockFile = Paths.get(outputFile.getPath() + LOCK_FILE_SUFFIX);
+    try {
+      Files.createParentDirs(lockFile);
+      try (FileChannel lockChannel = FileChannel.open(lockFile.toFile().toPath(),
+              StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+           FileLock lock = lockChannel.lock()) {
+
+        final Map<String, Boolean> merged = newPersistentStore();
+        if (outputFile.exists()) {
+          try {
+            readEntries(outputFile, merged);
+          } catch (IOException | IndexOutOfBoundsException e) {
+            logger.logUserException(Level.WARNING, e,
+                "Could not read current content of cache for satisfiability checks, overwriting it");
+            merged.clear();
+          }
+        }
+        // our entries are the most recent ones
+        merged.putAll(persistentStore);
+
+        OutputFiles.writeAtomically(outputFile, new ContentWriter() {
+          @Override
+          public void writeTo(OutputStream pOut) throws IOException {
+            Writer w = new OutputStreamWriter(pOut, StandardCharsets.UTF_8);
+            for (Map.Entry<String, Boolean> entry : merged.entrySet()) {
+              w.append(entry.getKey()).append(' ').append(entry.getValue().toString()).append('\n');
+            }
+            w.flush();
+          }
+        });
+      }
+    } catch (IOException e) {
+      logger.logUserException(Level.WARNING, e, "Could not write cache for satisfiability checks to file");
+    }
+  }
+
+  public long getSize() {
+    return cache.size();
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  public int getPersistentHits() {
+    return persistentHits;
+  }
+
+  public int getLoadedPersistentEntries() {
+    return loadedPersistentEntries;
+  }
+
+  public boolean isPersistent() {
+    return persistentStore != null;
+  }
+}
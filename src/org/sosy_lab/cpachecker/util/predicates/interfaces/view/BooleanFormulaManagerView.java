@@ -25,7 +25,9 @@ package org.sosy_lab.cpachecker.util.predicates.interfaces.view;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -160,6 +162,32 @@ public class BooleanFormulaManagerView extends BaseManagerView implements Boolea
     return Triple.of(cond, wrap(targetType, thenBranch), wrap(targetType, elseBranch));
   }
 
+  /**
+   * Split a formula into its top-level conjuncts (nested conjunctions are split, too).
+   * A formula that is not a conjunction is its only conjunct.
+   * Each distinct conjunct is returned once.
+   */
+  public List<BooleanFormula> splitConjuncts(BooleanFormula pF) {
+    List<BooleanFormula> result = new ArrayList<>();
+    Set<BooleanFormula> seen = new HashSet<>();
+    Deque<BooleanFormula> waitlist = new ArrayDeque<>();
+    waitlist.push(pF);
+    while (!waitlist.isEmpty()) {
+      BooleanFormula f = waitlist.pop();
+      if (!seen.add(f)) {
+        continue;
+      }
+      if (isAnd(f)) {
+        for (int i = unsafe.getArity(f) - 1; i >= 0; i--) {
+          waitlist.push((BooleanFormula)unsafe.getArg(f, i));
+        }
+      } else {
+        result.add(f);
+      }
+    }
+    return result;
+  }
+
   @Override
   public boolean isEquivalence(BooleanFormula pFormula) {
     return manager.isEquivalence(pFormula);
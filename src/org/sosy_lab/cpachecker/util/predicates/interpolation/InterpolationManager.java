@@ -31,11 +31,15 @@ import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -43,6 +47,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 
+import javax.annotation.Nullable;
+
 import org.sosy_lab.common.Appender;
 import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.Triple;
@@ -70,8 +76,12 @@ import org.sosy_lab.cpachecker.exceptions.SolverException;
 import org.sosy_lab.cpachecker.util.LoopStructure;
 import org.sosy_lab.cpachecker.util.VariableClassification;
 import org.sosy_lab.cpachecker.util.predicates.Solver;
+import org.sosy_lab.cpachecker.util.predicates.SolverPool;
+import org.sosy_lab.cpachecker.util.predicates.SolverPool.LeasedContext;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.BasicProverEnvironment;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.FormulaManager;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.InterpolatingProverEnvironment;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.PathFormulaManager;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.ProverEnvironment;
@@ -85,6 +95,8 @@ import org.sosy_lab.cpachecker.util.predicates.interpolation.strategy.TreeInterp
 import org.sosy_lab.cpachecker.util.predicates.interpolation.strategy.TreeInterpolationWithSolver;
 import org.sosy_lab.cpachecker.util.predicates.interpolation.strategy.WellScopedInterpolation;
 
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
 import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
@@ -102,6 +114,22 @@ public final class InterpolationManager {
   private final Timer cexAnalysisGetUsefulBlocksTimer = new Timer();
   private final Timer interpolantVerificationTimer = new Timer();
   private int reusedFormulasOnSolverStack = 0;
+  private int interpolationRaces = 0;
+  private int lostInterpolationRaces = 0;
+  private final Map<String, RacerStatistics> racerStatistics = new LinkedHashMap<>();
+
+  /**
+   * Statistics for one participant of interpolation races,
+   * i.e., for one strategy in the context of one solver.
+   * They are only updated by the thread that runs the race.
+   */
+  private static class RacerStatistics {
+    private int runs = 0;
+    private int wins = 0;
+    private int failures = 0;
+    private long time = 0; // nanos
+    private long maxTime = 0; // nanos
+  }
 
   public void printStatistics(PrintStream out, Result result, ReachedSet reached) {
     out.println("  Counterexample analysis:            " + cexAnalysisTimer + " (Max: " + cexAnalysisTimer.getMaxTime().formatAs(TimeUnit.SECONDS) + ", Calls: " + cexAnalysisTimer.getNumberOfIntervals() + ")");
@@ -116,6 +144,16 @@ public final class InterpolationManager {
     if (interpolantVerificationTimer.getNumberOfIntervals() > 0) {
       out.println("    Interpolant verification:         " + interpolantVerificationTimer);
     }
+    if (interpolationRaces > 0) {
+      out.println("    Interpolation races:              " + interpolationRaces + " (without winner: " + lostInterpolationRaces + ")");
+      for (Map.Entry<String, RacerStatistics> entry : racerStatistics.entrySet()) {
+        RacerStatistics stats = entry.getValue();
+        out.println("      " + entry.getKey() + ": " + stats.wins + " wins in " + stats.runs + " runs"
+            + " (failed: " + stats.failures
+            + ", time: " + TimeSpan.ofNanos(stats.time).formatAs(TimeUnit.SECONDS)
+            + ", max: " + TimeSpan.ofNanos(stats.maxTime).formatAs(TimeUnit.SECONDS) + ")");
+      }
+    }
   }
 
 
@@ -157,6 +195,21 @@ public final class InterpolationManager {
     SEQ, SEQ_CPACHECKER,
     TREE, TREE_WELLSCOPED, TREE_NESTED, TREE_CPACHECKER}
 
+  @Option(secure=true, description="Compute the interpolants with all of these strategies "
+      + "concurrently in the contexts of the solver pool (cf. option cpa.predicate.solver.pool.size) "
+      + "and use the result that is selected by cpa.predicate.refinement.racingPolicy. "
+      + "Racing different solvers is possible by configuring the solvers of the pool "
+      + "(cf. option cpa.predicate.solver.pool.solvers). "
+      + "If all strategies fail, the option cpa.predicate.refinement.strategy is used with the main solver. "
+      + "Empty list disables racing.")
+  private List<InterpolationStrategy> racingStrategies = ImmutableList.of();
+
+  @Option(secure=true, description="Which result of the strategies in cpa.predicate.refinement.racingStrategies to use:"
+      + "\n- FIRST: the first successfully computed sequence of interpolants, the other strategies are stopped"
+      + "\n- FEWEST_ATOMS: wait for all strategies and use the sequence of interpolants with the fewest atoms")
+  private RacingPolicy racingPolicy = RacingPolicy.FIRST;
+  private static enum RacingPolicy { FIRST, FEWEST_ATOMS }
+
   @Option(secure=true, description="dump all interpolation problems")
   private boolean dumpInterpolationProblems = false;
 
@@ -178,6 +231,9 @@ public final class InterpolationManager {
   private boolean reuseInterpolationEnvironment = false;
 
   private final ExecutorService executor;
+  private final @Nullable ExecutorService racingExecutor;
+  private final @Nullable SolverPool solverPool;
+  private final List<RacingStrategy> racers;
   private final LoopStructure loopStructure;
   private final VariableClassification variableClassification;
 
@@ -189,6 +245,24 @@ public final class InterpolationManager {
       Configuration config,
       ShutdownNotifier pShutdownNotifier,
       LogManager pLogger) throws InvalidConfigurationException {
+    this(pPmgr, pSolver, pLoopStructure, pVarClassification, config, pShutdownNotifier, pLogger,
+        Functions.<RacingStrategy>identity());
+  }
+
+  /**
+   * Create an InterpolationManager whose racing strategies
+   * (cf. {@link #racingStrategies}) are wrapped with the given function,
+   * e.g., for letting some of them fail or delaying them in tests.
+   */
+  InterpolationManager(
+      PathFormulaManager pPmgr,
+      Solver pSolver,
+      Optional<LoopStructure> pLoopStructure,
+      Optional<VariableClassification> pVarClassification,
+      Configuration config,
+      ShutdownNotifier pShutdownNotifier,
+      LogManager pLogger,
+      Function<RacingStrategy, RacingStrategy> pRacingStrategyWrapper) throws InvalidConfigurationException {
     config.inject(this, InterpolationManager.class);
 
     logger = pLogger;
@@ -207,6 +281,25 @@ public final class InterpolationManager {
       executor = Executors.newSingleThreadExecutor(Threads.threadFactoryBuilder().setDaemon(true).build());
     }
 
+    solverPool = racingStrategies.isEmpty() ? null : solver.getSolverPool();
+    if (racingStrategies.isEmpty()) {
+      racingExecutor = null;
+    } else if (solverPool == null) {
+      logger.log(Level.WARNING, "Racing interpolation strategies needs a pool of solvers",
+          "(option cpa.predicate.solver.pool.size), ignoring option cpa.predicate.refinement.racingStrategies.");
+      racingExecutor = null;
+    } else {
+      // daemon threads for the same reason as above
+      racingExecutor = Executors.newFixedThreadPool(racingStrategies.size(),
+          Threads.threadFactoryBuilder().setDaemon(true).build());
+    }
+
+    ImmutableList.Builder<RacingStrategy> racersBuilder = ImmutableList.builder();
+    for (InterpolationStrategy racingStrategy : racingStrategies) {
+      racersBuilder.add(pRacingStrategyWrapper.apply(new ConfiguredRacingStrategy(racingStrategy)));
+    }
+    racers = racersBuilder.build();
+
     if (reuseInterpolationEnvironment) {
       interpolator = new Interpolator<>();
     } else {
@@ -538,40 +631,412 @@ public final class InterpolationManager {
   private <T> List<BooleanFormula> getInterpolants(Interpolator<T> pInterpolator,
       List<Triple<BooleanFormula, AbstractState, T>> formulasWithStatesAndGroupdIds)
           throws SolverException, InterruptedException {
+    final ITPStrategy<T> itpStrategy = createStrategy(strategy, shutdownNotifier, bfmgr);
+
+    final List<BooleanFormula> interpolants;
+    getInterpolantTimer.start();
+    try {
+      interpolants = itpStrategy.getInterpolants(pInterpolator, formulasWithStatesAndGroupdIds);
+    } finally {
+      getInterpolantTimer.stop();
+    }
+
+    assert formulasWithStatesAndGroupdIds.size() - 1 == interpolants.size() : "we should return N-1 interpolants for N formulas.";
+
+    if (verifyInterpolants) {
+      interpolantVerificationTimer.start();
+      try {
+        itpStrategy.checkInterpolants(solver, formulasWithStatesAndGroupdIds, interpolants);
+      } finally {
+        interpolantVerificationTimer.stop();
+      }
+    }
+
+    return interpolants;
+  }
+
+  /**
+   * Create an instance of an interpolation strategy.
+   * The given formula manager is used for the formulas on the solver stack
+   * and for the interpolants, whereas the main formula manager
+   * is only used by {@link ITPStrategy#checkInterpolants(Solver, List, List)}.
+   */
+  private <T> ITPStrategy<T> createStrategy(InterpolationStrategy pStrategy,
+      ShutdownNotifier pShutdownNotifier, BooleanFormulaManager pBfmgr) {
     // TODO replace with Config-Class-Constructor-Injection?
-    final  ITPStrategy<T> itpStrategy;
-    switch (strategy) {
+    switch (pStrategy) {
       case SEQ_CPACHECKER:
-        itpStrategy = new SequentialInterpolation<>(logger, shutdownNotifier, fmgr, bfmgr);
-        break;
+        return new SequentialInterpolation<>(logger, pShutdownNotifier, fmgr, pBfmgr);
       case SEQ:
-        itpStrategy = new SequentialInterpolationWithSolver<>(logger, shutdownNotifier, fmgr, bfmgr);
-        break;
+        return new SequentialInterpolationWithSolver<>(logger, pShutdownNotifier, fmgr, pBfmgr);
       case TREE_WELLSCOPED:
-        itpStrategy = new WellScopedInterpolation<>(logger, shutdownNotifier, fmgr, bfmgr);
-        break;
+        return new WellScopedInterpolation<>(logger, pShutdownNotifier, fmgr, pBfmgr);
       case TREE_NESTED:
-        itpStrategy = new NestedInterpolation<>(logger, shutdownNotifier, fmgr, bfmgr);
-        break;
+        return new NestedInterpolation<>(logger, pShutdownNotifier, fmgr, pBfmgr);
       case TREE_CPACHECKER:
-        itpStrategy = new TreeInterpolation<>(logger, shutdownNotifier, fmgr, bfmgr);
-        break;
+        return new TreeInterpolation<>(logger, pShutdownNotifier, fmgr, pBfmgr);
       case TREE:
-        itpStrategy = new TreeInterpolationWithSolver<>(logger, shutdownNotifier, fmgr, bfmgr);
-        break;
+        return new TreeInterpolationWithSolver<>(logger, pShutdownNotifier, fmgr, pBfmgr);
       default:
         throw new AssertionError("unknown interpolation strategy");
     }
+  }
 
-    final List<BooleanFormula> interpolants = itpStrategy.getInterpolants(pInterpolator, formulasWithStatesAndGroupdIds);
+  /**
+   * A participant of interpolation races.
+   */
+  static interface RacingStrategy {
 
-    assert formulasWithStatesAndGroupdIds.size() - 1 == interpolants.size() : "we should return N-1 interpolants for N formulas.";
+    /**
+     * Compute the interpolants for a trace in a context of the solver pool.
+     * This method is called concurrently for several strategies
+     * and must not use the main solver except for copying formulas.
+     * @return A list of (N-1) interpolants for N formulae (in the context), or null if the trace is satisfiable.
+     */
+    @Nullable List<BooleanFormula> computeInterpolants(
+        List<Triple<BooleanFormula, AbstractState, Integer>> orderedFormulas,
+        LeasedContext context, ShutdownNotifier raceNotifier)
+            throws SolverException, InterruptedException;
+
+    /**
+     * Check that interpolants computed by this strategy fulfill its interpolant properties
+     * for the formulas of the main solver.
+     */
+    <T> void checkInterpolants(
+        List<Triple<BooleanFormula, AbstractState, T>> formulasWithStatesAndGroupdIds,
+        List<BooleanFormula> interpolants)
+            throws SolverException, InterruptedException;
+  }
+
+  /**
+   * A racing strategy from the option {@link #racingStrategies}.
+   */
+  private class ConfiguredRacingStrategy implements RacingStrategy {
+
+    private final InterpolationStrategy strategy;
+
+    private ConfiguredRacingStrategy(InterpolationStrategy pStrategy) {
+      strategy = pStrategy;
+    }
+
+    @Override
+    public List<BooleanFormula> computeInterpolants(
+        List<Triple<BooleanFormula, AbstractState, Integer>> orderedFormulas,
+        LeasedContext context, ShutdownNotifier raceNotifier)
+            throws SolverException, InterruptedException {
+      return computeInterpolantsInContext(strategy, orderedFormulas, context, raceNotifier);
+    }
+
+    @Override
+    public <T> void checkInterpolants(
+        List<Triple<BooleanFormula, AbstractState, T>> formulasWithStatesAndGroupdIds,
+        List<BooleanFormula> interpolants)
+            throws SolverException, InterruptedException {
+      InterpolationManager.this.<T>createStrategy(strategy, shutdownNotifier, bfmgr)
+          .checkInterpolants(solver, formulasWithStatesAndGroupdIds, interpolants);
+    }
+
+    @Override
+    public String toString() {
+      return strategy.toString();
+    }
+  }
+
+  /**
+   * The outcome of computing interpolants with one strategy during a race.
+   */
+  private static class RaceResult {
+    private final RacingStrategy strategy;
+    private final String racer;
+    private final @Nullable List<BooleanFormula> interpolants; // null if failed or stopped
+    private final boolean stopped;
+    private final long time; // nanos
+
+    private RaceResult(RacingStrategy pStrategy, String pRacer,
+        @Nullable List<BooleanFormula> pInterpolants, boolean pStopped, long pTime) {
+      strategy = pStrategy;
+      racer = pRacer;
+      interpolants = pInterpolants;
+      stopped = pStopped;
+      time = pTime;
+    }
+  }
+
+  /**
+   * Compute the interpolants for an infeasible trace with all strategies
+   * of {@link #racingStrategies} concurrently, each in its own context of the solver pool,
+   * and select one of the results according to {@link #racingPolicy}.
+   * If no strategy succeeds, the interpolants are computed with the main solver as usual.
+   *
+   * The main solver must not be used while the race is running,
+   * because the contexts of the pool copy formulas from it.
+   * Thus this method waits until all racers have finished,
+   * racers that are not needed anymore stop at their next interpolation query.
+   *
+   * @param orderedFormulas The formulas of the trace in the order in which they were given to the main solver.
+   * @param pInterpolator The interpolator of the main solver with all formulas on its solver stack.
+   * @param formulasWithStatesAndGroupdIds The formulas of the trace with their groups in pInterpolator.
+   * @return A list of (N-1) interpolants for N formulae.
+   */
+  private <T> List<BooleanFormula> raceInterpolants(
+      final List<Triple<BooleanFormula, AbstractState, Integer>> orderedFormulas,
+      Interpolator<T> pInterpolator,
+      List<Triple<BooleanFormula, AbstractState, T>> formulasWithStatesAndGroupdIds)
+          throws CPAException, InterruptedException {
+    assert racingExecutor != null;
+    assert solverPool != null;
+    final ShutdownNotifier raceNotifier = ShutdownNotifier.createWithParent(shutdownNotifier);
+    CompletionService<RaceResult> completionService = new ExecutorCompletionService<>(racingExecutor);
+
+    interpolationRaces++;
+    RaceResult winner = null;
+    int runningRacers = 0;
+    getInterpolantTimer.start();
+    try {
+      for (final RacingStrategy racingStrategy : racers) {
+        completionService.submit(new Callable<RaceResult>() {
+          @Override
+          public RaceResult call() throws InterruptedException {
+            return runRacer(racingStrategy, orderedFormulas, solverPool, raceNotifier);
+          }
+        });
+        runningRacers++;
+      }
+
+      List<RaceResult> successfulResults = new ArrayList<>(racers.size());
+      while (runningRacers > 0) {
+        RaceResult result;
+        Future<RaceResult> finishedRacer = completionService.take();
+        runningRacers--;
+        try {
+          result = finishedRacer.get();
+        } catch (ExecutionException e) {
+          Throwable t = e.getCause();
+          Throwables.propagateIfPossible(t, CPAException.class, InterruptedException.class);
+
+          throw new UnexpectedCheckedException("interpolation", t);
+        }
+
+        RacerStatistics stats = getRacerStatistics(result.racer);
+        stats.runs++;
+        stats.time += result.time;
+        stats.maxTime = Math.max(stats.maxTime, result.time);
+
+        if (result.interpolants != null) {
+          successfulResults.add(result);
+          if (racingPolicy == RacingPolicy.FIRST) {
+            raceNotifier.requestShutdown("interpolants were already computed by " + successfulResults.get(0).racer);
+          }
+        } else if (!result.stopped) {
+          stats.failures++;
+        }
+      }
+
+      // all racers have finished, the main solver can be used again
+      if (!successfulResults.isEmpty()) {
+        if (racingPolicy == RacingPolicy.FIRST) {
+          winner = successfulResults.get(0);
+        } else {
+          int fewestAtoms = Integer.MAX_VALUE;
+          for (RaceResult result : successfulResults) {
+            int atoms = countAtoms(result.interpolants);
+            if (atoms < fewestAtoms) {
+              fewestAtoms = atoms;
+              winner = result;
+            }
+          }
+        }
+      }
+
+    } finally {
+      // If we get here because of an exception, the remaining racers are still running
+      // and may copy formulas from the main solver, so we stop them and wait for them.
+      raceNotifier.requestShutdown("interpolation race is over");
+      boolean interrupted = false;
+      while (runningRacers > 0) {
+        try {
+          completionService.take();
+          runningRacers--;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      getInterpolantTimer.stop();
+    }
+
+    if (winner == null) {
+      lostInterpolationRaces++;
+      logger.log(Level.FINEST, "No strategy of the interpolation race succeeded, using the main solver");
+      return getInterpolants(pInterpolator, formulasWithStatesAndGroupdIds);
+    }
+
+    logger.log(Level.FINEST, "Using interpolants computed by", winner.racer);
+    getRacerStatistics(winner.racer).wins++;
+    assert formulasWithStatesAndGroupdIds.size() - 1 == winner.interpolants.size() : "we should return N-1 interpolants for N formulas.";
 
     if (verifyInterpolants) {
-      itpStrategy.checkInterpolants(solver, formulasWithStatesAndGroupdIds, interpolants);
+      interpolantVerificationTimer.start();
+      try {
+        winner.strategy.checkInterpolants(formulasWithStatesAndGroupdIds, winner.interpolants);
+      } finally {
+        interpolantVerificationTimer.stop();
+      }
     }
 
-    return interpolants;
+    return winner.interpolants;
+  }
+
+  /**
+   * Compute the interpolants for a trace with one strategy in a context of the solver pool.
+   * This method is called concurrently for several strategies
+   * and must not use the main solver except for copying formulas.
+   */
+  private RaceResult runRacer(RacingStrategy racingStrategy,
+      List<Triple<BooleanFormula, AbstractState, Integer>> orderedFormulas,
+      SolverPool solverPool, ShutdownNotifier raceNotifier) throws InterruptedException {
+
+    try (LeasedContext context = solverPool.leaseContext()) {
+      final String racer = racingStrategy + " with " + context.getSolver();
+      final long start = System.nanoTime();
+      List<BooleanFormula> interpolants = null;
+      boolean stopped = false;
+
+      try {
+        List<BooleanFormula> contextInterpolants =
+            racingStrategy.computeInterpolants(orderedFormulas, context, raceNotifier);
+        if (contextInterpolants == null) {
+          throw new SolverException("Infeasible counterexample trace is satisfiable for " + context.getSolver());
+        }
+        raceNotifier.shutdownIfNecessary();
+
+        interpolants = new ArrayList<>(contextInterpolants.size());
+        for (BooleanFormula itp : contextInterpolants) {
+          interpolants.add(context.fromContext(itp));
+        }
+
+      } catch (SolverException | UnsupportedOperationException e) {
+        logger.logDebugException(e, "Interpolation with " + racer + " failed");
+        interpolants = null;
+
+      } catch (InterruptedException e) {
+        if (shutdownNotifier.shouldShutdown() || !raceNotifier.shouldShutdown()) {
+          throw e;
+        }
+        // another racer was faster
+        interpolants = null;
+        stopped = true;
+      }
+
+      return new RaceResult(racingStrategy, racer, interpolants, stopped, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Compute the interpolants for a trace with one strategy in a context of the solver pool.
+   * @return A list of (N-1) interpolants for N formulae, or null if the trace is satisfiable.
+   */
+  private @Nullable <T> List<BooleanFormula> computeInterpolantsInContext(InterpolationStrategy racingStrategy,
+      List<Triple<BooleanFormula, AbstractState, Integer>> orderedFormulas,
+      LeasedContext context, ShutdownNotifier raceNotifier)
+          throws SolverException, InterruptedException {
+
+    final FormulaManager contextFmgr = context.getFormulaManager();
+    final Interpolator<T> contextInterpolator = new Interpolator<>(contextFmgr);
+    try {
+      // same order of formulas on the solver stack as for the main solver,
+      // but the list is sorted along the counterexample (cf. checkInfeasabilityOfTrace)
+      List<Triple<BooleanFormula, AbstractState, T>> formulasWithStatesAndGroupdIds =
+          new ArrayList<>(Collections.<Triple<BooleanFormula, AbstractState, T>>nCopies(orderedFormulas.size(), null));
+      for (Triple<BooleanFormula, AbstractState, Integer> p : orderedFormulas) {
+        BooleanFormula f = context.toContext(p.getFirst());
+        T itpGroupId = contextInterpolator.itpProver.push(f);
+        formulasWithStatesAndGroupdIds.set(p.getThird(), Triple.of(f, p.getSecond(), itpGroupId));
+      }
+
+      if (!contextInterpolator.itpProver.isUnsat()) {
+        return null;
+      }
+
+      ITPStrategy<T> itpStrategy = createStrategy(racingStrategy, raceNotifier, contextFmgr.getBooleanFormulaManager());
+      return itpStrategy.getInterpolants(contextInterpolator, formulasWithStatesAndGroupdIds);
+
+    } finally {
+      contextInterpolator.close();
+    }
+  }
+
+  /**
+   * Create a task that checks a trace for infeasibility in a context of the solver pool
+   * and computes its interpolants there with the configured strategy,
+   * such that the trace does not need to be checked again with the main solver.
+   * The task is prepared with the main solver by this method,
+   * it may then run in another thread,
+   * but the main solver must not be used until it has finished (cf. {@link SolverPool}).
+   *
+   * The task returns a list of (N-1) interpolants for N formulae,
+   * or null if the trace is feasible.
+   *
+   * @param pFormulas the formulas for the path
+   * @param pAbstractionStates the abstraction states between the formulas and the last state of the path
+   *                           (cf. {@link #buildCounterexampleTrace(List, List, Set, boolean)})
+   * @param pSolverPool the pool whose contexts are used
+   */
+  public Callable<List<BooleanFormula>> createPooledInterpolationTask(
+      final List<BooleanFormula> pFormulas,
+      final List<AbstractState> pAbstractionStates,
+      final SolverPool pSolverPool) {
+
+    assert pAbstractionStates.isEmpty() || pFormulas.size() == pAbstractionStates.size();
+
+    List<BooleanFormula> f = new ArrayList<>(pFormulas);
+    if (fmgr.useBitwiseAxioms()) {
+      addBitwiseAxioms(f);
+    }
+    List<AbstractState> abstractionStates = pAbstractionStates;
+    if (abstractionStates.isEmpty()) {
+      abstractionStates = Collections.<AbstractState>nCopies(f.size(), null);
+    }
+    final List<Triple<BooleanFormula, AbstractState, Integer>> orderedFormulas =
+        orderFormulas(f, abstractionStates);
+
+    return new Callable<List<BooleanFormula>>() {
+      @Override
+      public List<BooleanFormula> call() throws SolverException, InterruptedException {
+        try (LeasedContext context = pSolverPool.leaseContext()) {
+          List<BooleanFormula> contextInterpolants =
+              computeInterpolantsInContext(strategy, orderedFormulas, context, shutdownNotifier);
+          if (contextInterpolants == null) {
+            return null;
+          }
+
+          List<BooleanFormula> interpolants = new ArrayList<>(contextInterpolants.size());
+          for (BooleanFormula itp : contextInterpolants) {
+            interpolants.add(context.fromContext(itp));
+          }
+          return interpolants;
+        }
+      }
+    };
+  }
+
+  private int countAtoms(List<BooleanFormula> interpolants) {
+    int atoms = 0;
+    for (BooleanFormula itp : interpolants) {
+      atoms += fmgr.extractAtoms(itp, false).size();
+    }
+    return atoms;
+  }
+
+  private RacerStatistics getRacerStatistics(String racer) {
+    RacerStatistics stats = racerStatistics.get(racer);
+    if (stats == null) {
+      stats = new RacerStatistics();
+      racerStatistics.put(racer, stats);
+    }
+    return stats;
   }
 
   /**
@@ -667,8 +1132,18 @@ public final class InterpolationManager {
 
     public InterpolatingProverEnvironment<T> itpProver;
     private final List<Triple<BooleanFormula, AbstractState, T>> currentlyAssertedFormulas = new ArrayList<>();
+    private final @Nullable FormulaManager contextFmgr;
 
     Interpolator() {
+      this(null);
+    }
+
+    /**
+     * Create an interpolator that uses the given solver context
+     * (e.g., from the solver pool) instead of the main solver.
+     */
+    Interpolator(@Nullable FormulaManager pContextFmgr) {
+      contextFmgr = pContextFmgr;
       itpProver = newEnvironment();
     }
 
@@ -676,6 +1151,9 @@ public final class InterpolationManager {
     public InterpolatingProverEnvironment<T> newEnvironment() {
       // This is safe because we don't actually care about the value of T,
       // only the InterpolatingProverEnvironment itself cares about it.
+      if (contextFmgr != null) {
+        return (InterpolatingProverEnvironment<T>)contextFmgr.newProverEnvironmentWithInterpolation(false);
+      }
       return (InterpolatingProverEnvironment<T>)solver.newProverEnvironmentWithInterpolation();
     }
 
@@ -753,7 +1231,12 @@ public final class InterpolationManager {
       if (spurious) {
 
         if (computeInterpolants) {
-          final List<BooleanFormula> interpolants = getInterpolants(this, formulasWithStatesAndGroupdIds);
+          final List<BooleanFormula> interpolants;
+          if (racingExecutor != null) {
+            interpolants = raceInterpolants(orderedFormulas, this, formulasWithStatesAndGroupdIds);
+          } else {
+            interpolants = getInterpolants(this, formulasWithStatesAndGroupdIds);
+          }
           if (logger.wouldBeLogged(Level.ALL)) {
             int i = 1;
             for (BooleanFormula itp : interpolants) {
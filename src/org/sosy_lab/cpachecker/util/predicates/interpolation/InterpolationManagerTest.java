@@ -0,0 +1,161 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.interpolation;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.Triple;
+import org.sosy_lab.common.configuration.ConfigurationBuilder;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.cpachecker.core.ShutdownNotifier;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.exceptions.SolverException;
+import org.sosy_lab.cpachecker.util.LoopStructure;
+import org.sosy_lab.cpachecker.util.VariableClassification;
+import org.sosy_lab.cpachecker.util.predicates.Solver;
+import org.sosy_lab.cpachecker.util.predicates.SolverPool.LeasedContext;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.NumeralFormula.IntegerFormula;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.PathFormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.view.FormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.view.NumeralFormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.interpolation.InterpolationManager.RacingStrategy;
+import org.sosy_lab.cpachecker.util.test.SolverBasedTest0;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+public class InterpolationManagerTest extends SolverBasedTest0 {
+
+  private FormulaManagerView mgrv;
+  private Solver solver;
+
+  @Override
+  protected ConfigurationBuilder createTestConfigBuilder() throws InvalidConfigurationException {
+    return super.createTestConfigBuilder()
+        .setOption("cpa.predicate.solver.pool.size", "2")
+        .setOption("cpa.predicate.refinement.racingStrategies", "SEQ_CPACHECKER, SEQ");
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    mgrv = new FormulaManagerView(factory, config, logger);
+    solver = new Solver(mgrv, factory, config, logger);
+  }
+
+  @After
+  public void tearDown() throws InvalidConfigurationException {
+    solver.getSolverPool().close();
+  }
+
+  /** x > 0, x < 0 (infeasible) */
+  private List<BooleanFormula> makeInfeasibleTrace() {
+    NumeralFormulaManagerView<IntegerFormula, IntegerFormula> ifmgrv = mgrv.getIntegerFormulaManager();
+    IntegerFormula x = ifmgrv.makeVariable("x");
+    IntegerFormula zero = ifmgrv.makeNumber(0);
+    return ImmutableList.of(ifmgrv.greaterThan(x, zero), ifmgrv.lessThan(x, zero));
+  }
+
+  private InterpolationManager createInterpolationManager() throws InvalidConfigurationException {
+    return new InterpolationManager(mock(PathFormulaManager.class), solver,
+        Optional.<LoopStructure>absent(), Optional.<VariableClassification>absent(),
+        config, ShutdownNotifier.create(), logger);
+  }
+
+  @Test
+  public void testRace() throws Exception {
+    InterpolationManager imgr = createInterpolationManager();
+
+    CounterexampleTraceInfo cex = imgr.buildCounterexampleTrace(makeInfeasibleTrace());
+
+    assertThat(cex.isSpurious()).isTrue();
+    assertThat(cex.getInterpolants()).hasSize(1);
+  }
+
+  @Test
+  public void testRaceWithFailingRacer() throws Exception {
+    final CountDownLatch racerFailed = new CountDownLatch(1);
+    final AtomicInteger startedRacers = new AtomicInteger(0);
+    final AtomicBoolean slowRacerFinished = new AtomicBoolean(false);
+
+    // The first racer waits until the second racer has failed,
+    // and continues afterwards (copying formulas from the main solver).
+    Function<RacingStrategy, RacingStrategy> racingStrategyWrapper = new Function<RacingStrategy, RacingStrategy>() {
+        @Override
+        public RacingStrategy apply(final RacingStrategy pDelegate) {
+          return new RacingStrategy() {
+            @Override
+            public List<BooleanFormula> computeInterpolants(
+                List<Triple<BooleanFormula, AbstractState, Integer>> pOrderedFormulas,
+                LeasedContext pContext, ShutdownNotifier pRaceNotifier)
+                    throws SolverException, InterruptedException {
+              if (startedRacers.getAndIncrement() > 0) {
+                racerFailed.countDown();
+                throw new IllegalStateException("racer failed");
+              }
+
+              racerFailed.await(10, TimeUnit.SECONDS);
+              Thread.sleep(200);
+              try {
+                return pDelegate.computeInterpolants(pOrderedFormulas, pContext, pRaceNotifier);
+              } finally {
+                slowRacerFinished.set(true);
+              }
+            }
+
+            @Override
+            public <T> void checkInterpolants(
+                List<Triple<BooleanFormula, AbstractState, T>> pFormulasWithStatesAndGroupdIds,
+                List<BooleanFormula> pInterpolants)
+                    throws SolverException, InterruptedException {
+              pDelegate.checkInterpolants(pFormulasWithStatesAndGroupdIds, pInterpolants);
+            }
+          };
+        }
+      };
+    InterpolationManager imgr = new InterpolationManager(mock(PathFormulaManager.class), solver,
+        Optional.<LoopStructure>absent(), Optional.<VariableClassification>absent(),
+        config, ShutdownNotifier.create(), logger, racingStrategyWrapper);
+
+    try {
+      imgr.buildCounterexampleTrace(makeInfeasibleTrace());
+      fail("exception of racer was not propagated");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("racer failed");
+    }
+    assertThat(slowRacerFinished.get()).named("slow racer finished").isTrue();
+  }
+}
@@ -34,9 +34,15 @@ import javax.annotation.Nullable;
 import org.sosy_lab.cpachecker.util.predicates.interfaces.BooleanFormula;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.pointeraliasing.PointerTargetSet;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 public final class PathFormula implements Serializable {
 
   private static final long serialVersionUID = -7716850731790578619L;
+
+  private static final Interner<PathFormula> INSTANCES = Interners.newWeakInterner();
+
   private final BooleanFormula formula;
   private final SSAMap ssa;
   private final int length;
@@ -79,6 +85,22 @@ public final class PathFormula implements Serializable {
     return new PathFormula(newConstraint, ssa, pts, length);
   }
 
+  /**
+   * Returns the canonical instance of all path formulas that are equal to this one
+   * (using canonical instances of the SSAMap, cf. {@link SSAMap#intern()}),
+   * such that equal path formulas share their memory.
+   */
+  public PathFormula intern() {
+    SSAMap internedSsa = ssa.intern();
+    PathFormula pf = (internedSsa == ssa) ? this : new PathFormula(formula, internedSsa, pts, length);
+    PathFormula result = INSTANCES.intern(pf);
+    if (result.ssa != internedSsa) {
+      // the canonical instance has a different (but equal) SSAMap
+      return pf;
+    }
+    return result;
+  }
+
   @Override
   public boolean equals(@Nullable Object obj) {
     if (this == obj) {
@@ -39,6 +39,7 @@ import javax.annotation.Nullable;
 import org.sosy_lab.common.Pair;
 import org.sosy_lab.common.Triple;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -86,6 +87,9 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicates;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Maps;
 
@@ -126,8 +130,20 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
   @Option(secure=true, description="add special information to formulas about non-deterministic functions")
   private boolean useNondetFlags = false;
 
+  @Option(secure=true, description="Use canonical instances for all created path formulas and SSAMaps, "
+      + "such that equal instances share their memory and can be compared cheaply.")
+  private boolean internPathFormulas = false;
+
+  @Option(secure=true, description="Size of the cache for merges of canonical SSAMaps "
+      + "(only used with cpa.predicate.internPathFormulas, 0 to disable).")
+  @IntegerOption(min=0)
+  private int ssaMergeCacheSize = 1000;
+
   private final AnalysisDirection direction;
 
+  // key: two canonical SSAMaps, value: their merge result
+  private final @Nullable Cache<Pair<SSAMap, SSAMap>, Pair<SSAMap, List<Triple<String, Integer, Integer>>>> ssaMergeCache;
+
   @Deprecated
   public PathFormulaManagerImpl(FormulaManagerView pFmgr,
       Configuration config, LogManager pLogger, ShutdownNotifier pShutdownNotifier,
@@ -189,6 +205,40 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
     }
 
     NONDET_FORMULA_TYPE = converter.getFormulaTypeFromCType(NONDET_TYPE);
+
+    if (internPathFormulas && ssaMergeCacheSize > 0) {
+      ssaMergeCache = CacheBuilder.newBuilder().maximumSize(ssaMergeCacheSize).recordStats().build();
+    } else {
+      ssaMergeCache = null;
+    }
+  }
+
+  /**
+   * Get the statistics of the cache for merges of SSAMaps,
+   * or null if caching is disabled.
+   */
+  public CacheStats getSSAMergeCacheStats() {
+    return ssaMergeCache == null ? null : ssaMergeCache.stats();
+  }
+
+  private PathFormula intern(PathFormula pf) {
+    return internPathFormulas ? pf.intern() : pf;
+  }
+
+  private Pair<SSAMap, List<Triple<String, Integer, Integer>>> mergeSSAMaps(
+      final SSAMap ssa1, final SSAMap ssa2) {
+    if (ssaMergeCache == null || !ssa1.isInterned() || !ssa2.isInterned()) {
+      return SSAMap.merge(ssa1, ssa2);
+    }
+    // Canonical maps can be used as keys cheaply, their equals() is mostly an identity check.
+    Pair<SSAMap, SSAMap> key = Pair.of(ssa1, ssa2);
+    Pair<SSAMap, List<Triple<String, Integer, Integer>>> result = ssaMergeCache.getIfPresent(key);
+    if (result == null) {
+      Pair<SSAMap, List<Triple<String, Integer, Integer>>> merge = SSAMap.merge(ssa1, ssa2);
+      result = Pair.of(merge.getFirst().intern(), merge.getSecond());
+      ssaMergeCache.put(key, result);
+    }
+    return result;
   }
 
   private CtoFormulaConverter createCtoFormulaConverterWithArrays(FormulaEncodingOptions pOptions,
@@ -256,7 +306,7 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
         pf = new PathFormula(edgeFormula, ssa.build(), pf.getPointerTargetSet(), pf.getLength());
       }
     }
-    return pf;
+    return intern(pf);
   }
 
   @Override
@@ -267,26 +317,26 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
 
   @Override
   public PathFormula makeEmptyPathFormula() {
-    return new PathFormula(bfmgr.makeBoolean(true),
+    return intern(new PathFormula(bfmgr.makeBoolean(true),
                            SSAMap.emptySSAMap(),
                            PointerTargetSet.emptyPointerTargetSet(),
-                           0);
+                           0));
   }
 
   @Override
   public PathFormula makeEmptyPathFormula(PathFormula oldFormula) {
-    return new PathFormula(bfmgr.makeBoolean(true),
+    return intern(new PathFormula(bfmgr.makeBoolean(true),
                            oldFormula.getSsa(),
                            oldFormula.getPointerTargetSet(),
-                           0);
+                           0));
   }
 
   @Override
   public PathFormula makeNewPathFormula(PathFormula oldFormula, SSAMap m) {
-    return new PathFormula(oldFormula.getFormula(),
+    return intern(new PathFormula(oldFormula.getFormula(),
                            m,
                            oldFormula.getPointerTargetSet(),
-                           oldFormula.getLength());
+                           oldFormula.getLength()));
   }
 
   @Override
@@ -320,7 +370,7 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
     final PointerTargetSet newPTS = mergePtsResult.getResult();
     final int newLength = Math.max(pathFormula1.getLength(), pathFormula2.getLength());
 
-    return new PathFormula(newFormula, newSSA, newPTS, newLength);
+    return intern(new PathFormula(newFormula, newSSA, newPTS, newLength));
   }
 
   @Override
@@ -329,7 +379,7 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
     BooleanFormula otherFormula =  fmgr.instantiate(pOtherFormula, ssa);
     BooleanFormula resultFormula = bfmgr.and(pPathFormula.getFormula(), otherFormula);
     final PointerTargetSet pts = pPathFormula.getPointerTargetSet();
-    return new PathFormula(resultFormula, ssa, pts, pPathFormula.getLength());
+    return intern(new PathFormula(resultFormula, ssa, pts, pPathFormula.getLength()));
   }
 
   /**
@@ -404,7 +454,7 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
                                      final PointerTargetSet pts1,
                                      final SSAMap ssa2,
                                      final PointerTargetSet pts2) throws InterruptedException {
-    final Pair<SSAMap, List<Triple<String, Integer, Integer>>> ssaMergeResult = SSAMap.merge(ssa1, ssa2);
+    final Pair<SSAMap, List<Triple<String, Integer, Integer>>> ssaMergeResult = mergeSSAMaps(ssa1, ssa2);
     final SSAMap resultSSA = ssaMergeResult.getFirst();
     final List<Triple<String, Integer, Integer>> symbolDifferences = ssaMergeResult.getSecond();
 
@@ -530,7 +580,7 @@ public class PathFormulaManagerImpl implements PathFormulaManager {
 
   private BooleanFormula addMergeAssumptions(final BooleanFormula pFormula, final SSAMap ssa1,
       final PointerTargetSet pts1, final SSAMap ssa2) throws InterruptedException {
-    final Pair<SSAMap, List<Triple<String, Integer, Integer>>> ssaMergeResult = SSAMap.merge(ssa1, ssa2);
+    final Pair<SSAMap, List<Triple<String, Integer, Integer>>> ssaMergeResult = mergeSSAMaps(ssa1, ssa2);
   final SSAMap resultSSA = ssaMergeResult.getFirst();
     final List<Triple<String, Integer, Integer>> symbolDifferences = ssaMergeResult.getSecond();
 
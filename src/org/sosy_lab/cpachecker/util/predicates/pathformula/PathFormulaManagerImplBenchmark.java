@@ -0,0 +1,106 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.pathformula;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.cpachecker.cpa.predicate.PredicateAbstractState;
+import org.sosy_lab.cpachecker.cpa.predicate.PredicateCPA;
+import org.sosy_lab.cpachecker.util.predicates.interfaces.PathFormulaManager;
+import org.sosy_lab.cpachecker.util.test.RecordedAnalysis;
+import org.sosy_lab.cpachecker.util.test.RecordedAnalysis.TransferInput;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Microbenchmark for {@link PathFormulaManagerImpl#makeAnd(PathFormula, org.sosy_lab.cpachecker.cfa.model.CFAEdge)}
+ * and thus for the conversion of edges to formulas by
+ * {@link org.sosy_lab.cpachecker.util.predicates.pathformula.ctoformula.CtoFormulaConverter}.
+ * One benchmark operation converts all edges leaving the states in the reached set
+ * of a predicate analysis, either appending them to the path formula of the state,
+ * or converting them alone.
+ * Run with "ant microbenchmarks".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class PathFormulaManagerImplBenchmark {
+
+  @Param("test/programs/simple/ssh_s3_clnt_errorpath.c")
+  public String program;
+
+  private RecordedAnalysis analysis;
+  private PathFormulaManager pfmgr;
+  private PathFormula emptyPathFormula;
+  private List<TransferInput> inputs;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    analysis = RecordedAnalysis.run("config/predicateAnalysis.properties", program,
+        ImmutableMap.of("cpa.predicate.blk.useCache", "false"));
+
+    PredicateCPA cpa = analysis.getCPA(PredicateCPA.class);
+    pfmgr = cpa.getPathFormulaManager();
+    emptyPathFormula = pfmgr.makeEmptyPathFormula();
+    inputs = analysis.getTransferInputs(cpa);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    analysis.close();
+  }
+
+  @Benchmark
+  public void makeAnd(Blackhole pBlackhole) throws Exception {
+    for (TransferInput input : inputs) {
+      PathFormula pathFormula = ((PredicateAbstractState)input.getState()).getPathFormula();
+      pBlackhole.consume(pfmgr.makeAnd(pathFormula, input.getEdge()));
+    }
+  }
+
+  @Benchmark
+  public void convertEdge(Blackhole pBlackhole) throws Exception {
+    for (TransferInput input : inputs) {
+      pBlackhole.consume(pfmgr.makeAnd(emptyPathFormula, input.getEdge()));
+    }
+  }
+}
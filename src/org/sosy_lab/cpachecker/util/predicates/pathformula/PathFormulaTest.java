@@ -172,4 +172,15 @@ public class PathFormulaTest {
     thrown.expect(IllegalArgumentException.class);
     builder.setIndex("a", CNumericTypes.INT, 1);
   }
+
+  @Test
+  public void testSSAIntern() {
+    SSAMap ssa1 = builder.setIndex("a", CNumericTypes.INT, 2).build();
+    SSAMap ssa2 = SSAMap.emptySSAMap().builder().setIndex("a", CNumericTypes.INT, 2).build();
+    SSAMap ssa3 = SSAMap.emptySSAMap().builder().setIndex("a", CNumericTypes.INT, 3).build();
+
+    assertThat(ssa1.intern()).isSameAs(ssa2.intern());
+    assertThat(ssa1.intern().isInterned()).isTrue();
+    assertThat(ssa3.intern()).isNotEqualTo(ssa1.intern());
+  }
 }
@@ -50,6 +50,8 @@ import com.google.common.base.Equivalence;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 /**
  * Maps a variable name to its latest "SSA index", that should be used when
@@ -64,6 +66,10 @@ public class SSAMap implements Serializable {
 
   private final int defaultValue;
 
+  // Canonical instances of SSAMaps and of the variable names used in SSAMaps.
+  private static final Interner<SSAMap> INSTANCES = Interners.newWeakInterner();
+  private static final Interner<String> VARIABLE_NAMES = Interners.newWeakInterner();
+
   private static MergeConflictHandler<String, CType> TYPE_CONFLICT_CHECKER = new MergeConflictHandler<String, CType>() {
     @Override
     public CType resolveConflict(String name, CType type1, CType type2) {
@@ -132,6 +138,7 @@ public class SSAMap implements Serializable {
       int oldIdx = getIndex(name);
       Preconditions.checkArgument(idx >= oldIdx, "SSAMap updates need to be strictly monotone:", name, type, idx);
 
+      name = VARIABLE_NAMES.intern(name);
       type = type.getCanonicalType();
       CType oldType = varTypes.get(name);
       if (oldType != null) {
@@ -258,6 +265,10 @@ public class SSAMap implements Serializable {
   // Cache hashCode of potentially big map
   private final int varsHashCode;
 
+  // Whether this is the canonical instance of all equal SSAMaps (cf. intern()).
+  // Two different canonical instances are never equal.
+  private transient boolean interned = false;
+
   private SSAMap(PersistentSortedMap<String, Integer> vars,
                  FreshValueProvider freshValueProvider,
                  int varsHashCode,
@@ -284,6 +295,32 @@ public class SSAMap implements Serializable {
     this(vars, freshValueProvider, varsHashCode, varTypes, DEFAULT_DEFAULT_IDX);
   }
 
+  /**
+   * Returns the canonical instance of all SSAMaps that are equal to this one,
+   * such that equal SSAMaps share their memory and can be compared by identity.
+   * If the canonical instance differs from this map in the types of the variables
+   * or in the default index, this map itself is returned.
+   */
+  public SSAMap intern() {
+    if (interned) {
+      return this;
+    }
+    SSAMap result = INSTANCES.intern(this);
+    if (result != this
+        && (result.defaultValue != defaultValue || !result.varTypes.equals(varTypes))) {
+      return this;
+    }
+    result.interned = true;
+    return result;
+  }
+
+  /**
+   * Returns whether this is a canonical instance (cf. {@link #intern()}).
+   */
+  public boolean isInterned() {
+    return interned;
+  }
+
   /**
    * Returns a SSAMapBuilder that is initialized with the current SSAMap.
    */
@@ -339,6 +376,10 @@ public class SSAMap implements Serializable {
       return false;
     } else {
       SSAMap other = (SSAMap)obj;
+      if (interned && other.interned) {
+        // there is only one canonical instance for all equal maps
+        return false;
+      }
       // Do a few cheap checks before the expensive ones.
       return varsHashCode == other.varsHashCode
           && vars.equals(other.vars)
@@ -0,0 +1,88 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.predicates.pathformula;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.cpachecker.cpa.predicate.PredicateAbstractState;
+import org.sosy_lab.cpachecker.util.test.RecordedAnalysis;
+
+/**
+ * Microbenchmark for {@link SSAMap#merge(SSAMap, SSAMap)}.
+ * One benchmark operation merges the SSA maps
+ * of all pairs of consecutive states in the reached set of a predicate analysis.
+ * Run with "ant microbenchmarks".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class SSAMapBenchmark {
+
+  @Param("test/programs/simple/ssh_s3_clnt_errorpath.c")
+  public String program;
+
+  private RecordedAnalysis analysis;
+  private final List<SSAMap> ssaMaps = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    analysis = RecordedAnalysis.run("config/predicateAnalysis.properties", program);
+
+    for (PredicateAbstractState state : analysis.getStates(PredicateAbstractState.class)) {
+      ssaMaps.add(state.getPathFormula().getSsa());
+      ssaMaps.add(state.getAbstractionFormula().getBlockFormula().getSsa());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    analysis.close();
+  }
+
+  @Benchmark
+  public void merge(Blackhole pBlackhole) {
+    for (int i = 1; i < ssaMaps.size(); i++) {
+      pBlackhole.consume(SSAMap.merge(ssaMaps.get(i - 1), ssaMaps.get(i)));
+    }
+  }
+}
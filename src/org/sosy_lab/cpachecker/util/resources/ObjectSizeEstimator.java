@@ -0,0 +1,208 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.resources;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * This class estimates how much heap memory is used by object graphs,
+ * by traversing them with reflection.
+ *
+ * Each object is counted only once, by the first call to {@link #estimate(Object)}
+ * that reaches it, so that objects shared between several graphs are not counted twice.
+ * Objects reachable from a root given to {@link #exclude(Object)} are never counted,
+ * this can be used to exclude shared infrastructure like the CFA.
+ *
+ * The sizes are only estimates for a 64-bit JVM with compressed references
+ * (12 bytes object header, 4 bytes per reference, alignment to 8 bytes).
+ * Objects of classes whose fields are not accessible via reflection
+ * are counted without the objects they reference.
+ * Referents of {@link Reference}s are not counted because they are not retained.
+ *
+ * This class is not thread-safe, and the traversal is expensive:
+ * it needs time and memory linear in the number of visited objects.
+ */
+public final class ObjectSizeEstimator {
+
+  private static final int HEADER_SIZE = 12;
+  private static final int ARRAY_HEADER_SIZE = 16;
+  private static final int REFERENCE_SIZE = 4;
+  private static final int ALIGNMENT = 8;
+
+  /**
+   * Shallow size and fields with references for one class.
+   */
+  private static class ClassLayout {
+    private final long size;
+    private final ImmutableList<Field> referenceFields;
+
+    private ClassLayout(long pSize, ImmutableList<Field> pReferenceFields) {
+      size = pSize;
+      referenceFields = pReferenceFields;
+    }
+  }
+
+  private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+  private final Map<Class<?>, ClassLayout> layouts = new HashMap<>();
+
+  /**
+   * Mark all objects reachable from the given object as visited without counting them.
+   */
+  public void exclude(Object pRoot) {
+    traverse(pRoot);
+  }
+
+  /**
+   * Estimate the size of all objects reachable from the given object
+   * that were not visited before.
+   * @return The estimated size in bytes.
+   */
+  public long estimate(Object pRoot) {
+    return traverse(pRoot);
+  }
+
+  private long traverse(Object pRoot) {
+    long size = 0;
+    Deque<Object> waitlist = new ArrayDeque<>();
+    if (pRoot != null && visited.add(pRoot)) {
+      waitlist.push(pRoot);
+    }
+
+    while (!waitlist.isEmpty()) {
+      Object current = waitlist.pop();
+      Class<?> cls = current.getClass();
+
+      if (cls.isArray()) {
+        int length = Array.getLength(current);
+        Class<?> componentType = cls.getComponentType();
+        size += align(ARRAY_HEADER_SIZE + (long)length * sizeOfType(componentType));
+
+        if (!componentType.isPrimitive()) {
+          for (Object element : (Object[])current) {
+            if (element != null && visited.add(element)) {
+              waitlist.push(element);
+            }
+          }
+        }
+        continue;
+      }
+
+      ClassLayout layout = getLayout(cls);
+      size += layout.size;
+      if (isOpaque(current)) {
+        continue;
+      }
+
+      for (Field field : layout.referenceFields) {
+        Object value;
+        try {
+          value = field.get(current);
+        } catch (IllegalAccessException e) {
+          throw new AssertionError(e); // field was made accessible in getLayout
+        }
+        if (value != null && visited.add(value)) {
+          waitlist.push(value);
+        }
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Objects that are counted without the objects they reference,
+   * because those are not part of the data structures we want to measure.
+   */
+  private static boolean isOpaque(Object pObject) {
+    return pObject instanceof Class
+        || pObject instanceof ClassLoader
+        || pObject instanceof Thread
+        || pObject instanceof Reference;
+  }
+
+  private ClassLayout getLayout(Class<?> pClass) {
+    ClassLayout layout = layouts.get(pClass);
+    if (layout != null) {
+      return layout;
+    }
+
+    long size = HEADER_SIZE;
+    List<Field> referenceFields = new ArrayList<>();
+    boolean accessible = true;
+    for (Class<?> cls = pClass; cls != null; cls = cls.getSuperclass()) {
+      for (Field field : cls.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+        size += sizeOfType(field.getType());
+
+        if (!field.getType().isPrimitive() && accessible) {
+          try {
+            field.setAccessible(true);
+            referenceFields.add(field);
+          } catch (RuntimeException e) {
+            // e.g., SecurityException, the referenced objects will not be counted
+            accessible = false;
+          }
+        }
+      }
+    }
+
+    layout = new ClassLayout(align(size),
+        accessible ? ImmutableList.copyOf(referenceFields) : ImmutableList.<Field>of());
+    layouts.put(pClass, layout);
+    return layout;
+  }
+
+  private static long sizeOfType(Class<?> pType) {
+    if (pType == long.class || pType == double.class) {
+      return 8;
+    } else if (pType == int.class || pType == float.class) {
+      return 4;
+    } else if (pType == short.class || pType == char.class) {
+      return 2;
+    } else if (pType == byte.class || pType == boolean.class) {
+      return 1;
+    } else {
+      return REFERENCE_SIZE;
+    }
+  }
+
+  private static long align(long pSize) {
+    return (pSize + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+  }
+}
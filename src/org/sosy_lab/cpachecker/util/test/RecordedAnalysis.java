@@ -0,0 +1,220 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.test;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.BasicLogManager;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.common.log.StringBuildingLogHandler;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.CPAchecker;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult;
+import org.sosy_lab.cpachecker.core.ShutdownNotifier;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.Precision;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.composite.CompositeCPA;
+import org.sosy_lab.cpachecker.cpa.composite.CompositePrecision;
+import org.sosy_lab.cpachecker.cpa.composite.CompositeState;
+import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.CPAs;
+import org.sosy_lab.cpachecker.util.Precisions;
+import org.sosy_lab.cpachecker.util.globalinfo.GlobalInfo;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Helper class for microbenchmarks of single operations of CPAs.
+ * It runs a complete analysis of a program once
+ * and provides the states, precisions and edges of the final reached set,
+ * such that benchmarks can replay operations on realistic inputs.
+ *
+ * The analysis is not closed by the analysis run,
+ * so components like solvers can still be used until {@link #close()} is called.
+ */
+public class RecordedAnalysis implements AutoCloseable {
+
+  /**
+   * One input for a transfer relation:
+   * a component state, its precision, and an edge leaving its location.
+   */
+  public static class TransferInput {
+    private final AbstractState state;
+    private final Precision precision;
+    private final CFAEdge edge;
+
+    private TransferInput(AbstractState pState, Precision pPrecision, CFAEdge pEdge) {
+      state = pState;
+      precision = pPrecision;
+      edge = pEdge;
+    }
+
+    public AbstractState getState() {
+      return state;
+    }
+
+    public Precision getPrecision() {
+      return precision;
+    }
+
+    public CFAEdge getEdge() {
+      return edge;
+    }
+  }
+
+  private final ConfigurableProgramAnalysis cpa;
+  private final UnmodifiableReachedSet reached;
+  private final LogManager logger;
+
+  private RecordedAnalysis(ConfigurableProgramAnalysis pCpa, UnmodifiableReachedSet pReached,
+      LogManager pLogger) {
+    cpa = pCpa;
+    reached = pReached;
+    logger = pLogger;
+  }
+
+  /**
+   * Run an analysis.
+   * @param pConfigFile The configuration file to use, relative to the CPAchecker directory.
+   * @param pProgram The program to analyze, relative to the CPAchecker directory.
+   */
+  public static RecordedAnalysis run(String pConfigFile, String pProgram) throws Exception {
+    return run(pConfigFile, pProgram, ImmutableMap.<String, String>of());
+  }
+
+  /**
+   * Run an analysis.
+   * @param pConfigFile The configuration file to use, relative to the CPAchecker directory.
+   * @param pProgram The program to analyze, relative to the CPAchecker directory.
+   * @param pOptions Options that override those from the configuration file.
+   */
+  public static RecordedAnalysis run(String pConfigFile, String pProgram,
+      Map<String, String> pOptions) throws Exception {
+    Configuration config = TestDataTools.configurationForTest()
+        .loadFromFile(pConfigFile)
+        .setOptions(pOptions)
+        .setOption("output.disable", "true")
+        .build();
+    LogManager logger = new BasicLogManager(config, new StringBuildingLogHandler());
+
+    CPAchecker cpaChecker = new CPAchecker(config, logger, ShutdownNotifier.create());
+    CPAcheckerResult result = cpaChecker.run(pProgram);
+
+    Optional<ConfigurableProgramAnalysis> cpa = GlobalInfo.getInstance().getCPA();
+    checkState(cpa.isPresent() && result.getReached() != null,
+        "Analysis of %s with %s failed", pProgram, pConfigFile);
+    return new RecordedAnalysis(cpa.get(), result.getReached(), logger);
+  }
+
+  public UnmodifiableReachedSet getReached() {
+    return reached;
+  }
+
+  public LogManager getLogger() {
+    return logger;
+  }
+
+  /**
+   * Retrieve a CPA of a given type that was used in the analysis.
+   */
+  public <T extends ConfigurableProgramAnalysis> T getCPA(Class<T> pType) {
+    T result = CPAs.retrieveCPA(cpa, pType);
+    checkArgument(result != null, "Analysis does not contain a %s", pType.getSimpleName());
+    return result;
+  }
+
+  /**
+   * Get all states of a given type that are part of the states in the reached set.
+   */
+  public <T extends AbstractState> List<T> getStates(Class<T> pType) {
+    List<T> result = new ArrayList<>(reached.size());
+    for (AbstractState state : reached) {
+      T componentState = AbstractStates.extractStateByType(state, pType);
+      if (componentState != null) {
+        result.add(componentState);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get all states of a given type that are part of a state in the reached set
+   * (except the given state) which is in the same partition as the given state,
+   * i.e., the states that would be passed to the stop operator
+   * if the given state would be a new state.
+   */
+  public <T extends AbstractState> List<AbstractState> getStatesForStop(
+      AbstractState pState, Class<T> pType) {
+    List<AbstractState> result = new ArrayList<>();
+    for (AbstractState state : reached.getReached(pState)) {
+      T componentState = AbstractStates.extractStateByType(state, pType);
+      if (state != pState && componentState != null) {
+        result.add(componentState);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the inputs for the transfer relation of a component CPA:
+   * for each state in the reached set and each edge leaving its location,
+   * the state and precision of the component CPA and the edge.
+   * The analysis needs to use a {@link CompositeCPA}.
+   */
+  public List<TransferInput> getTransferInputs(ConfigurableProgramAnalysis pComponent) {
+    int index = getCPA(CompositeCPA.class).getWrappedCPAs().indexOf(pComponent);
+    checkArgument(index >= 0, "%s is not a component of the analysis", pComponent);
+
+    List<TransferInput> result = new ArrayList<>();
+    for (AbstractState state : reached) {
+      CompositeState compositeState = AbstractStates.extractStateByType(state, CompositeState.class);
+      CompositePrecision compositePrecision =
+          Precisions.extractPrecisionByType(reached.getPrecision(state), CompositePrecision.class);
+      CFANode location = AbstractStates.extractLocation(state);
+      if (compositeState == null || compositePrecision == null || location == null) {
+        continue;
+      }
+
+      for (CFAEdge edge : CFAUtils.leavingEdges(location)) {
+        result.add(new TransferInput(compositeState.get(index), compositePrecision.get(index), edge));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    CPAs.closeCpaIfPossible(cpa, logger);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2014  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ *  CPAchecker web page:
+ *    http://cpachecker.sosy-lab.org
+ */
+package org.sosy_lab.cpachecker.util.test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
+import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
+import org.sosy_lab.cpachecker.util.test.RecordedAnalysis.TransferInput;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Base class for microbenchmarks of the transfer relation of a CPA.
+ * One benchmark operation computes the successors
+ * of all states and edges of the reached set of an analysis of a program,
+ * so the result is the time for replaying the transfer relation of a whole analysis
+ * (without the overhead of the other operators and the reached set).
+ *
+ * Subclasses need to specify the configuration file, the program and the CPA to measure.
+ * Run them with "ant microbenchmarks".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public abstract class TransferRelationBenchmark {
+
+  private RecordedAnalysis analysis;
+  private TransferRelation transferRelation;
+  private List<TransferInput> inputs;
+
+  protected abstract String getConfigFile();
+
+  protected abstract String getProgram();
+
+  protected abstract Class<? extends ConfigurableProgramAnalysis> getCPAClass();
+
+  /**
+   * Options that override the configuration file,
+   * e.g., for disabling caches that would otherwise make repeated operations trivial.
+   */
+  protected Map<String, String> getOptions() {
+    return ImmutableMap.of();
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    analysis = RecordedAnalysis.run(getConfigFile(), getProgram(), getOptions());
+    ConfigurableProgramAnalysis cpa = analysis.getCPA(getCPAClass());
+    transferRelation = cpa.getTransferRelation();
+    inputs = analysis.getTransferInputs(cpa);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    analysis.close();
+  }
+
+  @Benchmark
+  public void getAbstractSuccessors(Blackhole pBlackhole) throws Exception {
+    for (TransferInput input : inputs) {
+      pBlackhole.consume(transferRelation.getAbstractSuccessorsForEdge(
+          input.getState(), input.getPrecision(), input.getEdge()));
+    }
+  }
+}
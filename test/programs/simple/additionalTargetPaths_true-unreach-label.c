@@ -0,0 +1,30 @@
+extern int __VERIFIER_nondet_int();
+
+void error(void) {
+ERROR:
+  return;
+}
+
+int main() {
+  int a = 0;
+  int b = 0;
+  int c = 0;
+  int n = __VERIFIER_nondet_int();
+
+  // the abstraction at the loop head forgets the values of a, b, and c
+  // until there are predicates for them
+  while (n > 0) {
+    n--;
+  }
+
+  if (a != 0) {
+    error();
+  }
+  if (b != 0) {
+    error();
+  }
+  if (c != 0) {
+    error();
+  }
+  return 0;
+}